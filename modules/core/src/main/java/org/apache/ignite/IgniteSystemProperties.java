@@ -546,6 +546,59 @@ public final class IgniteSystemProperties {
     /** Enable backward compatible handling of UUID through DDL. */
     public static final String IGNITE_SQL_UUID_DDL_BYTE_FORMAT = "IGNITE_SQL_UUID_DDL_BYTE_FORMAT";
 
+    /**
+     * Enables batch-at-a-time execution of simple map-side aggregations (COUNT, SUM, MIN and MAX over numeric
+     * columns of a single table with optional GROUP BY and no filter), which bypasses the row-by-row H2 engine.
+     * <p>
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_SQL_MAP_COLUMNAR_AGGREGATION = "IGNITE_SQL_MAP_COLUMNAR_AGGREGATION";
+
+    /**
+     * Enables execution of non-collocated inner joins of partitioned tables without distributed joins: every joined
+     * table is fetched to the reducer by a separate map query and the tables are joined there with
+     * {@code HASH_JOIN_IDX} indexes built on the fly. The query fails if a hashed table has more rows than
+     * {@link #IGNITE_HASH_JOIN_MAX_TABLE_SIZE} or the hash index exceeds the query memory quota.
+     * <p>
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_SQL_REDUCE_HASH_JOIN = "IGNITE_SQL_REDUCE_HASH_JOIN";
+
+    /**
+     * Maximum number of entries in the node-wide cache of parsed and split SQL queries. The cache is shared by all
+     * the connections of the node, the least recently added entries are evicted when the limit is reached.
+     * <p>
+     * Default is {@code 1024}.
+     */
+    public static final String IGNITE_SQL_PARSER_CACHE_SIZE = "IGNITE_SQL_PARSER_CACHE_SIZE";
+
+    /**
+     * Maximum number of cached results of read-only SQL queries on the node, the limit is shared by all the caches.
+     * The result of a deterministic SELECT is served from the cache until the data of the involved caches change.
+     * Only local queries and queries over REPLICATED caches fully owned by the local node are cached, results of
+     * distributed queries over PARTITIONED caches are never cached.
+     * <p>
+     * Default is {@code 0} (the result cache is disabled).
+     */
+    public static final String IGNITE_SQL_RESULT_CACHE_SIZE = "IGNITE_SQL_RESULT_CACHE_SIZE";
+
+    /**
+     * Maximum number of rows in a query result that can be put to the SQL result cache,
+     * see {@link #IGNITE_SQL_RESULT_CACHE_SIZE}.
+     * <p>
+     * Default is {@code 10000}.
+     */
+    public static final String IGNITE_SQL_RESULT_CACHE_MAX_ROWS = "IGNITE_SQL_RESULT_CACHE_MAX_ROWS";
+
+    /**
+     * Enables index-only scans of the sorted indexes: when all the columns of the table referenced by a query
+     * are inlined into the index tree (e.g. listed in the {@code INCLUDE} clause of {@code CREATE INDEX}),
+     * the rows are built from the index pages without a data page lookup.
+     * <p>
+     * Default is {@code true}.
+     */
+    public static final String IGNITE_SQL_COVERING_INDEX_SCAN = "IGNITE_SQL_COVERING_INDEX_SCAN";
+
     /**
      * Enable memory quotas per JDBC connection.
      *
@@ -773,6 +826,13 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_PDS_WAL_REBALANCE_THRESHOLD = "IGNITE_PDS_WAL_REBALANCE_THRESHOLD";
 
+    /**
+     * If this property is set to {@code true}, empty partitions of persistent caches are rebalanced by sending whole
+     * partition files from supplier nodes, the updates made since the files were copied are rebalanced from WAL.
+     * Default is {@code false}.
+     */
+    public static final String IGNITE_PDS_FILE_REBALANCE_ENABLED = "IGNITE_PDS_FILE_REBALANCE_ENABLED";
+
     /** Ignite page memory concurrency level. */
     public static final String IGNITE_OFFHEAP_LOCK_CONCURRENCY_LEVEL = "IGNITE_OFFHEAP_LOCK_CONCURRENCY_LEVEL";
 
@@ -927,6 +987,13 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_WAL_FSYNC_WITH_DEDICATED_WORKER = "IGNITE_WAL_FSYNC_WITH_DEDICATED_WORKER";
 
+    /**
+     * When set to {@code true}, concurrent WAL fsync requests are coalesced: the first requesting thread waits up to
+     * {@link DataStorageConfiguration#getWalFsyncDelayNanos()}, then flushes all buffered records and does a single
+     * fsync, while other requesting threads wait for its completion. Default is {@code false}.
+     */
+    public static final String IGNITE_WAL_FSYNC_GROUP_COMMIT = "IGNITE_WAL_FSYNC_GROUP_COMMIT";
+
     /**
      * When set to {@code true}, on-heap cache cannot be enabled - see
      * {@link CacheConfiguration#setOnheapCacheEnabled(boolean)}.
@@ -963,6 +1030,24 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT = "IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT";
 
+    /**
+     * Minimal serialized size (in bytes) of a data record to compress it when it is written to WAL. Records are
+     * compressed only if it makes them smaller. Requires WAL serializer version 2.
+     *
+     * Default value is {@code 0}, which means data records are not compressed.
+     */
+    public static final String IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD =
+        "IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD";
+
+    /**
+     * Deflate compression level (from {@code 0} to {@code 9}) of WAL data records.
+     *
+     * Default value is {@code 1}, which favors compression speed.
+     *
+     * @see #IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD
+     */
+    public static final String IGNITE_WAL_DATA_RECORD_COMPRESSION_LEVEL = "IGNITE_WAL_DATA_RECORD_COMPRESSION_LEVEL";
+
     /**
      * Whenever read load balancing is enabled, that means 'get' requests will be distributed between primary and backup
      * nodes if it is possible and {@link CacheConfiguration#readFromBackup} is {@code true}.
@@ -1301,6 +1386,8 @@ public final class IgniteSystemProperties {
 
     /**
      * Maximum size of table (rows count) when temporary hash index can be built on fly.
+     * Tables with the greater estimated row count are not hashed. If the row count is not known at planning time
+     * (e.g. for a table fetched to the reducer) and the table turns out to be greater, the query fails.
      *
      * Default: 100_000 (rows).
      */
@@ -1368,6 +1455,27 @@ public final class IgniteSystemProperties {
      */
     public static final String IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING = "IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING";
 
+    /**
+     * Maximum number of rows per second processed by index create/rebuild while the node serves user load
+     * (cache operations or SQL queries). Zero disables the throttling. Default {@code 0}.
+     */
+    public static final String IGNITE_INDEX_REBUILD_RATE_LIMIT = "IGNITE_INDEX_REBUILD_RATE_LIMIT";
+
+    /**
+     * Number of threads used by index create/rebuild while the node doesn't serve user load. Has no effect if
+     * it is not greater than {@link IgniteConfiguration#getBuildIndexThreadPoolSize()}.
+     * Default is the number of available processors.
+     */
+    public static final String IGNITE_INDEX_REBUILD_IDLE_POOL_SIZE = "IGNITE_INDEX_REBUILD_IDLE_POOL_SIZE";
+
+    /**
+     * Size in bytes of the buffer sorting the rows of all the partitions in the index order before they are inserted
+     * into the index being created. Each index create operation has its own buffer, full buffer is sorted and written
+     * to a file in the work directory, the files are merged once all the partitions are read. Zero disables the
+     * sorting. Default {@code 16 MB}.
+     */
+    public static final String IGNITE_INDEX_BUILD_SORT_BUFFER_SIZE = "IGNITE_INDEX_BUILD_SORT_BUFFER_SIZE";
+
     /**
      * When enabled, node will wait until all of its data is backed up before shutting down.
      * Please note that it will completely prevent last node in cluster from shutting down if any caches exist
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.concurrent.Future;
+import org.apache.ignite.compute.ComputeTask;
+
+/**
+ * Thin client compute facade. Executes compute tasks, deployed on the server nodes, by the task name.
+ * <p>
+ * Tasks are executed on all server nodes of the cluster. The task result is sent by the server asynchronously
+ * when the task is finished, so the client doesn't hold a thread or the connection while the task is running.
+ * <p>
+ * Compute is disabled for thin clients by default. To enable it, set
+ * {@link org.apache.ignite.configuration.ThinClientConfiguration#setMaxActiveComputeTasksPerConnection(int)} on the
+ * server nodes. Ignite internal tasks can't be executed by thin clients.
+ */
+public interface ClientCompute {
+    /**
+     * Executes a task by name.
+     *
+     * @param taskName Name of the task to execute ({@link ComputeTask} class name or name from
+     *      {@link org.apache.ignite.compute.ComputeTaskName} annotation).
+     * @param arg Optional argument of task execution, can be {@code null}.
+     * @return Task result.
+     * @throws ClientException If task failed.
+     * @throws InterruptedException If the wait for the task result was interrupted.
+     * @see ComputeTask for information about task execution.
+     */
+    public <T, R> R execute(String taskName, T arg) throws ClientException, InterruptedException;
+
+    /**
+     * Executes a task by name asynchronously.
+     *
+     * @param taskName Name of the task to execute ({@link ComputeTask} class name or name from
+     *      {@link org.apache.ignite.compute.ComputeTaskName} annotation).
+     * @param arg Optional argument of task execution, can be {@code null}.
+     * @return A Future representing pending completion of the task. Cancellation of the future cancels the task on
+     *      the server.
+     * @throws ClientException If task failed to start.
+     * @see ComputeTask for information about task execution.
+     */
+    public <T, R> Future<R> executeAsync(String taskName, T arg) throws ClientException;
+
+    /**
+     * Sets timeout for tasks executed by returned {@code ClientCompute} instance.
+     *
+     * @param timeout Task execution timeout in milliseconds, {@code 0} for infinite timeout.
+     * @return {@code ClientCompute} instance with given timeout.
+     */
+    public ClientCompute withTimeout(long timeout);
+
+    /**
+     * Sets no-failover flag for tasks executed by returned {@code ClientCompute} instance.
+     * If flag is set, job will be never failed over even if remote node crashes or rejects execution.
+     *
+     * @return {@code ClientCompute} instance with no-failover flag.
+     */
+    public ClientCompute withNoFailover();
+
+    /**
+     * Disables result caching for tasks executed by returned {@code ClientCompute} instance.
+     *
+     * @return {@code ClientCompute} instance with "no result cache" flag.
+     */
+    public ClientCompute withNoResultCache();
+
+    /**
+     * Sets keep binary flag for tasks executed by returned {@code ClientCompute} instance. If flag is set, task
+     * argument is passed to the task in the binary form and task result is returned in the binary form.
+     *
+     * @return {@code ClientCompute} instance with "keep binary" flag.
+     */
+    public ClientCompute withKeepBinary();
+}
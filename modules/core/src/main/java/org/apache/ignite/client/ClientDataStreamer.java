@@ -0,0 +1,145 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.Map;
+import org.apache.ignite.stream.StreamReceiver;
+
+/**
+ * Thin client data streamer. Loads large amounts of data into the cache.
+ * <p>
+ * Entries are buffered on the client and sent to the server in batches. The server node hands each batch to the
+ * regular data streamer, which maps entries to primary nodes and loads them with per-node buffering.
+ * <p>
+ * Streamer settings can be changed only before the first entry is added. Data is guaranteed to be loaded only after
+ * {@link #flush()} or {@link #close()} is called.
+ */
+public interface ClientDataStreamer<K, V> extends AutoCloseable {
+    /** Default number of entries sent to the server in one batch. */
+    public static final int DFLT_BATCH_SIZE = 512;
+
+    /**
+     * @return Cache name.
+     */
+    public String cacheName();
+
+    /**
+     * Sets flag enabling overwriting existing values in cache. Disabled by default.
+     *
+     * @param allowOverwrite Flag value.
+     * @return {@code this} for chaining.
+     * @see org.apache.ignite.IgniteDataStreamer#allowOverwrite(boolean)
+     */
+    public ClientDataStreamer<K, V> allowOverwrite(boolean allowOverwrite);
+
+    /**
+     * Sets flag indicating that write-through behavior should be disabled for data streaming. Disabled by default.
+     *
+     * @param skipStore Skip store flag.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> skipStore(boolean skipStore);
+
+    /**
+     * Sets flag indicating that objects should be kept in binary format when passed to the stream receiver.
+     *
+     * @param keepBinary Keep binary flag.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> keepBinary(boolean keepBinary);
+
+    /**
+     * Sets size of per node data buffer of the server-side data streamer.
+     *
+     * @param bufSize Per node buffer size, non-positive value for the server default.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> perNodeBufferSize(int bufSize);
+
+    /**
+     * Sets maximum number of parallel stream operations for a single node of the server-side data streamer.
+     *
+     * @param parallelOps Maximum number of parallel stream operations, non-positive value for the server default.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> perNodeParallelOperations(int parallelOps);
+
+    /**
+     * Sets number of entries buffered on the client before the batch is sent to the server.
+     *
+     * @param batchSize Batch size.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> batchSize(int batchSize);
+
+    /**
+     * Sets custom stream receiver. The receiver is serialized and sent to the server, so its class must be available
+     * on the server nodes.
+     *
+     * @param rcvr Stream receiver.
+     * @return {@code this} for chaining.
+     */
+    public ClientDataStreamer<K, V> receiver(StreamReceiver<K, V> rcvr);
+
+    /**
+     * Adds data for streaming.
+     *
+     * @param key Key.
+     * @param val Value or {@code null} if respective entry must be removed from cache.
+     * @throws ClientException If failed to send the batch to the server.
+     */
+    public void addData(K key, V val) throws ClientException;
+
+    /**
+     * Adds data for streaming.
+     *
+     * @param entries Map to be streamed.
+     * @throws ClientException If failed to send the batch to the server.
+     */
+    public void addData(Map<K, V> entries) throws ClientException;
+
+    /**
+     * Adds key for removal.
+     *
+     * @param key Key.
+     * @throws ClientException If failed to send the batch to the server.
+     */
+    public void removeData(K key) throws ClientException;
+
+    /**
+     * Sends buffered data to the server and waits until all streamed data is loaded.
+     *
+     * @throws ClientException If failed.
+     */
+    public void flush() throws ClientException;
+
+    /**
+     * Closes the streamer.
+     *
+     * @param cancel If {@code true}, buffered data is discarded and the server-side streamer is cancelled,
+     *      otherwise all data is loaded before the method returns.
+     * @throws ClientException If failed.
+     */
+    public void close(boolean cancel) throws ClientException;
+
+    /**
+     * Loads all buffered data and closes the streamer.
+     *
+     * @throws ClientException If failed.
+     */
+    @Override public void close() throws ClientException;
+}
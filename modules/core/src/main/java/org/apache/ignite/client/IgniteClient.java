@@ -94,4 +94,19 @@ public interface IgniteClient extends AutoCloseable {
      * @return Client transactions facade.
      */
     public ClientTransactions transactions();
+
+    /**
+     * Gets compute facade over all server nodes of the cluster.
+     *
+     * @return Client compute facade.
+     */
+    public ClientCompute compute();
+
+    /**
+     * Creates a new data streamer for the given cache.
+     *
+     * @param cacheName Cache name.
+     * @return Data streamer.
+     */
+    public <K, V> ClientDataStreamer<K, V> dataStreamer(String cacheName);
 }
@@ -91,6 +91,9 @@ public final class ClientConfiguration implements Serializable {
     /** Tx config. */
     private ClientTransactionConfiguration txCfg = new ClientTransactionConfiguration();
 
+    /** @serial Partition awareness enabled flag. */
+    private boolean partitionAwarenessEnabled;
+
     /**
      * @return Host addresses.
      */
@@ -415,6 +418,34 @@ public final class ClientConfiguration implements Serializable {
         return this;
     }
 
+    /**
+     * Gets a value indicating whether partition awareness should be enabled.
+     * <p>
+     * Default is {@code false}: client sends requests to random server nodes, which may not be the primary
+     * owners of the requested data. This may result in extra network hop.
+     * <p>
+     * When {@code true}, client opens connections to all configured server nodes, maintains partition mapping
+     * of the accessed caches and sends key-based requests directly to the primary nodes.
+     *
+     * @return Partition awareness enabled flag.
+     */
+    public boolean isPartitionAwarenessEnabled() {
+        return partitionAwarenessEnabled;
+    }
+
+    /**
+     * Sets a value indicating whether partition awareness should be enabled.
+     *
+     * @param partitionAwarenessEnabled Partition awareness enabled flag.
+     * @return {@code this} for chaining.
+     * @see #isPartitionAwarenessEnabled()
+     */
+    public ClientConfiguration setPartitionAwarenessEnabled(boolean partitionAwarenessEnabled) {
+        this.partitionAwarenessEnabled = partitionAwarenessEnabled;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(ClientConfiguration.class, this);
@@ -27,9 +27,24 @@ public class ThinClientConfiguration {
     /** Default limit of active transactions count per connection. */
     public static final int DFLT_MAX_ACTIVE_TX_PER_CONNECTION = 100;
 
+    /** Default limit of active compute tasks per connection. Zero means compute is disabled for thin clients. */
+    public static final int DFLT_MAX_ACTIVE_COMPUTE_TASKS_PER_CONNECTION = 0;
+
+    /** Default limit of events buffered by the server for a continuous query while the client falls behind. */
+    public static final int DFLT_MAX_CONTINUOUS_QUERY_PENDING_EVENTS = 10_000;
+
     /** Active transactions count per connection limit. */
     private int maxActiveTxPerConn = DFLT_MAX_ACTIVE_TX_PER_CONNECTION;
 
+    /** Active compute tasks per connection limit. */
+    private int maxActiveComputeTasksPerConn = DFLT_MAX_ACTIVE_COMPUTE_TASKS_PER_CONNECTION;
+
+    /** Limit of events buffered by the server for a continuous query. */
+    private int maxCqPendingEvts = DFLT_MAX_CONTINUOUS_QUERY_PENDING_EVENTS;
+
+    /** Deserialization of user code sent by thin clients is enabled. */
+    private boolean userCodeDeserializationEnabled;
+
     /**
      * Creates thin-client configuration with all default values.
      */
@@ -46,6 +61,9 @@ public class ThinClientConfiguration {
         assert cfg != null;
 
         maxActiveTxPerConn = cfg.maxActiveTxPerConn;
+        maxActiveComputeTasksPerConn = cfg.maxActiveComputeTasksPerConn;
+        maxCqPendingEvts = cfg.maxCqPendingEvts;
+        userCodeDeserializationEnabled = cfg.userCodeDeserializationEnabled;
     }
 
     /**
@@ -66,6 +84,74 @@ public class ThinClientConfiguration {
         return this;
     }
 
+    /**
+     * Gets active compute tasks per connection limit.
+     *
+     * @return {@code 0} if compute grid functionality is disabled for thin clients.
+     */
+    public int getMaxActiveComputeTasksPerConnection() {
+        return maxActiveComputeTasksPerConn;
+    }
+
+    /**
+     * Sets active compute tasks per connection limit. Value {@code 0} disables compute grid functionality for thin
+     * clients, which is the default.
+     *
+     * @param maxActiveComputeTasksPerConn Active compute tasks per connection limit.
+     * @return {@code this} for chaining.
+     */
+    public ThinClientConfiguration setMaxActiveComputeTasksPerConnection(int maxActiveComputeTasksPerConn) {
+        this.maxActiveComputeTasksPerConn = maxActiveComputeTasksPerConn;
+
+        return this;
+    }
+
+    /**
+     * Gets limit of events buffered by the server for a continuous query while the client doesn't keep up with them.
+     *
+     * @return Limit of buffered events.
+     */
+    public int getMaxContinuousQueryPendingEvents() {
+        return maxCqPendingEvts;
+    }
+
+    /**
+     * Sets limit of events buffered by the server for a continuous query while the client doesn't keep up with them.
+     * When the limit is exceeded, the query is stopped and the client is notified with an error.
+     *
+     * @param maxCqPendingEvts Limit of buffered events.
+     * @return {@code this} for chaining.
+     */
+    public ThinClientConfiguration setMaxContinuousQueryPendingEvents(int maxCqPendingEvts) {
+        this.maxCqPendingEvts = maxCqPendingEvts;
+
+        return this;
+    }
+
+    /**
+     * Gets flag indicating whether objects carrying user code (continuous query remote filter factories, data
+     * streamer receivers) sent by thin clients can be deserialized and executed on the server.
+     *
+     * @return {@code True} if deserialization of user code is enabled.
+     */
+    public boolean isUserCodeDeserializationEnabled() {
+        return userCodeDeserializationEnabled;
+    }
+
+    /**
+     * Sets flag indicating whether objects carrying user code (continuous query remote filter factories, data
+     * streamer receivers) sent by thin clients can be deserialized and executed on the server. Disabled by default,
+     * enable it only if all thin clients are trusted.
+     *
+     * @param userCodeDeserializationEnabled Deserialization of user code is enabled.
+     * @return {@code this} for chaining.
+     */
+    public ThinClientConfiguration setUserCodeDeserializationEnabled(boolean userCodeDeserializationEnabled) {
+        this.userCodeDeserializationEnabled = userCodeDeserializationEnabled;
+
+        return this;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(ThinClientConfiguration.class, this);
@@ -26,6 +26,7 @@ import org.apache.ignite.lang.IgnitePredicate;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeWaitMessage;
 import org.apache.ignite.spi.discovery.DiscoverySpi;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryNodeAddedMessage;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
@@ -146,7 +147,16 @@ public enum IgniteFeatures {
     INVERSE_TCP_CONNECTION(35),
 
     /** Check secondary indexes inline size on join/by control utility request. */
-    CHECK_INDEX_INLINE_SIZES(36);
+    CHECK_INDEX_INLINE_SIZES(36),
+
+    /** Rebalancing of persistent partitions by sending partition files. */
+    FILE_REBALANCE(37),
+
+    /** Batching of custom discovery messages sent across the ring. */
+    TCP_DISCOVERY_RING_MESSAGE_BATCHING(38),
+
+    /** Delta-encoded topology history in {@link TcpDiscoveryNodeAddedMessage}. */
+    TCP_DISCOVERY_TOPOLOGY_HISTORY_DELTA(39);
 
     /**
      * Unique feature identifier.
@@ -55,6 +55,13 @@ public class BinaryFieldImpl implements BinaryFieldEx {
     /** Pre-calculated field ID. */
     private final int fieldId;
 
+    /**
+     * Field order in the most recently seen schema: schema ID in the high 32 bits, order in the low 32 bits.
+     * Objects of a type usually share one schema, so this saves schema lookup on every field access.
+     */
+    @GridToStringExclude
+    private volatile long lastSchemaOrder;
+
     /**
      * Constructor.
      *
@@ -311,6 +318,11 @@ public class BinaryFieldImpl implements BinaryFieldEx {
         if (schemaId == 0)
             return BinarySchema.ORDER_NOT_FOUND;
 
+        long lastSchemaOrder0 = lastSchemaOrder;
+
+        if ((int)(lastSchemaOrder0 >>> 32) == schemaId)
+            return (int)lastSchemaOrder0;
+
         BinarySchema schema = schemas.schema(schemaId);
 
         if (schema == null) {
@@ -321,7 +333,11 @@ public class BinaryFieldImpl implements BinaryFieldEx {
 
         assert schema != null;
 
-        return schema.order(fieldId);
+        int order = schema.order(fieldId);
+
+        lastSchemaOrder = ((long)schemaId << 32) | (order & 0xFFFFFFFFL);
+
+        return order;
     }
 
     /** {@inheritDoc} */
@@ -51,7 +51,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  * Binary object implementation.
  */
 @IgniteCodeGeneratingFail // Fields arr and start should not be generated by MessageCodeGenerator.
-public final class BinaryObjectImpl extends BinaryObjectExImpl implements Externalizable, KeyCacheObject {
+public final class BinaryObjectImpl extends BinaryObjectExImpl implements Externalizable, KeyCacheObject,
+    BinaryPositionReadable {
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -351,6 +352,21 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
         return start + BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
     }
 
+    /** {@inheritDoc} */
+    @Override public byte readBytePositioned(int pos) {
+        return BinaryPrimitives.readByte(arr, pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short readShortPositioned(int pos) {
+        return BinaryPrimitives.readShort(arr, pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readIntPositioned(int pos) {
+        return BinaryPrimitives.readInt(arr, pos);
+    }
+
     /** {@inheritDoc} */
     @Nullable @Override public <F> F fieldByOrder(int order) {
         if (order == BinarySchema.ORDER_NOT_FOUND)
@@ -358,24 +374,7 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
 
         Object val;
 
-        // Calculate field position.
-        int schemaOff = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
-
-        short flags = BinaryPrimitives.readShort(arr, start + GridBinaryMarshaller.FLAGS_POS);
-
-        int fieldIdLen = BinaryUtils.isCompactFooter(flags) ? 0 : BinaryUtils.FIELD_ID_LEN;
-        int fieldOffLen = BinaryUtils.fieldOffsetLength(flags);
-
-        int fieldOffsetPos = start + schemaOff + order * (fieldIdLen + fieldOffLen) + fieldIdLen;
-
-        int fieldPos;
-
-        if (fieldOffLen == BinaryUtils.OFFSET_1)
-            fieldPos = start + ((int)BinaryPrimitives.readByte(arr, fieldOffsetPos) & 0xFF);
-        else if (fieldOffLen == BinaryUtils.OFFSET_2)
-            fieldPos = start + ((int)BinaryPrimitives.readShort(arr, fieldOffsetPos) & 0xFFFF);
-        else
-            fieldPos = start + BinaryPrimitives.readInt(arr, fieldOffsetPos);
+        int fieldPos = BinaryUtils.fieldPosition(this, start, order);
 
         // Read header and try performing fast lookup for well-known types (the most common types go first).
         byte hdr = BinaryPrimitives.readByte(arr, fieldPos);
@@ -504,111 +503,9 @@ public final class BinaryObjectImpl extends BinaryObjectExImpl implements Extern
 
     /** {@inheritDoc} */
     @Override public boolean writeFieldByOrder(int order, ByteBuffer buf) {
-        // Calculate field position.
-        int schemaOffset = BinaryPrimitives.readInt(arr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
-
-        short flags = BinaryPrimitives.readShort(arr, start + GridBinaryMarshaller.FLAGS_POS);
-
-        int fieldIdLen = BinaryUtils.isCompactFooter(flags) ? 0 : BinaryUtils.FIELD_ID_LEN;
-        int fieldOffsetLen = BinaryUtils.fieldOffsetLength(flags);
-
-        int fieldOffsetPos = start + schemaOffset + order * (fieldIdLen + fieldOffsetLen) + fieldIdLen;
+        int fieldPos = BinaryUtils.fieldPosition(this, start, order);
 
-        int fieldPos;
-
-        if (fieldOffsetLen == BinaryUtils.OFFSET_1)
-            fieldPos = start + ((int)BinaryPrimitives.readByte(arr, fieldOffsetPos) & 0xFF);
-        else if (fieldOffsetLen == BinaryUtils.OFFSET_2)
-            fieldPos = start + ((int)BinaryPrimitives.readShort(arr, fieldOffsetPos) & 0xFFFF);
-        else
-            fieldPos = start + BinaryPrimitives.readInt(arr, fieldOffsetPos);
-
-        // Read header and try performing fast lookup for well-known types (the most common types go first).
-        byte hdr = BinaryPrimitives.readByte(arr, fieldPos);
-
-        int totalLen;
-
-        switch (hdr) {
-            case GridBinaryMarshaller.NULL:
-                totalLen = 1;
-
-                break;
-
-            case GridBinaryMarshaller.INT:
-            case GridBinaryMarshaller.FLOAT:
-                totalLen = 5;
-
-                break;
-
-            case GridBinaryMarshaller.LONG:
-            case GridBinaryMarshaller.DOUBLE:
-            case GridBinaryMarshaller.DATE:
-            case GridBinaryMarshaller.TIME:
-                totalLen = 9;
-
-                break;
-
-            case GridBinaryMarshaller.BOOLEAN:
-                totalLen = 2;
-
-                break;
-
-            case GridBinaryMarshaller.SHORT:
-                totalLen = 3;
-
-                break;
-
-            case GridBinaryMarshaller.BYTE:
-                totalLen = 2;
-
-                break;
-
-            case GridBinaryMarshaller.CHAR:
-                totalLen = 3;
-
-                break;
-
-            case GridBinaryMarshaller.STRING: {
-                int dataLen = BinaryPrimitives.readInt(arr, fieldPos + 1);
-
-                totalLen = dataLen + 5;
-
-                break;
-            }
-
-            case GridBinaryMarshaller.TIMESTAMP:
-                totalLen = 13;
-
-                break;
-
-            case GridBinaryMarshaller.UUID:
-                totalLen = 17;
-
-                break;
-
-            case GridBinaryMarshaller.DECIMAL: {
-                int dataLen = BinaryPrimitives.readInt(arr, fieldPos + 5);
-
-                totalLen = dataLen + 9;
-
-                break;
-            }
-
-            case GridBinaryMarshaller.OBJ:
-                totalLen = BinaryPrimitives.readInt(arr, fieldPos + GridBinaryMarshaller.TOTAL_LEN_POS);
-
-                break;
-
-            case GridBinaryMarshaller.OPTM_MARSH:
-                totalLen = BinaryPrimitives.readInt(arr, fieldPos + 1);
-
-                break;
-
-            default:
-                throw new UnsupportedOperationException("Failed to write field of the given type " +
-                    "(field type is not supported): " + hdr);
-
-        }
+        int totalLen = BinaryUtils.fieldLength(this, fieldPos);
 
         if (buf.remaining() < totalLen)
             return false;
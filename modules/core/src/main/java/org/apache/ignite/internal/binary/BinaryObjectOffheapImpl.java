@@ -37,6 +37,7 @@ import org.apache.ignite.internal.binary.streams.BinaryOffheapInputStream;
 import org.apache.ignite.internal.processors.cache.CacheObject;
 import org.apache.ignite.internal.processors.cache.CacheObjectContext;
 import org.apache.ignite.internal.processors.cache.CacheObjectValueContext;
+import org.apache.ignite.internal.util.GridUnsafe;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.plugin.extensions.communication.MessageReader;
 import org.apache.ignite.plugin.extensions.communication.MessageWriter;
@@ -47,7 +48,8 @@ import static java.nio.charset.StandardCharsets.UTF_8;
 /**
  *  Binary object implementation over offheap memory
  */
-public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Externalizable, CacheObject {
+public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Externalizable, CacheObject,
+    BinaryPositionReadable {
     /** */
     private static final long serialVersionUID = 0L;
 
@@ -197,11 +199,21 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
 
     /** {@inheritDoc} */
     @Nullable @Override public <F> F field(String fieldName) throws BinaryObjectException {
+        int typeId = schemaTypeId();
+
+        if (typeId != 0)
+            return fieldByOrder(fieldOrder(typeId, ctx.fieldId(typeId, fieldName)));
+
         return (F) reader(null, false).unmarshalField(fieldName);
     }
 
     /** {@inheritDoc} */
     @Nullable @Override public <F> F field(int fieldId) throws BinaryObjectException {
+        int typeId = schemaTypeId();
+
+        if (typeId != 0)
+            return fieldByOrder(fieldOrder(typeId, fieldId));
+
         return (F) reader(null, false).unmarshalField(fieldId);
     }
 
@@ -242,6 +254,21 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
         return start + BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
     }
 
+    /** {@inheritDoc} */
+    @Override public byte readBytePositioned(int pos) {
+        return BinaryPrimitives.readByte(ptr, pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short readShortPositioned(int pos) {
+        return BinaryPrimitives.readShort(ptr, pos);
+    }
+
+    /** {@inheritDoc} */
+    @Override public int readIntPositioned(int pos) {
+        return BinaryPrimitives.readInt(ptr, pos);
+    }
+
     /** {@inheritDoc} */
     @Nullable @Override public <F> F fieldByOrder(int order) {
         if (order == BinarySchema.ORDER_NOT_FOUND)
@@ -249,24 +276,7 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
 
         Object val;
 
-        // Calculate field position.
-        int schemaOff = BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
-
-        short flags = BinaryPrimitives.readShort(ptr, start + GridBinaryMarshaller.FLAGS_POS);
-
-        int fieldIdLen = BinaryUtils.isCompactFooter(flags) ? 0 : BinaryUtils.FIELD_ID_LEN;
-        int fieldOffLen = BinaryUtils.fieldOffsetLength(flags);
-
-        int fieldOffsetPos = start + schemaOff + order * (fieldIdLen + fieldOffLen) + fieldIdLen;
-
-        int fieldPos;
-
-        if (fieldOffLen == BinaryUtils.OFFSET_1)
-            fieldPos = start + ((int)BinaryPrimitives.readByte(ptr, fieldOffsetPos) & 0xFF);
-        else if (fieldOffLen == BinaryUtils.OFFSET_2)
-            fieldPos = start + ((int)BinaryPrimitives.readShort(ptr, fieldOffsetPos) & 0xFFFF);
-        else
-            fieldPos = start + BinaryPrimitives.readInt(ptr, fieldOffsetPos);
+        int fieldPos = BinaryUtils.fieldPosition(this, start, order);
 
         // Read header and try performing fast lookup for well-known types (the most common types go first).
         byte hdr = BinaryPrimitives.readByte(ptr, fieldPos);
@@ -399,8 +409,25 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
     }
 
     /** {@inheritDoc} */
-    @Override protected boolean writeFieldByOrder(int fieldOffset, ByteBuffer buf) {
-        return false;
+    @Override protected boolean writeFieldByOrder(int order, ByteBuffer buf) {
+        int fieldPos = BinaryUtils.fieldPosition(this, start, order);
+
+        int totalLen = BinaryUtils.fieldLength(this, fieldPos);
+
+        if (buf.remaining() < totalLen)
+            return false;
+
+        // Copy field bytes directly from off-heap memory, without intermediate heap array.
+        if (buf.isDirect())
+            GridUnsafe.copyMemory(ptr + fieldPos, GridUnsafe.bufferAddress(buf) + buf.position(), totalLen);
+        else {
+            GridUnsafe.copyOffheapHeap(ptr + fieldPos, buf.array(),
+                GridUnsafe.BYTE_ARR_OFF + buf.arrayOffset() + buf.position(), totalLen);
+        }
+
+        buf.position(buf.position() + totalLen);
+
+        return true;
     }
 
     /** {@inheritDoc} */
@@ -410,6 +437,11 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
 
     /** {@inheritDoc} */
     @Override public boolean hasField(String fieldName) {
+        int typeId = schemaTypeId();
+
+        if (typeId != 0)
+            return fieldOrder(typeId, ctx.fieldId(typeId, fieldName)) != BinarySchema.ORDER_NOT_FOUND;
+
         return reader(null, false).findFieldByName(fieldName);
     }
 
@@ -498,6 +530,45 @@ public class BinaryObjectOffheapImpl extends BinaryObjectExImpl implements Exter
         // No-op.
     }
 
+    /**
+     * Gets type ID if fields of this object can be located through the type's schema registry, i.e. this is
+     * a registered user type with schema. Such fields are read in place with {@link #fieldByOrder(int)} without
+     * creating a reader and parsing the header on every access.
+     *
+     * @return Type ID or {@code 0} if field should be looked up with reader.
+     */
+    private int schemaTypeId() {
+        short flags = BinaryPrimitives.readShort(ptr, start + GridBinaryMarshaller.FLAGS_POS);
+
+        if (!BinaryUtils.isUserType(flags) || !BinaryUtils.hasSchema(flags))
+            return 0;
+
+        int typeId = BinaryPrimitives.readInt(ptr, start + GridBinaryMarshaller.TYPE_ID_POS);
+
+        return typeId == GridBinaryMarshaller.UNREGISTERED_TYPE_ID ? 0 : typeId;
+    }
+
+    /**
+     * @param typeId Type ID.
+     * @param fieldId Field ID.
+     * @return Field order or {@link BinarySchema#ORDER_NOT_FOUND}.
+     */
+    private int fieldOrder(int typeId, int fieldId) {
+        BinarySchemaRegistry schemas = ctx.schemaRegistry(typeId);
+
+        int schemaId = schemaId();
+
+        BinarySchema schema = schemas.schema(schemaId);
+
+        if (schema == null) {
+            schema = createSchema();
+
+            schemas.addSchema(schemaId, schema);
+        }
+
+        return schema.order(fieldId);
+    }
+
     /**
      * @return Deserialized value.
      */
@@ -946,6 +946,85 @@ public class BinaryUtils {
         return res;
     }
 
+    /**
+     * Get absolute position of the field with the given order in the object footer.
+     *
+     * @param in Input.
+     * @param start Object start position.
+     * @param order Field order.
+     * @return Absolute field position.
+     */
+    public static int fieldPosition(BinaryPositionReadable in, int start, int order) {
+        int schemaOff = in.readIntPositioned(start + GridBinaryMarshaller.SCHEMA_OR_RAW_OFF_POS);
+
+        short flags = in.readShortPositioned(start + GridBinaryMarshaller.FLAGS_POS);
+
+        int fieldIdLen = fieldIdLength(flags);
+        int fieldOffLen = fieldOffsetLength(flags);
+
+        int fieldOffPos = start + schemaOff + order * (fieldIdLen + fieldOffLen) + fieldIdLen;
+
+        return start + fieldOffsetRelative(in, fieldOffPos, fieldOffLen);
+    }
+
+    /**
+     * Get length of the serialized field value, including the type header.
+     *
+     * @param in Input.
+     * @param fieldPos Absolute field position.
+     * @return Field length.
+     * @throws UnsupportedOperationException If field length can't be calculated from the header of its type.
+     */
+    public static int fieldLength(BinaryPositionReadable in, int fieldPos) {
+        byte hdr = in.readBytePositioned(fieldPos);
+
+        // The most common types go first.
+        switch (hdr) {
+            case GridBinaryMarshaller.NULL:
+                return 1;
+
+            case GridBinaryMarshaller.INT:
+            case GridBinaryMarshaller.FLOAT:
+                return 5;
+
+            case GridBinaryMarshaller.LONG:
+            case GridBinaryMarshaller.DOUBLE:
+            case GridBinaryMarshaller.DATE:
+            case GridBinaryMarshaller.TIME:
+                return 9;
+
+            case GridBinaryMarshaller.BOOLEAN:
+            case GridBinaryMarshaller.BYTE:
+                return 2;
+
+            case GridBinaryMarshaller.SHORT:
+            case GridBinaryMarshaller.CHAR:
+                return 3;
+
+            case GridBinaryMarshaller.STRING:
+                return in.readIntPositioned(fieldPos + 1) + 5;
+
+            case GridBinaryMarshaller.TIMESTAMP:
+                return 13;
+
+            case GridBinaryMarshaller.UUID:
+                return 17;
+
+            case GridBinaryMarshaller.DECIMAL:
+                return in.readIntPositioned(fieldPos + 5) + 9;
+
+            case GridBinaryMarshaller.OBJ:
+                return in.readIntPositioned(fieldPos + GridBinaryMarshaller.TOTAL_LEN_POS);
+
+            case GridBinaryMarshaller.OPTM_MARSH:
+                return in.readIntPositioned(fieldPos + 1);
+
+            default:
+                throw new UnsupportedOperationException("Failed to write field of the given type " +
+                    "(field type is not supported): " + hdr);
+        }
+    }
+
     /**
      * Merge old and new metas.
      *
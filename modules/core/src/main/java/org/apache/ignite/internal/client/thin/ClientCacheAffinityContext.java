@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Client cache partition awareness context. Tracks the last affinity topology version reported by servers and
+ * keeps the partition mapping of the accessed caches.
+ */
+class ClientCacheAffinityContext {
+    /** Binary data processor. */
+    private final IgniteBinary binary;
+
+    /** Last affinity topology version reported by any server. */
+    private final AtomicReference<AffinityTopologyVersion> lastTopVer = new AtomicReference<>();
+
+    /** Current affinity mapping. */
+    private volatile ClientCacheAffinityMapping affinityMapping;
+
+    /** IDs of the caches, which should be included to the next partitions request. */
+    private final Set<Integer> pendingCacheIds = new GridConcurrentHashSet<>();
+
+    /** Topology version the last partitions request failed on, or {@code null} if it didn't fail. */
+    private volatile AffinityTopologyVersion failedTopVer;
+
+    /**
+     * @param binary Binary data processor.
+     */
+    ClientCacheAffinityContext(IgniteBinary binary) {
+        this.binary = binary;
+    }
+
+    /**
+     * Updates last known affinity topology version.
+     *
+     * @param topVer Topology version reported by the server.
+     * @return {@code True} if the version is newer than the last known one.
+     */
+    public boolean updateLastTopologyVersion(AffinityTopologyVersion topVer) {
+        if (topVer == null)
+            return false;
+
+        while (true) {
+            AffinityTopologyVersion oldVer = lastTopVer.get();
+
+            if (oldVer != null && oldVer.compareTo(topVer) >= 0)
+                return false;
+
+            if (lastTopVer.compareAndSet(oldVer, topVer))
+                return true;
+        }
+    }
+
+    /**
+     * Checks whether the partition mapping for the cache is absent or outdated. If so, the cache is registered to be
+     * included to the next partitions request.
+     *
+     * @param cacheId Cache ID.
+     * @return {@code True} if the partition mapping should be requested.
+     */
+    public boolean affinityUpdateRequired(int cacheId) {
+        ClientCacheAffinityMapping mapping = affinityMapping;
+
+        AffinityTopologyVersion topVer = lastTopVer.get();
+
+        if (mapping == null || !mapping.cacheIds().contains(cacheId) ||
+            (topVer != null && mapping.topologyVersion().compareTo(topVer) < 0)) {
+            pendingCacheIds.add(cacheId);
+
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * @return {@code True} if partitions request failed on the current topology version and shouldn't be repeated
+     * until the topology changes.
+     */
+    public boolean affinityUpdateFailed() {
+        AffinityTopologyVersion failedTopVer0 = failedTopVer;
+
+        return failedTopVer0 != null && failedTopVer0.equals(currentTopologyVersion());
+    }
+
+    /**
+     * Marks partitions request as failed on the current topology version.
+     */
+    public void onAffinityUpdateFailed() {
+        failedTopVer = currentTopologyVersion();
+    }
+
+    /**
+     * @return Last known affinity topology version or {@link AffinityTopologyVersion#NONE} if it's unknown.
+     */
+    private AffinityTopologyVersion currentTopologyVersion() {
+        AffinityTopologyVersion topVer = lastTopVer.get();
+
+        return topVer == null ? AffinityTopologyVersion.NONE : topVer;
+    }
+
+    /**
+     * Removes and returns IDs of the caches registered for the next partitions request.
+     *
+     * @return Cache IDs.
+     */
+    public Collection<Integer> drainPendingCacheIds() {
+        Collection<Integer> cacheIds = new ArrayList<>(pendingCacheIds);
+
+        pendingCacheIds.removeAll(cacheIds);
+
+        return cacheIds;
+    }
+
+    /**
+     * Updates partition mapping with the mapping received from the server.
+     *
+     * @param mapping Received mapping.
+     */
+    public synchronized void updateMapping(ClientCacheAffinityMapping mapping) {
+        ClientCacheAffinityMapping oldMapping = affinityMapping;
+
+        affinityMapping = oldMapping == null ? mapping : ClientCacheAffinityMapping.merge(oldMapping, mapping);
+
+        updateLastTopologyVersion(mapping.topologyVersion());
+    }
+
+    /**
+     * Calculates primary node for the given key.
+     *
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @return Primary node ID or {@code null} if it can't be determined.
+     */
+    @Nullable public UUID affinityNode(int cacheId, Object key) {
+        ClientCacheAffinityMapping mapping = affinityMapping;
+
+        if (mapping == null)
+            return null;
+
+        return mapping.affinityNode(binary, cacheId, key);
+    }
+}
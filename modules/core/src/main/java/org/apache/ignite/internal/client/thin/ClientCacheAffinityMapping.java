@@ -0,0 +1,285 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import org.apache.ignite.IgniteBinary;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.internal.binary.BinaryObjectExImpl;
+import org.apache.ignite.internal.binary.BinaryReaderExImpl;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Affinity mapping (partition to primary node) for a set of caches, received from the server by
+ * {@link ClientOperation#CACHE_PARTITIONS} request.
+ */
+class ClientCacheAffinityMapping {
+    /** Affinity topology version. */
+    private final AffinityTopologyVersion topVer;
+
+    /** Affinity information for each cache. {@code Null} value means partition awareness is not applicable. */
+    private final Map<Integer, CacheAffinityInfo> cacheAffinity = new HashMap<>();
+
+    /**
+     * @param topVer Affinity topology version.
+     */
+    private ClientCacheAffinityMapping(AffinityTopologyVersion topVer) {
+        this.topVer = topVer;
+    }
+
+    /**
+     * @return Affinity topology version.
+     */
+    public AffinityTopologyVersion topologyVersion() {
+        return topVer;
+    }
+
+    /**
+     * @return IDs of the caches known by this mapping.
+     */
+    public Collection<Integer> cacheIds() {
+        return Collections.unmodifiableSet(cacheAffinity.keySet());
+    }
+
+    /**
+     * Calculates primary node for the given key.
+     *
+     * @param binary Binary data processor.
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @return Primary node ID or {@code null} if it can't be determined.
+     */
+    @Nullable public UUID affinityNode(IgniteBinary binary, int cacheId, Object key) {
+        CacheAffinityInfo affInfo = cacheAffinity.get(cacheId);
+
+        if (affInfo == null)
+            return null;
+
+        return affInfo.affinityNode(binary, key);
+    }
+
+    /**
+     * Merges two mappings of the same topology version. If versions differ, the mapping with greater version is
+     * returned.
+     *
+     * @param mapping1 First mapping.
+     * @param mapping2 Second mapping.
+     * @return Merged mapping.
+     */
+    public static ClientCacheAffinityMapping merge(ClientCacheAffinityMapping mapping1,
+        ClientCacheAffinityMapping mapping2) {
+        int cmp = mapping1.topVer.compareTo(mapping2.topVer);
+
+        if (cmp != 0)
+            return cmp > 0 ? mapping1 : mapping2;
+
+        ClientCacheAffinityMapping res = new ClientCacheAffinityMapping(mapping1.topVer);
+
+        res.cacheAffinity.putAll(mapping1.cacheAffinity);
+        res.cacheAffinity.putAll(mapping2.cacheAffinity);
+
+        return res;
+    }
+
+    /**
+     * Writes cache partitions request.
+     *
+     * @param out Output stream.
+     * @param cacheIds IDs of the caches to request mapping for.
+     */
+    public static void writeRequest(BinaryOutputStream out, Collection<Integer> cacheIds) {
+        out.writeInt(cacheIds.size());
+
+        for (int cacheId : cacheIds)
+            out.writeInt(cacheId);
+    }
+
+    /**
+     * Reads cache partitions response.
+     *
+     * @param ch Payload input channel.
+     * @param cacheIds IDs of the requested caches. Caches missing in the response are treated as not applicable for
+     * partition awareness.
+     * @return Affinity mapping.
+     */
+    public static ClientCacheAffinityMapping readResponse(PayloadInputChannel ch, Collection<Integer> cacheIds) {
+        BinaryReaderExImpl in = new BinaryReaderExImpl(null, ch.in(), null, true);
+
+        long topVer = in.readLong();
+        int minorTopVer = in.readInt();
+
+        ClientCacheAffinityMapping mapping = new ClientCacheAffinityMapping(
+            new AffinityTopologyVersion(topVer, minorTopVer));
+
+        int grpCnt = in.readInt();
+
+        for (int i = 0; i < grpCnt; i++) {
+            boolean applicable = in.readBoolean();
+
+            int cachesCnt = in.readInt();
+
+            Map<Integer, Map<Integer, Integer>> keyCfgs = new HashMap<>(cachesCnt);
+
+            for (int j = 0; j < cachesCnt; j++) {
+                int cacheId = in.readInt();
+
+                if (!applicable) {
+                    keyCfgs.put(cacheId, null);
+
+                    continue;
+                }
+
+                int keyCfgCnt = in.readInt();
+
+                Map<Integer, Integer> keyCfg = new HashMap<>(keyCfgCnt);
+
+                for (int k = 0; k < keyCfgCnt; k++) {
+                    int keyTypeId = in.readInt();
+                    int affKeyFieldId = in.readInt();
+
+                    keyCfg.put(keyTypeId, affKeyFieldId);
+                }
+
+                keyCfgs.put(cacheId, keyCfg);
+            }
+
+            UUID[] partMapping = applicable ? readPartitionMapping(in) : null;
+
+            for (Map.Entry<Integer, Map<Integer, Integer>> e : keyCfgs.entrySet()) {
+                mapping.cacheAffinity.put(e.getKey(),
+                    partMapping == null ? null : new CacheAffinityInfo(e.getValue(), partMapping));
+            }
+        }
+
+        for (int cacheId : cacheIds)
+            mapping.cacheAffinity.putIfAbsent(cacheId, null);
+
+        return mapping;
+    }
+
+    /**
+     * Reads node to partitions mapping and converts it to partition to node mapping.
+     *
+     * @param in Reader.
+     * @return Array of primary node IDs indexed by partition or {@code null} if some partition has no primary node.
+     */
+    @Nullable private static UUID[] readPartitionMapping(BinaryReaderExImpl in) {
+        int nodesCnt = in.readInt();
+
+        Map<UUID, int[]> nodeParts = new HashMap<>(nodesCnt);
+
+        int maxPart = -1;
+
+        for (int i = 0; i < nodesCnt; i++) {
+            UUID nodeId = in.readUuid();
+
+            int partsCnt = in.readInt();
+
+            int[] parts = new int[partsCnt];
+
+            for (int j = 0; j < partsCnt; j++) {
+                parts[j] = in.readInt();
+
+                maxPart = Math.max(maxPart, parts[j]);
+            }
+
+            nodeParts.put(nodeId, parts);
+        }
+
+        if (maxPart < 0)
+            return null;
+
+        UUID[] partMapping = new UUID[maxPart + 1];
+
+        for (Map.Entry<UUID, int[]> e : nodeParts.entrySet()) {
+            for (int part : e.getValue())
+                partMapping[part] = e.getKey();
+        }
+
+        // Partition count can't be reliably determined if some partitions have no primary node.
+        for (UUID nodeId : partMapping) {
+            if (nodeId == null)
+                return null;
+        }
+
+        return partMapping;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientCacheAffinityMapping.class, this);
+    }
+
+    /**
+     * Cache affinity information.
+     */
+    private static class CacheAffinityInfo {
+        /** Affinity key field IDs by key type IDs. */
+        private final Map<Integer, Integer> keyCfg;
+
+        /** Primary node IDs indexed by partition. */
+        private final UUID[] partMapping;
+
+        /** Partitions mask. */
+        private final int mask;
+
+        /**
+         * @param keyCfg Affinity key field IDs by key type IDs.
+         * @param partMapping Primary node IDs indexed by partition.
+         */
+        private CacheAffinityInfo(Map<Integer, Integer> keyCfg, UUID[] partMapping) {
+            this.keyCfg = keyCfg;
+            this.partMapping = partMapping;
+
+            mask = RendezvousAffinityFunction.calculateMask(partMapping.length);
+        }
+
+        /**
+         * @param binary Binary data processor.
+         * @param key Key.
+         * @return Primary node ID.
+         */
+        private UUID affinityNode(IgniteBinary binary, Object key) {
+            // Key hash code must be calculated the same way as on the server, i.e. for the binary form of the key.
+            if (!(key instanceof BinaryObject))
+                key = binary.toBinary(key);
+
+            if (key instanceof BinaryObjectExImpl && !keyCfg.isEmpty()) {
+                Integer fieldId = keyCfg.get(((BinaryObjectExImpl)key).typeId());
+
+                if (fieldId != null) {
+                    Object affKey = ((BinaryObjectExImpl)key).field(fieldId);
+
+                    if (affKey != null)
+                        key = affKey;
+                }
+            }
+
+            int part = RendezvousAffinityFunction.calculatePartition(key, mask, partMapping.length);
+
+            return partMapping[part];
+        }
+    }
+}
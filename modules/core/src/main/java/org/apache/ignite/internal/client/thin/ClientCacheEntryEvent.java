@@ -0,0 +1,87 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.EventType;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Continuous query event received by the thin client.
+ */
+class ClientCacheEntryEvent<K, V> extends CacheEntryEvent<K, V> {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Key. */
+    private final K key;
+
+    /** Old value. */
+    private final V oldVal;
+
+    /** New value. */
+    private final V newVal;
+
+    /**
+     * @param src Source cache.
+     * @param evtType Event type.
+     * @param key Key.
+     * @param oldVal Old value.
+     * @param newVal New value.
+     */
+    ClientCacheEntryEvent(Cache<K, V> src, EventType evtType, K key, V oldVal, V newVal) {
+        super(src, evtType);
+
+        this.key = key;
+        this.oldVal = oldVal;
+        this.newVal = newVal;
+    }
+
+    /** {@inheritDoc} */
+    @Override public K getKey() {
+        return key;
+    }
+
+    /** {@inheritDoc} */
+    @Override public V getValue() {
+        return newVal;
+    }
+
+    /** {@inheritDoc} */
+    @Override public V getOldValue() {
+        return oldVal;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isOldValueAvailable() {
+        return oldVal != null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T unwrap(Class<T> cls) {
+        if (cls.isAssignableFrom(getClass()))
+            return cls.cast(this);
+
+        throw new IllegalArgumentException("Unwrapping to class is not supported: " + cls);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientCacheEntryEvent.class, this, "evtType", getEventType());
+    }
+}
@@ -16,10 +16,14 @@
 
 package org.apache.ignite.internal.client.thin;
 
+import java.util.UUID;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.ignite.client.ClientAuthorizationException;
 import org.apache.ignite.client.ClientConnectionException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 
 /**
  * Processing thin client requests and responses.
@@ -36,8 +40,71 @@ interface ClientChannel extends AutoCloseable {
     public <T> T service(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter,
         Function<PayloadInputChannel, T> payloadReader) throws ClientConnectionException, ClientAuthorizationException;
 
+    /**
+     * Send request for client operation without waiting for the response. Response must be received later by
+     * {@link #receive(long, Function)}. Allows to pipeline requests to several channels.
+     *
+     * @param op Operation.
+     * @param payloadWriter Payload writer to stream or {@code null} if request has no payload.
+     * @return Request ID.
+     */
+    public long send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
+        throws ClientConnectionException;
+
+    /**
+     * Receive response for the request previously sent by {@link #send(ClientOperation, Consumer)}.
+     *
+     * @param reqId Request ID.
+     * @param payloadReader Payload reader from stream.
+     * @return Received operation payload or {@code null} if response has no payload.
+     */
+    public <T> T receive(long reqId, Function<PayloadInputChannel, T> payloadReader)
+        throws ClientConnectionException, ClientAuthorizationException;
+
+    /**
+     * Receive the next notification sent by the server for the given resource. Notifications of the resource are
+     * returned in the order they were sent. Notification can be received before this method is called, in this case
+     * it's returned immediately.
+     *
+     * @param rsrcId Resource ID.
+     * @param payloadReader Payload reader from stream.
+     * @param timeout Timeout in milliseconds, {@code 0} to wait without timeout.
+     * @return Received notification payload or {@code null} if notification has no payload.
+     * @throws TimeoutException If notification was not received within the timeout.
+     * @throws InterruptedException If the wait was interrupted.
+     */
+    public <T> T receiveNotification(long rsrcId, Function<PayloadInputChannel, T> payloadReader, long timeout)
+        throws ClientException, TimeoutException, InterruptedException;
+
+    /**
+     * Drop notifications for the given resource, which were received and not consumed yet, and fail threads waiting
+     * for notifications. Must be called if notifications are not needed anymore (for example, when the resource is
+     * closed by the client).
+     *
+     * @param rsrcId Resource ID.
+     */
+    public void dropNotifications(long rsrcId);
+
     /**
      * @return Server version.
      */
     public ProtocolVersion serverVersion();
+
+    /**
+     * @return Server node ID or {@code null} if server doesn't support partition awareness.
+     */
+    public UUID serverNodeId();
+
+    /**
+     * @return Last affinity topology version reported by the server or {@code null} if not reported yet.
+     */
+    public AffinityTopologyVersion serverTopologyVersion();
+
+    /**
+     * Add topology change listener. Listener is notified each time the server reports that affinity topology
+     * has changed since the previous response on this channel.
+     *
+     * @param lsnr Listener.
+     */
+    public void addTopologyChangeListener(Consumer<ClientChannel> lsnr);
 }
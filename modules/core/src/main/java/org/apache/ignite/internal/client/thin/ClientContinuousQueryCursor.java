@@ -0,0 +1,195 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeoutException;
+import javax.cache.Cache;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryUpdatedListener;
+import javax.cache.event.EventType;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.binary.streams.BinaryInputStream;
+
+/**
+ * Thin client continuous query cursor. Receives event batches pushed by the server on the channel the query was
+ * started on and passes them to the local listener in a dedicated thread. Processed batches are acknowledged to the
+ * server, the server doesn't send more than {@link #MAX_UNACKED_BATCHES} not acknowledged batches, so a slow
+ * listener doesn't get flooded by events. Closing the cursor stops the query.
+ * <p>
+ * Initial query is not supported, so the cursor itself contains no entries.
+ */
+class ClientContinuousQueryCursor<K, V> implements QueryCursor<Cache.Entry<K, V>> {
+    /** Maximum number of event batches sent by the server and not acknowledged by the client. */
+    static final int MAX_UNACKED_BATCHES = 32;
+
+    /** Number of processed batches to acknowledge at once. */
+    private static final int ACK_BATCHES = MAX_UNACKED_BATCHES / 2;
+
+    /** Channel the query was started on. */
+    private final ClientChannel clientCh;
+
+    /** Query (resource) ID. */
+    private final long qryId;
+
+    /** Local listener. */
+    private final CacheEntryUpdatedListener<K, V> lsnr;
+
+    /** Source cache of the events. */
+    private final Cache<K, V> src;
+
+    /** Serializer/deserializer. */
+    private final ClientUtils serDes;
+
+    /** Keep binary flag. */
+    private final boolean keepBinary;
+
+    /** Listener thread. */
+    private final Thread lsnrThread;
+
+    /** Closed flag. */
+    private volatile boolean closed;
+
+    /**
+     * @param clientCh Channel the query was started on.
+     * @param qryId Query ID.
+     * @param lsnr Local listener.
+     * @param src Source cache of the events.
+     * @param serDes Serializer/deserializer.
+     * @param keepBinary Keep binary flag.
+     */
+    ClientContinuousQueryCursor(ClientChannel clientCh, long qryId, CacheEntryUpdatedListener<K, V> lsnr,
+        Cache<K, V> src, ClientUtils serDes, boolean keepBinary) {
+        this.clientCh = clientCh;
+        this.qryId = qryId;
+        this.lsnr = lsnr;
+        this.src = src;
+        this.serDes = serDes;
+        this.keepBinary = keepBinary;
+
+        lsnrThread = new Thread(this::listen, "thin-client-continuous-query-" + qryId);
+
+        lsnrThread.setDaemon(true);
+    }
+
+    /**
+     * Starts listening for the query events.
+     */
+    void start() {
+        lsnrThread.start();
+    }
+
+    /**
+     * Receives event batches and passes them to the local listener until the cursor is closed.
+     */
+    private void listen() {
+        int unacked = 0;
+
+        while (!closed) {
+            List<CacheEntryEvent<? extends K, ? extends V>> evts;
+
+            try {
+                evts = clientCh.receiveNotification(qryId, this::readEvents, 0);
+            }
+            catch (ClientException | ClientError | TimeoutException | InterruptedException e) {
+                // Cursor is closed or the connection is lost.
+                return;
+            }
+
+            try {
+                lsnr.onUpdated(evts);
+            }
+            catch (RuntimeException ignore) {
+                // Listener failure must not stop the query.
+            }
+
+            if (++unacked >= ACK_BATCHES && !closed) {
+                int batches = unacked;
+
+                unacked = 0;
+
+                try {
+                    clientCh.service(ClientOperation.QUERY_CONTINUOUS_EVENT_ACK, req -> {
+                        req.out().writeLong(qryId);
+                        req.out().writeInt(batches);
+                    }, null);
+                }
+                catch (ClientException | ClientError e) {
+                    // Cursor is closed or the connection is lost.
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * @param payloadCh Payload channel.
+     * @return Events batch.
+     */
+    private List<CacheEntryEvent<? extends K, ? extends V>> readEvents(PayloadInputChannel payloadCh) {
+        BinaryInputStream in = payloadCh.in();
+
+        int cnt = in.readInt();
+
+        List<CacheEntryEvent<? extends K, ? extends V>> evts = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            K key = serDes.readObject(in, keepBinary);
+            V oldVal = serDes.readObject(in, keepBinary);
+            V newVal = serDes.readObject(in, keepBinary);
+            EventType evtType = EventType.values()[in.readByte()];
+
+            evts.add(new ClientCacheEntryEvent<>(src, evtType, key, oldVal, newVal));
+        }
+
+        return evts;
+    }
+
+    /** {@inheritDoc} */
+    @Override public List<Cache.Entry<K, V>> getAll() {
+        return Collections.emptyList();
+    }
+
+    /** {@inheritDoc} */
+    @Override public Iterator<Cache.Entry<K, V>> iterator() {
+        return Collections.emptyIterator();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+
+            closed = true;
+        }
+
+        try {
+            clientCh.service(ClientOperation.RESOURCE_CLOSE, req -> req.out().writeLong(qryId), null);
+        }
+        catch (ClientException | ClientError ignore) {
+            // Query is already closed on the server or the connection is lost.
+        }
+        finally {
+            clientCh.dropNotifications(qryId);
+        }
+    }
+}
@@ -43,18 +43,26 @@ enum ClientOperation {
     /** Cache get and replace. */CACHE_GET_AND_REPLACE(1006),
     /** Cache put if absent. */CACHE_PUT_IF_ABSENT(1002),
     /** Cache clear. */CACHE_CLEAR(1013),
+    /** Cache partitions. */CACHE_PARTITIONS(1101),
     /** Query scan. */QUERY_SCAN(2000),
     /** Query scan cursor get page. */QUERY_SCAN_CURSOR_GET_PAGE(2001),
     /** Query sql. */QUERY_SQL(2002),
     /** Query sql cursor get page. */QUERY_SQL_CURSOR_GET_PAGE(2003),
     /** Query sql fields. */QUERY_SQL_FIELDS(2004),
     /** Query sql fields cursor get page. */QUERY_SQL_FIELDS_CURSOR_GET_PAGE(2005),
+    /** Continuous query. */QUERY_CONTINUOUS(2006),
+    /** Continuous query event (sent by the server). */QUERY_CONTINUOUS_EVENT_NOTIFICATION(2007),
+    /** Continuous query event batches acknowledgement. */QUERY_CONTINUOUS_EVENT_ACK(2008),
     /** Get binary type. */GET_BINARY_TYPE(3002),
     /** Register binary type name. */REGISTER_BINARY_TYPE_NAME(3001),
     /** Put binary type. */PUT_BINARY_TYPE(3003),
     /** Get binary type name. */GET_BINARY_TYPE_NAME(3000),
     /** Start new transaction. */TX_START(4000),
-    /** End the transaction (commit or rollback). */TX_END(4001);
+    /** End the transaction (commit or rollback). */TX_END(4001),
+    /** Execute compute task. */COMPUTE_TASK_EXECUTE(6000),
+    /** Compute task finished notification (sent by the server). */COMPUTE_TASK_FINISHED(6001),
+    /** Start data streamer. */DATA_STREAMER_START(8000),
+    /** Add data to the data streamer. */DATA_STREAMER_ADD_DATA(8001);
 
     /** Code. */
     private final int code;
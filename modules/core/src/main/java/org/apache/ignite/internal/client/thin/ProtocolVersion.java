@@ -18,6 +18,12 @@ package org.apache.ignite.internal.client.thin;
 
 /** Thin client protocol version. */
 public final class ProtocolVersion implements Comparable<ProtocolVersion> {
+    /** Protocol version: 1.7.0. Compute task execution, server to client notifications. */
+    public static final ProtocolVersion V1_7_0 = new ProtocolVersion((short)1, (short)7, (short)0);
+
+    /** Protocol version: 1.6.0. Expiry policy configuration. */
+    public static final ProtocolVersion V1_6_0 = new ProtocolVersion((short)1, (short)6, (short)0);
+
     /** Protocol version: 1.5.0. Transactions support. */
     public static final ProtocolVersion V1_5_0 = new ProtocolVersion((short)1, (short)5, (short)0);
 
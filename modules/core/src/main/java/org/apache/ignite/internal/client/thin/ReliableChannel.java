@@ -20,13 +20,23 @@ import java.net.InetSocketAddress;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import org.apache.ignite.IgniteBinary;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.client.ClientConnectionException;
 import org.apache.ignite.client.ClientException;
@@ -34,8 +44,11 @@ import org.apache.ignite.configuration.ClientConfiguration;
 import org.apache.ignite.configuration.ClientConnectorConfiguration;
 import org.apache.ignite.internal.util.HostAndPortRange;
 import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T3;
 import org.apache.ignite.internal.util.typedef.internal.U;
 
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_4_0;
+
 /**
  * Adds failover abd thread-safety to {@link ClientChannel}.
  */
@@ -59,14 +72,36 @@ final class ReliableChannel implements AutoCloseable {
     private final ClientConfiguration clientCfg;
 
     /** Channel is closed. */
-    private boolean closed;
+    private volatile boolean closed;
+
+    /** All configured server addresses. */
+    private final List<InetSocketAddress> addrs;
+
+    /** Partition awareness is enabled. */
+    private final boolean partitionAwarenessEnabled;
+
+    /** Cache partition awareness context. */
+    private final ClientCacheAffinityContext affinityCtx;
+
+    /** Channels opened to the configured servers, by server address. Used only if partition awareness is enabled. */
+    private final Map<InetSocketAddress, ClientChannel> addrChannels = new HashMap<>();
+
+    /** Channels opened to the configured servers, by server node ID. Used only if partition awareness is enabled. */
+    private final Map<UUID, ClientChannel> nodeChannels = new ConcurrentHashMap<>();
+
+    /** Executor to open channels to the configured servers in background. */
+    private final ExecutorService asyncRunner;
+
+    /** Channels initialization is scheduled. */
+    private final AtomicBoolean chInitScheduled = new AtomicBoolean();
 
     /**
      * Constructor.
      */
     ReliableChannel(
         Function<ClientChannelConfiguration, Result<ClientChannel>> chFactory,
-        ClientConfiguration clientCfg
+        ClientConfiguration clientCfg,
+        IgniteBinary binary
     ) throws ClientException {
         if (chFactory == null)
             throw new NullPointerException("chFactory");
@@ -77,10 +112,22 @@ final class ReliableChannel implements AutoCloseable {
         this.chFactory = chFactory;
         this.clientCfg = clientCfg;
 
-        List<InetSocketAddress> addrs = parseAddresses(clientCfg.getAddresses());
+        addrs = parseAddresses(clientCfg.getAddresses());
 
         srvCnt = addrs.size();
 
+        partitionAwarenessEnabled = clientCfg.isPartitionAwarenessEnabled() && srvCnt > 1;
+
+        affinityCtx = new ClientCacheAffinityContext(binary);
+
+        asyncRunner = partitionAwarenessEnabled ? Executors.newSingleThreadExecutor(r -> {
+            Thread t = new Thread(r, "thin-client-channels-init");
+
+            t.setDaemon(true);
+
+            return t;
+        }) : null;
+
         primary = addrs.get(new Random().nextInt(addrs.size())); // we already verified there is at least one address
 
         for (InetSocketAddress a : addrs) {
@@ -92,7 +139,9 @@ final class ReliableChannel implements AutoCloseable {
 
         for (int i = 0; i < addrs.size(); i++) {
             try {
-                ch = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(primary)).get();
+                ch = createChannel(primary);
+
+                scheduleChannelsInit();
 
                 return;
             } catch (ClientConnectionException e) {
@@ -109,6 +158,17 @@ final class ReliableChannel implements AutoCloseable {
     @Override public synchronized void close() throws Exception {
         closed = true;
 
+        if (asyncRunner != null)
+            asyncRunner.shutdown();
+
+        for (ClientChannel addrCh : addrChannels.values()) {
+            if (addrCh != ch)
+                U.closeQuiet(addrCh);
+        }
+
+        addrChannels.clear();
+        nodeChannels.clear();
+
         if (ch != null) {
             ch.close();
 
@@ -162,6 +222,204 @@ final class ReliableChannel implements AutoCloseable {
         service(op, payloadWriter, null);
     }
 
+    /**
+     * Send request for the key to the primary node of the key and handle response. Falls back to the default
+     * channel if partition awareness is disabled or the primary node can't be determined.
+     */
+    public <T> T affinityService(
+        int cacheId,
+        Object key,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        return nodeService(affinityNode(cacheId, key), op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Send request for the key to the primary node of the key and handle response without payload.
+     */
+    public void affinityRequest(int cacheId, Object key, ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter) throws ClientException {
+        affinityService(cacheId, key, op, payloadWriter, null);
+    }
+
+    /**
+     * Groups keys by their primary nodes. Keys with unknown primary node are mapped to {@code null}.
+     *
+     * @param cacheId Cache ID.
+     * @param keys Keys.
+     * @return Keys grouped by primary node ID.
+     */
+    public <K> Map<UUID, List<K>> mapKeysToNodes(int cacheId, Collection<? extends K> keys) {
+        Map<UUID, List<K>> res = new LinkedHashMap<>();
+
+        if (!partitionAwarenessEnabled || !affinityInfoIsUpToDate(cacheId)) {
+            res.put(null, new ArrayList<>(keys));
+
+            return res;
+        }
+
+        for (K key : keys) {
+            UUID nodeId = affinityCtx.affinityNode(cacheId, key);
+
+            if (nodeId != null && !nodeChannels.containsKey(nodeId))
+                nodeId = null;
+
+            res.computeIfAbsent(nodeId, id -> new ArrayList<>()).add(key);
+        }
+
+        return res;
+    }
+
+    /**
+     * Send requests to the given nodes and handle responses. All requests are sent before waiting for the
+     * responses, so the nodes process them in parallel. Requests for unknown nodes are sent through the default
+     * channel.
+     *
+     * @param op Operation.
+     * @param payloadWriters Payload writers by node ID.
+     * @param payloadReader Payload reader.
+     * @return Received payloads.
+     */
+    public <T> List<T> nodeServiceAll(
+        ClientOperation op,
+        Map<UUID, Consumer<PayloadOutputChannel>> payloadWriters,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        List<T> res = new ArrayList<>(payloadWriters.size());
+
+        List<T3<ClientChannel, Long, Consumer<PayloadOutputChannel>>> sent = new ArrayList<>(payloadWriters.size());
+
+        int rcvd = 0;
+
+        try {
+            for (Map.Entry<UUID, Consumer<PayloadOutputChannel>> e : payloadWriters.entrySet()) {
+                ClientChannel nodeCh = e.getKey() == null ? null : nodeChannels.get(e.getKey());
+
+                if (nodeCh != null) {
+                    try {
+                        sent.add(new T3<>(nodeCh, nodeCh.send(op, e.getValue()), e.getValue()));
+
+                        continue;
+                    }
+                    catch (ClientConnectionException ignored) {
+                        onChannelFailure(nodeCh);
+                    }
+                }
+
+                res.add(service(op, e.getValue(), payloadReader));
+            }
+
+            for (T3<ClientChannel, Long, Consumer<PayloadOutputChannel>> req : sent) {
+                rcvd++;
+
+                try {
+                    res.add(req.get1().receive(req.get2(), payloadReader));
+                }
+                catch (ClientConnectionException ignored) {
+                    onChannelFailure(req.get1());
+
+                    res.add(service(op, req.get3(), payloadReader));
+                }
+            }
+        }
+        finally {
+            // Receive the rest of responses on failure, otherwise the requests remain pending on the channels.
+            for (T3<ClientChannel, Long, Consumer<PayloadOutputChannel>> req : sent.subList(rcvd, sent.size())) {
+                try {
+                    req.get1().receive(req.get2(), null);
+                }
+                catch (ClientException ignored) {
+                    // No-op.
+                }
+            }
+        }
+
+        return res;
+    }
+
+    /**
+     * Send request to the given node and handle response. Falls back to the default channel if there is no
+     * channel to the node or the channel has failed.
+     */
+    private <T> T nodeService(
+        UUID nodeId,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) throws ClientException {
+        ClientChannel nodeCh = nodeId == null ? null : nodeChannels.get(nodeId);
+
+        if (nodeCh != null) {
+            try {
+                return nodeCh.service(op, payloadWriter, payloadReader);
+            }
+            catch (ClientConnectionException ignored) {
+                onChannelFailure(nodeCh);
+            }
+        }
+
+        return service(op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @param key Key.
+     * @return Primary node ID or {@code null} if partition awareness is disabled or the node can't be determined.
+     */
+    private UUID affinityNode(int cacheId, Object key) {
+        if (!partitionAwarenessEnabled || !affinityInfoIsUpToDate(cacheId))
+            return null;
+
+        return affinityCtx.affinityNode(cacheId, key);
+    }
+
+    /**
+     * Requests partition mapping for the cache if it's absent or outdated.
+     *
+     * @param cacheId Cache ID.
+     * @return {@code True} if partition mapping can be used for the cache.
+     */
+    private boolean affinityInfoIsUpToDate(int cacheId) {
+        // Mapping can't be obtained on the current topology version, don't request it on each key operation.
+        if (affinityCtx.affinityUpdateFailed())
+            return false;
+
+        if (!affinityCtx.affinityUpdateRequired(cacheId))
+            return true;
+
+        Collection<Integer> cacheIds = affinityCtx.drainPendingCacheIds();
+
+        // Mapping has been requested concurrently by another thread, use the current one meanwhile.
+        if (cacheIds.isEmpty())
+            return true;
+
+        try {
+            ClientCacheAffinityMapping mapping = service(ClientOperation.CACHE_PARTITIONS,
+                req -> {
+                    if (req.clientChannel().serverVersion().compareTo(V1_4_0) < 0) {
+                        throw new ClientProtocolError(String.format("Partition awareness is not supported by " +
+                            "the server's protocol version %s, required version %s",
+                            req.clientChannel().serverVersion(), V1_4_0));
+                    }
+
+                    ClientCacheAffinityMapping.writeRequest(req.out(), cacheIds);
+                },
+                res -> ClientCacheAffinityMapping.readResponse(res, cacheIds));
+
+            affinityCtx.updateMapping(mapping);
+
+            return true;
+        }
+        catch (ClientError e) {
+            // Server doesn't support partition awareness or failed to calculate the mapping.
+            affinityCtx.onAffinityUpdateFailed();
+
+            return false;
+        }
+    }
+
     /**
      * @return host:port_range address lines parsed as {@link InetSocketAddress}.
      */
@@ -200,7 +458,8 @@ final class ReliableChannel implements AutoCloseable {
 
         if (ch == null) {
             try {
-                ch = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(primary)).get();
+                ch = partitionAwarenessEnabled && addrChannels.containsKey(primary) ?
+                    addrChannels.get(primary) : createChannel(primary);
             }
             catch (ClientConnectionException e) {
                 rollAddress();
@@ -226,9 +485,130 @@ final class ReliableChannel implements AutoCloseable {
         if (oldCh == ch && ch != null) {
             rollAddress();
 
-            U.closeQuiet(ch);
+            onChannelFailure(ch);
+
+            ch = null;
+        }
+    }
+
+    /**
+     * Create channel to the server and register it for partition awareness.
+     *
+     * @param addr Server address.
+     * @return Channel, or the channel to the same address concurrently registered by another thread.
+     */
+    private ClientChannel createChannel(InetSocketAddress addr) throws ClientConnectionException {
+        ClientChannel ch0 = chFactory.apply(new ClientChannelConfiguration(clientCfg).setAddress(addr)).get();
+
+        if (partitionAwarenessEnabled) {
+            ch0.addTopologyChangeListener(this::onTopologyChanged);
+
+            return registerChannel(addr, ch0);
+        }
+
+        return ch0;
+    }
+
+    /**
+     * Register channel for partition awareness. If there is a channel to the same address already, the new one is
+     * closed.
+     *
+     * @param addr Server address.
+     * @param ch0 Channel.
+     * @return Registered channel.
+     */
+    private synchronized ClientChannel registerChannel(InetSocketAddress addr, ClientChannel ch0) {
+        if (closed) {
+            U.closeQuiet(ch0);
+
+            throw new ClientException("Channel is closed");
+        }
+
+        ClientChannel old = addrChannels.putIfAbsent(addr, ch0);
+
+        if (old != null) {
+            U.closeQuiet(ch0);
+
+            return old;
+        }
+
+        UUID nodeId = ch0.serverNodeId();
+
+        if (nodeId != null)
+            nodeChannels.putIfAbsent(nodeId, ch0);
 
+        return ch0;
+    }
+
+    /**
+     * Close failed channel and unregister it.
+     *
+     * @param failedCh Failed channel.
+     */
+    private synchronized void onChannelFailure(ClientChannel failedCh) {
+        addrChannels.values().remove(failedCh);
+
+        UUID nodeId = failedCh.serverNodeId();
+
+        if (nodeId != null)
+            nodeChannels.remove(nodeId, failedCh);
+
+        if (failedCh == ch)
             ch = null;
+
+        U.closeQuiet(failedCh);
+
+        scheduleChannelsInit();
+    }
+
+    /**
+     * Handle affinity topology change reported by the server.
+     *
+     * @param ch0 Channel, which reported the change.
+     */
+    private void onTopologyChanged(ClientChannel ch0) {
+        // New topology may contain restarted nodes, which we failed to connect to before.
+        if (affinityCtx.updateLastTopologyVersion(ch0.serverTopologyVersion()))
+            scheduleChannelsInit();
+    }
+
+    /**
+     * Schedule background opening of the channels to all configured servers.
+     */
+    private void scheduleChannelsInit() {
+        if (!partitionAwarenessEnabled || closed || !chInitScheduled.compareAndSet(false, true))
+            return;
+
+        try {
+            asyncRunner.submit(this::initAllChannels);
+        }
+        catch (RejectedExecutionException ignored) {
+            // Reliable channel is closed.
+        }
+    }
+
+    /**
+     * Open channels to all configured servers, which are not connected yet. Servers that are unavailable are
+     * skipped: requests for their partitions are sent through the default channel.
+     */
+    private void initAllChannels() {
+        chInitScheduled.set(false);
+
+        for (InetSocketAddress addr : addrs) {
+            synchronized (this) {
+                if (closed)
+                    return;
+
+                if (addrChannels.containsKey(addr))
+                    continue;
+            }
+
+            try {
+                createChannel(addr);
+            }
+            catch (ClientException ignored) {
+                // Best effort: skip unavailable server.
+            }
         }
     }
 }
@@ -17,14 +17,20 @@
 package org.apache.ignite.internal.client.thin;
 
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.UUID;
 import java.util.function.Consumer;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 import javax.cache.Cache;
+import org.apache.ignite.cache.CacheAtomicityMode;
 import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.query.ContinuousQuery;
 import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.Query;
 import org.apache.ignite.cache.query.QueryCursor;
@@ -40,6 +46,7 @@ import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
 import org.apache.ignite.internal.client.thin.TcpClientTransactions.TcpClientTransaction;
 
 import static java.util.AbstractMap.SimpleEntry;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_7_0;
 
 /**
  * Implementation of {@link ClientCache} over TCP protocol.
@@ -72,6 +79,9 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
     /** Indicates if cache works with Ignite Binary format. */
     private boolean keepBinary = false;
 
+    /** Indicates if cache is transactional, {@code null} until the cache configuration is requested. */
+    private volatile Boolean transactional;
+
     /** Constructor. */
     TcpClientCache(String name, ReliableChannel ch, ClientBinaryMarshaller marsh, TcpClientTransactions transactions) {
         this.name = name;
@@ -88,7 +98,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_GET,
             req -> {
                 writeCacheInfo(req);
@@ -106,7 +117,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (val == null)
             throw new NullPointerException("val");
 
-        ch.request(
+        affinityRequest(
+            key,
             ClientOperation.CACHE_PUT,
             req -> {
                 writeCacheInfo(req);
@@ -121,7 +133,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_CONTAINS_KEY,
             req -> {
                 writeCacheInfo(req);
@@ -172,17 +185,33 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (keys.isEmpty())
             return new HashMap<>();
 
-        return ch.service(
-            ClientOperation.CACHE_GET_ALL,
-            req -> {
+        Function<PayloadInputChannel, Collection<SimpleEntry<K, V>>> resReader = res -> ClientUtils.collection(
+            res.in(),
+            in -> new SimpleEntry<K, V>(readObject(in), readObject(in))
+        );
+
+        Map<UUID, List<K>> nodeKeys = mapKeysToNodes(keys);
+
+        Map<UUID, Consumer<PayloadOutputChannel>> reqWriters = new HashMap<>(nodeKeys.size());
+
+        for (Map.Entry<UUID, List<K>> e : nodeKeys.entrySet()) {
+            reqWriters.put(e.getKey(), req -> {
                 writeCacheInfo(req);
-                ClientUtils.collection(keys, req.out(), serDes::writeObject);
-            },
-            res -> ClientUtils.collection(
-                res.in(),
-                in -> new SimpleEntry<K, V>(readObject(in), readObject(in))
-            )
-        ).stream().collect(Collectors.toMap(SimpleEntry::getKey, SimpleEntry::getValue));
+                ClientUtils.collection(e.getValue(), req.out(), serDes::writeObject);
+            });
+        }
+
+        List<Collection<SimpleEntry<K, V>>> nodeResults =
+            ch.nodeServiceAll(ClientOperation.CACHE_GET_ALL, reqWriters, resReader);
+
+        Map<K, V> res = new HashMap<>();
+
+        for (Collection<SimpleEntry<K, V>> nodeRes : nodeResults) {
+            for (SimpleEntry<K, V> entry : nodeRes)
+                res.put(entry.getKey(), entry.getValue());
+        }
+
+        return res;
     }
 
     /** {@inheritDoc} */
@@ -193,19 +222,28 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (map.isEmpty())
             return;
 
-        ch.request(
-            ClientOperation.CACHE_PUT_ALL,
-            req -> {
+        Map<UUID, List<K>> nodeKeys = mapKeysToNodes(map.keySet());
+
+        // Implicit transaction must cover all the keys, so they are not split between nodes.
+        if (nodeKeys.size() > 1 && transactional())
+            nodeKeys = Collections.singletonMap(null, new ArrayList<K>(map.keySet()));
+
+        Map<UUID, Consumer<PayloadOutputChannel>> reqWriters = new HashMap<>(nodeKeys.size());
+
+        for (Map.Entry<UUID, List<K>> e : nodeKeys.entrySet()) {
+            reqWriters.put(e.getKey(), req -> {
                 writeCacheInfo(req);
                 ClientUtils.collection(
-                    map.entrySet(),
+                    e.getValue(),
                     req.out(),
-                    (out, e) -> {
-                        serDes.writeObject(out, e.getKey());
-                        serDes.writeObject(out, e.getValue());
+                    (out, key) -> {
+                        serDes.writeObject(out, key);
+                        serDes.writeObject(out, map.get(key));
                     });
-            }
-        );
+            });
+        }
+
+        ch.nodeServiceAll(ClientOperation.CACHE_PUT_ALL, reqWriters, null);
     }
 
     /** {@inheritDoc} */
@@ -219,7 +257,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (newVal == null)
             throw new NullPointerException("newVal");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_REPLACE_IF_EQUALS,
             req -> {
                 writeCacheInfo(req);
@@ -239,7 +278,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (val == null)
             throw new NullPointerException("val");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_REPLACE,
             req -> {
                 writeCacheInfo(req);
@@ -255,7 +295,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_REMOVE_KEY,
             req -> {
                 writeCacheInfo(req);
@@ -273,7 +314,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (oldVal == null)
             throw new NullPointerException("oldVal");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_REMOVE_IF_EQUALS,
             req -> {
                 writeCacheInfo(req);
@@ -314,7 +356,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (val == null)
             throw new NullPointerException("val");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_GET_AND_PUT,
             req -> {
                 writeCacheInfo(req);
@@ -330,7 +373,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (key == null)
             throw new NullPointerException("key");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_GET_AND_REMOVE,
             req -> {
                 writeCacheInfo(req);
@@ -348,7 +392,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (val == null)
             throw new NullPointerException("val");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_GET_AND_REPLACE,
             req -> {
                 writeCacheInfo(req);
@@ -367,7 +412,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         if (val == null)
             throw new NullPointerException("val");
 
-        return ch.service(
+        return affinityService(
+            key,
             ClientOperation.CACHE_PUT_IF_ABSENT,
             req -> {
                 writeCacheInfo(req);
@@ -421,6 +467,8 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
             res = (QueryCursor<R>)sqlQuery((SqlQuery)qry);
         else if (qry instanceof SqlFieldsQuery)
             res = (QueryCursor<R>)query((SqlFieldsQuery)qry);
+        else if (qry instanceof ContinuousQuery)
+            res = (QueryCursor<R>)continuousQuery((ContinuousQuery<K, V>)qry);
         else
             throw new IllegalArgumentException(
                 String.format("Query of type [%s] is not supported", qry.getClass().getSimpleName())
@@ -505,6 +553,94 @@ class TcpClientCache<K, V> implements ClientCache<K, V> {
         ));
     }
 
+    /** Handle continuous query. */
+    private QueryCursor<Cache.Entry<K, V>> continuousQuery(ContinuousQuery<K, V> qry) {
+        if (qry.getInitialQuery() != null)
+            throw new IllegalArgumentException("Initial query is not supported by the thin client continuous query");
+
+        if (qry.getLocalListener() == null)
+            throw new IllegalArgumentException("Local listener must be set for the thin client continuous query");
+
+        Consumer<PayloadOutputChannel> qryWriter = payloadCh -> {
+            if (payloadCh.clientChannel().serverVersion().compareTo(V1_7_0) < 0) {
+                throw new ClientProtocolError(String.format("Continuous queries are not supported by the server's " +
+                    "protocol version %s, required version %s", payloadCh.clientChannel().serverVersion(), V1_7_0));
+            }
+
+            BinaryOutputStream out = payloadCh.out();
+
+            // Continuous query is not a part of transaction, so the transaction flag and ID are never written.
+            out.writeInt(cacheId);
+            out.writeByte(keepBinary ? KEEP_BINARY_FLAG_MASK : 0);
+
+            out.writeInt(qry.getPageSize());
+            out.writeLong(qry.getTimeInterval());
+            out.writeBoolean(qry.isIncludeExpired());
+            out.writeInt(ClientContinuousQueryCursor.MAX_UNACKED_BATCHES);
+
+            if (qry.getRemoteFilterFactory() == null)
+                out.writeByte(GridBinaryMarshaller.NULL);
+            else {
+                serDes.writeObject(out, qry.getRemoteFilterFactory());
+                out.writeByte((byte)1); // Java platform
+            }
+        };
+
+        ClientContinuousQueryCursor<K, V> cur = ch.service(ClientOperation.QUERY_CONTINUOUS, qryWriter,
+            res -> new ClientContinuousQueryCursor<>(res.clientChannel(), res.in().readLong(), qry.getLocalListener(),
+                new ClientJCacheAdapter<>(this), serDes, keepBinary));
+
+        cur.start();
+
+        return cur;
+    }
+
+    /**
+     * Send request for the key to the primary node of the key, unless there is an active transaction, which is
+     * bound to its own channel.
+     */
+    private <T> T affinityService(
+        Object key,
+        ClientOperation op,
+        Consumer<PayloadOutputChannel> payloadWriter,
+        Function<PayloadInputChannel, T> payloadReader
+    ) {
+        if (transactions.tx() != null)
+            return ch.service(op, payloadWriter, payloadReader);
+
+        return ch.affinityService(cacheId, key, op, payloadWriter, payloadReader);
+    }
+
+    /**
+     * Send request for the key to the primary node of the key and handle response without payload.
+     */
+    private void affinityRequest(Object key, ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter) {
+        affinityService(key, op, payloadWriter, null);
+    }
+
+    /**
+     * Groups keys by their primary nodes. All keys are mapped to the default channel ({@code null} node ID) if
+     * there is an active transaction.
+     */
+    private Map<UUID, List<K>> mapKeysToNodes(Collection<? extends K> keys) {
+        if (transactions.tx() != null)
+            return Collections.singletonMap(null, new ArrayList<K>(keys));
+
+        return ch.mapKeysToNodes(cacheId, keys);
+    }
+
+    /**
+     * @return {@code True} if the cache is transactional. Cache configuration is requested only once.
+     */
+    private boolean transactional() {
+        Boolean res = transactional;
+
+        if (res == null)
+            transactional = res = getConfiguration().getAtomicityMode() != CacheAtomicityMode.ATOMIC;
+
+        return res;
+    }
+
     /** Write cache ID and flags. */
     private void writeCacheInfo(PayloadOutputChannel payloadCh) {
         BinaryOutputStream out = payloadCh.out();
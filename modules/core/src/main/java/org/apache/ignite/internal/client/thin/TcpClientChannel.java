@@ -31,10 +31,15 @@ import java.security.NoSuchAlgorithmException;
 import java.security.UnrecoverableKeyException;
 import java.security.cert.CertificateException;
 import java.security.cert.X509Certificate;
+import java.util.ArrayDeque;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -61,6 +66,7 @@ import org.apache.ignite.client.SslMode;
 import org.apache.ignite.client.SslProtocol;
 import org.apache.ignite.configuration.ClientConfiguration;
 import org.apache.ignite.internal.IgniteFutureTimeoutCheckedException;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.binary.BinaryPrimitives;
 import org.apache.ignite.internal.binary.BinaryRawWriterEx;
 import org.apache.ignite.internal.binary.BinaryReaderExImpl;
@@ -69,6 +75,7 @@ import org.apache.ignite.internal.binary.streams.BinaryHeapInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryHeapOutputStream;
 import org.apache.ignite.internal.binary.streams.BinaryInputStream;
 import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.platform.client.ClientFlag;
 import org.apache.ignite.internal.processors.platform.client.ClientStatus;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
@@ -79,6 +86,8 @@ import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_1_0;
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_2_0;
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_4_0;
 import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_5_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_6_0;
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_7_0;
 import static org.apache.ignite.ssl.SslContextFactory.DFLT_KEY_ALGORITHM;
 import static org.apache.ignite.ssl.SslContextFactory.DFLT_STORE_TYPE;
 
@@ -88,6 +97,8 @@ import static org.apache.ignite.ssl.SslContextFactory.DFLT_STORE_TYPE;
 class TcpClientChannel implements ClientChannel {
     /** Supported protocol versions. */
     private static final Collection<ProtocolVersion> supportedVers = Arrays.asList(
+        V1_7_0,
+        V1_6_0,
         V1_5_0,
         V1_4_0,
         V1_2_0,
@@ -99,7 +110,7 @@ class TcpClientChannel implements ClientChannel {
     private static final long PAYLOAD_WAIT_TIMEOUT = 10L;
 
     /** Protocol version agreed with the server. */
-    private ProtocolVersion ver = V1_5_0;
+    private ProtocolVersion ver = V1_7_0;
 
     /** Channel. */
     private final Socket sock;
@@ -122,6 +133,18 @@ class TcpClientChannel implements ClientChannel {
     /** Pending requests. */
     private final Map<Long, ClientRequestFuture> pendingReqs = new ConcurrentHashMap<>();
 
+    /** Pending server notifications (received or awaited), by resource ID. */
+    private final Map<Long, ClientNotificationQueue> pendingNotifications = new ConcurrentHashMap<>();
+
+    /** Topology change listeners. */
+    private final Collection<Consumer<ClientChannel>> topChangeLsnrs = new CopyOnWriteArrayList<>();
+
+    /** Server node ID. */
+    private volatile UUID srvNodeId;
+
+    /** Last affinity topology version reported by the server. */
+    private volatile AffinityTopologyVersion srvTopVer;
+
     /** Constructor. */
     TcpClientChannel(ClientChannelConfiguration cfg) throws ClientConnectionException, ClientAuthenticationException {
         validateConfiguration(cfg);
@@ -147,6 +170,9 @@ class TcpClientChannel implements ClientChannel {
 
         for (ClientRequestFuture pendingReq : pendingReqs.values())
             pendingReq.onDone(new ClientConnectionException("Channel is closed"));
+
+        for (ClientNotificationQueue notifications : pendingNotifications.values())
+            notifications.onDone(new ClientConnectionException("Channel is closed"));
     }
 
     /** {@inheritDoc} */
@@ -157,12 +183,8 @@ class TcpClientChannel implements ClientChannel {
         return receive(id, payloadReader);
     }
 
-    /**
-     * @param op Operation.
-     * @param payloadWriter Payload writer to stream or {@code null} if request has no payload.
-     * @return Request ID.
-     */
-    private long send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
+    /** {@inheritDoc} */
+    @Override public long send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
         throws ClientConnectionException {
         long id = reqId.getAndIncrement();
 
@@ -197,58 +219,144 @@ class TcpClientChannel implements ClientChannel {
         return id;
     }
 
-    /**
-     * @param reqId ID of the request to receive the response for.
-     * @param payloadReader Payload reader from stream.
-     * @return Received operation payload or {@code null} if response has no payload.
-     */
-    private <T> T receive(long reqId, Function<PayloadInputChannel, T> payloadReader)
+    /** {@inheritDoc} */
+    @Override public <T> T receive(long reqId, Function<PayloadInputChannel, T> payloadReader)
         throws ClientConnectionException, ClientAuthorizationException {
         ClientRequestFuture pendingReq = pendingReqs.get(reqId);
 
         assert pendingReq != null : "Pending request future not found for request " + reqId;
 
+        try {
+            byte[] payload = awaitPayload(pendingReq, 0);
+
+            if (payload == null || payloadReader == null)
+                return null;
+
+            return payloadReader.apply(new PayloadInputChannel(this, payload));
+        }
+        catch (IgniteCheckedException e) {
+            throw convertException(e);
+        }
+        finally {
+            pendingReqs.remove(reqId);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T> T receiveNotification(long rsrcId, Function<PayloadInputChannel, T> payloadReader,
+        long timeout) throws ClientException, TimeoutException, InterruptedException {
+        ClientRequestFuture[] next = new ClientRequestFuture[1];
+
+        pendingNotifications.compute(rsrcId, (id, notifications) -> {
+            if (notifications == null)
+                notifications = new ClientNotificationQueue();
+
+            next[0] = notifications.head();
+
+            return notifications;
+        });
+
+        ClientRequestFuture pendingNotification = next[0];
+
+        try {
+            byte[] payload = awaitPayload(pendingNotification, timeout);
+
+            onNotificationReceived(rsrcId, pendingNotification);
+
+            if (payload == null || payloadReader == null)
+                return null;
+
+            return payloadReader.apply(new PayloadInputChannel(this, payload));
+        }
+        catch (IgniteFutureTimeoutCheckedException e) {
+            throw new TimeoutException("Notification was not received in " + timeout + " ms [rsrcId=" + rsrcId + ']');
+        }
+        catch (IgniteInterruptedCheckedException e) {
+            Thread.interrupted();
+
+            throw new InterruptedException(e.getMessage());
+        }
+        catch (IgniteCheckedException e) {
+            onNotificationReceived(rsrcId, pendingNotification);
+
+            throw convertException(e);
+        }
+    }
+
+    /**
+     * Removes received notification from the resource notifications queue.
+     *
+     * @param rsrcId Resource ID.
+     * @param notification Received notification.
+     */
+    private void onNotificationReceived(long rsrcId, ClientRequestFuture notification) {
+        pendingNotifications.computeIfPresent(rsrcId, (id, notifications) -> {
+            notifications.remove(notification);
+
+            return notifications.isEmpty() ? null : notifications;
+        });
+    }
+
+    /** {@inheritDoc} */
+    @Override public void dropNotifications(long rsrcId) {
+        ClientNotificationQueue notifications = pendingNotifications.remove(rsrcId);
+
+        if (notifications != null)
+            notifications.onDone(new ClientException("Notifications were dropped [rsrcId=" + rsrcId + ']'));
+    }
+
+    /**
+     * Waits for the future to be completed by the thread reading from the channel.
+     *
+     * @param fut Future.
+     * @param timeout Timeout in milliseconds, {@code 0} to wait without timeout.
+     * @return Received payload.
+     * @throws IgniteFutureTimeoutCheckedException If timeout is exceeded.
+     * @throws IgniteCheckedException If the future is completed with an error.
+     */
+    private byte[] awaitPayload(ClientRequestFuture fut, long timeout) throws IgniteCheckedException {
+        long deadline = timeout > 0 ? System.currentTimeMillis() + timeout : 0;
+
         // Each thread creates a future on request sent and returns a response when this future is completed.
         // Only one thread at a time can have access to read from the channel. This thread reads the next available
         // response and complete corresponding future. All other concurrent threads wait for their own futures with
         // a timeout and periodically try to lock the channel to process the next response.
-        try {
-            while (true) {
-                if (rcvLock.tryLock()) {
-                    try {
-                        if (!pendingReq.isDone())
-                            processNextResponse();
-                    }
-                    finally {
-                        rcvLock.unlock();
-                    }
-                }
-
+        // A thread waiting with a timeout reads only the responses already available, since a blocking read
+        // can't be interrupted when the timeout is exceeded.
+        while (true) {
+            if (rcvLock.tryLock()) {
                 try {
-                    byte[] payload = pendingReq.get(PAYLOAD_WAIT_TIMEOUT);
-
-                    if (payload == null || payloadReader == null)
-                        return null;
-
-                    return payloadReader.apply(new PayloadInputChannel(this, payload));
+                    if (!fut.isDone() && (deadline == 0 || dataInput.available()))
+                        processNextResponse();
                 }
-                catch (IgniteFutureTimeoutCheckedException ignore) {
-                    // Next cycle if timed out.
+                finally {
+                    rcvLock.unlock();
                 }
             }
+
+            try {
+                return fut.get(PAYLOAD_WAIT_TIMEOUT);
+            }
+            catch (IgniteFutureTimeoutCheckedException e) {
+                // Next cycle if timed out.
+                if (deadline > 0 && System.currentTimeMillis() >= deadline)
+                    throw e;
+            }
         }
-        catch (IgniteCheckedException e) {
-            if (e.getCause() instanceof ClientError)
-                throw (ClientError)e.getCause();
+    }
 
-            if (e.getCause() instanceof ClientException)
-                throw (ClientException)e.getCause();
+    /**
+     * @param e Exception.
+     * @return Client exception.
+     */
+    private static ClientException convertException(IgniteCheckedException e) {
+        if (e.getCause() instanceof ClientError)
+            throw (ClientError)e.getCause();
 
-            throw new ClientException(e.getMessage(), e);
-        }
-        finally {
-            pendingReqs.remove(reqId);
-        }
+        if (e.getCause() instanceof ClientException)
+            return (ClientException)e.getCause();
+
+        return new ClientException(e.getMessage(), e);
     }
 
     /**
@@ -264,29 +372,56 @@ class TcpClientChannel implements ClientChannel {
 
         long resId = dataInput.readLong();
 
-        ClientRequestFuture pendingReq = pendingReqs.get(resId);
-
-        if (pendingReq == null)
-            throw new ClientProtocolError(String.format("Unexpected response ID [%s]", resId));
-
         int status = 0;
 
         BinaryInputStream resIn;
 
+        ClientRequestFuture pendingReq;
+
         if (ver.compareTo(V1_4_0) >= 0) {
             short flags = dataInput.readShort();
 
+            if ((flags & ClientFlag.NOTIFICATION) != 0) {
+                dataInput.readShort(); // Notification operation code.
+
+                // Notification may be received before someone starts waiting for it.
+                ClientRequestFuture[] next = new ClientRequestFuture[1];
+
+                pendingNotifications.compute(resId, (id, notifications) -> {
+                    if (notifications == null)
+                        notifications = new ClientNotificationQueue();
+
+                    next[0] = notifications.tail();
+
+                    return notifications;
+                });
+
+                pendingReq = next[0];
+            }
+            else
+                pendingReq = pendingReqs.get(resId);
+
             if ((flags & ClientFlag.AFFINITY_TOPOLOGY_CHANGED) != 0) {
-                // TODO: IGNITE-11898 Implement Best Effort Affinity for java thin client.
-                dataInput.readLong(); // topVer.
-                dataInput.readInt(); // minorTopVer.
+                long topVer = dataInput.readLong();
+                int minorTopVer = dataInput.readInt();
+
+                srvTopVer = new AffinityTopologyVersion(topVer, minorTopVer);
+
+                for (Consumer<ClientChannel> lsnr : topChangeLsnrs)
+                    lsnr.accept(this);
             }
 
             if ((flags & ClientFlag.ERROR) != 0)
                 status = dataInput.readInt();
         }
-        else
+        else {
+            pendingReq = pendingReqs.get(resId);
+
             status = dataInput.readInt();
+        }
+
+        if (pendingReq == null)
+            throw new ClientProtocolError(String.format("Unexpected response ID [%s]", resId));
 
         int hdrSize = (int)(dataInput.totalBytesRead() - bytesReadOnStartReq);
 
@@ -315,6 +450,21 @@ class TcpClientChannel implements ClientChannel {
         return ver;
     }
 
+    /** {@inheritDoc} */
+    @Override public UUID serverNodeId() {
+        return srvNodeId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public AffinityTopologyVersion serverTopologyVersion() {
+        return srvTopVer;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addTopologyChangeListener(Consumer<ClientChannel> lsnr) {
+        topChangeLsnrs.add(lsnr);
+    }
+
     /** Validate {@link ClientConfiguration}. */
     private static void validateConfiguration(ClientChannelConfiguration cfg) {
         String error = null;
@@ -402,8 +552,7 @@ class TcpClientChannel implements ClientChannel {
         try (BinaryReaderExImpl r = new BinaryReaderExImpl(null, res, null, true)) {
             if (res.readBoolean()) { // Success flag.
                 if (ver.compareTo(V1_4_0) >= 0)
-                    // TODO: IGNITE-11898 Implement Best Effort Affinity for java thin client.
-                    r.readUuid(); // Server node UUID.
+                    srvNodeId = r.readUuid();
             }
             else {
                 ProtocolVersion srvVer = new ProtocolVersion(res.readShort(), res.readShort(), res.readShort());
@@ -515,6 +664,18 @@ class TcpClientChannel implements ClientChannel {
             totalBytesRead += readBytesNum;
         }
 
+        /**
+         * @return {@code True} if the input stream has bytes that can be read without blocking.
+         */
+        public boolean available() throws ClientConnectionException {
+            try {
+                return in.available() > 0;
+            }
+            catch (IOException e) {
+                throw handleIOError(e);
+            }
+        }
+
         /** Read bytes from the input stream. */
         public byte[] read(int len) throws ClientConnectionException {
             byte[] bytes = new byte[len];
@@ -572,6 +733,65 @@ class TcpClientChannel implements ClientChannel {
     private static class ClientRequestFuture extends GridFutureAdapter<byte[]> {
     }
 
+    /**
+     * Ordered queue of notifications for a single resource. Each notification is represented by a future, completed
+     * when the notification is received. Must be accessed within {@link #pendingNotifications} compute functions.
+     */
+    private static class ClientNotificationQueue {
+        /** Notifications. */
+        private final Deque<ClientRequestFuture> notifications = new ArrayDeque<>();
+
+        /**
+         * @return Future of the first notification not consumed yet.
+         */
+        ClientRequestFuture head() {
+            if (notifications.isEmpty())
+                notifications.addLast(new ClientRequestFuture());
+
+            return notifications.peekFirst();
+        }
+
+        /**
+         * @return Future to be completed by the next received notification.
+         */
+        ClientRequestFuture tail() {
+            ClientRequestFuture last = notifications.peekLast();
+
+            if (last == null || last.isDone()) {
+                last = new ClientRequestFuture();
+
+                notifications.addLast(last);
+            }
+
+            return last;
+        }
+
+        /**
+         * @param notification Consumed notification.
+         */
+        void remove(ClientRequestFuture notification) {
+            if (notifications.peekFirst() == notification)
+                notifications.pollFirst();
+        }
+
+        /**
+         * @return {@code True} if there are no notifications received or awaited.
+         */
+        boolean isEmpty() {
+            return notifications.isEmpty();
+        }
+
+        /**
+         * Fails all awaited notifications.
+         *
+         * @param err Error.
+         */
+        void onDone(Throwable err) {
+            for (ClientRequestFuture notification : notifications)
+                notification.onDone(err);
+        }
+    }
+
     /** SSL Socket Factory. */
     private static class ClientSslSocketFactory {
         /** Trust manager ignoring all certificate checks. */
@@ -0,0 +1,262 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.ignite.client.ClientCompute;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.binary.BinaryWriterExImpl;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_7_0;
+
+/**
+ * Implementation of {@link ClientCompute} over TCP protocol.
+ */
+class TcpClientCompute implements ClientCompute {
+    /** No failover flag mask. */
+    private static final byte NO_FAILOVER_FLAG_MASK = 0x01;
+
+    /** No result cache flag mask. */
+    private static final byte NO_RESULT_CACHE_FLAG_MASK = 0x02;
+
+    /** Keep binary flag mask. */
+    private static final byte KEEP_BINARY_FLAG_MASK = 0x04;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Marshaller. */
+    private final ClientBinaryMarshaller marsh;
+
+    /** Utils for serialization/deserialization. */
+    private final ClientUtils utils;
+
+    /** Task flags. */
+    private final byte flags;
+
+    /** Task timeout. */
+    private final long timeout;
+
+    /** Constructor. */
+    TcpClientCompute(ReliableChannel ch, ClientBinaryMarshaller marsh) {
+        this(ch, marsh, (byte)0, 0L);
+    }
+
+    /** Constructor. */
+    private TcpClientCompute(ReliableChannel ch, ClientBinaryMarshaller marsh, byte flags, long timeout) {
+        this.ch = ch;
+        this.marsh = marsh;
+        this.flags = flags;
+        this.timeout = timeout;
+
+        utils = new ClientUtils(marsh);
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T, R> R execute(String taskName, T arg) throws ClientException, InterruptedException {
+        Future<R> fut = executeAsync(taskName, arg);
+
+        try {
+            return fut.get();
+        }
+        catch (InterruptedException e) {
+            fut.cancel(true);
+
+            throw e;
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException)
+                throw (RuntimeException)e.getCause();
+
+            throw new ClientException(e.getCause());
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public <T, R> Future<R> executeAsync(String taskName, T arg) throws ClientException {
+        return ch.service(ClientOperation.COMPUTE_TASK_EXECUTE,
+            req -> {
+                if (req.clientChannel().serverVersion().compareTo(V1_7_0) < 0) {
+                    throw new ClientProtocolError(String.format("Compute grid functionality is not supported by the " +
+                        "server's protocol version %s, required version %s", req.clientChannel().serverVersion(),
+                        V1_7_0));
+                }
+
+                try (BinaryRawWriterEx w = new BinaryWriterExImpl(marsh.context(), req.out(), null, null)) {
+                    w.writeInt(0); // Execute on all server nodes.
+                    w.writeByte(flags);
+                    w.writeLong(timeout);
+                    w.writeString(taskName);
+
+                    utils.writeObject(req.out(), arg);
+                }
+            },
+            res -> new ClientComputeTask<>(res.clientChannel(), res.in().readLong())
+        );
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withTimeout(long timeout) {
+        return timeout == this.timeout ? this : new TcpClientCompute(ch, marsh, flags, timeout);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withNoFailover() {
+        return withFlag(NO_FAILOVER_FLAG_MASK);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withNoResultCache() {
+        return withFlag(NO_RESULT_CACHE_FLAG_MASK);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientCompute withKeepBinary() {
+        return withFlag(KEEP_BINARY_FLAG_MASK);
+    }
+
+    /**
+     * @param flag Flag mask.
+     * @return Compute facade with the given flag set.
+     */
+    private ClientCompute withFlag(byte flag) {
+        return (flags & flag) != 0 ? this : new TcpClientCompute(ch, marsh, (byte)(flags | flag), timeout);
+    }
+
+    /**
+     * Compute task started on the server. Task result is received by the thread waiting for the future, as a server
+     * notification on the same channel the task was started on.
+     */
+    private class ClientComputeTask<R> implements Future<R> {
+        /** Channel the task was started on. */
+        private final ClientChannel clientCh;
+
+        /** Task (resource) ID. */
+        private final long taskId;
+
+        /** Keep binary flag. */
+        private final boolean keepBinary = (flags & KEEP_BINARY_FLAG_MASK) != 0;
+
+        /** Result. */
+        private volatile R res;
+
+        /** Error. */
+        private volatile ClientException err;
+
+        /** Done flag. */
+        private volatile boolean done;
+
+        /** Cancelled flag. */
+        private volatile boolean cancelled;
+
+        /**
+         * @param clientCh Channel the task was started on.
+         * @param taskId Task ID.
+         */
+        ClientComputeTask(ClientChannel clientCh, long taskId) {
+            this.clientCh = clientCh;
+            this.taskId = taskId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean cancel(boolean mayInterruptIfRunning) {
+            synchronized (this) {
+                if (done || cancelled)
+                    return false;
+
+                cancelled = true;
+            }
+
+            try {
+                clientCh.service(ClientOperation.RESOURCE_CLOSE, req -> req.out().writeLong(taskId), null);
+            }
+            catch (ClientServerError ignore) {
+                // Task is already finished on the server and the resource is released.
+            }
+            finally {
+                clientCh.dropNotifications(taskId);
+            }
+
+            return true;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isCancelled() {
+            return cancelled;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isDone() {
+            return done || cancelled;
+        }
+
+        /** {@inheritDoc} */
+        @Override public R get() throws InterruptedException, ExecutionException {
+            try {
+                return get0(0);
+            }
+            catch (TimeoutException e) {
+                throw new AssertionError("Unexpected timeout", e);
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public R get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+            return get0(Math.max(unit.toMillis(timeout), 1L));
+        }
+
+        /**
+         * @param timeout Timeout in milliseconds, {@code 0} to wait without timeout.
+         * @return Task result.
+         */
+        private R get0(long timeout) throws InterruptedException, ExecutionException, TimeoutException {
+            if (!done && !cancelled) {
+                try {
+                    res = clientCh.receiveNotification(taskId, in -> utils.readObject(in.in(), keepBinary), timeout);
+                }
+                catch (ClientException e) {
+                    err = e;
+                }
+                catch (ClientError e) {
+                    err = new ClientException(e.getMessage(), e);
+                }
+
+                done = true;
+            }
+
+            if (cancelled)
+                throw new CancellationException("Task was cancelled [taskId=" + taskId + ']');
+
+            if (err != null)
+                throw new ExecutionException(err.getMessage(), err);
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(ClientComputeTask.class, this);
+        }
+    }
+}
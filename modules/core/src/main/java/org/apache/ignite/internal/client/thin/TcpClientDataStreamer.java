@@ -0,0 +1,350 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.client.ClientDataStreamer;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.internal.binary.streams.BinaryOutputStream;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.stream.StreamReceiver;
+
+import static org.apache.ignite.internal.client.thin.ProtocolVersion.V1_7_0;
+
+/**
+ * Implementation of {@link ClientDataStreamer} over TCP protocol.
+ * <p>
+ * The first batch starts the streamer on the server, subsequent batches are sent to the same server node (channel),
+ * since the server-side streamer is a resource of the connection.
+ */
+class TcpClientDataStreamer<K, V> implements ClientDataStreamer<K, V> {
+    /** Allow overwrite flag mask. */
+    private static final byte ALLOW_OVERWRITE_FLAG_MASK = 0x01;
+
+    /** Skip store flag mask. */
+    private static final byte SKIP_STORE_FLAG_MASK = 0x02;
+
+    /** Keep binary flag mask. */
+    private static final byte KEEP_BINARY_FLAG_MASK = 0x04;
+
+    /** Flush flag mask. */
+    private static final byte FLUSH_FLAG_MASK = 0x08;
+
+    /** Close flag mask. */
+    private static final byte CLOSE_FLAG_MASK = 0x10;
+
+    /** Java receiver platform. */
+    private static final byte RECEIVER_PLATFORM_JAVA = 1;
+
+    /** Cache name. */
+    private final String cacheName;
+
+    /** Cache ID. */
+    private final int cacheId;
+
+    /** Channel. */
+    private final ReliableChannel ch;
+
+    /** Utils for serialization/deserialization. */
+    private final ClientUtils serDes;
+
+    /** Buffered entries. */
+    private List<T2<K, V>> buf = new ArrayList<>();
+
+    /** Settings flags. */
+    private byte flags;
+
+    /** Per node buffer size. */
+    private int perNodeBufSize;
+
+    /** Per node parallel operations. */
+    private int perNodeParallelOps;
+
+    /** Client batch size. */
+    private int batchSize = DFLT_BATCH_SIZE;
+
+    /** Stream receiver. */
+    private StreamReceiver<K, V> rcvr;
+
+    /** Channel the streamer was started on, {@code null} if the streamer is not started yet. */
+    private ClientChannel clientCh;
+
+    /** Streamer (resource) ID. */
+    private long streamerId;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /**
+     * @param cacheName Cache name.
+     * @param ch Channel.
+     * @param marsh Marshaller.
+     */
+    TcpClientDataStreamer(String cacheName, ReliableChannel ch, ClientBinaryMarshaller marsh) {
+        this.cacheName = cacheName;
+        this.ch = ch;
+
+        cacheId = ClientUtils.cacheId(cacheName);
+        serDes = new ClientUtils(marsh);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String cacheName() {
+        return cacheName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientDataStreamer<K, V> allowOverwrite(boolean allowOverwrite) {
+        return setFlag(ALLOW_OVERWRITE_FLAG_MASK, allowOverwrite);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientDataStreamer<K, V> skipStore(boolean skipStore) {
+        return setFlag(SKIP_STORE_FLAG_MASK, skipStore);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientDataStreamer<K, V> keepBinary(boolean keepBinary) {
+        return setFlag(KEEP_BINARY_FLAG_MASK, keepBinary);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized ClientDataStreamer<K, V> perNodeBufferSize(int bufSize) {
+        checkNotStarted();
+
+        perNodeBufSize = bufSize;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized ClientDataStreamer<K, V> perNodeParallelOperations(int parallelOps) {
+        checkNotStarted();
+
+        perNodeParallelOps = parallelOps;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized ClientDataStreamer<K, V> batchSize(int batchSize) {
+        A.ensure(batchSize > 0, "batchSize > 0");
+
+        this.batchSize = batchSize;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized ClientDataStreamer<K, V> receiver(StreamReceiver<K, V> rcvr) {
+        A.notNull(rcvr, "rcvr");
+
+        checkNotStarted();
+
+        this.rcvr = rcvr;
+
+        return this;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addData(K key, V val) throws ClientException {
+        A.notNull(key, "key");
+
+        add(key, val);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addData(Map<K, V> entries) throws ClientException {
+        A.notNull(entries, "entries");
+
+        for (Map.Entry<K, V> e : entries.entrySet())
+            addData(e.getKey(), e.getValue());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void removeData(K key) throws ClientException {
+        A.notNull(key, "key");
+
+        add(key, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void flush() throws ClientException {
+        checkNotClosed();
+
+        sendBuffer(FLUSH_FLAG_MASK);
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close(boolean cancel) throws ClientException {
+        if (closed)
+            return;
+
+        closed = true;
+
+        if (!cancel) {
+            sendBuffer(CLOSE_FLAG_MASK);
+
+            return;
+        }
+
+        buf = new ArrayList<>();
+
+        if (clientCh != null) {
+            try {
+                clientCh.service(ClientOperation.RESOURCE_CLOSE, req -> req.out().writeLong(streamerId), null);
+            }
+            catch (ClientServerError ignore) {
+                // Streamer is already closed on the server.
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() throws ClientException {
+        close(false);
+    }
+
+    /**
+     * Adds entry to the buffer and sends the buffer if it's full.
+     *
+     * @param key Key.
+     * @param val Value or {@code null} for removal.
+     */
+    private synchronized void add(K key, V val) {
+        checkNotClosed();
+
+        buf.add(new T2<>(key, val));
+
+        if (buf.size() >= batchSize)
+            sendBuffer((byte)0);
+    }
+
+    /**
+     * Sends buffered entries to the server. Starts the server-side streamer if it's not started yet.
+     *
+     * @param opFlags Operation flags (flush or close).
+     */
+    private void sendBuffer(byte opFlags) {
+        List<T2<K, V>> entries = buf;
+
+        buf = new ArrayList<>(batchSize);
+
+        if (clientCh == null) {
+            // Nothing was streamed, there is no need to start the streamer just to close it.
+            if (entries.isEmpty() && (opFlags & CLOSE_FLAG_MASK) != 0)
+                return;
+
+            long id = ch.service(ClientOperation.DATA_STREAMER_START,
+                req -> {
+                    if (req.clientChannel().serverVersion().compareTo(V1_7_0) < 0) {
+                        throw new ClientProtocolError(String.format("Data streamer is not supported by the " +
+                            "server's protocol version %s, required version %s", req.clientChannel().serverVersion(),
+                            V1_7_0));
+                    }
+
+                    BinaryOutputStream out = req.out();
+
+                    out.writeInt(cacheId);
+                    out.writeByte((byte)(flags | opFlags));
+                    out.writeInt(perNodeBufSize);
+                    out.writeInt(perNodeParallelOps);
+
+                    serDes.writeObject(out, rcvr);
+
+                    if (rcvr != null)
+                        out.writeByte(RECEIVER_PLATFORM_JAVA);
+
+                    writeEntries(out, entries);
+                },
+                res -> {
+                    clientCh = res.clientChannel();
+
+                    return res.in().readLong();
+                }
+            );
+
+            streamerId = id;
+        }
+        else {
+            clientCh.service(ClientOperation.DATA_STREAMER_ADD_DATA,
+                req -> {
+                    BinaryOutputStream out = req.out();
+
+                    out.writeLong(streamerId);
+                    out.writeByte(opFlags);
+
+                    writeEntries(out, entries);
+                },
+                null
+            );
+        }
+    }
+
+    /**
+     * @param out Output stream.
+     * @param entries Entries.
+     */
+    private void writeEntries(BinaryOutputStream out, List<T2<K, V>> entries) {
+        out.writeInt(entries.size());
+
+        for (T2<K, V> e : entries) {
+            serDes.writeObject(out, e.get1());
+            serDes.writeObject(out, e.get2());
+        }
+    }
+
+    /**
+     * @param mask Flag mask.
+     * @param val Flag value.
+     * @return {@code this} for chaining.
+     */
+    private synchronized ClientDataStreamer<K, V> setFlag(byte mask, boolean val) {
+        checkNotStarted();
+
+        flags = val ? (byte)(flags | mask) : (byte)(flags & ~mask);
+
+        return this;
+    }
+
+    /**
+     * Checks that streamer settings can be changed.
+     */
+    private void checkNotStarted() {
+        checkNotClosed();
+
+        if (clientCh != null || !buf.isEmpty())
+            throw new IllegalStateException("Data streamer settings can't be changed after data was added.");
+    }
+
+    /**
+     * Checks that the streamer is not closed.
+     */
+    private void checkNotClosed() {
+        if (closed)
+            throw new IllegalStateException("Data streamer has been closed.");
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(TcpClientDataStreamer.class, this);
+    }
+}
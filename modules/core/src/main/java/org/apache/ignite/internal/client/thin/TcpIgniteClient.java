@@ -32,6 +32,8 @@ import org.apache.ignite.cache.query.FieldsQueryCursor;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.client.ClientCache;
 import org.apache.ignite.client.ClientCacheConfiguration;
+import org.apache.ignite.client.ClientCompute;
+import org.apache.ignite.client.ClientDataStreamer;
 import org.apache.ignite.client.ClientException;
 import org.apache.ignite.client.ClientTransactions;
 import org.apache.ignite.client.IgniteClient;
@@ -66,6 +68,9 @@ public class TcpIgniteClient implements IgniteClient {
     /** Transactions facade. */
     private final TcpClientTransactions transactions;
 
+    /** Compute facade. */
+    private final TcpClientCompute compute;
+
     /** Marshaller. */
     private final ClientBinaryMarshaller marsh;
 
@@ -77,17 +82,26 @@ public class TcpIgniteClient implements IgniteClient {
      * {@link TcpClientChannel}.
      */
     private TcpIgniteClient(ClientConfiguration cfg) throws ClientException {
-        Function<ClientChannelConfiguration, Result<ClientChannel>> chFactory = chCfg -> {
+        this(TcpClientChannel::new, cfg);
+    }
+
+    /**
+     * Constructor with custom channel factory.
+     *
+     * @param chFactory Channel factory.
+     * @param cfg Client configuration.
+     */
+    TcpIgniteClient(Function<ClientChannelConfiguration, ClientChannel> chFactory, ClientConfiguration cfg)
+        throws ClientException {
+        Function<ClientChannelConfiguration, Result<ClientChannel>> safeChFactory = chCfg -> {
             try {
-                return new Result<>(new TcpClientChannel(chCfg));
+                return new Result<>(chFactory.apply(chCfg));
             }
             catch (ClientException e) {
                 return new Result<>(e);
             }
         };
 
-        ch = new ReliableChannel(chFactory, cfg);
-
         marsh = new ClientBinaryMarshaller(new ClientBinaryMetadataHandler(), new ClientMarshallerContext());
 
         marsh.setBinaryConfiguration(cfg.getBinaryConfiguration());
@@ -96,8 +110,12 @@ public class TcpIgniteClient implements IgniteClient {
 
         binary = new ClientBinary(marsh);
 
+        ch = new ReliableChannel(safeChFactory, cfg, binary);
+
         transactions = new TcpClientTransactions(ch, marsh,
             new ClientTransactionConfiguration(cfg.getTransactionConfiguration()));
+
+        compute = new TcpClientCompute(ch, marsh);
     }
 
     /** {@inheritDoc} */
@@ -196,6 +214,18 @@ public class TcpIgniteClient implements IgniteClient {
         return transactions;
     }
 
+    /** {@inheritDoc} */
+    @Override public ClientCompute compute() {
+        return compute;
+    }
+
+    /** {@inheritDoc} */
+    @Override public <K, V> ClientDataStreamer<K, V> dataStreamer(String cacheName) {
+        ensureCacheName(cacheName);
+
+        return new TcpClientDataStreamer<>(cacheName, ch, marsh);
+    }
+
     /**
      * Initializes new instance of {@link IgniteClient}.
      *
@@ -57,6 +57,9 @@ public class CacheGroupMetricsImpl {
     /** Number of partitions need processed for finished indexes create or rebuilding. */
     private final AtomicLongMetric idxBuildCntPartitionsLeft;
 
+    /** Number of keys processed by indexes create or rebuilding. */
+    private final LongAdderMetric idxBuildCntKeysProcessed;
+
     /** Cache group context. */
     private final CacheGroupContext ctx;
 
@@ -108,6 +111,9 @@ public class CacheGroupMetricsImpl {
         idxBuildCntPartitionsLeft = mreg.longMetric("IndexBuildCountPartitionsLeft",
             "Number of partitions need processed for finished indexes create or rebuilding.");
 
+        idxBuildCntKeysProcessed = mreg.longAdderMetric("IndexBuildCountKeysProcessed",
+            "Number of keys processed by indexes create or rebuilding.");
+
         initLocalPartitionsNumber = mreg.longMetric("InitializedLocalPartitionsNumber", "Number of local partitions initialized on current node.");
 
         DataRegion region = ctx.dataRegion();
@@ -198,6 +204,19 @@ public class CacheGroupMetricsImpl {
         idxBuildCntPartitionsLeft.add(partitions);
     }
 
+    /** @return Number of keys processed by indexes create or rebuilding. */
+    public long getIndexBuildCountKeysProcessed() {
+        return idxBuildCntKeysProcessed.value();
+    }
+
+    /**
+     * Add number of keys processed by indexes create or rebuilding.
+     * @param keys Count of processed keys.
+     */
+    public void addIndexBuildCountKeysProcessed(long keys) {
+        idxBuildCntKeysProcessed.add(keys);
+    }
+
     /** Increments number of local partitions initialized on current node. */
     public void incrementInitializedLocalPartitions() {
         initLocalPartitionsNumber.increment();
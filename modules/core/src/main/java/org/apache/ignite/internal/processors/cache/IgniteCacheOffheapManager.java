@@ -543,6 +543,18 @@ public interface IgniteCacheOffheapManager {
      */
     public void dropRootPageForIndex(int cacheId, String idxName, int segment) throws IgniteCheckedException;
 
+    /**
+     * Registers root page of the index tree under another name. There must be no root page for the new name.
+     *
+     * @param cacheId Cache ID.
+     * @param oldIdxName Current index name.
+     * @param newIdxName New index name.
+     * @param segment Segment.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException;
+
     /**
      * @param idxName Index name.
      * @return Reuse list for index tree.
@@ -1111,6 +1111,12 @@ public class IgniteCacheOffheapManagerImpl implements IgniteCacheOffheapManager
         // No-op.
     }
 
+    /** {@inheritDoc} */
+    @Override public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        // No-op.
+    }
+
     /** {@inheritDoc} */
     @Override public ReuseList reuseListForIndex(String idxName) {
         return grp.reuseList();
@@ -1195,6 +1195,11 @@ public class CacheObjectBinaryProcessorImpl extends GridProcessorAdapter impleme
         throw new IllegalArgumentException("Invalid object type: " + type);
     }
 
+    /** {@inheritDoc} */
+    @Nullable @Override public CacheObject toCacheObject(CacheObjectContext ctx, byte type, long addr, int len) {
+        return type == BinaryObjectImpl.TYPE_BINARY ? new BinaryObjectOffheapImpl(binaryContext(), addr, 0, len) : null;
+    }
+
     /** {@inheritDoc} */
     @Override public KeyCacheObject toKeyCacheObject(CacheObjectContext ctx, byte type, byte[] bytes)
         throws IgniteCheckedException {
@@ -0,0 +1,777 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteFeatures;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.pagemem.PageIdAllocator;
+import org.apache.ignite.internal.pagemem.store.IgnitePageStoreManager;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.DbCheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheOffheapManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileDownloader;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileUploader;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PagePartitionMetaIO;
+import org.apache.ignite.internal.processors.cache.persistence.wal.crc.FastCrc;
+import org.apache.ignite.internal.processors.compress.CompressionProcessor;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.GridUnsafe;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.resources.LoggerResource;
+import org.apache.ignite.spi.communication.CommunicationSpi;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_FILE_REBALANCE_ENABLED;
+import static org.apache.ignite.internal.GridClosureCallMode.BALANCE;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.MOVING;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_TEMPLATE;
+
+/**
+ * Rebalances empty persistent partitions by sending whole partition files from the supplier node.
+ * <p>
+ * The supplier copies partition files at the boundary of a checkpoint, so every copy is consistent with the update
+ * counter of the partition at the moment of the checkpoint, and reserves WAL history since that counter. The copies
+ * are sent to the demander one by one over a dedicated socket and installed to the page store of the demander
+ * under the checkpoint write lock. The updates made after the copy are rebalanced historically from the supplier WAL,
+ * so the future of the routine is completed with the counters range to rebalance for every installed partition.
+ * <p>
+ * The routine never fails: the partitions, which files could not be transferred or installed for any reason, are
+ * left empty and rebalanced by the regular full rebalancing.
+ */
+class FileRebalanceRoutine extends GridFutureAdapter<Map<Integer, T2<Long, Long>>> implements Runnable {
+    /** Number of partitions copied on the supplier at a single checkpoint. */
+    private static final int BATCH_SIZE = 16;
+
+    /** Timeout of the connection to the demander node. */
+    private static final int CONNECT_TIMEOUT = 10_000;
+
+    /** Prefix of the directory of the partition files copied on the supplier. */
+    private static final String SUPPLY_DIR_PREFIX = "supply-";
+
+    /** Prefix of the directory of the partition files received by the demander. */
+    private static final String DEMAND_DIR_PREFIX = "demand-";
+
+    /** Cache group. */
+    private final CacheGroupContext grp;
+
+    /** Shared context. */
+    private final GridCacheSharedContext<?, ?> ctx;
+
+    /** Supplier node. */
+    private final ClusterNode supplier;
+
+    /** Partitions to rebalance by files. */
+    private final Set<Integer> parts;
+
+    /** Rebalance future. The routine is stopped as soon as it is completed. */
+    private final IgniteInternalFuture<?> rebalanceFut;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Counters ranges to rebalance historically for the installed partitions. */
+    private final Map<Integer, T2<Long, Long>> installed = new HashMap<>();
+
+    /**
+     * @param grp Cache group.
+     * @param supplier Supplier node.
+     * @param parts Partitions to rebalance by files.
+     * @param rebalanceFut Rebalance future.
+     */
+    private FileRebalanceRoutine(
+        CacheGroupContext grp,
+        ClusterNode supplier,
+        Set<Integer> parts,
+        IgniteInternalFuture<?> rebalanceFut
+    ) {
+        this.grp = grp;
+        this.supplier = supplier;
+        this.parts = parts;
+        this.rebalanceFut = rebalanceFut;
+
+        ctx = grp.shared();
+        log = ctx.logger(FileRebalanceRoutine.class);
+    }
+
+    /**
+     * Starts the file rebalancing of the given full partitions if it is applicable.
+     *
+     * @param grp Cache group.
+     * @param supplier Supplier node.
+     * @param fullParts Partitions demanded for the full rebalancing.
+     * @param rebalanceFut Rebalance future.
+     * @return Future completed with counters ranges to rebalance historically for the partitions, which files were
+     *      installed, or {@code null} if the file rebalancing is not applicable.
+     */
+    @Nullable static IgniteInternalFuture<Map<Integer, T2<Long, Long>>> start(
+        CacheGroupContext grp,
+        ClusterNode supplier,
+        Set<Integer> fullParts,
+        IgniteInternalFuture<?> rebalanceFut
+    ) {
+        if (!IgniteSystemProperties.getBoolean(IGNITE_PDS_FILE_REBALANCE_ENABLED) || fullParts.isEmpty() ||
+            !applicable(grp, supplier))
+            return null;
+
+        IgnitePageStoreManager pageStore = grp.shared().pageStore();
+
+        Set<Integer> parts = new TreeSet<>();
+
+        try {
+            for (int p : fullParts) {
+                GridDhtLocalPartition part = grp.topology().localPartition(p);
+
+                // Files are installed only to the partitions, which have never been written locally.
+                if (part != null && part.state() == MOVING && !pageStore.exists(grp.groupId(), p))
+                    parts.add(p);
+            }
+        }
+        catch (IgniteCheckedException e) {
+            U.error(grp.shared().logger(FileRebalanceRoutine.class), "Failed to check partition files, " +
+                "file rebalancing is skipped [grp=" + grp.cacheOrGroupName() + ']', e);
+
+            return null;
+        }
+
+        if (parts.isEmpty())
+            return null;
+
+        FileRebalanceRoutine routine = new FileRebalanceRoutine(grp, supplier, parts, rebalanceFut);
+
+        new IgniteThread(grp.shared().igniteInstanceName(), "file-rebalance-" + grp.cacheOrGroupName(), routine)
+            .start();
+
+        return routine;
+    }
+
+    /**
+     * @param grp Cache group.
+     * @param supplier Supplier node.
+     * @return {@code True} if partitions of the group can be rebalanced from the supplier by files.
+     */
+    private static boolean applicable(CacheGroupContext grp, ClusterNode supplier) {
+        if (!grp.persistenceEnabled() || !grp.walEnabled() || grp.mvccEnabled() ||
+            grp.config().isEncryptionEnabled())
+            return false;
+
+        // Partition files are sent over plain sockets, which are neither encrypted nor authenticated.
+        if (grp.shared().gridConfig().getSslContextFactory() != null ||
+            grp.shared().kernalContext().security().enabled())
+            return false;
+
+        if (!(grp.shared().pageStore() instanceof FilePageStoreManager) ||
+            !(grp.offheap() instanceof GridCacheOffheapManager))
+            return false;
+
+        // Secondary indexes are not transferred, they would have to be rebuilt.
+        for (GridCacheContext cctx : grp.caches()) {
+            if (cctx.isQueryEnabled())
+                return false;
+        }
+
+        return IgniteFeatures.nodeSupports(grp.shared().kernalContext(), supplier, IgniteFeatures.FILE_REBALANCE);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void run() {
+        File dir = new File(((FilePageStoreManager)ctx.pageStore()).fileRebalanceDirectory(),
+            DEMAND_DIR_PREFIX + grp.groupId() + '-' + supplier.id());
+
+        try {
+            U.delete(dir);
+
+            U.ensureDirectory(dir, "file rebalancing directory", log);
+
+            List<Integer> batch = new ArrayList<>(BATCH_SIZE);
+
+            for (Iterator<Integer> it = parts.iterator(); it.hasNext() && !rebalanceFut.isDone(); ) {
+                batch.add(it.next());
+
+                if (batch.size() == BATCH_SIZE || !it.hasNext()) {
+                    rebalanceBatch(new TreeSet<>(batch), dir);
+
+                    batch.clear();
+                }
+            }
+
+            if (log.isInfoEnabled()) {
+                log.info("Completed file rebalancing [grp=" + grp.cacheOrGroupName() + ", supplier=" + supplier.id() +
+                    ", installed=" + installed.size() + ", requested=" + parts.size() + ']');
+            }
+        }
+        catch (Throwable e) {
+            U.error(log, "Failed to rebalance partition files, the rest of partitions will be rebalanced " +
+                "by entries [grp=" + grp.cacheOrGroupName() + ", supplier=" + supplier.id() + ']', e);
+
+            if (e instanceof Error)
+                throw (Error)e;
+        }
+        finally {
+            U.delete(dir);
+
+            onDone(installed);
+        }
+    }
+
+    /**
+     * @param batch Partitions to copy at a single checkpoint of the supplier.
+     * @param dir Directory to download partition files to.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void rebalanceBatch(Set<Integer> batch, File dir) throws IgniteCheckedException {
+        UUID sesId = UUID.randomUUID();
+
+        try {
+            Map<Integer, Long> copied = call(new CopyPartitionFilesJob(grp.groupId(), batch, sesId));
+
+            Map<Integer, File> files = new HashMap<>();
+            Map<Integer, T2<Long, Long>> cntrs = new HashMap<>();
+
+            for (Map.Entry<Integer, Long> e : copied.entrySet()) {
+                if (rebalanceFut.isDone())
+                    return;
+
+                int p = e.getKey();
+
+                File file = new File(dir, String.format(PART_FILE_TEMPLATE, p));
+
+                long to = download(sesId, p, file);
+
+                if (preparePartitionFile(file, e.getValue())) {
+                    files.put(p, file);
+                    cntrs.put(p, new T2<>(e.getValue(), Math.max(e.getValue(), to)));
+                }
+                else
+                    U.delete(file);
+            }
+
+            if (files.isEmpty())
+                return;
+
+            for (int p : install(files))
+                installed.put(p, cntrs.get(p));
+        }
+        finally {
+            try {
+                call(new ReleasePartitionFilesJob(sesId));
+            }
+            catch (IgniteCheckedException e) {
+                U.warn(log, "Failed to release partition files on the supplier [grp=" + grp.cacheOrGroupName() +
+                    ", supplier=" + supplier.id() + ", err=" + e.getMessage() + ']');
+            }
+        }
+    }
+
+    /**
+     * Downloads a partition file from the supplier.
+     *
+     * @param sesId Session ID.
+     * @param p Partition.
+     * @param file File to download to.
+     * @return Update counter of the partition on the supplier after the file was sent.
+     * @throws IgniteCheckedException If failed.
+     */
+    private long download(UUID sesId, int p, File file) throws IgniteCheckedException {
+        // Token is sent to the supplier by the job, so only the supplier can connect to the downloader.
+        UUID token = UUID.randomUUID();
+
+        FileDownloader downloader = new FileDownloader(log, file.toPath(), token);
+
+        InetSocketAddress addr = downloader.start(bindAddress());
+
+        IgniteInternalFuture<T2<Long, Long>> uploadFut = ctx.kernalContext().closure().callAsyncNoFailover(BALANCE,
+            new UploadPartitionFileJob(grp.groupId(), sesId, p, ctx.localNodeId(), addr.getPort(), token),
+            Collections.singleton(supplier), true, 0, true);
+
+        uploadFut.listen(f -> {
+            try {
+                downloader.onResult(f.get().get1(), null);
+            }
+            catch (IgniteCheckedException e) {
+                downloader.onResult(0, e);
+            }
+        });
+
+        downloader.download();
+
+        downloader.finishFuture().get();
+
+        return uploadFut.get().get2();
+    }
+
+    /**
+     * @return Address of the communication SPI to receive partition files on, or {@code null} if the SPI listens on
+     *      all interfaces.
+     * @throws IgniteCheckedException If failed to resolve the address.
+     */
+    @Nullable private InetAddress bindAddress() throws IgniteCheckedException {
+        CommunicationSpi<?> spi = ctx.gridConfig().getCommunicationSpi();
+
+        String addr = spi instanceof TcpCommunicationSpi ? ((TcpCommunicationSpi)spi).getLocalAddress() : null;
+
+        if (F.isEmpty(addr))
+            addr = ctx.gridConfig().getLocalHost();
+
+        if (F.isEmpty(addr))
+            return null;
+
+        try {
+            return U.resolveLocalHost(addr);
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to resolve local address: " + addr, e);
+        }
+    }
+
+    /**
+     * Checks the received partition file and marks the partition as {@link GridDhtPartitionState#MOVING} in it.
+     *
+     * @param file Partition file.
+     * @param cntr Update counter of the copied partition reported by the supplier.
+     * @return {@code True} if the file is valid.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean preparePartitionFile(File file, long cntr) throws IgniteCheckedException {
+        int pageSize = ctx.database().pageSize();
+
+        FilePageStore store = (FilePageStore)((FilePageStoreManager)ctx.pageStore()).getStore(grp.groupId(), 0);
+
+        ByteBuffer expHdr = store.header(PageIdAllocator.FLAG_DATA, pageSize);
+
+        if (file.length() < expHdr.capacity() + pageSize || (file.length() - expHdr.capacity()) % pageSize != 0) {
+            U.warn(log, "Received partition file has unexpected size [file=" + file + ", size=" + file.length() + ']');
+
+            return false;
+        }
+
+        try (FileChannel ch = FileChannel.open(file.toPath(), READ, WRITE)) {
+            ByteBuffer hdr = ByteBuffer.allocate(expHdr.capacity()).order(ByteOrder.nativeOrder());
+
+            readFully(ch, hdr, 0);
+
+            if (!hdr.equals(expHdr)) {
+                U.warn(log, "Received partition file has incompatible header [file=" + file + ']');
+
+                return false;
+            }
+
+            ByteBuffer buf = ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder());
+
+            readFully(ch, buf, expHdr.capacity());
+
+            long addr = GridUnsafe.bufferAddress(buf);
+
+            if (PageIO.getType(addr) != PageIO.T_PART_META ||
+                PageIO.getCompressionType(addr) != CompressionProcessor.UNCOMPRESSED_PAGE) {
+                U.warn(log, "Received partition file has no valid meta page [file=" + file + ']');
+
+                return false;
+            }
+
+            PagePartitionMetaIO io = PageIO.getPageIO(addr);
+
+            if (io.getUpdateCounter(addr) != cntr) {
+                U.warn(log, "Received partition file has unexpected update counter [file=" + file +
+                    ", cntr=" + io.getUpdateCounter(addr) + ", expCntr=" + cntr + ']');
+
+                return false;
+            }
+
+            // The partition is owned only after the updates made since the copy are rebalanced.
+            io.setPartitionState(addr, (byte)MOVING.ordinal());
+
+            PageIO.setCrc(addr, 0);
+
+            PageIO.setCrc(addr, FastCrc.calcCrc(buf, pageSize));
+
+            buf.rewind();
+
+            while (buf.hasRemaining())
+                ch.write(buf, expHdr.capacity() + buf.position());
+
+            ch.force(true);
+
+            return true;
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to prepare partition file: " + file, e);
+        }
+    }
+
+    /**
+     * Installs partition files at the next checkpoint.
+     *
+     * @param files Partition files.
+     * @return Installed partitions.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Set<Integer> install(Map<Integer, File> files) throws IgniteCheckedException {
+        GridCacheDatabaseSharedManager db = (GridCacheDatabaseSharedManager)ctx.database();
+
+        GridFutureAdapter<Set<Integer>> fut = new GridFutureAdapter<>();
+
+        // Completes the installation if the rebalancing is cancelled before the checkpoint.
+        rebalanceFut.listen(f -> fut.onDone(Collections.emptySet()));
+
+        DbCheckpointListener lsnr = new DbCheckpointListener() {
+            @Override public void onMarkCheckpointBegin(Context cpCtx) throws IgniteCheckedException {
+                if (fut.isDone())
+                    return;
+
+                Set<Integer> res = new TreeSet<>();
+
+                try {
+                    for (Map.Entry<Integer, File> e : files.entrySet()) {
+                        if (installPartitionFile(e.getKey(), e.getValue()))
+                            res.add(e.getKey());
+                    }
+                }
+                finally {
+                    fut.onDone(res);
+                }
+            }
+
+            @Override public void onCheckpointBegin(Context cpCtx) {
+                // No-op.
+            }
+
+            @Override public void beforeCheckpointBegin(Context cpCtx) {
+                // No-op.
+            }
+        };
+
+        db.addCheckpointListener(lsnr);
+
+        try {
+            db.forceCheckpoint("file rebalancing");
+
+            return fut.get();
+        }
+        finally {
+            db.removeCheckpointListener(lsnr);
+        }
+    }
+
+    /**
+     * Installs partition file. Called by the checkpointer under the checkpoint write lock.
+     *
+     * @param p Partition.
+     * @param file Partition file.
+     * @return {@code True} if the file was installed.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean installPartitionFile(int p, File file) throws IgniteCheckedException {
+        GridDhtLocalPartition part = grp.topology().localPartition(p);
+
+        if (part == null || !part.reserve())
+            return false;
+
+        try {
+            if (part.state() != MOVING || part.internalSize() != 0)
+                return false;
+
+            return ((GridCacheOffheapManager)grp.offheap()).installPartitionFile(part, file);
+        }
+        finally {
+            part.release();
+        }
+    }
+
+    /**
+     * Executes the job on the supplier node.
+     *
+     * @param job Job.
+     * @return Job result.
+     * @throws IgniteCheckedException If failed.
+     */
+    private <R> R call(IgniteCallable<R> job) throws IgniteCheckedException {
+        return ctx.kernalContext().closure().callAsyncNoFailover(BALANCE, job, Collections.singleton(supplier),
+            true, 0, true).get();
+    }
+
+    /**
+     * @param ch File channel.
+     * @param buf Buffer to read to.
+     * @param pos Position in the file.
+     * @throws IOException If failed.
+     */
+    private static void readFully(FileChannel ch, ByteBuffer buf, long pos) throws IOException {
+        while (buf.hasRemaining()) {
+            if (ch.read(buf, pos + buf.position()) < 0)
+                throw new IOException("Unexpected end of file [pos=" + (pos + buf.position()) + ']');
+        }
+
+        buf.flip();
+    }
+
+    /**
+     * @param cctx Shared context.
+     * @param sesId Session ID.
+     * @return Directory of the partition files copied on the supplier.
+     */
+    private static File supplyDirectory(GridCacheSharedContext<?, ?> cctx, UUID sesId) {
+        return new File(((FilePageStoreManager)cctx.pageStore()).fileRebalanceDirectory(), SUPPLY_DIR_PREFIX + sesId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(FileRebalanceRoutine.class, this, "grp", grp.cacheOrGroupName(), "supplier", supplier.id());
+    }
+
+    /**
+     * Copies partition files on the supplier and reserves WAL history since the copy.
+     */
+    @GridInternal
+    private static class CopyPartitionFilesJob implements IgniteCallable<Map<Integer, Long>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Injected grid instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Partitions. */
+        private final Set<Integer> parts;
+
+        /** Session ID. */
+        private final UUID sesId;
+
+        /**
+         * @param grpId Cache group ID.
+         * @param parts Partitions.
+         * @param sesId Session ID.
+         */
+        private CopyPartitionFilesJob(int grpId, Set<Integer> parts, UUID sesId) {
+            this.grpId = grpId;
+            this.parts = parts;
+            this.sesId = sesId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<Integer, Long> call() throws Exception {
+            GridCacheSharedContext<?, ?> cctx = ignite.context().cache().context();
+
+            File dir = supplyDirectory(cctx, sesId);
+
+            IgniteInternalFuture<Map<Integer, Long>> copyFut = cctx.snapshot().copyPartitionFiles(grpId, parts, dir);
+
+            Map<Integer, Long> cntrs = copyFut.get();
+
+            Map<Integer, Long> res = new HashMap<>();
+
+            for (Map.Entry<Integer, Long> e : cntrs.entrySet()) {
+                // Updates made since the copy are rebalanced from WAL.
+                if (cctx.database().reserveHistoryForPreloading(grpId, e.getKey(), e.getValue()))
+                    res.put(e.getKey(), e.getValue());
+                else
+                    U.delete(new File(dir, String.format(PART_FILE_TEMPLATE, e.getKey())));
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Sends copied partition file to the demander node.
+     */
+    @GridInternal
+    private static class UploadPartitionFileJob implements IgniteCallable<T2<Long, Long>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Injected grid instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** Injected logger. */
+        @LoggerResource
+        private transient IgniteLogger log;
+
+        /** Cache group ID. */
+        private final int grpId;
+
+        /** Session ID. */
+        private final UUID sesId;
+
+        /** Partition. */
+        private final int partId;
+
+        /** Demander node ID. */
+        private final UUID demanderId;
+
+        /** Port of the demander to send the file to. */
+        private final int port;
+
+        /** Token to send to the demander first. */
+        private final UUID token;
+
+        /**
+         * @param grpId Cache group ID.
+         * @param sesId Session ID.
+         * @param partId Partition.
+         * @param demanderId Demander node ID.
+         * @param port Port of the demander to send the file to.
+         * @param token Token to send to the demander first.
+         */
+        private UploadPartitionFileJob(int grpId, UUID sesId, int partId, UUID demanderId, int port, UUID token) {
+            this.grpId = grpId;
+            this.sesId = sesId;
+            this.partId = partId;
+            this.demanderId = demanderId;
+            this.port = port;
+            this.token = token;
+        }
+
+        /** {@inheritDoc} */
+        @Override public T2<Long, Long> call() throws Exception {
+            GridCacheSharedContext<?, ?> cctx = ignite.context().cache().context();
+
+            ClusterNode demander = cctx.discovery().node(demanderId);
+
+            if (demander == null)
+                throw new ClusterTopologyCheckedException("Demander node left the grid: " + demanderId);
+
+            File file = new File(supplyDirectory(cctx, sesId), String.format(PART_FILE_TEMPLATE, partId));
+
+            GridFutureAdapter<Long> fut = new GridFutureAdapter<>();
+
+            new FileUploader(file.toPath(), log).upload(connect(demander), fut);
+
+            long size = fut.get();
+
+            U.delete(file);
+
+            CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+            GridDhtLocalPartition part = grp == null ? null : grp.topology().localPartition(partId);
+
+            return new T2<>(size, part == null ? 0 : part.updateCounter());
+        }
+
+        /**
+         * @param node Node.
+         * @return Channel connected to the node.
+         * @throws IgniteCheckedException If failed.
+         */
+        private SocketChannel connect(ClusterNode node) throws IgniteCheckedException {
+            List<InetSocketAddress> addrs = new ArrayList<>(U.toSocketAddresses(node, port));
+
+            // Loopback addresses are tried last, they are reachable only if the nodes share the host.
+            addrs.sort((a1, a2) -> Boolean.compare(a1.getAddress() != null && a1.getAddress().isLoopbackAddress(),
+                a2.getAddress() != null && a2.getAddress().isLoopbackAddress()));
+
+            IgniteCheckedException err = null;
+
+            for (InetSocketAddress addr : addrs) {
+                SocketChannel ch = null;
+
+                try {
+                    ch = SocketChannel.open();
+
+                    ch.socket().connect(addr, CONNECT_TIMEOUT);
+
+                    FileUploader.writeToken(ch, token);
+
+                    return ch;
+                }
+                catch (IOException e) {
+                    U.closeQuiet(ch);
+
+                    if (err == null)
+                        err = new IgniteCheckedException("Failed to connect to the node: " + node.id());
+
+                    err.addSuppressed(e);
+                }
+            }
+
+            throw err != null ? err : new IgniteCheckedException("Node has no addresses: " + node.id());
+        }
+    }
+
+    /**
+     * Deletes partition files copied on the supplier.
+     */
+    @GridInternal
+    private static class ReleasePartitionFilesJob implements IgniteCallable<Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Injected grid instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** Session ID. */
+        private final UUID sesId;
+
+        /**
+         * @param sesId Session ID.
+         */
+        private ReleasePartitionFilesJob(UUID sesId) {
+            this.sesId = sesId;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Void call() throws Exception {
+            U.delete(supplyDirectory(ignite.context().cache().context(), sesId));
+
+            return null;
+        }
+    }
+}
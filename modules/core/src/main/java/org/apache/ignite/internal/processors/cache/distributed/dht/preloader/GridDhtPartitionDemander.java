@@ -70,6 +70,8 @@ import org.apache.ignite.internal.util.lang.IgniteInClosureX;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.CI1;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.LT;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -1289,46 +1291,84 @@ public class GridDhtPartitionDemander {
                         if (isDone())
                             return;
 
-                        try {
-                            if (log.isInfoEnabled())
-                                log.info("Starting rebalance routine [" + grp.cacheOrGroupName() +
-                                    ", topVer=" + topVer +
-                                    ", supplier=" + supplierNode.id() +
-                                    ", fullPartitions=" + S.compact(parts.fullSet()) +
-                                    ", histPartitions=" + S.compact(parts.historicalSet()) + "]");
+                        IgniteInternalFuture<Map<Integer, T2<Long, Long>>> filesFut =
+                            FileRebalanceRoutine.start(grp, supplierNode, parts.fullSet(), this);
 
-                            if (availablePrintRebalanceStatistics())
-                                stat.start(supplierNode, U.currentTimeMillis());
+                        if (filesFut == null) {
+                            demandPartitions(supplierNode, d, parts);
 
-                            ctx.io().sendOrderedMessage(supplierNode, d.topic(),
-                                d.convertIfNeeded(supplierNode.version()), grp.ioPolicy(), d.timeout());
+                            return;
+                        }
 
-                            // Cleanup required in case partitions demanded in parallel with cancellation.
+                        // Partitions, which files were installed, are preloaded from history since the file copy.
+                        filesFut.listen(f0 -> ctx.kernalContext().closure().runLocalSafe(() -> {
                             synchronized (this) {
                                 if (isDone())
-                                    cleanupRemoteContexts(supplierNode.id());
-                            }
-                        }
-                        catch (IgniteCheckedException e1) {
-                            ClusterTopologyCheckedException cause = e1.getCause(ClusterTopologyCheckedException.class);
+                                    return;
 
-                            if (cause != null)
-                                log.warning("Failed to send initial demand request to node. " + e1.getMessage());
-                            else
-                                log.error("Failed to send initial demand request to node.", e1);
+                                if (!F.isEmpty(f0.result())) {
+                                    parts.fullToHistorical(f0.result(), grp.affinity().partitions());
 
-                            cancel();
-                        }
-                        catch (Throwable th) {
-                            log.error("Runtime error caught during initial demand request sending.", th);
+                                    historical.addAll(f0.result().keySet());
+                                }
+                            }
 
-                            cancel();
-                        }
+                            demandPartitions(supplierNode, d, parts);
+                        }, true));
                     }, true));
                 }
             }
         }
 
+        /**
+         * Sends initial demand message to the supplier.
+         *
+         * @param supplierNode Supplier node.
+         * @param d Demand message.
+         * @param parts Demanded partitions.
+         */
+        private void demandPartitions(
+            ClusterNode supplierNode,
+            GridDhtPartitionDemandMessage d,
+            IgniteDhtDemandedPartitionsMap parts
+        ) {
+            try {
+                if (log.isInfoEnabled())
+                    log.info("Starting rebalance routine [" + grp.cacheOrGroupName() +
+                        ", topVer=" + topVer +
+                        ", supplier=" + supplierNode.id() +
+                        ", fullPartitions=" + S.compact(parts.fullSet()) +
+                        ", histPartitions=" + S.compact(parts.historicalSet()) + "]");
+
+                if (availablePrintRebalanceStatistics())
+                    stat.start(supplierNode, U.currentTimeMillis());
+
+                ctx.io().sendOrderedMessage(supplierNode, d.topic(),
+                    d.convertIfNeeded(supplierNode.version()), grp.ioPolicy(), d.timeout());
+
+                // Cleanup required in case partitions demanded in parallel with cancellation.
+                synchronized (this) {
+                    if (isDone())
+                        cleanupRemoteContexts(supplierNode.id());
+                }
+            }
+            catch (IgniteCheckedException e1) {
+                ClusterTopologyCheckedException cause = e1.getCause(ClusterTopologyCheckedException.class);
+
+                if (cause != null)
+                    log.warning("Failed to send initial demand request to node. " + e1.getMessage());
+                else
+                    log.error("Failed to send initial demand request to node.", e1);
+
+                cancel();
+            }
+            catch (Throwable th) {
+                log.error("Runtime error caught during initial demand request sending.", th);
+
+                cancel();
+            }
+        }
+
         /**
          * Creates future which will be completed when all {@code fullPartitions} are cleared.
          *
@@ -19,8 +19,11 @@ package org.apache.ignite.internal.processors.cache.distributed.dht.preloader;
 import java.io.Serializable;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.T2;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.jetbrains.annotations.Nullable;
 
@@ -97,6 +100,33 @@ public class IgniteDhtDemandedPartitionsMap implements Serializable {
         return false;
     }
 
+    /**
+     * Moves full partitions to the historical ones.
+     *
+     * @param cntrs Partitions to move with the counters to preload from history (partId -> (fromCntr, toCntr)).
+     * @param partCnt Maximum possible partition count.
+     */
+    public void fullToHistorical(Map<Integer, T2<Long, Long>> cntrs, int partCnt) {
+        // Historical partitions must be added in ascending order, existing map may be already trimmed.
+        Map<Integer, T2<Long, Long>> hist = new TreeMap<>(cntrs);
+
+        for (int i = 0; i < historicalMap().size(); i++) {
+            hist.put(historicalMap().partitionAt(i),
+                new T2<>(historicalMap().initialUpdateCounterAt(i), historicalMap().updateCounterAt(i)));
+        }
+
+        for (Integer partId : cntrs.keySet()) {
+            boolean rmv = full != null && full.remove(partId);
+
+            assert rmv : partId;
+        }
+
+        historical = new CachePartitionPartialCountersMap(partCnt);
+
+        for (Map.Entry<Integer, T2<Long, Long>> e : hist.entrySet())
+            historical.add(e.getKey(), e.getValue().get1(), e.getValue().get2());
+    }
+
     /** */
     public boolean hasPartition(int partId) {
         return hasHistorical(partId) || hasFull(partId);
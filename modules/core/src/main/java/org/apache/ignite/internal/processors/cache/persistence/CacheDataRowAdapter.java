@@ -38,6 +38,7 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPageI
 import org.apache.ignite.internal.processors.cache.persistence.tree.io.DataPagePayload;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
 import org.apache.ignite.internal.util.GridLongList;
+import org.apache.ignite.internal.util.lang.IgniteThrowableFunction;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.tostring.GridToStringInclude;
 import org.apache.ignite.internal.util.typedef.internal.S;
@@ -213,6 +214,75 @@ public class CacheDataRowAdapter implements CacheDataRow {
         }
     }
 
+    /**
+     * Applies the closure to the row value without copying it from the data page. The closure gets a view of
+     * the value bytes, the page stays read-locked while the closure runs. Neither the view nor objects obtained
+     * from it may be used after the closure returns.
+     *
+     * @param grp Cache group.
+     * @param c Closure.
+     * @return Closure result or {@code null} if the value can't be read in place: the row is fragmented
+     *      or the value is not a binary object. Such rows should be read with {@link #initFromLink}.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public final <R> R readValueInPlace(
+        CacheGroupContext grp,
+        IgniteThrowableFunction<CacheObject, R> c
+    ) throws IgniteCheckedException {
+        assert link != 0 : "link";
+
+        PageMemory pageMem = grp.dataRegion().pageMemory();
+
+        int grpId = grp.groupId();
+
+        long pageId = pageId(link);
+
+        long page = pageMem.acquirePage(grpId, pageId, grp.statisticsHolderData());
+
+        try {
+            long pageAddr = pageMem.readLock(grpId, pageId, page); // Non-empty data page must not be recycled.
+
+            assert pageAddr != 0L : link;
+
+            try {
+                DataPageIO io = DataPageIO.VERSIONS.forPage(pageAddr);
+
+                DataPagePayload data = io.readPayload(pageAddr, itemId(link), pageMem.realPageSize(grpId));
+
+                if (data.nextLink() != 0)
+                    return null;
+
+                long addr = pageAddr + data.offset();
+
+                int off = readHeader(grp.shared(), addr, 0, RowData.NO_KEY);
+
+                if (grp.storeCacheIdInDataPage())
+                    off += 4;
+
+                // Skip the key: length, type and bytes.
+                off += PageUtils.getInt(addr, off) + 5;
+
+                int len = PageUtils.getInt(addr, off);
+                off += 4;
+
+                byte type = PageUtils.getByte(addr, off);
+                off++;
+
+                CacheObjectContext coctx = grp.cacheObjectContext();
+
+                CacheObject val = coctx.kernalContext().cacheObjects().toCacheObject(coctx, type, addr + off, len);
+
+                return val != null ? c.apply(val) : null;
+            }
+            finally {
+                pageMem.readUnlock(grpId, pageId, page);
+            }
+        }
+        finally {
+            pageMem.releasePage(grpId, pageId, page);
+        }
+    }
+
     /**
      * @param link Link.
      * @param sharedCtx Cache shared context.
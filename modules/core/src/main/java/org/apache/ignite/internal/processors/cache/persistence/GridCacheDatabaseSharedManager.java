@@ -3751,6 +3751,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                                 Runnable write = new WriteCheckpointPages(
                                     tracker,
                                     chp.cpPages,
+                                    i,
                                     updStores,
                                     doneWriteFut,
                                     totalPagesToWriteCnt,
@@ -3772,6 +3773,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                             Runnable write = new WriteCheckpointPages(
                                 tracker,
                                 chp.cpPages,
+                                0,
                                 updStores,
                                 doneWriteFut,
                                 totalPagesToWriteCnt,
@@ -4246,8 +4248,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
                 tracker.onSplitAndSortCpPagesStart();
 
-                GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> cpPages =
-                    splitAndSortCpPagesIfNeeded(cpPagesHolder);
+                List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> cpPages =
+                    splitCpPagesByPageStore(cpPagesHolder);
 
                 tracker.onSplitAndSortCpPagesEnd();
 
@@ -4292,7 +4294,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
                             curr.reason()));
                 }
 
-                return new Checkpoint(null, GridConcurrentMultiPairQueue.EMPTY, curr);
+                return new Checkpoint(null, Collections.emptyList(), curr);
             }
         }
 
@@ -4684,6 +4686,215 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         return new GridConcurrentMultiPairQueue<>(cpPagesPerRegion);
     }
 
+    /**
+     * Splits checkpoint pages into stripes, one stripe per checkpoint writer thread. Pages of the same page store
+     * (partition file) get into the same stripe, so each file is written sequentially by one thread, unless the store
+     * has more pages than a stripe should get. Such a store is split into ranges of sorted pages, so a hot partition
+     * is written by several threads. Page stores and ranges are assigned to stripes by page count, the largest first
+     * to the least loaded stripe. Pages are grouped and every stripe is sorted in parallel by {@link #asyncRunner}.
+     * <p>
+     * Falls back to {@link #splitAndSortCpPagesIfNeeded} (single stripe shared by all writers) if checkpoint is
+     * single-threaded or {@link CheckpointWriteOrder#RANDOM} write order is configured.
+     *
+     * @param cpPages Checkpoint pages with overall count and user pages info.
+     * @return Checkpoint pages stripes.
+     */
+    private List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> splitCpPagesByPageStore(
+        CheckpointPagesInfoHolder cpPages
+    ) throws IgniteCheckedException {
+        if (asyncRunner == null || persistenceCfg.getCheckpointWriteOrder() != CheckpointWriteOrder.SEQUENTIAL)
+            return Collections.singletonList(splitAndSortCpPagesIfNeeded(cpPages));
+
+        int stripes = persistenceCfg.getCheckpointThreads();
+
+        List<PageMemoryEx> regions = new ArrayList<>();
+        List<Collection<FullPageId>> segments = new ArrayList<>();
+        List<Integer> segmentRegions = new ArrayList<>();
+
+        for (Map.Entry<PageMemoryEx, GridMultiCollectionWrapper<FullPageId>> regPages : cpPages.cpPages()) {
+            for (int i = 0; i < regPages.getValue().collectionsSize(); i++) {
+                segments.add(regPages.getValue().innerCollection(i));
+                segmentRegions.add(regions.size());
+            }
+
+            regions.add(regPages.getKey());
+        }
+
+        // Pages of each segment grouped by page store.
+        List<Map<Long, List<FullPageId>>> segmentStores = new ArrayList<>(segments.size());
+
+        AtomicInteger realPagesCnt = new AtomicInteger();
+
+        Collection<Runnable> splitTasks = new ArrayList<>(segments.size());
+
+        for (int segIdx = 0; segIdx < segments.size(); segIdx++) {
+            segmentStores.add(null);
+
+            int segIdx0 = segIdx;
+
+            splitTasks.add(() -> {
+                Map<Long, List<FullPageId>> res = new HashMap<>();
+
+                int cnt = 0;
+
+                for (FullPageId fullId : segments.get(segIdx0)) {
+                    res.computeIfAbsent(pageStoreKey(fullId), k -> new ArrayList<>()).add(fullId);
+
+                    cnt++;
+                }
+
+                segmentStores.set(segIdx0, res);
+
+                realPagesCnt.addAndGet(cnt);
+            });
+        }
+
+        runInCheckpointPool(splitTasks);
+
+        if (realPagesCnt.get() > cpPages.pagesNum())
+            throw new AssertionError("Incorrect estimated dirty pages number: " + cpPages.pagesNum());
+
+        Map<Long, CheckpointPagesChunk> stores = new HashMap<>();
+
+        for (int segIdx = 0; segIdx < segments.size(); segIdx++) {
+            int regIdx = segmentRegions.get(segIdx);
+
+            for (Map.Entry<Long, List<FullPageId>> e : segmentStores.get(segIdx).entrySet())
+                stores.computeIfAbsent(e.getKey(), k -> new CheckpointPagesChunk(regIdx)).add(e.getValue());
+        }
+
+        // Page store with more pages than a stripe should get is split into ranges of sorted pages.
+        int maxChunkSize = Math.max(1, (realPagesCnt.get() + stripes - 1) / stripes);
+
+        List<CheckpointPagesChunk> chunks = new ArrayList<>(stores.size());
+
+        Collection<Runnable> rangeTasks = new ArrayList<>();
+
+        Comparator<FullPageId> cmp = Comparator.comparingInt(FullPageId::groupId)
+            .thenComparingLong(FullPageId::effectivePageId);
+
+        for (CheckpointPagesChunk store : stores.values()) {
+            if (store.size <= maxChunkSize) {
+                chunks.add(store);
+
+                continue;
+            }
+
+            int rangesCnt = (store.size + maxChunkSize - 1) / maxChunkSize;
+
+            List<CheckpointPagesChunk> ranges = new ArrayList<>(rangesCnt);
+
+            for (int r = 0; r < rangesCnt; r++)
+                ranges.add(new CheckpointPagesChunk(store.regIdx));
+
+            chunks.addAll(ranges);
+
+            rangeTasks.add(() -> {
+                List<FullPageId> pages = Arrays.asList(store.toArray(cmp));
+
+                for (int r = 0; r < rangesCnt; r++) {
+                    int from = r * maxChunkSize;
+
+                    ranges.get(r).add(pages.subList(from, Math.min(from + maxChunkSize, pages.size())));
+                }
+            });
+        }
+
+        runInCheckpointPool(rangeTasks);
+
+        // Largest chunks first, each one to the least loaded stripe.
+        chunks.sort(Comparator.comparingInt((CheckpointPagesChunk c) -> c.size).reversed());
+
+        List<List<CheckpointPagesChunk>> stripeChunks = new ArrayList<>(stripes);
+
+        long[] stripeSizes = new long[stripes];
+
+        for (int stripe = 0; stripe < stripes; stripe++)
+            stripeChunks.add(new ArrayList<>());
+
+        for (CheckpointPagesChunk chunk : chunks) {
+            int minStripe = 0;
+
+            for (int stripe = 1; stripe < stripes; stripe++) {
+                if (stripeSizes[stripe] < stripeSizes[minStripe])
+                    minStripe = stripe;
+            }
+
+            stripeChunks.get(minStripe).add(chunk);
+
+            stripeSizes[minStripe] += chunk.size;
+        }
+
+        List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> res = new ArrayList<>(stripes);
+
+        Collection<Runnable> sortTasks = new ArrayList<>(stripes);
+
+        for (int stripe = 0; stripe < stripes; stripe++) {
+            res.add(null);
+
+            int stripe0 = stripe;
+
+            sortTasks.add(() -> {
+                List<CheckpointPagesChunk> regChunks = new ArrayList<>(regions.size());
+
+                for (int regIdx = 0; regIdx < regions.size(); regIdx++)
+                    regChunks.add(new CheckpointPagesChunk(regIdx));
+
+                for (CheckpointPagesChunk chunk : stripeChunks.get(stripe0))
+                    regChunks.get(chunk.regIdx).add(chunk);
+
+                Collection<T2<PageMemoryEx, FullPageId[]>> stripePages = new ArrayList<>(regions.size());
+
+                for (CheckpointPagesChunk regChunk : regChunks) {
+                    if (regChunk.size > 0)
+                        stripePages.add(new T2<>(regions.get(regChunk.regIdx), regChunk.toArray(cmp)));
+                }
+
+                res.set(stripe0, new GridConcurrentMultiPairQueue<>(stripePages));
+            });
+        }
+
+        runInCheckpointPool(sortTasks);
+
+        return res;
+    }
+
+    /**
+     * @param fullId Page ID.
+     * @return Key of the page store (partition file) the page belongs to.
+     */
+    private static long pageStoreKey(FullPageId fullId) {
+        return ((long)fullId.groupId() << 32) | partId(fullId.pageId());
+    }
+
+    /**
+     * Runs tasks in {@link #asyncRunner} and waits for their completion. Tasks rejected by the pool are executed in
+     * the current thread.
+     *
+     * @param tasks Tasks.
+     * @throws IgniteCheckedException If some task failed.
+     */
+    private void runInCheckpointPool(Collection<Runnable> tasks) throws IgniteCheckedException {
+        GridCompoundFuture<Object, Object> fut = new GridCompoundFuture<>();
+
+        for (Runnable task : tasks) {
+            GridFutureAdapter<Object> res = new GridFutureAdapter<>();
+
+            try {
+                asyncRunner.execute(U.wrapIgniteFuture(task, res));
+            }
+            catch (RejectedExecutionException ignore) {
+                U.wrapIgniteFuture(task, res).run();
+            }
+
+            fut.add(res);
+        }
+
+        fut.markInitialized();
+
+        fut.get();
+    }
+
     /**
      * Performs parallel sort in isolated fork join pool.
      *
@@ -4730,8 +4941,11 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         /** */
         private final CheckpointMetricsTracker tracker;
 
-        /** Collection of page IDs to write under this task. Overall pages to write may be greater than this collection */
-        private final GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds;
+        /** Checkpoint pages stripes. Overall pages to write may be greater than these collections */
+        private final List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> writePageIds;
+
+        /** Index of the stripe written by this task. */
+        private final int stripeIdx;
 
         /** */
         private final ConcurrentLinkedHashMap<PageStore, LongAdder> updStores;
@@ -4749,7 +4963,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
          * Creates task for write pages
          *
          * @param tracker
-         * @param writePageIds Collection of page IDs to write.
+         * @param writePageIds Checkpoint pages stripes.
+         * @param stripeIdx Index of the stripe written by this task, ignored if there is a single stripe.
          * @param updStores
          * @param doneFut
          * @param totalPagesToWrite total pages to be written under this checkpoint
@@ -4757,7 +4972,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
          */
         private WriteCheckpointPages(
             final CheckpointMetricsTracker tracker,
-            final GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds,
+            final List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> writePageIds,
+            final int stripeIdx,
             final ConcurrentLinkedHashMap<PageStore, LongAdder> updStores,
             final CountDownFuture doneFut,
             final int totalPagesToWrite,
@@ -4765,6 +4981,7 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         ) {
             this.tracker = tracker;
             this.writePageIds = writePageIds;
+            this.stripeIdx = stripeIdx;
             this.updStores = updStores;
             this.doneFut = doneFut;
             this.totalPagesToWrite = totalPagesToWrite;
@@ -4775,28 +4992,38 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         @Override public void run() {
             snapshotMgr.beforeCheckpointPageWritten();
 
-            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> writePageIds = this.writePageIds;
-
             try {
-                GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(writePageIds);
-
-                if (pagesToRetry.isEmpty())
-                    doneFut.onDone();
-                else {
-                    LT.warn(log, pagesToRetry.initialSize() + " checkpoint pages were not written yet due to unsuccessful " +
-                        "page write lock acquisition and will be retried");
-
-                    while (!pagesToRetry.isEmpty())
-                        pagesToRetry = writePages(pagesToRetry);
+                // A single stripe is a queue shared by all writers, otherwise every writer has its own stripe, so
+                // a page store is never written by several threads at once, while all the stripes are written
+                // concurrently.
+                writeStripe(writePageIds.get(writePageIds.size() == 1 ? 0 : stripeIdx));
 
-                    doneFut.onDone();
-                }
+                doneFut.onDone();
             }
             catch (Throwable e) {
                 doneFut.onDone(e);
             }
         }
 
+        /**
+         * Writes all pages of the stripe, retrying pages which were not written due to page write lock contention.
+         *
+         * @param stripe Checkpoint pages stripe.
+         */
+        private void writeStripe(
+            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> stripe
+        ) throws IgniteCheckedException {
+            GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> pagesToRetry = writePages(stripe);
+
+            if (!pagesToRetry.isEmpty()) {
+                LT.warn(log, pagesToRetry.initialSize() + " checkpoint pages were not written yet due to " +
+                    "unsuccessful page write lock acquisition and will be retried");
+
+                while (!pagesToRetry.isEmpty())
+                    pagesToRetry = writePages(pagesToRetry);
+            }
+        }
+
         /**
          * @param writePageIds Collections of pages to write.
          * @return pagesToRetry Pages which should be retried.
@@ -4902,8 +5129,8 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
         /** Checkpoint entry. */
         @Nullable private final CheckpointEntry cpEntry;
 
-        /** Checkpoint pages. */
-        private final GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> cpPages;
+        /** Checkpoint pages split into stripes, see {@link #splitCpPagesByPageStore}. */
+        private final List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> cpPages;
 
         /** */
         private final CheckpointProgressImpl progress;
@@ -4919,19 +5146,24 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
 
         /**
          * @param cpEntry Checkpoint entry.
-         * @param cpPages Pages to write to the page store.
+         * @param cpPages Pages to write to the page store, split into stripes.
          * @param progress Checkpoint progress status.
          */
         private Checkpoint(
             @Nullable CheckpointEntry cpEntry,
-            @NotNull GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> cpPages,
+            @NotNull List<GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId>> cpPages,
             CheckpointProgressImpl progress
         ) {
             this.cpEntry = cpEntry;
             this.cpPages = cpPages;
             this.progress = progress;
 
-            pagesSize = cpPages.initialSize();
+            int size = 0;
+
+            for (GridConcurrentMultiPairQueue<PageMemoryEx, FullPageId> stripe : cpPages)
+                size += stripe.initialSize();
+
+            pagesSize = size;
         }
 
         /**
@@ -5784,4 +6016,60 @@ public class GridCacheDatabaseSharedManager extends IgniteCacheDatabaseSharedMan
             return cpPages;
         }
     }
+
+    /** Checkpoint pages of the same data region, which are written by the same checkpoint writer thread. */
+    private static class CheckpointPagesChunk {
+        /** Data region index. */
+        private final int regIdx;
+
+        /** Pages. */
+        private final List<Collection<FullPageId>> parts = new ArrayList<>();
+
+        /** Number of pages. */
+        private int size;
+
+        /**
+         * @param regIdx Data region index.
+         */
+        private CheckpointPagesChunk(int regIdx) {
+            this.regIdx = regIdx;
+        }
+
+        /**
+         * @param pages Pages to add.
+         */
+        private void add(Collection<FullPageId> pages) {
+            parts.add(pages);
+
+            size += pages.size();
+        }
+
+        /**
+         * @param chunk Chunk to add.
+         */
+        private void add(CheckpointPagesChunk chunk) {
+            parts.addAll(chunk.parts);
+
+            size += chunk.size;
+        }
+
+        /**
+         * @param cmp Pages comparator.
+         * @return Sorted pages.
+         */
+        private FullPageId[] toArray(Comparator<FullPageId> cmp) {
+            FullPageId[] res = new FullPageId[size];
+
+            int pos = 0;
+
+            for (Collection<FullPageId> part : parts) {
+                for (FullPageId fullId : part)
+                    res[pos++] = fullId;
+            }
+
+            Arrays.sort(res, cmp);
+
+            return res;
+        }
+    }
 }
@@ -16,6 +16,13 @@
 
 package org.apache.ignite.internal.processors.cache.persistence;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -71,6 +78,7 @@ import org.apache.ignite.internal.processors.cache.distributed.dht.topology.Grid
 import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.AbstractFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.CacheFreeList;
 import org.apache.ignite.internal.processors.cache.persistence.freelist.SimpleDataRow;
@@ -888,6 +896,80 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         ctx.pageStore().onPartitionDestroyed(grpId, partId, tag);
     }
 
+    /**
+     * Replaces the partition file with the given one and initializes the partition data store from it. The data store
+     * must have never been initialized, so there are neither pages of the partition in the page memory nor WAL records
+     * referring to them.
+     * <b>NOTE:</b> This method can be invoked only under checkpoint write lock.
+     *
+     * @param part Partition.
+     * @param file Partition file.
+     * @return {@code False} if the data store is already initialized, the file is not installed in this case.
+     * @throws IgniteCheckedException If failed.
+     */
+    public boolean installPartitionFile(GridDhtLocalPartition part, File file) throws IgniteCheckedException {
+        assert ctx.database().checkpointLockIsHeldByThread();
+
+        CacheDataStore store0 = part.dataStore();
+
+        if (!(store0 instanceof GridCacheDataStore))
+            return false;
+
+        GridCacheDataStore store = (GridCacheDataStore)store0;
+
+        // Forbid lazy initialization of the data store by other threads until the file is installed.
+        if (!store.init.compareAndSet(false, true))
+            return false;
+
+        boolean installed = false;
+
+        try {
+            int tag = ((PageMemoryEx)grp.dataRegion().pageMemory()).invalidate(grp.groupId(), part.id());
+
+            ctx.pageStore().onPartitionDestroyed(grp.groupId(), part.id(), tag);
+
+            Path partFile = ((FilePageStoreManager)ctx.pageStore()).getPath(grp.sharedGroup(), grp.cacheOrGroupName(),
+                part.id());
+
+            Files.move(file.toPath(), partFile, StandardCopyOption.ATOMIC_MOVE);
+
+            try {
+                fsync(partFile);
+
+                // Directory entry of the moved file must survive a crash too.
+                if (!U.isWindows())
+                    fsync(partFile.getParent());
+            }
+            catch (IOException e) {
+                Files.deleteIfExists(partFile);
+
+                throw e;
+            }
+
+            installed = true;
+        }
+        catch (IOException e) {
+            U.error(log, "Failed to install partition file [grp=" + grp.cacheOrGroupName() + ", part=" + part.id() +
+                ", file=" + file.getAbsolutePath() + ']', e);
+        }
+        finally {
+            // Partition without file is initialized as an empty one.
+            store.init0(false, true);
+        }
+
+        return installed;
+    }
+
+    /**
+     * @param path File or directory to sync.
+     * @throws IOException If failed.
+     */
+    private static void fsync(Path path) throws IOException {
+        try (FileChannel ch = FileChannel.open(path, StandardOpenOption.READ)) {
+            ch.force(true);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void onPartitionCounterUpdated(int part, long cntr) {
         CacheDataStore store = partDataStores.get(part);
@@ -924,6 +1006,12 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
         indexStorage.dropCacheIndex(cacheId, idxName, segment);
     }
 
+    /** {@inheritDoc} */
+    @Override public void renameRootPageForIndex(int cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        indexStorage.renameCacheIndex(cacheId, oldIdxName, newIdxName, segment);
+    }
+
     /** {@inheritDoc} */
     @Override public ReuseList reuseListForIndex(String idxName) {
         return reuseList;
@@ -1685,17 +1773,30 @@ public class GridCacheOffheapManager extends IgniteCacheOffheapManagerImpl imple
          * @throws IgniteCheckedException If failed.
          */
         private CacheDataStore init0(boolean checkExists) throws IgniteCheckedException {
+            return init0(checkExists, false);
+        }
+
+        /**
+         * @param checkExists If {@code true} data store won't be initialized if it doesn't exists
+         * (has non empty data file). This is an optimization for lazy store initialization on writes.
+         * @param reserved {@code True} if the initialization is already reserved by the current thread
+         * (see {@link #installPartitionFile(GridDhtLocalPartition, File)}).
+         *
+         * @return Store delegate.
+         * @throws IgniteCheckedException If failed.
+         */
+        private CacheDataStore init0(boolean checkExists, boolean reserved) throws IgniteCheckedException {
             CacheDataStoreImpl delegate0 = delegate;
 
             if (delegate0 != null)
                 return delegate0;
 
-            if (checkExists) {
+            if (checkExists && !reserved) {
                 if (!exists)
                     return null;
             }
 
-            if (init.compareAndSet(false, true)) {
+            if (reserved || init.compareAndSet(false, true)) {
                 IgniteCacheDatabaseSharedManager dbMgr = ctx.database();
 
                 dbMgr.checkpointReadLock();
@@ -64,6 +64,19 @@ public interface IndexStorage {
      */
     public RootPage dropIndex(String idxName) throws IgniteCheckedException;
 
+    /**
+     * Registers index page under another name. Index names will be masked if needed.
+     *
+     * @param cacheId Cache ID.
+     * @param oldIdxName Current index name.
+     * @param newIdxName New index name.
+     * @param segment Segment.
+     * @return Root page or {@code null} if there is no index with the current name.
+     * @throws IgniteCheckedException If failed.
+     */
+    public RootPage renameCacheIndex(Integer cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException;
+
     /**
      * Destroy this meta store.
      *
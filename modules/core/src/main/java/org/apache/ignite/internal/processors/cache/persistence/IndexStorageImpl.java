@@ -183,6 +183,30 @@ public class IndexStorageImpl implements IndexStorage {
         return row != null ? new RootPage(new FullPageId(row.pageId, grpId), false) : null;
     }
 
+    /** {@inheritDoc} */
+    @Override public RootPage renameCacheIndex(Integer cacheId, String oldIdxName, String newIdxName, int segment)
+        throws IgniteCheckedException {
+        byte[] oldNameBytes = maskCacheIndexName(cacheId, oldIdxName, segment).getBytes(StandardCharsets.UTF_8);
+        byte[] newNameBytes = maskCacheIndexName(cacheId, newIdxName, segment).getBytes(StandardCharsets.UTF_8);
+
+        if (newNameBytes.length > MAX_IDX_NAME_LEN)
+            throw new IllegalArgumentException("Too long encoded indexName [maxAllowed=" + MAX_IDX_NAME_LEN +
+                ", currentLength=" + newNameBytes.length + ", name=" + newIdxName + "]");
+
+        synchronized (this) {
+            IndexItem row = metaTree.remove(new IndexItem(oldNameBytes, 0));
+
+            if (row == null)
+                return null;
+
+            IndexItem old = metaTree.put(new IndexItem(newNameBytes, row.pageId));
+
+            assert old == null : "Index with the new name already exists: " + newIdxName;
+
+            return new RootPage(new FullPageId(row.pageId, grpId), false);
+        }
+    }
+
     /** {@inheritDoc} */
     @Override public void destroy() throws IgniteCheckedException {
         metaTree.destroy();
@@ -16,20 +16,24 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.file;
 
+import java.io.DataInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
 import java.nio.channels.FileChannel;
 import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Part of direct node to node file downloading
@@ -41,9 +45,15 @@ public class FileDownloader {
     /** */
     private static final int CHUNK_SIZE = 16 * 1024 * 1024;
 
+    /** Timeout of reading the token from the accepted connection. */
+    private static final int TOKEN_READ_TIMEOUT = 10_000;
+
     /** */
     private final Path path;
 
+    /** Token the uploading side must send first, or {@code null} if the first accepted connection is used. */
+    @Nullable private final UUID token;
+
     /** */
     private long bytesReceived;
 
@@ -66,8 +76,19 @@ public class FileDownloader {
      *
      */
     public FileDownloader(IgniteLogger log, Path path) {
+        this(log, path, null);
+    }
+
+    /**
+     * @param log Logger.
+     * @param path File to download to.
+     * @param token Token the uploading side must send first (see {@link FileUploader#writeToken(SocketChannel, UUID)}).
+     *      Connections without a valid token are rejected.
+     */
+    public FileDownloader(IgniteLogger log, Path path, @Nullable UUID token) {
         this.log = log;
         this.path = path;
+        this.token = token;
     }
 
     /**
@@ -81,10 +102,19 @@ public class FileDownloader {
      *
      */
     public InetSocketAddress start() throws IgniteCheckedException {
+        return start(null);
+    }
+
+    /**
+     * @param bindAddr Address to listen on or {@code null} to listen on all interfaces.
+     * @return Address the downloader is listening on.
+     * @throws IgniteCheckedException If failed.
+     */
+    public InetSocketAddress start(@Nullable InetAddress bindAddr) throws IgniteCheckedException {
         try {
             ServerSocketChannel ch = ServerSocketChannel.open();
 
-            ch.bind(null);
+            ch.bind(new InetSocketAddress(bindAddr, 0));
 
             srvChan = ch;
 
@@ -113,7 +143,7 @@ public class FileDownloader {
             if (!cacheWorkDir.exists())
                 cacheWorkDir.mkdir();
 
-            readChan = srvChan.accept();
+            readChan = accept();
 
             if (log != null && log.isInfoEnabled())
                 log.info("Accepted incoming connection, closing server socket: " + srvChan.getLocalAddress());
@@ -164,6 +194,43 @@ public class FileDownloader {
         }
     }
 
+    /**
+     * Accepts connection of the uploading side. If the token is set, connections which don't send it are closed.
+     *
+     * @return Accepted channel.
+     * @throws IOException If failed.
+     */
+    private SocketChannel accept() throws IOException {
+        while (true) {
+            SocketChannel ch = srvChan.accept();
+
+            if (token == null)
+                return ch;
+
+            try {
+                ch.socket().setSoTimeout(TOKEN_READ_TIMEOUT);
+
+                // Socket adaptor stream respects the read timeout unlike the channel itself.
+                DataInputStream in = new DataInputStream(ch.socket().getInputStream());
+
+                UUID rcvToken = new UUID(in.readLong(), in.readLong());
+
+                ch.socket().setSoTimeout(0);
+
+                if (token.equals(rcvToken))
+                    return ch;
+            }
+            catch (IOException ignored) {
+                // Peer failed to send the token in time, rejected below.
+            }
+
+            U.warn(log, "Rejected connection without a valid token [file=" + path + ", rmtAddr=" +
+                ch.socket().getRemoteSocketAddress() + ']');
+
+            U.closeQuiet(ch);
+        }
+    }
+
     /**
      *
      */
@@ -174,6 +241,8 @@ public class FileDownloader {
 
                 finishFut.onDone(th);
 
+                // Unblock the downloading thread if the remote side failed before connecting.
+                U.closeQuiet(srvChan);
                 U.closeQuiet(readChan);
             }
             else {
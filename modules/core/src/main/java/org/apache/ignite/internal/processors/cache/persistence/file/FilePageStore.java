@@ -761,6 +761,13 @@ public class FilePageStore implements PageStore {
         return off;
     }
 
+    /**
+     * @return Partition file version, incremented each time the partition is destroyed.
+     */
+    public int tag() {
+        return tag;
+    }
+
     /** {@inheritDoc} */
     @Override public int pages() {
         if (!inited)
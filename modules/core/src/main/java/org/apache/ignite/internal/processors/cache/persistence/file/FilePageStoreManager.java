@@ -132,6 +132,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
     /** */
     public static final String META_STORAGE_NAME = "metastorage";
 
+    /** Directory of the partition files transferred by the file rebalancing. */
+    public static final String FILE_REBALANCE_DIR = "file-rebalance";
+
     /** Matcher for searching of *.tmp files. */
     public static final PathMatcher TMP_FILE_MATCHER =
         FileSystems.getDefault().getPathMatcher("glob:**" + TMP_SUFFIX);
@@ -240,6 +243,9 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
                 }
             }
         }
+
+        // Partition files of the file rebalancing interrupted by the node stop.
+        U.delete(fileRebalanceDirectory());
     }
 
     /** {@inheritDoc} */
@@ -955,7 +961,7 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
      * @return Cache data.
      * @throws IgniteCheckedException If failed.
      */
-    private StoredCacheData readCacheData(File conf) throws IgniteCheckedException {
+    public StoredCacheData readCacheData(File conf) throws IgniteCheckedException {
         try (InputStream stream = new BufferedInputStream(new FileInputStream(conf))) {
             return marshaller.unmarshal(stream, U.resolveClassLoader(igniteCfg));
         }
@@ -992,6 +998,13 @@ public class FilePageStoreManager extends GridCacheSharedManagerAdapter implemen
         return storeWorkDir;
     }
 
+    /**
+     * @return Directory of the partition files transferred by the file rebalancing.
+     */
+    public File fileRebalanceDirectory() {
+        return new File(storeWorkDir, FILE_REBALANCE_DIR);
+    }
+
     /**
      * @param ccfg Cache configuration.
      * @return Store dir for given cache.
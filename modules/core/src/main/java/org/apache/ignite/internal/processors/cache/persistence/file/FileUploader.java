@@ -19,10 +19,12 @@ package org.apache.ignite.internal.processors.cache.persistence.file;
 import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.nio.channels.FileChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
+import java.util.UUID;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
@@ -49,6 +51,25 @@ public class FileUploader {
         this.log = log;
     }
 
+    /**
+     * Sends the token expected by {@link FileDownloader} before the file content.
+     *
+     * @param ch Channel connected to the downloader.
+     * @param token Token.
+     * @throws IOException If failed.
+     */
+    public static void writeToken(SocketChannel ch, UUID token) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(16);
+
+        buf.putLong(token.getMostSignificantBits());
+        buf.putLong(token.getLeastSignificantBits());
+
+        buf.flip();
+
+        while (buf.hasRemaining())
+            ch.write(buf);
+    }
+
     /**
      *
      */
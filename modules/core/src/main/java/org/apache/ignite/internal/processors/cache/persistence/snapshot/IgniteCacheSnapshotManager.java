@@ -16,25 +16,82 @@
 
 package org.apache.ignite.internal.processors.cache.persistence.snapshot;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
 import java.util.UUID;
-
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.events.DiscoveryEvent;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
 import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.events.DiscoveryCustomEvent;
+import org.apache.ignite.internal.managers.eventstorage.DiscoveryEventListener;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.PageMemory;
 import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
 import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.CacheGroupDescriptor;
 import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.GridCacheSharedManagerAdapter;
+import org.apache.ignite.internal.processors.cache.StoredCacheData;
+import org.apache.ignite.internal.processors.cache.persistence.DbCheckpointListener;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
 import org.apache.ignite.internal.processors.cache.persistence.partstate.PartitionAllocationMap;
+import org.apache.ignite.internal.processors.cluster.BaselineTopology;
 import org.apache.ignite.internal.processors.cluster.IgniteChangeGlobalStateSupport;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.internal.util.future.GridFinishedFuture;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteCallable;
 import org.apache.ignite.lang.IgniteFuture;
+import org.apache.ignite.resources.IgniteInstanceResource;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.events.EventType.EVT_NODE_FAILED;
+import static org.apache.ignite.events.EventType.EVT_NODE_LEFT;
+import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DATA_FILENAME;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DIR_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_GRP_DIR_PREFIX;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.PART_FILE_PREFIX;
+
 /**
- * Snapshot manager stub.
+ * Snapshot manager.
+ * <p>
+ * Creates consistent online snapshots of persistent cache groups. Snapshot creation is started by
+ * {@link SnapshotCreateMessage} sent through discovery. The message triggers partition map exchange, so every server
+ * node starts its local part of the snapshot when all cache updates are finished and schedules a checkpoint. Partition
+ * files written by this checkpoint are copied to the snapshot directory while the cluster continues to process
+ * updates: pages overwritten during the copy are saved to delta files beforehand (see {@link #beforePageWrite}).
+ * Each node reports the result with {@link SnapshotFinishedMessage}.
+ * <p>
+ * Snapshot is restored by {@link #restoreSnapshot(String, Collection)} into cache groups which don't exist in the
+ * cluster. The baseline topology must be the same as at the moment of the snapshot creation.
+ * <p>
+ * The same copy-on-write technique is used to copy particular partitions for the file rebalancing, see
+ * {@link #copyPartitionFiles(int, Set, File)}.
  */
 public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends GridCacheSharedManagerAdapter implements IgniteChangeGlobalStateSupport {
     /** Snapshot started lock filename. */
@@ -43,6 +100,394 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
     /** Temp files completeness marker. */
     public static final String TEMP_FILES_COMPLETENESS_MARKER = "finished.tmp";
 
+    /** Default snapshots directory relative to the work directory. */
+    public static final String DFLT_SNAPSHOT_DIRECTORY = "snapshots";
+
+    /** Marker of the successfully created local snapshot. */
+    public static final String SNAPSHOT_FINISHED_MARKER = "snapshot.fin";
+
+    /** Name of the file with consistent IDs of the baseline nodes at the moment of the snapshot creation. */
+    public static final String SNAPSHOT_BASELINE_FILENAME = "snapshot.baseline";
+
+    /** Cluster-wide snapshot operations started by the local node. */
+    private final ConcurrentMap<UUID, ClusterSnapshotFuture> clusterOps = new ConcurrentHashMap<>();
+
+    /** Current local snapshot task. */
+    private volatile LocalSnapshotTask curTask;
+
+    /** Tasks copying partition files for the file rebalancing. */
+    private final Collection<LocalSnapshotTask> copyTasks = new GridConcurrentHashSet<>();
+
+    /** Snapshots root directory. */
+    private File snpRoot;
+
+    /** Checkpoint listener fixing partitions of the copy tasks. */
+    private final DbCheckpointListener cpLsnr = new DbCheckpointListener() {
+        /** {@inheritDoc} */
+        @Override public void onMarkCheckpointBegin(Context ctx) {
+            for (LocalSnapshotTask task : copyTasks) {
+                try {
+                    task.onMarkCheckpointBegin();
+                }
+                catch (IgniteCheckedException e) {
+                    task.onDone(e);
+                }
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override public void onCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+
+        /** {@inheritDoc} */
+        @Override public void beforeCheckpointBegin(Context ctx) {
+            // No-op.
+        }
+    };
+
+    /** Node left listener. */
+    private final DiscoveryEventListener discoLsnr = (evt, discoCache) -> {
+        for (ClusterSnapshotFuture fut : clusterOps.values())
+            fut.onNodeLeft(evt.eventNode().id());
+    };
+
+    /** {@inheritDoc} */
+    @Override protected void start0() throws IgniteCheckedException {
+        super.start0();
+
+        GridKernalContext kctx = cctx.kernalContext();
+
+        if (!kctx.clientNode() && CU.isPersistenceEnabled(kctx.config())) {
+            snpRoot = U.resolveWorkDirectory(kctx.config().getWorkDirectory(), DFLT_SNAPSHOT_DIRECTORY, false);
+
+            ((GridCacheDatabaseSharedManager)cctx.database()).addCheckpointListener(cpLsnr);
+        }
+
+        kctx.discovery().setCustomEventListener(SnapshotCreateMessage.class, (topVer, snd, msg) -> {
+            ClusterSnapshotFuture fut = clusterOps.get(msg.operation().operationId());
+
+            if (fut != null)
+                fut.onStarted(kctx.discovery().serverNodes(topVer));
+        });
+
+        kctx.discovery().setCustomEventListener(SnapshotFinishedMessage.class, (topVer, snd, msg) -> {
+            ClusterSnapshotFuture fut = clusterOps.get(msg.operationId());
+
+            if (fut != null)
+                fut.onNodeFinished(snd.id(), msg.errorMessage());
+        });
+
+        cctx.gridEvents().addDiscoveryEventListener(discoLsnr, EVT_NODE_LEFT, EVT_NODE_FAILED);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void stop0(boolean cancel) {
+        cctx.gridEvents().removeDiscoveryEventListener(discoLsnr);
+
+        cancelLocalSnapshot("Node is stopping.");
+
+        cancelPartitionCopies("Node is stopping.");
+
+        for (ClusterSnapshotFuture fut : clusterOps.values())
+            fut.onDone(new IgniteCheckedException("Node is stopping."));
+    }
+
+    /**
+     * Creates snapshot of the given cache groups on all server nodes.
+     *
+     * @param name Snapshot name.
+     * @param grpNames Cache group names or {@code null} to include all persistent user cache groups.
+     * @return Future completed when all server nodes have finished their local snapshots.
+     */
+    public IgniteInternalFuture<Void> createSnapshot(String name, @Nullable Collection<String> grpNames) {
+        A.notNullOrEmpty(name, "name");
+
+        try {
+            if (!CU.isPersistenceEnabled(cctx.gridConfig()))
+                throw new IgniteCheckedException("Snapshots are supported only if persistence is enabled.");
+
+            if (!cctx.kernalContext().state().clusterState().active())
+                throw new IgniteCheckedException("Snapshot can't be created when cluster is inactive.");
+
+            if (!clusterOps.isEmpty())
+                throw new IgniteCheckedException("Another snapshot operation is in progress.");
+
+            Set<Integer> grpIds = new HashSet<>();
+            Set<String> cacheNames = new HashSet<>();
+
+            for (CacheGroupDescriptor desc : cctx.cache().cacheGroupDescriptors().values()) {
+                if (grpNames == null ? CU.isSystemCache(desc.cacheOrGroupName()) || !desc.persistenceEnabled() :
+                    !grpNames.contains(desc.cacheOrGroupName()))
+                    continue;
+
+                if (!desc.persistenceEnabled())
+                    throw new IgniteCheckedException("Snapshot of in-memory cache group is not supported: " +
+                        desc.cacheOrGroupName());
+
+                grpIds.add(desc.groupId());
+                cacheNames.addAll(desc.caches().keySet());
+            }
+
+            if (grpNames != null && grpIds.size() != grpNames.size())
+                throw new IgniteCheckedException("Some of the cache groups don't exist: " + grpNames);
+
+            SnapshotCreateOperation op = new SnapshotCreateOperation(UUID.randomUUID(), name, grpIds, cacheNames);
+
+            ClusterSnapshotFuture fut = new ClusterSnapshotFuture(op.operationId());
+
+            clusterOps.put(op.operationId(), fut);
+
+            fut.listen(f -> clusterOps.remove(op.operationId()));
+
+            cctx.discovery().sendCustomEvent(new SnapshotCreateMessage(op));
+
+            if (log.isInfoEnabled())
+                log.info("Snapshot creation started [name=" + name + ", caches=" + cacheNames + ']');
+
+            return fut;
+        }
+        catch (IgniteCheckedException e) {
+            return new GridFinishedFuture<>(e);
+        }
+    }
+
+    /**
+     * Restores cache groups from the snapshot. The cache groups must not exist in the cluster.
+     *
+     * @param name Snapshot name.
+     * @param grpNames Names of the cache groups to restore.
+     * @return Future completed when the restored caches are started.
+     */
+    public IgniteInternalFuture<Void> restoreSnapshot(String name, Collection<String> grpNames) {
+        A.notNullOrEmpty(name, "name");
+        A.notEmpty(grpNames, "grpNames");
+
+        GridFutureAdapter<Void> res = new GridFutureAdapter<>();
+
+        try {
+            if (snpRoot == null)
+                throw new IgniteCheckedException("Snapshot can be restored only from server node with persistence.");
+
+            if (!cctx.kernalContext().state().clusterState().active())
+                throw new IgniteCheckedException("Snapshot can't be restored when cluster is inactive.");
+
+            for (CacheGroupDescriptor desc : cctx.cache().cacheGroupDescriptors().values()) {
+                if (grpNames.contains(desc.cacheOrGroupName()))
+                    throw new IgniteCheckedException("Cache group already exists: " + desc.cacheOrGroupName());
+            }
+
+            File nodeSnpDir = localSnapshotDirectory(name);
+
+            if (!new File(nodeSnpDir, SNAPSHOT_FINISHED_MARKER).exists())
+                throw new IgniteCheckedException("Snapshot doesn't exist or wasn't completed: " + name);
+
+            checkBaseline(nodeSnpDir);
+
+            List<String> dirNames = new ArrayList<>();
+            List<StoredCacheData> ccfgs = new ArrayList<>();
+
+            for (String grpName : grpNames) {
+                File grpDir = snapshotGroupDirectory(nodeSnpDir, grpName);
+
+                if (grpDir == null)
+                    throw new IgniteCheckedException("Cache group is not found in the snapshot: " + grpName);
+
+                dirNames.add(grpDir.getName());
+                ccfgs.addAll(readCacheConfigurations(grpDir));
+            }
+
+            Collection<ClusterNode> nodes = cctx.discovery().aliveServerNodes();
+
+            IgniteInternalFuture<Collection<Void>> copyFut = cctx.kernalContext().closure().callAsyncNoFailover(
+                BROADCAST, Collections.singleton(new RestoreSnapshotFilesJob(name, dirNames)), nodes, true, 0);
+
+            copyFut.listen(f -> {
+                try {
+                    f.get();
+
+                    cctx.cache().dynamicStartCachesByStoredConf(ccfgs, true, false, false, null)
+                        .listen(startFut -> {
+                            try {
+                                startFut.get();
+
+                                res.onDone();
+                            }
+                            catch (IgniteCheckedException e) {
+                                res.onDone(e);
+                            }
+                        });
+                }
+                catch (IgniteCheckedException e) {
+                    res.onDone(new IgniteCheckedException("Failed to restore snapshot files: " + name, e));
+                }
+            });
+        }
+        catch (IgniteCheckedException e) {
+            res.onDone(e);
+        }
+
+        return res;
+    }
+
+    /**
+     * Copies snapshot files of the given cache groups to the persistent store directory of the local node.
+     *
+     * @param name Snapshot name.
+     * @param dirNames Cache group directory names.
+     * @throws IgniteCheckedException If failed.
+     */
+    void restoreLocalSnapshotFiles(String name, Collection<String> dirNames) throws IgniteCheckedException {
+        if (snpRoot == null)
+            return;
+
+        File nodeSnpDir = localSnapshotDirectory(name);
+
+        if (!nodeSnpDir.exists())
+            return;
+
+        if (!new File(nodeSnpDir, SNAPSHOT_FINISHED_MARKER).exists())
+            throw new IgniteCheckedException("Local snapshot wasn't completed: " + nodeSnpDir.getAbsolutePath());
+
+        checkBaseline(nodeSnpDir);
+
+        File storeDir = ((FilePageStoreManager)cctx.pageStore()).workDir();
+
+        for (String dirName : dirNames) {
+            File src = new File(nodeSnpDir, dirName);
+
+            // Cache group may be filtered out from the node.
+            if (!src.exists())
+                continue;
+
+            File dst = new File(storeDir, dirName);
+
+            try {
+                Files.createDirectories(dst.toPath());
+
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(dst.toPath(), PART_FILE_PREFIX + "*")) {
+                    if (files.iterator().hasNext())
+                        throw new IgniteCheckedException("Cache group directory is not empty: " + dst);
+                }
+
+                try (DirectoryStream<Path> files = Files.newDirectoryStream(src.toPath())) {
+                    for (Path file : files)
+                        Files.copy(file, dst.toPath().resolve(file.getFileName()));
+                }
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to restore snapshot files [src=" + src + ", dst=" + dst + ']',
+                    e);
+            }
+        }
+
+        if (log.isInfoEnabled())
+            log.info("Snapshot files restored [name=" + name + ", dirs=" + dirNames + ']');
+    }
+
+    /**
+     * @return Consistent IDs of the current baseline nodes.
+     * @throws IgniteCheckedException If baseline topology is not set.
+     */
+    private Set<String> baselineConsistentIds() throws IgniteCheckedException {
+        BaselineTopology blt = cctx.kernalContext().state().clusterState().baselineTopology();
+
+        if (blt == null)
+            throw new IgniteCheckedException("Baseline topology is not set.");
+
+        Set<String> res = new TreeSet<>();
+
+        for (Object consistentId : blt.consistentIds())
+            res.add(String.valueOf(consistentId));
+
+        return res;
+    }
+
+    /**
+     * Saves consistent IDs of the current baseline nodes to the local snapshot directory.
+     *
+     * @param nodeSnpDir Snapshot directory of the local node.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void saveBaseline(File nodeSnpDir) throws IgniteCheckedException {
+        try {
+            Files.write(new File(nodeSnpDir, SNAPSHOT_BASELINE_FILENAME).toPath(), baselineConsistentIds());
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to save snapshot baseline: " + nodeSnpDir, e);
+        }
+    }
+
+    /**
+     * Checks that the current baseline topology is the same as at the moment of the snapshot creation.
+     *
+     * @param nodeSnpDir Snapshot directory of the local node.
+     * @throws IgniteCheckedException If baseline topology doesn't match.
+     */
+    private void checkBaseline(File nodeSnpDir) throws IgniteCheckedException {
+        Set<String> snpBlt;
+
+        try {
+            snpBlt = new TreeSet<>(Files.readAllLines(new File(nodeSnpDir, SNAPSHOT_BASELINE_FILENAME).toPath()));
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to read snapshot baseline: " + nodeSnpDir, e);
+        }
+
+        Set<String> curBlt = baselineConsistentIds();
+
+        if (!snpBlt.equals(curBlt)) {
+            throw new IgniteCheckedException("Snapshot can be restored only to the same baseline topology " +
+                "[snapshotBaseline=" + snpBlt + ", currentBaseline=" + curBlt + ']');
+        }
+    }
+
+    /**
+     * @param name Snapshot name.
+     * @return Snapshot directory of the local node.
+     * @throws IgniteCheckedException If failed.
+     */
+    public File localSnapshotDirectory(String name) throws IgniteCheckedException {
+        String folderName = cctx.kernalContext().pdsFolderResolver().resolveFolders().folderName();
+
+        return new File(new File(snpRoot, name), folderName);
+    }
+
+    /**
+     * @param nodeSnpDir Snapshot directory of the local node.
+     * @param grpName Cache group name.
+     * @return Cache group directory or {@code null} if the group is not found.
+     */
+    @Nullable private static File snapshotGroupDirectory(File nodeSnpDir, String grpName) {
+        for (String prefix : F.asList(CACHE_GRP_DIR_PREFIX, CACHE_DIR_PREFIX)) {
+            File dir = new File(nodeSnpDir, prefix + grpName);
+
+            if (dir.isDirectory())
+                return dir;
+        }
+
+        return null;
+    }
+
+    /**
+     * @param grpDir Cache group directory of the snapshot.
+     * @return Stored configurations of the group caches.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<StoredCacheData> readCacheConfigurations(File grpDir) throws IgniteCheckedException {
+        File[] cfgFiles = grpDir.listFiles(f -> f.getName().endsWith(CACHE_DATA_FILENAME));
+
+        if (F.isEmpty(cfgFiles))
+            throw new IgniteCheckedException("Cache configuration is not found in the snapshot: " + grpDir);
+
+        List<StoredCacheData> res = new ArrayList<>(cfgFiles.length);
+
+        for (File cfgFile : cfgFiles)
+            res.add(((FilePageStoreManager)cctx.pageStore()).readCacheData(cfgFile));
+
+        return res;
+    }
+
     /**
      * Try to start local snapshot operation if it's required by discovery event.
      *
@@ -54,7 +499,18 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
     @Nullable public IgniteInternalFuture tryStartLocalSnapshotOperation(
             @Nullable DiscoveryEvent discoveryEvt, AffinityTopologyVersion topVer
     ) throws IgniteCheckedException {
-        return null;
+        if (!(discoveryEvt instanceof DiscoveryCustomEvent))
+            return null;
+
+        if (!(((DiscoveryCustomEvent)discoveryEvt).customMessage() instanceof SnapshotCreateMessage))
+            return null;
+
+        SnapshotCreateMessage msg = (SnapshotCreateMessage)((DiscoveryCustomEvent)discoveryEvt).customMessage();
+
+        if (cctx.kernalContext().clientNode())
+            return null;
+
+        return startLocalSnapshot(discoveryEvt.eventNode().id(), msg.operation(), topVer);
     }
 
     /**
@@ -66,9 +522,167 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
         T snapshotOperation,
         AffinityTopologyVersion topVer
     ) throws IgniteCheckedException {
+        if (snapshotOperation instanceof SnapshotCreateOperation)
+            return startLocalSnapshot(initiatorNodeId, (SnapshotCreateOperation)snapshotOperation, topVer);
+
         return null;
     }
 
+    /**
+     * Starts local part of the snapshot creation and schedules the checkpoint. Called from the exchange thread when
+     * all cache updates are finished.
+     *
+     * @param initiatorNodeId Initiator node id.
+     * @param op Snapshot operation.
+     * @param topVer Topology version.
+     * @return Future completed when the snapshot checkpoint is marked.
+     */
+    @Nullable private IgniteInternalFuture startLocalSnapshot(
+        UUID initiatorNodeId,
+        SnapshotCreateOperation op,
+        AffinityTopologyVersion topVer
+    ) {
+        if (snpRoot == null) {
+            sendFinishedMessage(op, null);
+
+            return null;
+        }
+
+        LocalSnapshotTask task;
+
+        try {
+            if (curTask != null)
+                throw new IgniteCheckedException("Another snapshot operation is in progress: " + curTask.operation());
+
+            File nodeSnpDir = localSnapshotDirectory(op.snapshotName());
+
+            if (nodeSnpDir.exists())
+                throw new IgniteCheckedException("Snapshot directory already exists: " + nodeSnpDir.getAbsolutePath());
+
+            U.ensureDirectory(nodeSnpDir, "snapshot directory", log);
+
+            saveBaseline(nodeSnpDir);
+
+            task = new LocalSnapshotTask(cctx, op, nodeSnpDir);
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to start local snapshot [initiator=" + initiatorNodeId + ", op=" + op + ']', e);
+
+            sendFinishedMessage(op, e);
+
+            return null;
+        }
+
+        curTask = task;
+
+        task.listen(f -> onLocalSnapshotFinished(task, f.error()));
+
+        if (log.isInfoEnabled()) {
+            log.info("Starting local snapshot [name=" + op.snapshotName() + ", initiator=" + initiatorNodeId +
+                ", topVer=" + topVer + ']');
+        }
+
+        return ((GridCacheDatabaseSharedManager)cctx.database()).getCheckpointer().wakeupForSnapshotCreation(op);
+    }
+
+    /**
+     * @param task Local snapshot task.
+     * @param err Error.
+     */
+    private void onLocalSnapshotFinished(LocalSnapshotTask task, @Nullable Throwable err) {
+        if (err == null) {
+            try {
+                Files.createFile(new File(task.directory(), SNAPSHOT_FINISHED_MARKER).toPath());
+            }
+            catch (IOException e) {
+                err = e;
+            }
+        }
+
+        if (err != null) {
+            U.error(log, "Failed to create local snapshot: " + task.operation().snapshotName(), err);
+
+            U.delete(task.directory());
+        }
+
+        curTask = null;
+
+        sendFinishedMessage(task.operation(), err);
+    }
+
+    /**
+     * @param op Snapshot operation.
+     * @param err Error.
+     */
+    private void sendFinishedMessage(SnapshotCreateOperation op, @Nullable Throwable err) {
+        try {
+            cctx.discovery().sendCustomEvent(new SnapshotFinishedMessage(op.operationId(),
+                err == null ? null : err.getMessage()));
+        }
+        catch (IgniteCheckedException e) {
+            U.error(log, "Failed to send snapshot finished message: " + op, e);
+        }
+    }
+
+    /**
+     * @param reason Cancellation reason.
+     */
+    private void cancelLocalSnapshot(String reason) {
+        LocalSnapshotTask task = curTask;
+
+        if (task != null)
+            task.onDone(new IgniteCheckedException("Snapshot operation is cancelled: " + reason));
+    }
+
+    /**
+     * Copies partition files of the cache group at the boundary of the next checkpoint. The copies are consistent
+     * with the update counters of the partitions at the moment of the checkpoint. Partitions, which are not owned by
+     * the local node or have no allocated pages, are not copied.
+     *
+     * @param grpId Cache group ID.
+     * @param parts Partitions to copy.
+     * @param dir Directory to copy partition files to.
+     * @return Future with update counters of the copied partitions.
+     */
+    public IgniteInternalFuture<Map<Integer, Long>> copyPartitionFiles(int grpId, Set<Integer> parts, File dir) {
+        GridFutureAdapter<Map<Integer, Long>> res = new GridFutureAdapter<>();
+
+        try {
+            if (snpRoot == null)
+                throw new IgniteCheckedException("Partition files can be copied only on server node with persistence.");
+
+            U.ensureDirectory(dir, "partition files copy directory", log);
+
+            LocalSnapshotTask task = new LocalSnapshotTask(cctx, dir.getName(), grpId, parts, dir);
+
+            task.listen(f -> {
+                copyTasks.remove(task);
+
+                if (f.error() != null)
+                    res.onDone(f.error());
+                else
+                    res.onDone(task.updateCounters());
+            });
+
+            copyTasks.add(task);
+
+            cctx.database().forceCheckpoint("partition files copy");
+        }
+        catch (IgniteCheckedException e) {
+            res.onDone(e);
+        }
+
+        return res;
+    }
+
+    /**
+     * @param reason Cancellation reason.
+     */
+    private void cancelPartitionCopies(String reason) {
+        for (LocalSnapshotTask task : copyTasks)
+            task.onDone(new IgniteCheckedException("Partition files copy is cancelled: " + reason));
+    }
+
     /**
      * @param snapshotOperation current snapshot operation.
      * @param map  (cacheId, partId) -> (lastAllocatedIndex, count)
@@ -79,6 +693,17 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
         T snapshotOperation,
         PartitionAllocationMap map
     ) throws IgniteCheckedException {
+        LocalSnapshotTask task = curTask;
+
+        if (task != null && task.operation() == snapshotOperation) {
+            try {
+                task.onMarkCheckpointBegin();
+            }
+            catch (IgniteCheckedException e) {
+                task.onDone(e);
+            }
+        }
+
         return null;
     }
 
@@ -93,7 +718,9 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
      *
      */
     public boolean snapshotOperationInProgress(){
-        return false;
+        LocalSnapshotTask task = curTask;
+
+        return task != null && task.initializing();
     }
 
     /**
@@ -107,14 +734,26 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
      *
      */
     public void afterCheckpointPageWritten() {
-        // No-op.
+        LocalSnapshotTask task = curTask;
+
+        if (task != null)
+            task.onCheckpointFinished();
+
+        for (LocalSnapshotTask copyTask : copyTasks)
+            copyTask.onCheckpointFinished();
     }
 
     /**
      * @param fullId Full id.
      */
     public void beforePageWrite(FullPageId fullId) {
-        // No-op.
+        LocalSnapshotTask task = curTask;
+
+        if (task != null)
+            task.beforePageWrite(fullId);
+
+        for (LocalSnapshotTask copyTask : copyTasks)
+            copyTask.beforePageWrite(fullId);
     }
 
     /**
@@ -130,7 +769,15 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
      * @param destroy Destroy flag.
      */
     public void onCacheGroupStop(CacheGroupContext gctx, boolean destroy) {
-        // No-op.
+        LocalSnapshotTask task = curTask;
+
+        if (task != null && task.affectsGroup(gctx.groupId()))
+            cancelLocalSnapshot("Cache group is stopped: " + gctx.cacheOrGroupName());
+
+        for (LocalSnapshotTask copyTask : copyTasks) {
+            if (copyTask.affectsGroup(gctx.groupId()))
+                copyTask.onDone(new IgniteCheckedException("Cache group is stopped: " + gctx.cacheOrGroupName()));
+        }
     }
 
     /**
@@ -151,7 +798,9 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
 
     /** {@inheritDoc} */
     @Override public void onDeActivate(GridKernalContext kctx) {
-        // No-op.
+        cancelLocalSnapshot("Cluster is deactivated.");
+
+        cancelPartitionCopies("Cluster is deactivated.");
     }
 
     /**
@@ -160,4 +809,111 @@ public class IgniteCacheSnapshotManager<T extends SnapshotOperation> extends Gri
     public boolean needTxReadLogging() {
         return false;
     }
+
+    /**
+     * Future of the cluster-wide snapshot creation.
+     */
+    private static class ClusterSnapshotFuture extends GridFutureAdapter<Void> {
+        /** Unique operation ID. */
+        private final UUID opId;
+
+        /** Nodes participating in the snapshot, {@code null} until the operation is started. */
+        private Set<UUID> nodes;
+
+        /** Nodes which have finished their local snapshots. */
+        private final Set<UUID> finished = new HashSet<>();
+
+        /** Errors by node IDs. */
+        private final Map<UUID, String> errs = new HashMap<>();
+
+        /**
+         * @param opId Unique operation ID.
+         */
+        private ClusterSnapshotFuture(UUID opId) {
+            this.opId = opId;
+        }
+
+        /**
+         * @param srvNodes Server nodes at the snapshot topology version.
+         */
+        private synchronized void onStarted(Collection<ClusterNode> srvNodes) {
+            nodes = new HashSet<>(F.nodeIds(srvNodes));
+
+            checkFinished();
+        }
+
+        /**
+         * @param nodeId Node ID.
+         * @param errMsg Error message.
+         */
+        private synchronized void onNodeFinished(UUID nodeId, @Nullable String errMsg) {
+            finished.add(nodeId);
+
+            if (errMsg != null)
+                errs.put(nodeId, errMsg);
+
+            checkFinished();
+        }
+
+        /**
+         * @param nodeId Node ID.
+         */
+        private synchronized void onNodeLeft(UUID nodeId) {
+            if (nodes == null || !nodes.contains(nodeId) || finished.contains(nodeId))
+                return;
+
+            onNodeFinished(nodeId, "Node left the cluster.");
+        }
+
+        /**
+         * Completes the future if all nodes have finished.
+         */
+        private void checkFinished() {
+            if (nodes == null || !finished.containsAll(nodes))
+                return;
+
+            onDone(errs.isEmpty() ? null :
+                new IgniteCheckedException("Snapshot creation failed [opId=" + opId + ", errs=" + errs + ']'));
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(ClusterSnapshotFuture.class, this);
+        }
+    }
+
+    /**
+     * Copies snapshot files of the restored cache groups to the persistent store directory.
+     */
+    @GridInternal
+    private static class RestoreSnapshotFilesJob implements IgniteCallable<Void> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Injected grid instance. */
+        @IgniteInstanceResource
+        private transient IgniteEx ignite;
+
+        /** Snapshot name. */
+        private final String name;
+
+        /** Cache group directory names. */
+        private final Collection<String> dirNames;
+
+        /**
+         * @param name Snapshot name.
+         * @param dirNames Cache group directory names.
+         */
+        private RestoreSnapshotFilesJob(String name, Collection<String> dirNames) {
+            this.name = name;
+            this.dirNames = dirNames;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Void call() throws Exception {
+            ignite.context().cache().context().snapshot().restoreLocalSnapshotFiles(name, dirNames);
+
+            return null;
+        }
+    }
 }
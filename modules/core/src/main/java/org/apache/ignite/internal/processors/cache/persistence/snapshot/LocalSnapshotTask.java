@@ -0,0 +1,584 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.internal.pagemem.FullPageId;
+import org.apache.ignite.internal.pagemem.PageIdUtils;
+import org.apache.ignite.internal.processors.cache.CacheGroupContext;
+import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStore;
+import org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager;
+import org.apache.ignite.internal.processors.cache.persistence.partstate.GroupPartitionId;
+import org.apache.ignite.internal.util.future.GridFutureAdapter;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.thread.IgniteThread;
+import org.jetbrains.annotations.Nullable;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.apache.ignite.internal.pagemem.PageIdAllocator.INDEX_PARTITION;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.EVICTED;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.cache.persistence.file.FilePageStoreManager.CACHE_DATA_FILENAME;
+
+/**
+ * Local part of the snapshot creation.
+ * <p>
+ * The snapshot is taken at the boundary of the checkpoint scheduled by the snapshot operation. When the checkpoint
+ * is marked, the number of allocated pages of every partition is fixed. When all checkpoint pages are written to the
+ * disk, partition files represent the consistent state of the data and the task starts copying them. Pages written
+ * to the partition files after that moment are saved to the delta files before being overwritten (copy-on-write),
+ * and the delta pages are applied to the copied files once the copy of the partition is completed.
+ * <p>
+ * The same approach is used to copy particular partitions of a cache group to send them to another node by the file
+ * rebalancing. Such task is not bound to a snapshot operation and doesn't copy cache configurations.
+ */
+class LocalSnapshotTask extends GridFutureAdapter<Void> implements Runnable {
+    /** Delta file suffix. */
+    static final String DELTA_SUFFIX = ".delta";
+
+    /** Cache shared context. */
+    private final GridCacheSharedContext<?, ?> cctx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Snapshot operation or {@code null} if the task copies partitions for the file rebalancing. */
+    @Nullable private final SnapshotCreateOperation op;
+
+    /** Task name. */
+    private final String name;
+
+    /** Cache group IDs. */
+    private final Collection<Integer> grpIds;
+
+    /** Partitions to copy or {@code null} to copy all partitions of the cache groups. */
+    @Nullable private final Set<Integer> partIds;
+
+    /** Snapshot directory of the local node. */
+    private final File snpDir;
+
+    /** Update counters of the copied partitions at the moment of the checkpoint. */
+    private final Map<Integer, Long> updCntrs = new HashMap<>();
+
+    /** Partitions to copy. Filled under the checkpoint write lock and is read-only after that. */
+    private final Map<GroupPartitionId, PartitionSnapshot> parts = new HashMap<>();
+
+    /** Cache group directories to copy cache configurations from. */
+    private final Map<File, File> grpDirs = new HashMap<>();
+
+    /** Page buffer to read the original page content. */
+    private final ThreadLocal<ByteBuffer> pageBuf;
+
+    /** Checkpoint of the snapshot is marked. */
+    private volatile boolean marked;
+
+    /** Copy-on-write of the partition pages is enabled. */
+    private volatile boolean cowEnabled;
+
+    /**
+     * @param cctx Cache shared context.
+     * @param op Snapshot operation.
+     * @param snpDir Snapshot directory of the local node.
+     */
+    LocalSnapshotTask(GridCacheSharedContext<?, ?> cctx, SnapshotCreateOperation op, File snpDir) {
+        this(cctx, op, op.snapshotName(), op.cacheGroupIds(), null, snpDir);
+    }
+
+    /**
+     * Creates task copying the given partitions of the cache group. Partitions, which are not owned by the local
+     * node, are not copied.
+     *
+     * @param cctx Cache shared context.
+     * @param name Task name.
+     * @param grpId Cache group ID.
+     * @param partIds Partitions to copy.
+     * @param dir Directory to copy partition files to.
+     */
+    LocalSnapshotTask(GridCacheSharedContext<?, ?> cctx, String name, int grpId, Set<Integer> partIds, File dir) {
+        this(cctx, null, name, Collections.singleton(grpId), partIds, dir);
+    }
+
+    /**
+     * @param cctx Cache shared context.
+     * @param op Snapshot operation.
+     * @param name Task name.
+     * @param grpIds Cache group IDs.
+     * @param partIds Partitions to copy or {@code null} to copy all partitions of the cache groups.
+     * @param snpDir Snapshot directory of the local node.
+     */
+    private LocalSnapshotTask(
+        GridCacheSharedContext<?, ?> cctx,
+        @Nullable SnapshotCreateOperation op,
+        String name,
+        Collection<Integer> grpIds,
+        @Nullable Set<Integer> partIds,
+        File snpDir
+    ) {
+        this.cctx = cctx;
+        this.op = op;
+        this.name = name;
+        this.grpIds = grpIds;
+        this.partIds = partIds;
+        this.snpDir = snpDir;
+
+        log = cctx.logger(LocalSnapshotTask.class);
+
+        int pageSize = cctx.kernalContext().config().getDataStorageConfiguration().getPageSize();
+
+        pageBuf = ThreadLocal.withInitial(() -> ByteBuffer.allocateDirect(pageSize).order(ByteOrder.nativeOrder()));
+    }
+
+    /**
+     * @return Snapshot operation or {@code null} if the task copies partitions for the file rebalancing.
+     */
+    @Nullable SnapshotCreateOperation operation() {
+        return op;
+    }
+
+    /**
+     * @return Update counters of the copied partitions at the moment of the checkpoint.
+     */
+    Map<Integer, Long> updateCounters() {
+        return updCntrs;
+    }
+
+    /**
+     * @return Snapshot directory of the local node.
+     */
+    File directory() {
+        return snpDir;
+    }
+
+    /**
+     * @return {@code True} if the task waits for the checkpoint to be finished.
+     */
+    boolean initializing() {
+        return !cowEnabled && !isDone();
+    }
+
+    /**
+     * @param grpId Cache group ID.
+     * @return {@code True} if the cache group is included to the snapshot.
+     */
+    boolean affectsGroup(int grpId) {
+        return grpIds.contains(grpId);
+    }
+
+    /**
+     * Fixes the set of partitions and their sizes. Called by checkpointer under the checkpoint write lock.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    void onMarkCheckpointBegin() throws IgniteCheckedException {
+        if (marked || isDone())
+            return;
+
+        FilePageStoreManager storeMgr = (FilePageStoreManager)cctx.pageStore();
+
+        for (int grpId : grpIds) {
+            CacheGroupContext grp = cctx.cache().cacheGroup(grpId);
+
+            // Cache group may be filtered out from the local node.
+            if (grp == null)
+                continue;
+
+            if (!grp.persistenceEnabled())
+                throw new IgniteCheckedException("Snapshot of in-memory cache group is not supported: " +
+                    grp.cacheOrGroupName());
+
+            if (partIds != null) {
+                for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                    if (partIds.contains(part.id()) && part.state() == OWNING &&
+                        addPartition(storeMgr, grpId, part.id(), snpDir))
+                        updCntrs.put(part.id(), part.updateCounter());
+                }
+
+                continue;
+            }
+
+            File grpDir = storeMgr.cacheWorkDir(grp.sharedGroup(), grp.cacheOrGroupName());
+            File dstDir = new File(snpDir, grpDir.getName());
+
+            grpDirs.put(grpDir, dstDir);
+
+            for (GridDhtLocalPartition part : grp.topology().currentLocalPartitions()) {
+                if (part.state() != EVICTED)
+                    addPartition(storeMgr, grpId, part.id(), dstDir);
+            }
+
+            if (storeMgr.hasIndexStore(grpId))
+                addPartition(storeMgr, grpId, INDEX_PARTITION, dstDir);
+        }
+
+        marked = true;
+    }
+
+    /**
+     * @param storeMgr Page store manager.
+     * @param grpId Cache group ID.
+     * @param partId Partition ID.
+     * @param dstDir Destination directory.
+     * @return {@code False} if nothing was allocated in the partition, so there is nothing to copy.
+     * @throws IgniteCheckedException If failed.
+     */
+    private boolean addPartition(FilePageStoreManager storeMgr, int grpId, int partId, File dstDir)
+        throws IgniteCheckedException {
+        FilePageStore store = (FilePageStore)storeMgr.getStore(grpId, partId);
+
+        int pages = store.pages();
+
+        if (pages == 0)
+            return false;
+
+        parts.put(new GroupPartitionId(grpId, partId), new PartitionSnapshot(store, pages, dstDir));
+
+        return true;
+    }
+
+    /**
+     * Enables copy-on-write and starts copying partition files. Called by checkpointer when all pages of the
+     * checkpoint are written and synced.
+     */
+    void onCheckpointFinished() {
+        if (!marked || cowEnabled || isDone())
+            return;
+
+        cowEnabled = true;
+
+        new IgniteThread(cctx.igniteInstanceName(), "snapshot-copy-" + name, this).start();
+    }
+
+    /**
+     * Saves original content of the page if it is written to the partition file for the first time since the
+     * snapshot checkpoint.
+     *
+     * @param fullId Page ID.
+     */
+    void beforePageWrite(FullPageId fullId) {
+        if (!cowEnabled || isDone())
+            return;
+
+        PartitionSnapshot part = parts.get(new GroupPartitionId(fullId.groupId(), PageIdUtils.partId(fullId.pageId())));
+
+        if (part == null)
+            return;
+
+        try {
+            part.beforePageWrite(fullId.pageId(), pageBuf.get());
+        }
+        catch (IOException e) {
+            onDone(new IgniteCheckedException("Failed to save page to the snapshot delta file: " + fullId, e));
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void run() {
+        try {
+            long start = U.currentTimeMillis();
+
+            for (Map.Entry<File, File> e : grpDirs.entrySet())
+                copyCacheConfigurations(e.getKey(), e.getValue());
+
+            for (PartitionSnapshot part : parts.values()) {
+                if (isDone())
+                    return;
+
+                part.copy();
+            }
+
+            if (op != null && log.isInfoEnabled()) {
+                log.info("Local snapshot created [name=" + name + ", partitions=" + parts.size() +
+                    ", time=" + (U.currentTimeMillis() - start) + "ms]");
+            }
+            else if (log.isDebugEnabled()) {
+                log.debug("Partition files copied [name=" + name + ", partitions=" + parts.size() +
+                    ", time=" + (U.currentTimeMillis() - start) + "ms]");
+            }
+
+            onDone();
+        }
+        catch (Throwable e) {
+            onDone(new IgniteCheckedException("Failed to copy partition files: " + name, e));
+        }
+    }
+
+    /**
+     * @param srcDir Cache group directory.
+     * @param dstDir Snapshot directory of the cache group.
+     * @throws IOException If failed.
+     */
+    private void copyCacheConfigurations(File srcDir, File dstDir) throws IOException {
+        Files.createDirectories(dstDir.toPath());
+
+        File[] cfgFiles = srcDir.listFiles(f -> f.getName().endsWith(CACHE_DATA_FILENAME));
+
+        if (cfgFiles == null)
+            return;
+
+        for (File cfgFile : cfgFiles)
+            Files.copy(cfgFile.toPath(), new File(dstDir, cfgFile.getName()).toPath());
+    }
+
+    /** {@inheritDoc} */
+    @Override protected boolean onDone(Void res, Throwable err, boolean cancel) {
+        if (!super.onDone(res, err, cancel))
+            return false;
+
+        // Release delta files of the partitions, which were not copied.
+        for (PartitionSnapshot part : parts.values())
+            part.close();
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(LocalSnapshotTask.class, this);
+    }
+
+    /**
+     * Snapshot of a single partition file.
+     */
+    private static class PartitionSnapshot {
+        /** Partition page store. */
+        private final FilePageStore store;
+
+        /** Number of pages allocated at the snapshot checkpoint. */
+        private final int pages;
+
+        /** Partition file version at the snapshot checkpoint. */
+        private final int tag;
+
+        /** Copied partition file. */
+        private final File dst;
+
+        /** Delta file. */
+        private final File delta;
+
+        /** Indexes of the pages, which original content is saved to the delta file. */
+        private final BitSet saved = new BitSet();
+
+        /** Delta file channel. */
+        private FileChannel deltaCh;
+
+        /** Partition file channel to read the original page content. */
+        private FileChannel srcCh;
+
+        /** Copy completed flag. */
+        private boolean copied;
+
+        /**
+         * @param store Partition page store.
+         * @param pages Number of pages allocated at the snapshot checkpoint.
+         * @param dstDir Destination directory.
+         */
+        private PartitionSnapshot(FilePageStore store, int pages, File dstDir) {
+            this.store = store;
+            this.pages = pages;
+
+            tag = store.tag();
+
+            dst = new File(dstDir, new File(store.getFileAbsolutePath()).getName());
+            delta = new File(dstDir, dst.getName() + DELTA_SUFFIX);
+        }
+
+        /**
+         * Saves the page bytes as they are stored in the partition file. The page store is bypassed, so pages of
+         * encrypted and compressed groups are saved in the same form as the rest of the copied file.
+         *
+         * @param pageId Page ID.
+         * @param buf Page buffer.
+         * @throws IOException If failed to read the page or write delta file.
+         */
+        private synchronized void beforePageWrite(long pageId, ByteBuffer buf) throws IOException {
+            int pageIdx = PageIdUtils.pageIndex(pageId);
+
+            if (copied || pageIdx >= pages || saved.get(pageIdx))
+                return;
+
+            saved.set(pageIdx);
+
+            if (srcCh == null)
+                srcCh = FileChannel.open(new File(store.getFileAbsolutePath()).toPath(), READ);
+
+            long off = store.headerSize() + (long)pageIdx * store.getPageSize();
+
+            buf.clear();
+
+            while (buf.hasRemaining()) {
+                if (srcCh.read(buf, off + buf.position()) < 0)
+                    break;
+            }
+
+            // Page has not been written to the file yet, so it has no original content.
+            while (buf.hasRemaining())
+                buf.put((byte)0);
+
+            buf.flip();
+
+            if (deltaCh == null)
+                deltaCh = FileChannel.open(delta.toPath(), CREATE, WRITE, TRUNCATE_EXISTING);
+
+            ByteBuffer idxBuf = ByteBuffer.allocate(4);
+
+            idxBuf.putInt(pageIdx).flip();
+
+            writeFully(deltaCh, idxBuf);
+            writeFully(deltaCh, buf);
+        }
+
+        /**
+         * Copies the partition file and applies saved pages to the copy.
+         *
+         * @throws IOException If failed.
+         */
+        private void copy() throws IOException {
+            long len = store.headerSize() + (long)pages * store.getPageSize();
+
+            try (
+                FileChannel src = FileChannel.open(new File(store.getFileAbsolutePath()).toPath(), READ);
+                FileChannel dstCh = FileChannel.open(dst.toPath(), CREATE_NEW, WRITE)
+            ) {
+                for (long pos = 0; pos < len; ) {
+                    long n = src.transferTo(pos, len - pos, dstCh);
+
+                    if (n == 0 && (store.tag() != tag || src.size() < len))
+                        throw partitionDestroyed();
+
+                    pos += n;
+                }
+
+                // From now on written pages don't affect the copy, so delta file can be closed.
+                synchronized (this) {
+                    copied = true;
+
+                    U.closeQuiet(deltaCh);
+                    U.closeQuiet(srcCh);
+                }
+
+                // Partition was destroyed in the middle of the copy, some of its pages may be lost.
+                if (store.tag() != tag)
+                    throw partitionDestroyed();
+
+                if (delta.exists())
+                    applyDelta(dstCh);
+
+                dstCh.force(true);
+            }
+        }
+
+        /**
+         * @return Exception thrown when the partition is destroyed during the copy.
+         */
+        private IOException partitionDestroyed() {
+            return new IOException("Partition was destroyed during the snapshot: " + store.getFileAbsolutePath());
+        }
+
+        /**
+         * @param dstCh Copied partition file channel.
+         * @throws IOException If failed.
+         */
+        private void applyDelta(FileChannel dstCh) throws IOException {
+            int pageSize = store.getPageSize();
+
+            ByteBuffer idxBuf = ByteBuffer.allocate(4);
+            ByteBuffer buf = ByteBuffer.allocateDirect(pageSize);
+
+            try (FileChannel deltaCh = FileChannel.open(delta.toPath(), READ)) {
+                while (readFully(deltaCh, idxBuf)) {
+                    idxBuf.flip();
+
+                    int pageIdx = idxBuf.getInt();
+
+                    if (!readFully(deltaCh, buf))
+                        throw new IOException("Unexpected end of the delta file: " + delta.getAbsolutePath());
+
+                    buf.flip();
+
+                    long off = store.headerSize() + (long)pageIdx * pageSize;
+
+                    while (buf.hasRemaining())
+                        off += dstCh.write(buf, off);
+
+                    idxBuf.clear();
+                    buf.clear();
+                }
+            }
+
+            Files.delete(delta.toPath());
+        }
+
+        /**
+         * Closes delta file if the partition was not copied.
+         */
+        private synchronized void close() {
+            copied = true;
+
+            U.closeQuiet(deltaCh);
+            U.closeQuiet(srcCh);
+        }
+
+        /**
+         * @param ch Channel.
+         * @param buf Buffer.
+         * @throws IOException If failed.
+         */
+        private static void writeFully(FileChannel ch, ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining())
+                ch.write(buf);
+        }
+
+        /**
+         * @param ch Channel.
+         * @param buf Buffer.
+         * @return {@code False} if the end of the channel is reached before any byte was read.
+         * @throws IOException If the end of the channel is reached in the middle of the buffer.
+         */
+        private static boolean readFully(FileChannel ch, ByteBuffer buf) throws IOException {
+            while (buf.hasRemaining()) {
+                if (ch.read(buf) < 0) {
+                    if (buf.position() == 0)
+                        return false;
+
+                    throw new IOException("Unexpected end of file.");
+                }
+            }
+
+            return true;
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteUuid;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Discovery message starting snapshot creation. The message triggers partition map exchange, so the snapshot is
+ * started on every server node when all cache updates are finished.
+ */
+public class SnapshotCreateMessage implements SnapshotDiscoveryMessage {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Message ID. */
+    private final IgniteUuid id = IgniteUuid.randomUuid();
+
+    /** Snapshot operation. */
+    private final SnapshotCreateOperation op;
+
+    /**
+     * @param op Snapshot operation.
+     */
+    public SnapshotCreateMessage(SnapshotCreateOperation op) {
+        this.op = op;
+    }
+
+    /**
+     * @return Snapshot operation.
+     */
+    public SnapshotCreateOperation operation() {
+        return op;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean needExchange() {
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean needAssignPartitions() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public IgniteUuid id() {
+        return id;
+    }
+
+    /** {@inheritDoc} */
+    @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+        return null;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean isMutable() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean stopProcess() {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+        DiscoCache discoCache) {
+        return discoCache.copy(topVer, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SnapshotCreateMessage.class, this);
+    }
+}
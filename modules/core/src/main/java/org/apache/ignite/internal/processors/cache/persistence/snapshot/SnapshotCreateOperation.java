@@ -0,0 +1,88 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.Set;
+import java.util.UUID;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Operation creating a named snapshot of persistent cache groups on all server nodes.
+ */
+public class SnapshotCreateOperation implements SnapshotOperation {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Unique operation ID. */
+    private final UUID opId;
+
+    /** Snapshot name. */
+    private final String snpName;
+
+    /** Cache group IDs. */
+    private final Set<Integer> grpIds;
+
+    /** Cache names. */
+    private final Set<String> cacheNames;
+
+    /**
+     * @param opId Unique operation ID.
+     * @param snpName Snapshot name.
+     * @param grpIds Cache group IDs.
+     * @param cacheNames Cache names.
+     */
+    public SnapshotCreateOperation(UUID opId, String snpName, Set<Integer> grpIds, Set<String> cacheNames) {
+        this.opId = opId;
+        this.snpName = snpName;
+        this.grpIds = grpIds;
+        this.cacheNames = cacheNames;
+    }
+
+    /**
+     * @return Unique operation ID.
+     */
+    public UUID operationId() {
+        return opId;
+    }
+
+    /**
+     * @return Snapshot name.
+     */
+    public String snapshotName() {
+        return snpName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Set<Integer> cacheGroupIds() {
+        return grpIds;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Set<String> cacheNames() {
+        return cacheNames;
+    }
+
+    /** {@inheritDoc} */
+    @Override public Object extraParameter() {
+        return snpName;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SnapshotCreateOperation.class, this);
+    }
+}
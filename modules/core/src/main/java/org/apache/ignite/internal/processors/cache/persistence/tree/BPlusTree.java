@@ -148,6 +148,9 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
     /** */
     private volatile TreeMetaData treeMeta;
 
+    /** Whether the tree is loaded with the sorted rows, so the rightmost pages are split without moving rows. */
+    private volatile boolean sequentialLoad;
+
     /** Failure processor. */
     private final FailureProcessor failureProcessor;
 
@@ -2675,6 +2678,17 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
         return destroyed.compareAndSet(false, true);
     }
 
+    /**
+     * Enables or disables the sequential load mode. In this mode a row appended after the last row of the level
+     * leaves the rightmost page full on split, so the pages loaded in the sorted order are packed. It should be
+     * enabled only while the tree is built from the sorted rows, random inserts would leave full pages behind.
+     *
+     * @param sequentialLoad Sequential load flag.
+     */
+    public void sequentialLoad(boolean sequentialLoad) {
+        this.sequentialLoad = sequentialLoad;
+    }
+
     /**
      * @param pageAddr Meta page address.
      * @return First page IDs.
@@ -2709,7 +2723,14 @@ public abstract class BPlusTree<L, T extends L> extends DataStructure implements
 
         boolean res = false;
 
-        if (idx > mid) { // If insertion is going to be to the forward page, keep more in the back page.
+        if (sequentialLoad && idx == cnt && io.getForward(pageAddr) == 0 && (io.isLeaf() || cnt > 2)) {
+            // Append to the rightmost page of the level (sorted load): keep the back page full, the forward page
+            // will receive all the following rows. Inner page must leave at least one row in the forward page.
+            mid = io.isLeaf() ? cnt : cnt - 1;
+
+            res = true;
+        }
+        else if (idx > mid) { // If insertion is going to be to the forward page, keep more in the back page.
             mid++;
 
             res = true;
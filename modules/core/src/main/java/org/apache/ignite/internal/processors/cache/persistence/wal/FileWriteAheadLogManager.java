@@ -137,6 +137,7 @@ import static org.apache.ignite.IgniteSystemProperties.IGNITE_CHECKPOINT_TRIGGER
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAIT_TIME_NEXT_WAL_SEGMENT;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_THRESHOLD_WAL_ARCHIVE_SIZE_PERCENTAGE;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_COMPRESSOR_WORKER_THREAD_CNT;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_MMAP;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_SERIALIZER_VERSION;
 import static org.apache.ignite.events.EventType.EVT_WAL_SEGMENT_ARCHIVED;
@@ -504,6 +505,12 @@ public class FileWriteAheadLogManager extends GridCacheSharedManagerAdapter impl
                     CompressionProcessor.checkCompressionLevelBounds(dsCfg.getWalPageCompressionLevel(), pageCompression) :
                     CompressionProcessor.getDefaultCompressionLevel(pageCompression);
             }
+
+            if (serializerVer < 2 &&
+                IgniteSystemProperties.getInteger(IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD, 0) > 0) {
+                U.warn(log, "WAL data records compression is not supported for serializerVer=" + serializerVer +
+                    ", data records will be written uncompressed.");
+            }
         }
     }
 
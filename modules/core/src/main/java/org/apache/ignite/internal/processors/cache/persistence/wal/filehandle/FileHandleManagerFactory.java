@@ -32,6 +32,10 @@ public class FileHandleManagerFactory {
     private final boolean walFsyncWithDedicatedWorker =
         IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_WAL_FSYNC_WITH_DEDICATED_WORKER, false);
 
+    /** Group commit of fsync requests. */
+    private final boolean walFsyncGroupCommit =
+        IgniteSystemProperties.getBoolean(IgniteSystemProperties.IGNITE_WAL_FSYNC_GROUP_COMMIT, false);
+
     /** Data storage configuration. */
     private final DataStorageConfiguration dsConf;
 
@@ -66,7 +70,8 @@ public class FileHandleManagerFactory {
                 dsConf.getWalMode(),
                 dsConf.getWalSegmentSize(),
                 dsConf.getWalFsyncDelayNanos(),
-                dsConf.getWalThreadLocalBufferSize()
+                dsConf.getWalThreadLocalBufferSize(),
+                walFsyncGroupCommit
             );
         else
             return new FileHandleManagerImpl(
@@ -78,7 +83,8 @@ public class FileHandleManagerFactory {
                 dsConf.getWalMode(),
                 dsConf.getWalBufferSize(),
                 dsConf.getWalSegmentSize(),
-                dsConf.getWalFsyncDelayNanos()
+                dsConf.getWalFsyncDelayNanos(),
+                walFsyncGroupCommit
             );
     }
 }
@@ -82,6 +82,8 @@ public class FileHandleManagerImpl implements FileHandleManager {
     private final long maxWalSegmentSize;
     /** Fsync delay. */
     private final long fsyncDelay;
+    /** Group commit of fsync requests. */
+    private final boolean groupCommit;
 
     /**
      * @param cctx Context.
@@ -93,6 +95,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
      * @param walBufferSize WAL buffer size.
      * @param maxWalSegmentSize Max WAL segment size.
      * @param fsyncDelay Fsync delay.
+     * @param groupCommit Group commit of fsync requests.
      */
     public FileHandleManagerImpl(
         GridCacheSharedContext cctx,
@@ -103,7 +106,8 @@ public class FileHandleManagerImpl implements FileHandleManager {
         WALMode mode,
         int walBufferSize,
         long maxWalSegmentSize,
-        long fsyncDelay
+        long fsyncDelay,
+        boolean groupCommit
     ) {
         this.cctx = cctx;
         log = cctx.logger(FileHandleManagerImpl.class);
@@ -115,6 +119,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
         this.walBufferSize = walBufferSize;
         this.maxWalSegmentSize = maxWalSegmentSize;
         this.fsyncDelay = fsyncDelay;
+        this.groupCommit = groupCommit;
         walWriter = new WALWriter(log);
 
         if (mode != WALMode.NONE && mode != WALMode.FSYNC) {
@@ -154,7 +159,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
 
         return new FileWriteHandleImpl(
             cctx, fileIO, rbuf, serializer, metrics, walWriter, position,
-            mode, mmap, true, fsyncDelay, maxWalSegmentSize
+            mode, mmap, true, fsyncDelay, maxWalSegmentSize, groupCommit
         );
     }
 
@@ -173,7 +178,7 @@ public class FileHandleManagerImpl implements FileHandleManager {
         try {
             return new FileWriteHandleImpl(
                 cctx, fileIO, rbuf, serializer, metrics, walWriter, 0,
-                mode, mmap, false, fsyncDelay, maxWalSegmentSize
+                mode, mmap, false, fsyncDelay, maxWalSegmentSize, groupCommit
             );
         }
         catch (ClosedByInterruptException e) {
@@ -129,6 +129,12 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
     /** Fsync delay. */
     private final long fsyncDelay;
 
+    /** Group commit of fsync requests. */
+    private final boolean groupCommit;
+
+    /** Group fsync is in progress, guarded by {@link #lock}. */
+    private boolean groupFsync;
+
     /** Persistence metrics tracker. */
     private final DataStorageMetricsImpl metrics;
 
@@ -162,18 +168,20 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
      * @param resume Created on resume logging flag.
      * @param fsyncDelay Fsync delay.
      * @param maxWalSegmentSize Max WAL segment size.
+     * @param groupCommit Group commit of fsync requests.
      * @throws IOException If failed.
      */
     FileWriteHandleImpl(
         GridCacheSharedContext cctx, SegmentIO fileIO, SegmentedRingByteBuffer rbuf, RecordSerializer serializer,
         DataStorageMetricsImpl metrics, FileHandleManagerImpl.WALWriter writer, long pos, WALMode mode, boolean mmap,
-        boolean resume, long fsyncDelay, long maxWalSegmentSize) throws IOException {
+        boolean resume, long fsyncDelay, long maxWalSegmentSize, boolean groupCommit) throws IOException {
         super(fileIO);
         assert serializer != null;
 
         this.mmap = mmap;
         this.mode = mode;
         this.fsyncDelay = fsyncDelay;
+        this.groupCommit = groupCommit;
         this.metrics = metrics;
         this.maxWalSegmentSize = maxWalSegmentSize;
         this.log = cctx.logger(FileWriteHandleImpl.class);
@@ -371,11 +379,25 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
     @Override public void fsync(FileWALPointer ptr) throws StorageException, IgniteCheckedException {
         lock.lock();
 
+        boolean leader = false;
+
         try {
             if (ptr != null) {
                 if (!needFsync(ptr))
                     return;
 
+                if (groupCommit) {
+                    // Wait for the running group fsync, it is likely to cover our pointer.
+                    while (groupFsync && !stop.get()) {
+                        U.await(fsync);
+
+                        if (!needFsync(ptr))
+                            return;
+                    }
+
+                    groupFsync = leader = true;
+                }
+
                 if (fsyncDelay > 0 && !stop.get()) {
                     // Delay fsync to collect as many updates as possible: trade latency for throughput.
                     U.await(fsync, fsyncDelay, TimeUnit.NANOSECONDS);
@@ -385,6 +407,10 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
                 }
             }
 
+            // Group leader flushes all the records added so far, so a single fsync covers all pending pointers.
+            if (leader)
+                ptr = null;
+
             flushOrWait(ptr);
 
             if (stop.get())
@@ -434,6 +460,12 @@ class FileWriteHandleImpl extends AbstractFileHandle implements FileWriteHandle
             }
         }
         finally {
+            if (leader) {
+                groupFsync = false;
+
+                fsync.signalAll();
+            }
+
             lock.unlock();
         }
     }
@@ -52,6 +52,8 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
     private final long fsyncDelay;
     /** Thread local byte buffer size. */
     private final int tlbSize;
+    /** Group commit of fsync requests. */
+    private final boolean groupCommit;
 
     /**
      * @param cctx Context.
@@ -62,6 +64,7 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
      * @param maxWalSegmentSize Max WAL segment size.
      * @param fsyncDelay Fsync delay.
      * @param tlbSize Thread local byte buffer size.
+     * @param groupCommit Group commit of fsync requests.
      */
     public FsyncFileHandleManagerImpl(
         GridCacheSharedContext cctx,
@@ -71,7 +74,8 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
         WALMode mode,
         long maxWalSegmentSize,
         long fsyncDelay,
-        int tlbSize
+        int tlbSize,
+        boolean groupCommit
     ) {
         this.cctx = cctx;
         this.log = cctx.logger(FsyncFileHandleManagerImpl.class);
@@ -82,6 +86,7 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
         this.maxWalSegmentSize = maxWalSegmentSize;
         this.fsyncDelay = fsyncDelay;
         this.tlbSize = tlbSize;
+        this.groupCommit = groupCommit;
     }
 
     /** {@inheritDoc} */
@@ -89,7 +94,7 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
         RecordSerializer serializer) throws IOException {
         return new FsyncFileWriteHandle(
             cctx, fileIO, metrics, serializer, position,
-            mode, maxWalSegmentSize, tlbSize, fsyncDelay
+            mode, maxWalSegmentSize, tlbSize, fsyncDelay, groupCommit
         );
     }
 
@@ -98,7 +103,7 @@ public class FsyncFileHandleManagerImpl implements FileHandleManager {
         RecordSerializer serializer) throws IOException {
         return new FsyncFileWriteHandle(
             cctx, fileIO, metrics, serializer, 0,
-            mode, maxWalSegmentSize, tlbSize, fsyncDelay
+            mode, maxWalSegmentSize, tlbSize, fsyncDelay, groupCommit
         );
     }
 
@@ -103,6 +103,10 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
     protected final IgniteLogger log;
     /** Fsync delay. */
     private final long fsyncDelay;
+    /** Group commit of fsync requests. */
+    private final boolean groupCommit;
+    /** Group fsync is in progress, guarded by {@link #lock}. */
+    private boolean groupFsync;
     /** Switch segment record offset. */
     private int switchSegmentRecordOffset;
 
@@ -131,12 +135,13 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
      * @param maxSegmentSize Max segment size.
      * @param size Thread local byte buffer size.
      * @param fsyncDelay Fsync delay.
+     * @param groupCommit Group commit of fsync requests.
      * @throws IOException If failed.
      */
     FsyncFileWriteHandle(
         GridCacheSharedContext cctx, SegmentIO fileIO,
         DataStorageMetricsImpl metrics, RecordSerializer serializer, long pos,
-        WALMode mode, long maxSegmentSize, int size, long fsyncDelay) throws IOException {
+        WALMode mode, long maxSegmentSize, int size, long fsyncDelay, boolean groupCommit) throws IOException {
         super(fileIO);
         assert serializer != null;
 
@@ -146,6 +151,7 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
         this.metrics = metrics;
         this.log = cctx.logger(FsyncFileWriteHandle.class);
         this.fsyncDelay = fsyncDelay;
+        this.groupCommit = groupCommit;
         this.maxSegmentSize = maxSegmentSize;
         this.serializer = serializer;
         this.written = pos;
@@ -551,11 +557,25 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
     protected void fsync(FileWALPointer ptr, boolean stop) throws StorageException, IgniteInterruptedCheckedException {
         lock.lock();
 
+        boolean leader = false;
+
         try {
             if (ptr != null) {
                 if (!needFsync(ptr))
                     return;
 
+                if (groupCommit) {
+                    // Wait for the running group fsync, it is likely to cover our pointer.
+                    while (groupFsync && !stopped()) {
+                        U.await(fsync);
+
+                        if (!needFsync(ptr))
+                            return;
+                    }
+
+                    groupFsync = leader = true;
+                }
+
                 if (fsyncDelay > 0 && !stopped()) {
                     // Delay fsync to collect as many updates as possible: trade latency for throughput.
                     U.await(fsync, fsyncDelay, TimeUnit.NANOSECONDS);
@@ -565,7 +585,8 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
                 }
             }
 
-            flushOrWait(ptr, stop);
+            // Group leader flushes all the records added so far, so a single fsync covers all pending pointers.
+            flushOrWait(leader ? null : ptr, stop);
 
             if (stopped())
                 return;
@@ -596,6 +617,12 @@ class FsyncFileWriteHandle extends AbstractFileHandle implements FileWriteHandle
             }
         }
         finally {
+            if (leader) {
+                groupFsync = false;
+
+                fsync.signalAll();
+            }
+
             lock.unlock();
         }
     }
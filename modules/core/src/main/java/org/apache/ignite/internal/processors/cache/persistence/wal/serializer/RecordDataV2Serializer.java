@@ -18,14 +18,20 @@ package org.apache.ignite.internal.processors.cache.persistence.wal.serializer;
 
 import java.io.DataInput;
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.UUID;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
 import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
 import org.apache.ignite.internal.pagemem.FullPageId;
 import org.apache.ignite.internal.pagemem.wal.record.CacheState;
 import org.apache.ignite.internal.pagemem.wal.record.CheckpointRecord;
@@ -52,9 +58,18 @@ import org.apache.ignite.internal.processors.cache.GridCacheSharedContext;
 import org.apache.ignite.internal.processors.cache.KeyCacheObject;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccVersion;
 import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInput;
+import org.apache.ignite.internal.processors.cache.persistence.wal.ByteBufferBackedDataInputImpl;
 import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
 import org.apache.ignite.internal.processors.cache.persistence.wal.record.HeaderRecord;
 import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_DATA_RECORD_COMPRESSION_LEVEL;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.COMPRESSED_DATA_RECORD;
+import static org.apache.ignite.internal.pagemem.wal.record.WALRecord.RecordType.DATA_RECORD;
 
 /**
  * Record data V2 serializer.
@@ -63,9 +78,31 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
     /** Length of HEADER record data. */
     private static final int HEADER_RECORD_DATA_SIZE = /*Magic*/8 + /*Version*/4;
 
+    /** Deflate codec of a compressed data record. */
+    private static final byte DEFLATE_CODEC = 1;
+
+    /** Length of the compressed data record header: codec, plain and compressed data sizes. */
+    private static final int COMPRESSED_DATA_HEADER_SIZE = /*Codec*/1 + /*Plain size*/4 + /*Compressed size*/4;
+
     /** Serializer of {@link TxRecord} records. */
     private final TxRecordSerializer txRecordSerializer;
 
+    /** Minimal plain size of a data record to compress it. Non-positive value disables the compression. */
+    private final int dataRecCompressionThreshold = getInteger(IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD, 0);
+
+    /** Data records compression level. */
+    private final int dataRecCompressionLevel =
+        getInteger(IGNITE_WAL_DATA_RECORD_COMPRESSION_LEVEL, Deflater.BEST_SPEED);
+
+    /** Deflater of the current thread, shared by all serializers. Native memory is released when the thread ends. */
+    private static final ThreadLocal<Deflater> deflater = ThreadLocal.withInitial(Deflater::new);
+
+    /**
+     * Last data record compressed by the current thread. Size of a record is always calculated before the record is
+     * written, so the data is compressed only once.
+     */
+    private static final ThreadLocal<CompressedDataRecord> lastCompressed = new ThreadLocal<>();
+
     /**
      * Create an instance of V2 data serializer.
      *
@@ -75,6 +112,51 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
         super(cctx);
 
         this.txRecordSerializer = new TxRecordSerializer();
+
+        A.ensure(dataRecCompressionLevel >= Deflater.NO_COMPRESSION &&
+            dataRecCompressionLevel <= Deflater.BEST_COMPRESSION,
+            IGNITE_WAL_DATA_RECORD_COMPRESSION_LEVEL + " should be in range [0, 9]");
+    }
+
+    /** {@inheritDoc} */
+    @Override public int size(WALRecord rec) throws IgniteCheckedException {
+        CompressedDataRecord compressed = compressedData(rec);
+
+        if (compressed != null)
+            return COMPRESSED_DATA_HEADER_SIZE + compressed.data.length;
+
+        return super.size(rec);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void writeRecord(WALRecord rec, ByteBuffer buf) throws IgniteCheckedException {
+        CompressedDataRecord compressed = compressedData(rec);
+
+        lastCompressed.remove();
+
+        if (compressed == null) {
+            super.writeRecord(rec, buf);
+
+            return;
+        }
+
+        buf.put(DEFLATE_CODEC);
+        buf.putInt(compressed.plainSize);
+        buf.putInt(compressed.data.length);
+        buf.put(compressed.data);
+    }
+
+    /** {@inheritDoc} */
+    @Override RecordType recordType(WALRecord rec) {
+        try {
+            if (compressedData(rec) != null)
+                return COMPRESSED_DATA_RECORD;
+        }
+        catch (IgniteCheckedException e) {
+            throw new IgniteException(e);
+        }
+
+        return super.recordType(rec);
     }
 
     /** {@inheritDoc} */
@@ -176,6 +258,9 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
                 return new DataRecord(entries, timeStamp);
 
+            case COMPRESSED_DATA_RECORD:
+                return readCompressedDataRecord(in, encrypted);
+
             case MVCC_DATA_RECORD:
                 entryCnt = in.readInt();
                 timeStamp = in.readLong();
@@ -527,4 +612,150 @@ public class RecordDataV2Serializer extends RecordDataV1Serializer {
 
         return size;
     }
+
+    /**
+     * Compresses the data record if the compression is enabled and makes the record smaller.
+     *
+     * @param rec Record.
+     * @return Compressed record or {@code null} if the record should not be compressed.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private CompressedDataRecord compressedData(WALRecord rec) throws IgniteCheckedException {
+        if (dataRecCompressionThreshold <= 0 || rec.type() != DATA_RECORD || !(rec instanceof DataRecord))
+            return null;
+
+        CompressedDataRecord last = lastCompressed.get();
+
+        if (last != null && last.rec.get() == rec)
+            return last.data == null ? null : last;
+
+        DataRecord dataRec = (DataRecord)rec;
+
+        int plainSize = plainSize(dataRec);
+
+        byte[] data = null;
+
+        if (plainSize >= dataRecCompressionThreshold && !isDataRecordEncrypted(dataRec)) {
+            ByteBuffer plain = ByteBuffer.allocate(plainSize);
+
+            writePlainRecord(dataRec, plain);
+
+            data = deflate(plain.array(), plainSize - COMPRESSED_DATA_HEADER_SIZE);
+        }
+
+        last = new CompressedDataRecord(dataRec, plainSize, data);
+
+        lastCompressed.set(last);
+
+        return data == null ? null : last;
+    }
+
+    /**
+     * @param plain Plain data.
+     * @param maxSize Maximum size of the compressed data.
+     * @return Compressed data or {@code null} if it doesn't fit into the given size.
+     */
+    @Nullable private byte[] deflate(byte[] plain, int maxSize) {
+        if (maxSize <= 0)
+            return null;
+
+        Deflater deflater = RecordDataV2Serializer.deflater.get();
+
+        deflater.reset();
+
+        deflater.setLevel(dataRecCompressionLevel);
+
+        deflater.setInput(plain);
+        deflater.finish();
+
+        byte[] buf = new byte[maxSize];
+
+        int len = 0;
+
+        while (!deflater.finished() && len < maxSize)
+            len += deflater.deflate(buf, len, maxSize - len);
+
+        return deflater.finished() ? Arrays.copyOf(buf, len) : null;
+    }
+
+    /**
+     * @param in Input to read from.
+     * @param encrypted Encrypted flag.
+     * @return Data record.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed.
+     */
+    private WALRecord readCompressedDataRecord(ByteBufferBackedDataInput in, boolean encrypted)
+        throws IOException, IgniteCheckedException {
+        byte codec = in.readByte();
+        int plainSize = in.readInt();
+        int compressedSize = in.readInt();
+
+        if (codec != DEFLATE_CODEC)
+            throw new IOException("Unknown WAL data record compression codec: " + codec);
+
+        byte[] compressed = new byte[compressedSize];
+
+        in.readFully(compressed);
+
+        byte[] plain = new byte[plainSize];
+
+        Inflater inflater = new Inflater();
+
+        try {
+            inflater.setInput(compressed);
+
+            int len = 0;
+
+            while (len < plainSize && !inflater.finished()) {
+                int read = inflater.inflate(plain, len, plainSize - len);
+
+                if (read == 0 && inflater.needsInput())
+                    break;
+
+                len += read;
+            }
+
+            if (len != plainSize) {
+                throw new IOException("Failed to decompress WAL data record [expectedSize=" + plainSize +
+                    ", actualSize=" + len + ']');
+            }
+        }
+        catch (DataFormatException e) {
+            throw new IOException("Failed to decompress WAL data record.", e);
+        }
+        finally {
+            inflater.end();
+        }
+
+        ByteBufferBackedDataInput plainIn = new ByteBufferBackedDataInputImpl().buffer(ByteBuffer.wrap(plain));
+
+        return readPlainRecord(DATA_RECORD, plainIn, encrypted, plainSize);
+    }
+
+    /**
+     * Compressed data record. The record itself is weakly referenced, so it isn't kept reachable by the thread after
+     * it's written.
+     */
+    private static class CompressedDataRecord {
+        /** Record. */
+        private final WeakReference<DataRecord> rec;
+
+        /** Plain size of the record. */
+        private final int plainSize;
+
+        /** Compressed data, {@code null} if the record should not be compressed. */
+        @Nullable private final byte[] data;
+
+        /**
+         * @param rec Record.
+         * @param plainSize Plain size of the record.
+         * @param data Compressed data, {@code null} if the record should not be compressed.
+         */
+        private CompressedDataRecord(DataRecord rec, int plainSize, @Nullable byte[] data) {
+            this.rec = new WeakReference<>(rec);
+            this.plainSize = plainSize;
+            this.data = data;
+        }
+    }
 }
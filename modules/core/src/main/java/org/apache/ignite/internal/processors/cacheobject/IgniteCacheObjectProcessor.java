@@ -184,6 +184,18 @@ public interface IgniteCacheObjectProcessor extends GridProcessor {
      */
     public KeyCacheObject toKeyCacheObject(CacheObjectContext ctx, byte type, byte[] bytes) throws IgniteCheckedException;
 
+    /**
+     * Creates cache object reading the bytes in place, e.g. from a locked data page. Such object must not be used
+     * after the memory is released.
+     *
+     * @param ctx Cache context.
+     * @param type Object type.
+     * @param addr Object bytes address.
+     * @param len Object bytes length.
+     * @return Cache object or {@code null} if objects of the given type can't be read in place.
+     */
+    @Nullable public CacheObject toCacheObject(CacheObjectContext ctx, byte type, long addr, int len);
+
     /**
      * @param ctx Cache context.
      * @param buf Buffer to read from.
@@ -586,6 +586,18 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
 
     /** {@inheritDoc} */
     @Override public IgniteFuture<?> addData(Collection<? extends Map.Entry<K, V>> entries) {
+        return addData(entries, true);
+    }
+
+    /**
+     * Adds entries. Caller-side batches (for example, received from a thin client) can bypass the per-thread buffer,
+     * so the whole batch is mapped to the nodes at once.
+     *
+     * @param entries Entries.
+     * @param useThreadBuffer Whether to accumulate entries in the per-thread buffer.
+     * @return Future.
+     */
+    public IgniteFuture<?> addData(Collection<? extends Map.Entry<K, V>> entries, boolean useThreadBuffer) {
         A.notEmpty(entries, "entries");
 
         checkSecurityPermission(SecurityPermission.CACHE_PUT);
@@ -599,7 +611,7 @@ public class DataStreamerImpl<K, V> implements IgniteDataStreamer<K, V>, Delayed
             batch.add(new DataStreamerEntry(key, val));
         }
 
-        return addDataInternal(batch);
+        return addDataInternal(batch, useThreadBuffer);
     }
 
     /**
@@ -203,6 +203,8 @@ public class ClientListenerNioListener extends GridNioServerListenerAdapter<byte
                     byte[] outMsg = parser.encode(resp);
 
                     ses.send(outMsg);
+
+                    resp.onSent();
                 }
             }
             finally {
@@ -72,4 +72,11 @@ public abstract class ClientListenerResponse {
     public void error(String err) {
         this.err = err;
     }
+
+    /**
+     * Callback for response sent event.
+     */
+    public void onSent() {
+        // No-op.
+    }
 }
@@ -61,11 +61,18 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
     /** Version 1.6.0. Added: Expiration Policy configuration. */
     public static final ClientListenerProtocolVersion VER_1_6_0 = ClientListenerProtocolVersion.create(1, 6, 0);
 
+    /**
+     * Version 1.7.0. Added: Compute task execution, continuous queries, data streamer, server to client
+     * notifications.
+     */
+    public static final ClientListenerProtocolVersion VER_1_7_0 = ClientListenerProtocolVersion.create(1, 7, 0);
+
     /** Default version. */
-    public static final ClientListenerProtocolVersion DEFAULT_VER = VER_1_6_0;
+    public static final ClientListenerProtocolVersion DEFAULT_VER = VER_1_7_0;
 
     /** Supported versions. */
     private static final Collection<ClientListenerProtocolVersion> SUPPORTED_VERS = Arrays.asList(
+        VER_1_7_0,
         VER_1_6_0,
         VER_1_5_0,
         VER_1_4_0,
@@ -108,6 +115,18 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
     /** Active transactions count. */
     private final AtomicInteger txsCnt = new AtomicInteger();
 
+    /** Active compute tasks limit. */
+    private final int maxActiveComputeTasks;
+
+    /** Active compute tasks count. */
+    private final AtomicInteger activeTasksCnt = new AtomicInteger();
+
+    /** Limit of events buffered for a continuous query. */
+    private final int maxCqPendingEvts;
+
+    /** Deserialization of user code sent by the client is enabled. */
+    private final boolean userCodeDeserializationEnabled;
+
     /**
      * Ctor.
      *
@@ -123,6 +142,9 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
 
         this.maxCursors = maxCursors;
         maxActiveTxCnt = thinCfg.getMaxActiveTxPerConnection();
+        maxActiveComputeTasks = thinCfg.getMaxActiveComputeTasksPerConnection();
+        maxCqPendingEvts = thinCfg.getMaxContinuousQueryPendingEvents();
+        userCodeDeserializationEnabled = thinCfg.isUserCodeDeserializationEnabled();
     }
 
     /**
@@ -204,6 +226,15 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
         super.onDisconnected();
     }
 
+    /**
+     * Sends notification to the client.
+     *
+     * @param notification Notification.
+     */
+    public void notifyClient(ClientNotification notification) {
+        ses.send(parser.encode(notification));
+    }
+
     /**
      * Increments the cursor count.
      */
@@ -296,6 +327,54 @@ public class ClientConnectionContext extends ClientListenerAbstractConnectionCon
         txsCnt.decrementAndGet();
     }
 
+    /**
+     * @return Limit of events buffered for a continuous query while the client falls behind.
+     */
+    public int maxContinuousQueryPendingEvents() {
+        return maxCqPendingEvts;
+    }
+
+    /**
+     * Checks that objects carrying user code can be deserialized.
+     *
+     * @param what Description of the object for the error message.
+     */
+    public void checkUserCodeDeserializationEnabled(String what) {
+        if (!userCodeDeserializationEnabled) {
+            throw new IgniteClientException(ClientStatus.FUNCTIONALITY_DISABLED, what + " sent by thin clients " +
+                "are disabled on server node. To enable them set up the " +
+                "ThinClientConfiguration.UserCodeDeserializationEnabled property.");
+        }
+    }
+
+    /**
+     * Increments active compute tasks count.
+     */
+    public void incrementActiveTasksCount() {
+        if (maxActiveComputeTasks == 0) {
+            throw new IgniteClientException(ClientStatus.FUNCTIONALITY_DISABLED,
+                "Compute grid functionality is disabled for thin clients on server node. " +
+                    "To enable it set up the ThinClientConfiguration.MaxActiveComputeTasksPerConnection property.");
+        }
+
+        if (activeTasksCnt.incrementAndGet() > maxActiveComputeTasks) {
+            activeTasksCnt.decrementAndGet();
+
+            throw new IgniteClientException(ClientStatus.TOO_MANY_COMPUTE_TASKS, "Active compute tasks per connection " +
+                "limit (" + maxActiveComputeTasks + ") exceeded. To change the limit set up " +
+                "ThinClientConfiguration.MaxActiveComputeTasksPerConnection property.");
+        }
+    }
+
+    /**
+     * Decrements active compute tasks count.
+     */
+    public void decrementActiveTasksCount() {
+        int cnt = activeTasksCnt.decrementAndGet();
+
+        assert cnt >= 0 : "Unexpected active tasks count: " + cnt;
+    }
+
     /**
      *
      */
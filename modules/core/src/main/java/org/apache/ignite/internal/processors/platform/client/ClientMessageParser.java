@@ -57,6 +57,8 @@ import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePa
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePutAllRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePutIfAbsentRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCachePutRequest;
+import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheQueryContinuousAckRequest;
+import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheQueryContinuousRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheQueryNextPageRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheRemoveAllRequest;
 import org.apache.ignite.internal.processors.platform.client.cache.ClientCacheRemoveIfEqualsRequest;
@@ -73,6 +75,9 @@ import org.apache.ignite.internal.processors.platform.client.cluster.ClientClust
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterWalGetStateRequest;
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterGroupGetNodeIdsRequest;
 import org.apache.ignite.internal.processors.platform.client.cluster.ClientClusterGroupGetNodesDetailsRequest;
+import org.apache.ignite.internal.processors.platform.client.compute.ClientExecuteTaskRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerAddDataRequest;
+import org.apache.ignite.internal.processors.platform.client.streamer.ClientDataStreamerStartRequest;
 import org.apache.ignite.internal.processors.platform.client.tx.ClientTxEndRequest;
 import org.apache.ignite.internal.processors.platform.client.tx.ClientTxStartRequest;
 
@@ -200,6 +205,15 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     private static final short OP_QUERY_SQL_FIELDS_CURSOR_GET_PAGE = 2005;
 
+    /** */
+    private static final short OP_QUERY_CONTINUOUS = 2006;
+
+    /** Continuous query event notification, sent by the server. */
+    public static final short OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION = 2007;
+
+    /** */
+    private static final short OP_QUERY_CONTINUOUS_EVENT_ACK = 2008;
+
     /* Binary metadata operations. */
     /** */
     private static final short OP_BINARY_TYPE_NAME_GET = 3000;
@@ -238,6 +252,20 @@ public class ClientMessageParser implements ClientListenerMessageParser {
     /** */
     private static final short OP_CLUSTER_GROUP_GET_NODE_INFO = 5101;
 
+    /* Compute operations. */
+    /** */
+    private static final short OP_COMPUTE_TASK_EXECUTE = 6000;
+
+    /** Compute task finished notification, sent by the server. */
+    public static final short OP_COMPUTE_TASK_FINISHED = 6001;
+
+    /* Data streamer operations. */
+    /** */
+    private static final short OP_DATA_STREAMER_START = 8000;
+
+    /** */
+    private static final short OP_DATA_STREAMER_ADD_DATA = 8001;
+
     /* Custom queries working through processors registry. */
     /** */
     private static final short OP_CUSTOM_QUERY = 32_000;
@@ -416,6 +444,12 @@ public class ClientMessageParser implements ClientListenerMessageParser {
             case OP_QUERY_SQL_FIELDS_CURSOR_GET_PAGE:
                 return new ClientCacheQueryNextPageRequest(reader);
 
+            case OP_QUERY_CONTINUOUS:
+                return new ClientCacheQueryContinuousRequest(reader);
+
+            case OP_QUERY_CONTINUOUS_EVENT_ACK:
+                return new ClientCacheQueryContinuousAckRequest(reader);
+
             case OP_TX_START:
                 return new ClientTxStartRequest(reader);
 
@@ -440,6 +474,15 @@ public class ClientMessageParser implements ClientListenerMessageParser {
             case OP_CLUSTER_GROUP_GET_NODE_INFO:
                 return new ClientClusterGroupGetNodesDetailsRequest(reader);
 
+            case OP_COMPUTE_TASK_EXECUTE:
+                return new ClientExecuteTaskRequest(reader);
+
+            case OP_DATA_STREAMER_START:
+                return new ClientDataStreamerStartRequest(reader);
+
+            case OP_DATA_STREAMER_ADD_DATA:
+                return new ClientDataStreamerAddDataRequest(reader);
+
             case OP_CUSTOM_QUERY:
                 return new ClientCustomQueryRequest(reader);
         }
@@ -456,7 +499,10 @@ public class ClientMessageParser implements ClientListenerMessageParser {
 
         BinaryRawWriterEx writer = marsh.writer(outStream);
 
-        ((ClientResponse)resp).encode(ctx, writer);
+        if (resp instanceof ClientNotification)
+            ((ClientNotification)resp).encode(ctx, writer);
+        else
+            ((ClientResponse)resp).encode(ctx, writer);
 
         return outStream.arrayCopy();
     }
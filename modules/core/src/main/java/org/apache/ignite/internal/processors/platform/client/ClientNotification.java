@@ -0,0 +1,96 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.odbc.ClientListenerResponse;
+
+/**
+ * Server to client notification for some resource. Notifications are not bound to any request and are sent
+ * asynchronously, the frame format is: resource id, flags (with {@link ClientFlag#NOTIFICATION} set), operation code
+ * and payload (or status and error message, if {@link ClientFlag#ERROR} is set).
+ */
+public class ClientNotification extends ClientListenerResponse {
+    /** Resource id. */
+    private final long rsrcId;
+
+    /** Operation code. */
+    private final short opCode;
+
+    /**
+     * Constructor.
+     *
+     * @param opCode Operation code.
+     * @param rsrcId Resource id.
+     */
+    public ClientNotification(short opCode, long rsrcId) {
+        super(ClientStatus.SUCCESS, null);
+
+        this.rsrcId = rsrcId;
+        this.opCode = opCode;
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param opCode Operation code.
+     * @param rsrcId Resource id.
+     * @param err Error message.
+     */
+    public ClientNotification(short opCode, long rsrcId, String err) {
+        super(ClientStatus.FAILED, err);
+
+        this.rsrcId = rsrcId;
+        this.opCode = opCode;
+    }
+
+    /**
+     * Encodes the notification data.
+     *
+     * @param ctx Connection context.
+     * @param writer Writer.
+     */
+    public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        writer.writeLong(rsrcId);
+
+        short flags = (short)(ClientFlag.NOTIFICATION | (status() == ClientStatus.SUCCESS ? 0 : ClientFlag.ERROR));
+
+        writer.writeShort(flags);
+
+        writer.writeShort(opCode);
+
+        if (status() != ClientStatus.SUCCESS) {
+            writer.writeInt(status());
+
+            writer.writeString(error());
+        }
+    }
+
+    /**
+     * @return Resource id.
+     */
+    public long resourceId() {
+        return rsrcId;
+    }
+
+    /**
+     * @return Operation code.
+     */
+    public short operationCode() {
+        return opCode;
+    }
+}
@@ -60,6 +60,12 @@ public final class ClientStatus {
     /** Transaction timed out. */
     public static final int TX_TIMED_OUT = 1022;
 
+    /** Active compute tasks per connection limit exceeded. */
+    public static final int TOO_MANY_COMPUTE_TASKS = 1030;
+
+    /** Functionality is disabled on the server. */
+    public static final int FUNCTIONALITY_DISABLED = 1040;
+
     /** Authentication failed. */
     public static final int AUTH_FAILED = 2000;
 }
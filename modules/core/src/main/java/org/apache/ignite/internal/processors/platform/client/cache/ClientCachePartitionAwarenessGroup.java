@@ -65,7 +65,7 @@ class ClientCachePartitionAwarenessGroup {
             return this.mapping == mapping;
 
         // Now we need to compare mappings themselves.
-        return mapping.isCompatible(mapping);
+        return this.mapping.isCompatible(mapping);
     }
 
     /**
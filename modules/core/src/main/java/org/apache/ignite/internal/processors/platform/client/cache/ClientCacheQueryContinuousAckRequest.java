@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Acknowledges continuous query event batches processed by the client, which allows the server to send next batches.
+ */
+public class ClientCacheQueryContinuousAckRequest extends ClientRequest {
+    /** Query handle id. */
+    private final long hndId;
+
+    /** Number of processed batches. */
+    private final int batches;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheQueryContinuousAckRequest(BinaryRawReader reader) {
+        super(reader);
+
+        hndId = reader.readLong();
+        batches = reader.readInt();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientCacheQueryContinuousHandle hnd = ctx.resources().get(hndId);
+
+        hnd.onAcknowledged(batches);
+
+        return new ClientResponse(requestId());
+    }
+}
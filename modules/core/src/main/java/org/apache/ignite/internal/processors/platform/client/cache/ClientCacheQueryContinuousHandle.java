@@ -0,0 +1,234 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryListenerException;
+import javax.cache.event.CacheEntryUpdatedListener;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.internal.processors.platform.client.ClientMessageParser.OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION;
+
+/**
+ * Continuous query handle. Acts as a local listener of the continuous query and sends received events to the
+ * client. Events received while the client hasn't acknowledged {@code maxUnackedBatches} previous batches yet
+ * are kept by the handle and sent to the client as a single batch, once it catches up. If the client falls behind
+ * by more than {@code maxPendingEvts} events, the query is stopped and the client is notified with an error.
+ */
+class ClientCacheQueryContinuousHandle implements CacheEntryUpdatedListener<Object, Object>, ClientCloseableResource {
+    /** Context. */
+    private final ClientConnectionContext ctx;
+
+    /** Maximum number of batches sent and not acknowledged by the client, {@code 0} for unlimited. */
+    private final int maxUnackedBatches;
+
+    /** Maximum number of events kept by the handle until the client catches up. */
+    private final int maxPendingEvts;
+
+    /** Handle id. */
+    private volatile long id;
+
+    /** Query cursor. */
+    private volatile QueryCursor<?> cur;
+
+    /** Events to be sent to the client. */
+    private List<CacheEntryEvent<?, ?>> pending = new ArrayList<>();
+
+    /** Number of batches sent and not acknowledged by the client. */
+    private int unackedBatches;
+
+    /** Continuous query response sent to the client. */
+    private boolean respSent;
+
+    /** Closed flag. */
+    private boolean closed;
+
+    /** Error to notify the client about once the response is sent, if the query was stopped before that. */
+    private String err;
+
+    /**
+     * Constructor.
+     *
+     * @param ctx Context.
+     * @param maxUnackedBatches Maximum number of batches sent and not acknowledged by the client.
+     * @param maxPendingEvts Maximum number of events kept by the handle until the client catches up.
+     */
+    ClientCacheQueryContinuousHandle(ClientConnectionContext ctx, int maxUnackedBatches, int maxPendingEvts) {
+        assert ctx != null;
+
+        this.ctx = ctx;
+        this.maxUnackedBatches = maxUnackedBatches;
+        this.maxPendingEvts = maxPendingEvts;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onUpdated(Iterable<CacheEntryEvent<?, ?>> evts) throws CacheEntryListenerException {
+        synchronized (this) {
+            if (closed)
+                return;
+
+            for (CacheEntryEvent<?, ?> evt : evts)
+                pending.add(evt);
+
+            sendPending();
+
+            if (pending.size() <= maxPendingEvts)
+                return;
+
+            closed = true;
+
+            pending.clear();
+
+            err = "Continuous query is stopped, the client doesn't keep up with the events " +
+                "(buffered events limit exceeded: " + maxPendingEvts + "). To change the limit set up " +
+                "ThinClientConfiguration.MaxContinuousQueryPendingEvents property.";
+
+            notifyError();
+        }
+
+        // The query can't be stopped synchronously from its own listener.
+        ctx.kernalContext().closure().runLocalSafe(() -> {
+            try {
+                ctx.resources().release(id);
+            }
+            catch (IgniteClientException ignore) {
+                // Resource was already released by the client.
+            }
+
+            closeCursor();
+        }, true);
+    }
+
+    /**
+     * Callback for continuous query response sent event.
+     */
+    void onResponseSent() {
+        synchronized (this) {
+            respSent = true;
+
+            sendPending();
+
+            notifyError();
+        }
+    }
+
+    /**
+     * Notifies the client about the query stopped by the server, once the response is sent. Must be called under
+     * the handle lock.
+     */
+    private void notifyError() {
+        assert Thread.holdsLock(this);
+
+        if (!respSent || err == null)
+            return;
+
+        ctx.notifyClient(new ClientNotification(OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION, id, err));
+
+        err = null;
+    }
+
+    /**
+     * Callback for event batches acknowledged by the client.
+     *
+     * @param batches Number of acknowledged batches.
+     */
+    void onAcknowledged(int batches) {
+        synchronized (this) {
+            unackedBatches = Math.max(0, unackedBatches - batches);
+
+            sendPending();
+        }
+    }
+
+    /**
+     * Sends pending events to the client, if allowed. Must be called under the handle lock.
+     */
+    private void sendPending() {
+        assert Thread.holdsLock(this);
+
+        if (!respSent || closed || pending.isEmpty())
+            return;
+
+        if (maxUnackedBatches > 0 && unackedBatches >= maxUnackedBatches)
+            return;
+
+        List<CacheEntryEvent<?, ?>> batch = pending;
+
+        pending = new ArrayList<>();
+
+        unackedBatches++;
+
+        ctx.notifyClient(new ClientCacheQueryContinuousNotification(id, batch));
+    }
+
+    /**
+     * @param cur Query cursor.
+     */
+    void cursor(QueryCursor<?> cur) {
+        this.cur = cur;
+    }
+
+    /**
+     * @return Handle id.
+     */
+    long id() {
+        return id;
+    }
+
+    /**
+     * @param id Handle id.
+     */
+    void id(long id) {
+        this.id = id;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+
+            closed = true;
+
+            pending.clear();
+        }
+
+        closeCursor();
+    }
+
+    /**
+     * Stops the query.
+     */
+    private void closeCursor() {
+        QueryCursor<?> cur0 = cur;
+
+        if (cur0 != null)
+            cur0.close();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientCacheQueryContinuousHandle.class, this);
+    }
+}
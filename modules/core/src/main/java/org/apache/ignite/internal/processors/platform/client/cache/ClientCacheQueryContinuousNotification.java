@@ -0,0 +1,59 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import java.util.List;
+import javax.cache.event.CacheEntryEvent;
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+
+import static org.apache.ignite.internal.processors.platform.client.ClientMessageParser.OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION;
+
+/**
+ * Continuous query events notification. Contains a batch of events.
+ */
+class ClientCacheQueryContinuousNotification extends ClientNotification {
+    /** Events. */
+    private final List<CacheEntryEvent<?, ?>> evts;
+
+    /**
+     * Constructor.
+     *
+     * @param hndId Query handle id.
+     * @param evts Events.
+     */
+    ClientCacheQueryContinuousNotification(long hndId, List<CacheEntryEvent<?, ?>> evts) {
+        super(OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION, hndId);
+
+        this.evts = evts;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        writer.writeInt(evts.size());
+
+        for (CacheEntryEvent<?, ?> evt : evts) {
+            writer.writeObjectDetached(evt.getKey());
+            writer.writeObjectDetached(evt.getOldValue());
+            writer.writeObjectDetached(evt.getValue());
+            writer.writeByte((byte)evt.getEventType().ordinal());
+        }
+    }
+}
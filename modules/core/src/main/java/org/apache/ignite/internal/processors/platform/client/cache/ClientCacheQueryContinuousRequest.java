@@ -0,0 +1,126 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.cache;
+
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEventFilter;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+
+/**
+ * Continuous query request. Cache events are sent to the client by
+ * {@link org.apache.ignite.internal.processors.platform.client.ClientMessageParser#OP_QUERY_CONTINUOUS_EVENT_NOTIFICATION}
+ * notifications, the query is stopped by closing the resource.
+ */
+@SuppressWarnings("unchecked")
+public class ClientCacheQueryContinuousRequest extends ClientCacheRequest {
+    /** Java filter. */
+    private static final byte FILTER_PLATFORM_JAVA = 1;
+
+    /** Page size. */
+    private final int pageSize;
+
+    /** Time interval. */
+    private final long timeInterval;
+
+    /** Include expired events flag. */
+    private final boolean includeExpired;
+
+    /** Maximum number of event batches sent to the client and not acknowledged yet, {@code 0} for unlimited. */
+    private final int maxUnackedBatches;
+
+    /** Filter factory object. */
+    private final Object filterFactoryObj;
+
+    /** Filter platform. */
+    private final byte filterPlatform;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientCacheQueryContinuousRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        pageSize = reader.readInt();
+        timeInterval = reader.readLong();
+        includeExpired = reader.readBoolean();
+        maxUnackedBatches = reader.readInt();
+
+        filterFactoryObj = reader.readObjectDetached();
+
+        filterPlatform = filterFactoryObj == null ? 0 : reader.readByte();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        IgniteCache cache = filterPlatform == FILTER_PLATFORM_JAVA && !isKeepBinary() ? rawCache(ctx) : cache(ctx);
+
+        ClientCacheQueryContinuousHandle hnd = new ClientCacheQueryContinuousHandle(ctx, maxUnackedBatches,
+            ctx.maxContinuousQueryPendingEvents());
+
+        ContinuousQuery qry = new ContinuousQuery()
+            .setPageSize(pageSize)
+            .setTimeInterval(timeInterval)
+            .setLocalListener(hnd);
+
+        qry.setIncludeExpired(includeExpired);
+
+        if (filterFactoryObj != null)
+            qry.setRemoteFilterFactory(createFilterFactory(ctx));
+
+        long hndId = ctx.resources().put(hnd);
+
+        hnd.id(hndId);
+
+        try {
+            QueryCursor cur = cache.query(qry);
+
+            hnd.cursor(cur);
+
+            return new ClientCacheQueryContinuousResponse(requestId(), hnd);
+        }
+        catch (Exception e) {
+            ctx.resources().release(hndId);
+
+            throw e;
+        }
+    }
+
+    /**
+     * @param ctx Context.
+     * @return Remote filter factory.
+     */
+    private Factory<? extends CacheEntryEventFilter> createFilterFactory(ClientConnectionContext ctx) {
+        if (filterPlatform != FILTER_PLATFORM_JAVA) {
+            throw new IgniteClientException(ClientStatus.FAILED,
+                "Unsupported continuous query filter platform: " + filterPlatform);
+        }
+
+        ctx.checkUserCodeDeserializationEnabled("Continuous query remote filters");
+
+        return ((BinaryObject)filterFactoryObj).deserialize();
+    }
+}
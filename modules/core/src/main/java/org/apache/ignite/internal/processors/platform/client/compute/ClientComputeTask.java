@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import java.util.Set;
+import java.util.UUID;
+import org.apache.ignite.IgniteCompute;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cluster.ClusterGroup;
+import org.apache.ignite.compute.ComputeTaskFuture;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientNotification;
+import org.apache.ignite.internal.processors.platform.client.ClientObjectNotification;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteFuture;
+
+import static org.apache.ignite.internal.processors.platform.client.ClientMessageParser.OP_COMPUTE_TASK_FINISHED;
+import static org.apache.ignite.internal.processors.platform.client.compute.ClientExecuteTaskRequest.NO_FAILOVER_FLAG_MASK;
+import static org.apache.ignite.internal.processors.platform.client.compute.ClientExecuteTaskRequest.NO_RESULT_CACHE_FLAG_MASK;
+
+/**
+ * Client compute task. Registered as a connection resource while it's running, closing the resource cancels the task.
+ */
+class ClientComputeTask implements ClientCloseableResource {
+    /** Context. */
+    private final ClientConnectionContext ctx;
+
+    /** Task id. */
+    private volatile long taskId;
+
+    /** Task future. */
+    private volatile ComputeTaskFuture<Object> taskFut;
+
+    /** Execute task response sent to the client. */
+    private boolean respSent;
+
+    /** Task finished. */
+    private boolean finished;
+
+    /** Resource closed (task cancelled or connection closed). */
+    private boolean closed;
+
+    /**
+     * Constructor. Active tasks count of the connection must be incremented before the task is created, it is
+     * decremented when the task is finished or closed.
+     *
+     * @param ctx Connection context.
+     */
+    ClientComputeTask(ClientConnectionContext ctx) {
+        this.ctx = ctx;
+    }
+
+    /**
+     * Starts the task.
+     *
+     * @param taskId Task id.
+     * @param taskName Task name.
+     * @param arg Task argument.
+     * @param nodeIds Nodes to execute the task on, or {@code null} to execute on all server nodes.
+     * @param flags Flags.
+     * @param timeout Timeout.
+     */
+    void execute(long taskId, String taskName, Object arg, Set<UUID> nodeIds, byte flags, long timeout) {
+        this.taskId = taskId;
+
+        IgniteEx ignite = ctx.kernalContext().grid();
+
+        ClusterGroup grp = nodeIds == null ? ignite.cluster().forServers() : ignite.cluster().forNodeIds(nodeIds);
+
+        IgniteCompute compute = ignite.compute(grp);
+
+        if ((flags & NO_FAILOVER_FLAG_MASK) != 0)
+            compute = compute.withNoFailover();
+
+        if ((flags & NO_RESULT_CACHE_FLAG_MASK) != 0)
+            compute = compute.withNoResultCache();
+
+        if (timeout > 0)
+            compute = compute.withTimeout(timeout);
+
+        taskFut = compute.executeAsync(taskName, arg);
+
+        taskFut.listen(this::onTaskFinished);
+    }
+
+    /**
+     * Callback for execute task response sent event.
+     */
+    void onResponseSent() {
+        synchronized (this) {
+            respSent = true;
+        }
+
+        sendNotificationIfNeeded();
+    }
+
+    /**
+     * Callback for task completion.
+     *
+     * @param fut Task future.
+     */
+    private void onTaskFinished(IgniteFuture<Object> fut) {
+        synchronized (this) {
+            finished = true;
+        }
+
+        sendNotificationIfNeeded();
+    }
+
+    /**
+     * Sends task finished notification to the client once both the execute task response is sent and the task is
+     * finished. Notification is never sent for closed (cancelled) tasks.
+     */
+    private void sendNotificationIfNeeded() {
+        synchronized (this) {
+            if (!respSent || !finished || closed)
+                return;
+
+            // Mark as closed to prevent duplicate notifications and task cancellation on resource release.
+            closed = true;
+
+            ctx.decrementActiveTasksCount();
+
+            ClientNotification notification;
+
+            try {
+                notification = new ClientObjectNotification(OP_COMPUTE_TASK_FINISHED, taskId, taskFut.get());
+            }
+            catch (IgniteException e) {
+                notification = new ClientNotification(OP_COMPUTE_TASK_FINISHED, taskId, e.getMessage());
+            }
+
+            // Send under the lock to guarantee that the notification is not sent after the resource is closed.
+            ctx.notifyClient(notification);
+        }
+
+        try {
+            ctx.resources().release(taskId);
+        }
+        catch (IgniteClientException ignore) {
+            // Resource was already released by the client.
+        }
+    }
+
+    /**
+     * @return Task id.
+     */
+    long taskId() {
+        return taskId;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        synchronized (this) {
+            if (closed)
+                return;
+
+            closed = true;
+        }
+
+        ctx.decrementActiveTasksCount();
+
+        ComputeTaskFuture<Object> fut = taskFut;
+
+        if (fut != null && !fut.isDone()) {
+            try {
+                fut.cancel();
+            }
+            catch (IgniteException e) {
+                U.warn(ctx.kernalContext().log(ClientComputeTask.class), "Failed to cancel compute task [taskId=" +
+                    taskId + ", err=" + e.getMessage() + ']');
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientComputeTask.class, this);
+    }
+}
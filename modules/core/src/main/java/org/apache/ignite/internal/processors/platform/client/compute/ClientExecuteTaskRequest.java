@@ -0,0 +1,143 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.binary.BinaryRawReader;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.processors.task.GridVisorManagementTask;
+import org.apache.ignite.internal.util.typedef.internal.U;
+
+/**
+ * Request to execute compute task. The response contains task (resource) id, the result is sent later by
+ * {@link org.apache.ignite.internal.processors.platform.client.ClientMessageParser#OP_COMPUTE_TASK_FINISHED}
+ * notification. The task can be cancelled by closing the resource.
+ */
+public class ClientExecuteTaskRequest extends ClientRequest {
+    /** Disable failover flag mask. */
+    static final byte NO_FAILOVER_FLAG_MASK = 0x01;
+
+    /** Disable result cache flag mask. */
+    static final byte NO_RESULT_CACHE_FLAG_MASK = 0x02;
+
+    /** Keep binary flag mask. */
+    static final byte KEEP_BINARY_FLAG_MASK = 0x04;
+
+    /** Package of Ignite internal classes. */
+    private static final String INTERNAL_PKG_PREFIX = "org.apache.ignite.internal.";
+
+    /** Node IDs to execute the task on, or {@code null} to execute on all server nodes. */
+    private final Set<UUID> nodeIds;
+
+    /** Flags. */
+    private final byte flags;
+
+    /** Task timeout. */
+    private final long timeout;
+
+    /** Task name. */
+    private final String taskName;
+
+    /** Task argument. */
+    private final Object arg;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientExecuteTaskRequest(BinaryRawReader reader) {
+        super(reader);
+
+        int cnt = reader.readInt();
+
+        if (cnt > 0) {
+            nodeIds = new HashSet<>(cnt);
+
+            for (int i = 0; i < cnt; i++)
+                nodeIds.add(new UUID(reader.readLong(), reader.readLong()));
+        }
+        else
+            nodeIds = null;
+
+        flags = reader.readByte();
+        timeout = reader.readLong();
+        taskName = reader.readString();
+        arg = ((BinaryRawReaderEx)reader).readObjectDetached();
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        if (isInternalTask(taskName))
+            throw new IgniteClientException(ClientStatus.FAILED, "Execution of internal tasks is not allowed: " + taskName);
+
+        // Fails if compute is disabled for thin clients, so the argument is not deserialized in this case.
+        ctx.incrementActiveTasksCount();
+
+        ClientComputeTask task = new ClientComputeTask(ctx);
+
+        long taskId = ctx.resources().put(task);
+
+        try {
+            Object taskArg = arg;
+
+            if (taskArg instanceof BinaryObject && (flags & KEEP_BINARY_FLAG_MASK) == 0)
+                taskArg = ((BinaryObject)taskArg).deserialize();
+
+            task.execute(taskId, taskName, taskArg, nodeIds, flags, timeout);
+        }
+        catch (Exception e) {
+            ctx.resources().release(taskId);
+
+            throw (e instanceof IgniteClientException) ? (IgniteClientException)e :
+                new IgniteClientException(ClientStatus.FAILED, e.getMessage(), e);
+        }
+
+        return new ClientExecuteTaskResponse(requestId(), task);
+    }
+
+    /**
+     * @param taskName Task name.
+     * @return {@code True} if the task is an Ignite internal one.
+     */
+    private static boolean isInternalTask(String taskName) {
+        if (taskName == null)
+            return false;
+
+        if (taskName.startsWith(INTERNAL_PKG_PREFIX))
+            return true;
+
+        try {
+            // Don't initialize the class, the task may be unknown to the node.
+            Class<?> cls = Class.forName(taskName, false, U.gridClassLoader());
+
+            return U.hasAnnotation(cls, GridInternal.class) || U.hasAnnotation(cls, GridVisorManagementTask.class);
+        }
+        catch (ClassNotFoundException | LinkageError ignored) {
+            return false;
+        }
+    }
+}
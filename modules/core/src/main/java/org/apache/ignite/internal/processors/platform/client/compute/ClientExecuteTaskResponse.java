@@ -0,0 +1,54 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.compute;
+
+import org.apache.ignite.internal.binary.BinaryRawWriterEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Execute task response. Contains id of the started task, task result notification can be sent to the client only
+ * after this response.
+ */
+class ClientExecuteTaskResponse extends ClientResponse {
+    /** Task. */
+    private final ClientComputeTask task;
+
+    /**
+     * Constructor.
+     *
+     * @param reqId Request id.
+     * @param task Task.
+     */
+    ClientExecuteTaskResponse(long reqId, ClientComputeTask task) {
+        super(reqId);
+
+        this.task = task;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void encode(ClientConnectionContext ctx, BinaryRawWriterEx writer) {
+        super.encode(ctx, writer);
+
+        writer.writeLong(task.taskId());
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSent() {
+        task.onResponseSent();
+    }
+}
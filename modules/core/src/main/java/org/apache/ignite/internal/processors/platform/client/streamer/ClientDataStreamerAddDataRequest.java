@@ -0,0 +1,69 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import java.util.Collection;
+import java.util.Map;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+
+/**
+ * Adds a batch of entries to the data streamer, optionally flushes or closes the streamer.
+ */
+public class ClientDataStreamerAddDataRequest extends ClientRequest {
+    /** Streamer id. */
+    private final long streamerId;
+
+    /** Flags. */
+    private final byte flags;
+
+    /** Entries. */
+    private final Collection<Map.Entry<Object, Object>> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientDataStreamerAddDataRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        streamerId = reader.readLong();
+        flags = reader.readByte();
+        entries = ClientDataStreamerReader.read(reader);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        ClientDataStreamerHandle hnd = ctx.resources().get(streamerId);
+
+        boolean close = (flags & ClientDataStreamerStartRequest.CLOSE_FLAG_MASK) != 0;
+
+        try {
+            hnd.addData(entries, flags);
+        }
+        finally {
+            // Streamer is closed (or can't be used anymore after failed close), so the resource is released.
+            if (close)
+                ctx.resources().release(streamerId);
+        }
+
+        return new ClientResponse(requestId());
+    }
+}
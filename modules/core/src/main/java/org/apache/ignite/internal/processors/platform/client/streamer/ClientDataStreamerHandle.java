@@ -0,0 +1,100 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import org.apache.ignite.internal.processors.datastreamer.DataStreamerImpl;
+import org.apache.ignite.internal.processors.platform.client.ClientCloseableResource;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.lang.IgniteFuture;
+
+/**
+ * Data streamer handle. Closing the resource cancels the streamer, data streamed by the client is guaranteed to be
+ * loaded only when the streamer is flushed or closed by the client explicitly.
+ */
+class ClientDataStreamerHandle implements ClientCloseableResource {
+    /** Streamer. */
+    private final DataStreamerImpl<Object, Object> streamer;
+
+    /** Futures of the batches which are not checked for failures yet. */
+    private final Collection<IgniteFuture<?>> futs = new ConcurrentLinkedQueue<>();
+
+    /**
+     * @param streamer Streamer.
+     */
+    ClientDataStreamerHandle(DataStreamerImpl<Object, Object> streamer) {
+        assert streamer != null;
+
+        this.streamer = streamer;
+    }
+
+    /**
+     * Adds entries to the streamer and performs the requested flush or close. Failure of any batch added by this or
+     * previous requests is reported to the client, all the batches are checked once the streamer is flushed or closed.
+     *
+     * @param entries Entries.
+     * @param flags Request flags.
+     */
+    void addData(Collection<Map.Entry<Object, Object>> entries, byte flags) {
+        if (!entries.isEmpty())
+            futs.add(streamer.addData(entries, false));
+
+        if ((flags & ClientDataStreamerStartRequest.CLOSE_FLAG_MASK) != 0)
+            streamer.close(false);
+        else if ((flags & ClientDataStreamerStartRequest.FLUSH_FLAG_MASK) != 0)
+            streamer.flush();
+
+        checkFailures();
+    }
+
+    /**
+     * Removes completed batch futures and throws an exception if any of the batches failed.
+     */
+    private void checkFailures() {
+        for (Iterator<IgniteFuture<?>> it = futs.iterator(); it.hasNext(); ) {
+            IgniteFuture<?> fut = it.next();
+
+            if (!fut.isDone())
+                continue;
+
+            it.remove();
+
+            try {
+                fut.get();
+            }
+            catch (Exception e) {
+                throw new IgniteClientException(ClientStatus.FAILED, "Failed to stream data: " + e.getMessage(), e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void close() {
+        // No-op if the streamer is already closed.
+        streamer.close(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ClientDataStreamerHandle.class, this);
+    }
+}
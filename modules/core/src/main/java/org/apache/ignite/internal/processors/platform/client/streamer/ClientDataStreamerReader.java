@@ -0,0 +1,56 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.lang.IgniteBiTuple;
+
+/**
+ * Data streamer entries reader.
+ */
+class ClientDataStreamerReader {
+    /**
+     * No-op constructor to prevent instantiation.
+     */
+    private ClientDataStreamerReader() {
+        // No-op.
+    }
+
+    /**
+     * Reads entries. Entry with {@code null} value means removal of the key.
+     *
+     * @param reader Reader.
+     * @return Entries.
+     */
+    static Collection<Map.Entry<Object, Object>> read(BinaryRawReaderEx reader) {
+        int cnt = reader.readInt();
+
+        Collection<Map.Entry<Object, Object>> entries = new ArrayList<>(cnt);
+
+        for (int i = 0; i < cnt; i++) {
+            Object key = reader.readObjectDetached();
+            Object val = reader.readObjectDetached();
+
+            entries.add(new IgniteBiTuple<>(key, val));
+        }
+
+        return entries;
+    }
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.platform.client.streamer;
+
+import java.util.Collection;
+import java.util.Map;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.internal.binary.BinaryRawReaderEx;
+import org.apache.ignite.internal.processors.cache.DynamicCacheDescriptor;
+import org.apache.ignite.internal.processors.datastreamer.DataStreamerImpl;
+import org.apache.ignite.internal.processors.platform.client.ClientConnectionContext;
+import org.apache.ignite.internal.processors.platform.client.ClientLongResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientRequest;
+import org.apache.ignite.internal.processors.platform.client.ClientResponse;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.processors.platform.client.IgniteClientException;
+import org.apache.ignite.stream.StreamReceiver;
+
+/**
+ * Starts the data streamer and adds the first batch of entries. The response contains the streamer (resource) id,
+ * or {@code 0} if the streamer was closed by this request.
+ */
+public class ClientDataStreamerStartRequest extends ClientRequest {
+    /** Allow overwrite flag mask. */
+    static final byte ALLOW_OVERWRITE_FLAG_MASK = 0x01;
+
+    /** Skip store flag mask. */
+    static final byte SKIP_STORE_FLAG_MASK = 0x02;
+
+    /** Keep binary flag mask. */
+    static final byte KEEP_BINARY_FLAG_MASK = 0x04;
+
+    /** Flush flag mask. */
+    static final byte FLUSH_FLAG_MASK = 0x08;
+
+    /** Close flag mask. */
+    static final byte CLOSE_FLAG_MASK = 0x10;
+
+    /** Java receiver. */
+    private static final byte RECEIVER_PLATFORM_JAVA = 1;
+
+    /** Cache id. */
+    private final int cacheId;
+
+    /** Flags. */
+    private final byte flags;
+
+    /** Per node buffer size, non-positive for default. */
+    private final int perNodeBufSize;
+
+    /** Per node parallel operations, non-positive for default. */
+    private final int perNodeParallelOps;
+
+    /** Receiver object. */
+    private final Object rcvrObj;
+
+    /** Receiver platform. */
+    private final byte rcvrPlatform;
+
+    /** Entries. */
+    private final Collection<Map.Entry<Object, Object>> entries;
+
+    /**
+     * Constructor.
+     *
+     * @param reader Reader.
+     */
+    public ClientDataStreamerStartRequest(BinaryRawReaderEx reader) {
+        super(reader);
+
+        cacheId = reader.readInt();
+        flags = reader.readByte();
+        perNodeBufSize = reader.readInt();
+        perNodeParallelOps = reader.readInt();
+
+        rcvrObj = reader.readObjectDetached();
+        rcvrPlatform = rcvrObj == null ? 0 : reader.readByte();
+
+        entries = ClientDataStreamerReader.read(reader);
+    }
+
+    /** {@inheritDoc} */
+    @Override public ClientResponse process(ClientConnectionContext ctx) {
+        DynamicCacheDescriptor desc = ctx.kernalContext().cache().cacheDescriptor(cacheId);
+
+        if (desc == null)
+            throw new IgniteClientException(ClientStatus.CACHE_DOES_NOT_EXIST, "Cache does not exist [cacheId= " +
+                cacheId + "]", null);
+
+        StreamReceiver<Object, Object> rcvr = rcvrObj != null ? createReceiver(ctx) : null;
+
+        DataStreamerImpl<Object, Object> streamer = ctx.kernalContext().<Object, Object>dataStream()
+            .dataStreamer(desc.cacheName());
+
+        ClientDataStreamerHandle hnd = new ClientDataStreamerHandle(streamer);
+
+        try {
+            streamer.allowOverwrite((flags & ALLOW_OVERWRITE_FLAG_MASK) != 0);
+            streamer.skipStore((flags & SKIP_STORE_FLAG_MASK) != 0);
+            streamer.keepBinary((flags & KEEP_BINARY_FLAG_MASK) != 0);
+
+            if (perNodeBufSize > 0)
+                streamer.perNodeBufferSize(perNodeBufSize);
+
+            if (perNodeParallelOps > 0)
+                streamer.perNodeParallelOperations(perNodeParallelOps);
+
+            if (rcvr != null)
+                streamer.receiver(rcvr);
+
+            hnd.addData(entries, flags);
+        }
+        catch (Exception e) {
+            hnd.close();
+
+            throw e;
+        }
+
+        if ((flags & CLOSE_FLAG_MASK) != 0)
+            return new ClientLongResponse(requestId(), 0);
+
+        return new ClientLongResponse(requestId(), ctx.resources().put(hnd));
+    }
+
+    /**
+     * @param ctx Connection context.
+     * @return Stream receiver.
+     */
+    private StreamReceiver<Object, Object> createReceiver(ClientConnectionContext ctx) {
+        if (rcvrPlatform != RECEIVER_PLATFORM_JAVA) {
+            throw new IgniteClientException(ClientStatus.FAILED,
+                "Unsupported data streamer receiver platform: " + rcvrPlatform);
+        }
+
+        ctx.checkUserCodeDeserializationEnabled("Data streamer receivers");
+
+        return ((BinaryObject)rcvrObj).deserialize();
+    }
+}
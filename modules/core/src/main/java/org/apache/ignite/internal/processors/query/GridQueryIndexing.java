@@ -157,6 +157,19 @@ public interface GridQueryIndexing {
     public void dynamicIndexCreate(String schemaName, String tblName, QueryIndexDescriptorImpl idxDesc,
         boolean ifNotExists, SchemaIndexCacheVisitor cacheVisitor) throws IgniteCheckedException;
 
+    /**
+     * Replace index with the same name. The new index is built while the existing index is still used,
+     * then it takes the place of the existing index.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param idxDesc Index descriptor.
+     * @param cacheVisitor Cache visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void dynamicIndexReplace(String schemaName, String tblName, QueryIndexDescriptorImpl idxDesc,
+        SchemaIndexCacheVisitor cacheVisitor) throws IgniteCheckedException;
+
     /**
      * Remove index from the cache.
      *
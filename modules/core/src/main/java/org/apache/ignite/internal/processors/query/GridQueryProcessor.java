@@ -76,6 +76,7 @@ import org.apache.ignite.internal.processors.cache.query.CacheQueryFuture;
 import org.apache.ignite.internal.processors.cache.query.GridCacheQueryType;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
 import org.apache.ignite.internal.processors.query.property.QueryBinaryProperty;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheBuildThrottle;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitor;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorImpl;
@@ -221,6 +222,9 @@ public class GridQueryProcessor extends GridProcessorAdapter {
     /** Cache name - value typeId pairs for which type mismatch message was logged. */
     private final Set<Long> missedCacheTypes = newSetFromMap(new ConcurrentHashMap<>());
 
+    /** Throttle of the index create/rebuild workers. */
+    private final SchemaIndexCacheBuildThrottle idxBuildThrottle;
+
     /**
      * @param ctx Kernal context.
      */
@@ -237,6 +241,8 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
         valCtx = new CacheQueryObjectValueContext(ctx);
 
+        idxBuildThrottle = new SchemaIndexCacheBuildThrottle(ctx);
+
         ioLsnr = new GridMessageListener() {
             @Override public void onMessage(UUID nodeId, Object msg, byte plc) {
                 if (msg instanceof SchemaOperationStatusMessage) {
@@ -824,6 +830,13 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         return idx != null;
     }
 
+    /**
+     * @return Throttle of the index create/rebuild workers.
+     */
+    public SchemaIndexCacheBuildThrottle indexBuildThrottle() {
+        return idxBuildThrottle;
+    }
+
     /**
      * @return Indexing.
      * @throws IgniteException If module is not enabled.
@@ -1183,7 +1196,17 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
                 QueryIndexKey idxKey = new QueryIndexKey(op.schemaName(), idxName);
 
-                if (idxs.get(idxKey) != null) {
+                QueryIndexDescriptorImpl oldIdx = idxs.get(idxKey);
+
+                if (op0.replace()) {
+                    if (oldIdx == null)
+                        err = new SchemaOperationException(SchemaOperationException.CODE_INDEX_NOT_FOUND, idxName);
+                    else if (oldIdx.typeDescriptor() != type) {
+                        err = new SchemaOperationException("Index belongs to another table [idxName=" + idxName +
+                            ", tblName=" + oldIdx.typeDescriptor().tableName() + ']');
+                    }
+                }
+                else if (oldIdx != null) {
                     if (op0.ifNotExists())
                         nop = true;
                     else
@@ -1351,7 +1374,11 @@ public class GridQueryProcessor extends GridProcessorAdapter {
 
             T2<QueryEntity, QueryIndex> oldIdxEntity = idxMap.get(idxName);
 
-            if (oldIdxEntity == null) {
+            if (op0.replace()) {
+                if (oldIdxEntity == null)
+                    err = new SchemaOperationException(SchemaOperationException.CODE_INDEX_NOT_FOUND, idxName);
+            }
+            else if (oldIdxEntity == null) {
                 String tblName = op0.tableName();
 
                 QueryEntity oldEntity = tblMap.get(tblName);
@@ -1694,7 +1721,10 @@ public class GridQueryProcessor extends GridProcessorAdapter {
                     visitor = clo -> {
                     };
 
-                idx.dynamicIndexCreate(op0.schemaName(), op0.tableName(), idxDesc, op0.ifNotExists(), visitor);
+                if (op0.replace())
+                    idx.dynamicIndexReplace(op0.schemaName(), op0.tableName(), idxDesc, visitor);
+                else
+                    idx.dynamicIndexCreate(op0.schemaName(), op0.tableName(), idxDesc, op0.ifNotExists(), visitor);
             }
             else if (op instanceof SchemaIndexDropOperation) {
                 SchemaIndexDropOperation op0 = (SchemaIndexDropOperation)op;
@@ -2724,6 +2754,25 @@ public class GridQueryProcessor extends GridProcessorAdapter {
         return startIndexOperationDistributed(op);
     }
 
+    /**
+     * Entry point for index replace procedure. The new index is built while the existing index with the same name
+     * is still used by queries, then it takes the place of the existing index.
+     *
+     * @param cacheName Cache name.
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param idx Index.
+     * @param parallel Index creation parallelism level.
+     * @return Future completed when index is replaced.
+     */
+    public IgniteInternalFuture<?> dynamicIndexReplace(String cacheName, String schemaName, String tblName,
+        QueryIndex idx, int parallel) {
+        SchemaAbstractOperation op = new SchemaIndexCreateOperation(UUID.randomUUID(), cacheName, schemaName, tblName,
+            idx, false, parallel, true);
+
+        return startIndexOperationDistributed(op);
+    }
+
     /**
      * Entry point for index drop procedure
      *
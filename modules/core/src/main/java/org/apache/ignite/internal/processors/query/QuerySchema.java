@@ -177,19 +177,22 @@ public class QuerySchema implements Serializable {
                     String tblName = entity.getTableName();
 
                     if (F.eq(tblName, op0.tableName())) {
-                        boolean exists = false;
+                        QueryIndex oldIdx = null;
 
                         for (QueryIndex idx : entity.getIndexes()) {
                             if (F.eq(idx.getName(), op0.indexName())) {
-                                exists = true;
+                                oldIdx = idx;
 
                                 break;
                             }
                         }
 
-                        if (!exists) {
+                        if (oldIdx == null || op0.replace()) {
                             List<QueryIndex> idxs = new ArrayList<>(entity.getIndexes());
 
+                            if (oldIdx != null)
+                                idxs.remove(oldIdx);
+
                             idxs.add(op0.index());
 
                             entity.setIndexes(idxs);
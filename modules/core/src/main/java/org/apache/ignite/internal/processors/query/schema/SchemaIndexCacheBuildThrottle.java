@@ -0,0 +1,162 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.schema;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.util.BasicRateLimiter;
+import org.apache.ignite.internal.util.StripedExecutor;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_IDLE_POOL_SIZE;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_REBUILD_RATE_LIMIT;
+import static org.apache.ignite.IgniteSystemProperties.getInteger;
+
+/**
+ * Node-wide throttle of the index create/rebuild workers.
+ * <p>
+ * While the node doesn't serve user load, the index build pool is widened up to
+ * {@link org.apache.ignite.IgniteSystemProperties#IGNITE_INDEX_REBUILD_IDLE_POOL_SIZE} threads, so all the partitions
+ * are processed in parallel. As soon as user load appears (cache operations in the striped pool or SQL queries),
+ * the pool is shrunk back to the configured size and the processed rows are limited by
+ * {@link org.apache.ignite.IgniteSystemProperties#IGNITE_INDEX_REBUILD_RATE_LIMIT}.
+ */
+public class SchemaIndexCacheBuildThrottle {
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Rate limiter applied under user load. */
+    private final BasicRateLimiter limiter;
+
+    /** Pool size used while the node doesn't serve user load. */
+    private final int idlePoolSize;
+
+    /** Number of the running index create/rebuild operations. */
+    private final AtomicInteger activeBuilds = new AtomicInteger();
+
+    /** Whether the index build pool is widened. */
+    private volatile boolean widened;
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public SchemaIndexCacheBuildThrottle(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        limiter = new BasicRateLimiter(Math.max(0, getInteger(IGNITE_INDEX_REBUILD_RATE_LIMIT, 0)));
+
+        idlePoolSize = getInteger(IGNITE_INDEX_REBUILD_IDLE_POOL_SIZE, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * @return Rate limiter applied under user load.
+     */
+    public BasicRateLimiter rateLimiter() {
+        return limiter;
+    }
+
+    /**
+     * Callback invoked before the partition workers of an index create/rebuild operation are submitted.
+     */
+    public void onBuildStarted() {
+        activeBuilds.incrementAndGet();
+
+        adjustPoolSize(!userLoad());
+    }
+
+    /**
+     * Callback invoked when all the partition workers of an index create/rebuild operation are finished.
+     */
+    public void onBuildFinished() {
+        if (activeBuilds.decrementAndGet() == 0)
+            adjustPoolSize(false);
+    }
+
+    /**
+     * Callback invoked by a partition worker outside of the checkpoint read lock after it processed a batch of rows.
+     *
+     * @param rows Number of processed rows.
+     * @throws IgniteInterruptedCheckedException If interrupted.
+     */
+    public void onBatchProcessed(int rows) throws IgniteInterruptedCheckedException {
+        boolean load = userLoad();
+
+        adjustPoolSize(!load && activeBuilds.get() > 0);
+
+        if (load)
+            limiter.acquire(rows);
+    }
+
+    /**
+     * @return {@code True} if the node serves user cache operations or SQL queries.
+     */
+    private boolean userLoad() {
+        StripedExecutor striped = ctx.getStripedExecutorService();
+
+        if (striped != null && (striped.queueSize() > 0 || striped.activeStripesCount() > 0))
+            return true;
+
+        ExecutorService qryPool = ctx.getQueryExecutorService();
+
+        return qryPool instanceof ThreadPoolExecutor && ((ThreadPoolExecutor)qryPool).getActiveCount() > 0;
+    }
+
+    /**
+     * @param widen {@code True} to widen the pool up to the idle pool size, {@code false} to restore the configured
+     *      pool size.
+     */
+    private void adjustPoolSize(boolean widen) {
+        if (widened == widen)
+            return;
+
+        ExecutorService pool = ctx.buildIndexExecutorService();
+
+        if (!(pool instanceof ThreadPoolExecutor))
+            return;
+
+        ThreadPoolExecutor pool0 = (ThreadPoolExecutor)pool;
+
+        int cfgSize = ctx.config().getBuildIndexThreadPoolSize();
+
+        if (idlePoolSize <= cfgSize)
+            return;
+
+        synchronized (this) {
+            if (widened == widen)
+                return;
+
+            if (widen) {
+                pool0.setMaximumPoolSize(idlePoolSize);
+                pool0.setCorePoolSize(idlePoolSize);
+            }
+            else {
+                pool0.setCorePoolSize(cfgSize);
+                pool0.setMaximumPoolSize(cfgSize);
+            }
+
+            widened = widen;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SchemaIndexCacheBuildThrottle.class, this);
+    }
+}
@@ -47,6 +47,9 @@ import static org.apache.ignite.internal.processors.cache.persistence.CacheDataR
 
 /**
  * Worker for creating/rebuilding indexes for cache per partition.
+ * <p>
+ * If the rows are sorted before the index closure is applied to them, the partition workers only add the rows to
+ * the sort buffer shared by all the partitions. Then a single worker applies the closure to the sorted rows.
  */
 public class SchemaIndexCachePartitionWorker extends GridWorker {
     /** Count of rows, being processed within a single checkpoint lock. */
@@ -64,17 +67,24 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     /** Index closure. */
     private final SchemaIndexCacheVisitorClosureWrapper wrappedClo;
 
-    /** Partition. */
-    private final GridDhtLocalPartition locPart;
+    /** Partition, {@code null} if the worker applies the closure to the sorted rows of all the partitions. */
+    @Nullable private final GridDhtLocalPartition locPart;
+
+    /** Buffer sorting the rows of all the partitions, {@code null} if the rows are not sorted. */
+    @Nullable private final SchemaIndexCacheSortBuffer sortBuf;
 
     /** Worker future. */
     private final GridFutureAdapter<SchemaIndexCacheStat> fut;
 
+    /** Throttle of the index create/rebuild workers. */
+    private final SchemaIndexCacheBuildThrottle throttle;
+
     /**
      * Constructor.
      *
      * @param cctx Cache context.
-     * @param locPart Partition.
+     * @param locPart Partition, {@code null} to apply the closure to the sorted rows of all the partitions.
+     * @param sortBuf Buffer sorting the rows of all the partitions, {@code null} if the rows are not sorted.
      * @param stop Stop flag between all workers for one cache.
      * @param cancel Cancellation token between all workers for all caches.
      * @param clo Index closure.
@@ -82,7 +92,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
      */
     public SchemaIndexCachePartitionWorker(
         GridCacheContext cctx,
-        GridDhtLocalPartition locPart,
+        @Nullable GridDhtLocalPartition locPart,
+        @Nullable SchemaIndexCacheSortBuffer sortBuf,
         AtomicBoolean stop,
         SchemaIndexOperationCancellationToken cancel,
         SchemaIndexCacheVisitorClosure clo,
@@ -90,12 +101,15 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
     ) {
         super(
             cctx.igniteInstanceName(),
-            "parallel-idx-worker-" + cctx.cache().name() + "-part-" + locPart.id(),
+            "parallel-idx-worker-" + cctx.cache().name() + (locPart != null ? "-part-" + locPart.id() : "-sorted"),
             cctx.logger(SchemaIndexCachePartitionWorker.class)
         );
 
+        assert locPart != null || sortBuf != null;
+
         this.cctx = cctx;
         this.locPart = locPart;
+        this.sortBuf = sortBuf;
         this.cancel = cancel;
 
         assert nonNull(stop);
@@ -105,6 +119,8 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
         this.stop = stop;
         wrappedClo = new SchemaIndexCacheVisitorClosureWrapper(clo);
         this.fut = fut;
+
+        throttle = cctx.kernalContext().query().indexBuildThrottle();
     }
 
     /** {@inheritDoc} */
@@ -112,12 +128,18 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
         Throwable err = null;
 
         try {
-            processPartition();
+            if (locPart != null)
+                processPartition();
+            else
+                processSorted();
         }
         catch (Throwable e) {
             err = e;
 
-            U.error(log, "Error during create/rebuild index for partition: " + locPart.id(), e);
+            if (locPart != null)
+                U.error(log, "Error during create/rebuild index for partition: " + locPart.id(), e);
+            else
+                U.error(log, "Error during create/rebuild index for the sorted rows", e);
 
             stop.set(true);
 
@@ -153,46 +175,80 @@ public class SchemaIndexCachePartitionWorker extends GridWorker {
                 cctx.cacheId(),
                 null,
                 null,
-                KEY_ONLY
+                sortBuf != null ? null : KEY_ONLY
             );
 
-            boolean locked = false;
+            if (sortBuf != null) {
+                // The rows are read with the values to be sorted, the closure is applied to them later.
+                while (!stop.get() && !stopNode() && locPart.state() != RENTING && cursor.next()) {
+                    checkCancelled();
 
-            try {
-                int cntr = 0;
+                    sortBuf.add(cursor.get());
+                }
+            }
+            else
+                processRows(cursor);
+        }
+        finally {
+            locPart.release();
 
-                while (cursor.next() && !stop.get() && !stopNode()) {
-                    KeyCacheObject key = cursor.get().key();
+            cctx.group().metrics().decrementIndexBuildCountPartitionsLeft();
+        }
+    }
+
+    /**
+     * Applies the closure to the sorted rows of all the partitions.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processSorted() throws IgniteCheckedException {
+        if (stop.get() || stopNode())
+            return;
 
-                    if (!locked) {
-                        cctx.shared().database().checkpointReadLock();
+        checkCancelled();
 
-                        locked = true;
-                    }
+        processRows(sortBuf.sorted());
+    }
 
-                    processKey(key);
+    /**
+     * Applies the closure to the rows in batches, each batch is processed within a single checkpoint lock.
+     *
+     * @param cursor Rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processRows(GridCursor<? extends CacheDataRow> cursor) throws IgniteCheckedException {
+        boolean locked = false;
 
-                    if (++cntr % BATCH_SIZE == 0) {
-                        cctx.shared().database().checkpointReadUnlock();
+        try {
+            int cntr = 0;
 
-                        locked = false;
-                    }
+            while (!stop.get() && !stopNode() && (locPart == null || locPart.state() != RENTING) && cursor.next()) {
+                if (!locked) {
+                    cctx.shared().database().checkpointReadLock();
 
-                    if (locPart.state() == RENTING)
-                        break;
+                    locked = true;
                 }
 
-                wrappedClo.addNumberProcessedKeys(cntr);
-            }
-            finally {
-                if (locked)
+                processKey(cursor.get().key());
+
+                if (++cntr % BATCH_SIZE == 0) {
                     cctx.shared().database().checkpointReadUnlock();
+
+                    locked = false;
+
+                    cctx.group().metrics().addIndexBuildCountKeysProcessed(BATCH_SIZE);
+
+                    throttle.onBatchProcessed(BATCH_SIZE);
+                }
             }
+
+            cctx.group().metrics().addIndexBuildCountKeysProcessed(cntr % BATCH_SIZE);
+
+            wrappedClo.addNumberProcessedKeys(cntr);
         }
         finally {
-            locPart.release();
-
-            cctx.group().metrics().decrementIndexBuildCountPartitionsLeft();
+            if (locked)
+                cctx.shared().database().checkpointReadUnlock();
         }
     }
 
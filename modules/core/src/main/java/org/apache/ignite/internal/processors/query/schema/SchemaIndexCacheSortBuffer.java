@@ -0,0 +1,373 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.schema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.PriorityQueue;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.internal.processors.cache.CacheObject;
+import org.apache.ignite.internal.processors.cache.CacheObjectContext;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.KeyCacheObject;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRowAdapter;
+import org.apache.ignite.internal.processors.cache.version.GridCacheVersion;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Buffer sorting the rows of all the partitions of a cache in the order an index create closure is best applied in.
+ * <p>
+ * The partition workers add the rows to the buffer concurrently. Once the size of the buffered rows reaches the
+ * limit, the rows are sorted and written to a run file. When all the partitions are read, the runs are merged, so
+ * the closure is applied to all the rows of the cache in a single sorted sequence and the index pages are filled
+ * one by one. If all the rows fit into the buffer, no file is written.
+ */
+class SchemaIndexCacheSortBuffer implements AutoCloseable {
+    /** Name of the work directory subfolder for the run files. */
+    private static final String RUN_DIR = "index_build";
+
+    /** Size of the read buffer of a run file. */
+    private static final int RUN_READ_BUF_SIZE = 16 * 1024;
+
+    /** Size of the write buffer of a run file. */
+    private static final int RUN_WRITE_BUF_SIZE = 64 * 1024;
+
+    /** Cache context. */
+    private final GridCacheContext cctx;
+
+    /** Closure defining the order of the rows. */
+    private final SchemaIndexCacheVisitorClosure clo;
+
+    /** Maximum size in bytes of the buffered rows. */
+    private final long maxSize;
+
+    /** Buffered rows. */
+    private List<CacheDataRow> rows = new ArrayList<>();
+
+    /** Size in bytes of the buffered rows. */
+    private long size;
+
+    /** Run files. */
+    private final List<File> runs = new ArrayList<>();
+
+    /** Readers of the run files being merged. */
+    private final List<RunReader> readers = new ArrayList<>();
+
+    /**
+     * @param cctx Cache context.
+     * @param clo Closure defining the order of the rows.
+     * @param maxSize Maximum size in bytes of the buffered rows.
+     */
+    SchemaIndexCacheSortBuffer(GridCacheContext cctx, SchemaIndexCacheVisitorClosure clo, long maxSize) {
+        assert clo.sortable();
+
+        this.cctx = cctx;
+        this.clo = clo;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Adds the row, spills the buffered rows to a run file if the buffer is full.
+     *
+     * @param row Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    synchronized void add(CacheDataRow row) throws IgniteCheckedException {
+        // The build has failed and the buffer is closed.
+        if (rows == null)
+            return;
+
+        // The row is read by a partition cursor, set the partition the key is processed in later.
+        row.key().partition(row.partition());
+
+        rows.add(row);
+
+        size += row.size();
+
+        if (size >= maxSize)
+            spill();
+    }
+
+    /**
+     * Returns the cursor over all the added rows in the sorted order. Must be called after all the rows are added.
+     *
+     * @return Sorted rows.
+     * @throws IgniteCheckedException If failed.
+     */
+    synchronized GridCursor<CacheDataRow> sorted() throws IgniteCheckedException {
+        if (runs.isEmpty()) {
+            List<T2<Object, CacheDataRow>> sorted = sort(rows);
+
+            rows = null;
+
+            return new GridCursor<CacheDataRow>() {
+                /** Index of the current row. */
+                private int idx = -1;
+
+                /** {@inheritDoc} */
+                @Override public boolean next() {
+                    if (idx + 1 >= sorted.size())
+                        return false;
+
+                    // Release the rows already applied.
+                    if (idx >= 0)
+                        sorted.set(idx, null);
+
+                    idx++;
+
+                    return true;
+                }
+
+                /** {@inheritDoc} */
+                @Override public CacheDataRow get() {
+                    return sorted.get(idx).get2();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void close() {
+                    // No-op.
+                }
+            };
+        }
+
+        if (!rows.isEmpty())
+            spill();
+
+        rows = null;
+
+        PriorityQueue<RunReader> heads = new PriorityQueue<>(runs.size(),
+            (r1, r2) -> clo.compareSortKeys(r1.sortKey, r2.sortKey));
+
+        for (File run : runs) {
+            RunReader reader = new RunReader(run);
+
+            readers.add(reader);
+
+            if (reader.next())
+                heads.add(reader);
+        }
+
+        return new GridCursor<CacheDataRow>() {
+            /** Reader of the current row. */
+            private RunReader cur;
+
+            /** {@inheritDoc} */
+            @Override public boolean next() throws IgniteCheckedException {
+                if (cur != null && cur.next())
+                    heads.add(cur);
+
+                cur = heads.poll();
+
+                return cur != null;
+            }
+
+            /** {@inheritDoc} */
+            @Override public CacheDataRow get() {
+                return cur.row;
+            }
+
+            /** {@inheritDoc} */
+            @Override public void close() {
+                // No-op, the run files are closed together with the buffer.
+            }
+        };
+    }
+
+    /** {@inheritDoc} */
+    @Override public synchronized void close() {
+        rows = null;
+
+        for (RunReader reader : readers)
+            U.closeQuiet(reader.in);
+
+        for (File run : runs)
+            U.delete(run);
+
+        runs.clear();
+    }
+
+    /**
+     * Sorts the buffered rows and writes them to a new run file.
+     *
+     * @throws IgniteCheckedException If failed.
+     */
+    private void spill() throws IgniteCheckedException {
+        List<T2<Object, CacheDataRow>> sorted = sort(rows);
+
+        rows = new ArrayList<>();
+
+        size = 0;
+
+        File dir = U.resolveWorkDirectory(cctx.kernalContext().config().getWorkDirectory(), RUN_DIR, false);
+
+        CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+        try {
+            File run = File.createTempFile("run-" + cctx.cacheId() + '-', ".bin", dir);
+
+            runs.add(run);
+
+            try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(run), RUN_WRITE_BUF_SIZE))) {
+                for (T2<Object, CacheDataRow> row : sorted) {
+                    CacheDataRow row0 = row.get2();
+
+                    GridCacheVersion ver = row0.version();
+
+                    out.writeInt(row0.key().partition());
+                    writeObject(out, row0.key(), coCtx);
+                    writeObject(out, row0.value(), coCtx);
+                    out.writeInt(ver.topologyVersion());
+                    out.writeInt(ver.nodeOrderAndDrIdRaw());
+                    out.writeLong(ver.order());
+                    out.writeLong(row0.expireTime());
+                }
+            }
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to write the sorted rows of the index being built " +
+                "[cache=" + cctx.name() + ", dir=" + dir + ']', e);
+        }
+    }
+
+    /**
+     * @param rows Rows.
+     * @return Rows with their sort keys in the sorted order.
+     * @throws IgniteCheckedException If failed.
+     */
+    private List<T2<Object, CacheDataRow>> sort(List<CacheDataRow> rows) throws IgniteCheckedException {
+        List<T2<Object, CacheDataRow>> res = new ArrayList<>(rows.size());
+
+        for (CacheDataRow row : rows)
+            res.add(new T2<>(clo.sortKey(row), row));
+
+        if (res.size() > 1)
+            Collections.sort(res, (r1, r2) -> clo.compareSortKeys(r1.get1(), r2.get1()));
+
+        return res;
+    }
+
+    /**
+     * @param out Output.
+     * @param obj Cache object.
+     * @param coCtx Cache object context.
+     * @throws IOException If failed.
+     * @throws IgniteCheckedException If failed.
+     */
+    private static void writeObject(DataOutputStream out, CacheObject obj, CacheObjectContext coCtx)
+        throws IOException, IgniteCheckedException {
+        byte[] bytes = obj.valueBytes(coCtx);
+
+        out.writeByte(obj.cacheObjectType());
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reader of a run file.
+     */
+    private class RunReader {
+        /** Input. */
+        private final DataInputStream in;
+
+        /** Current row. */
+        private CacheDataRow row;
+
+        /** Sort key of the current row. */
+        @Nullable private Object sortKey;
+
+        /**
+         * @param run Run file.
+         * @throws IgniteCheckedException If failed.
+         */
+        private RunReader(File run) throws IgniteCheckedException {
+            try {
+                in = new DataInputStream(new BufferedInputStream(new FileInputStream(run), RUN_READ_BUF_SIZE));
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to open the sorted rows of the index being built " +
+                    "[cache=" + cctx.name() + ", file=" + run + ']', e);
+            }
+        }
+
+        /**
+         * @return {@code False} if there are no more rows in the run.
+         * @throws IgniteCheckedException If failed.
+         */
+        private boolean next() throws IgniteCheckedException {
+            CacheObjectContext coCtx = cctx.cacheObjectContext();
+
+            try {
+                int part;
+
+                try {
+                    part = in.readInt();
+                }
+                catch (EOFException ignored) {
+                    row = null;
+                    sortKey = null;
+
+                    return false;
+                }
+
+                KeyCacheObject key = cctx.cacheObjects().toKeyCacheObject(coCtx, in.readByte(), readBytes());
+
+                key.partition(part);
+
+                CacheObject val = cctx.cacheObjects().toCacheObject(coCtx, in.readByte(), readBytes());
+
+                GridCacheVersion ver = new GridCacheVersion(in.readInt(), in.readInt(), in.readLong());
+
+                row = new CacheDataRowAdapter(key, val, ver, in.readLong());
+
+                sortKey = clo.sortKey(row);
+
+                return true;
+            }
+            catch (IOException e) {
+                throw new IgniteCheckedException("Failed to read the sorted rows of the index being built " +
+                    "[cache=" + cctx.name() + ']', e);
+            }
+        }
+
+        /**
+         * @return Bytes of a cache object.
+         * @throws IOException If failed.
+         */
+        private byte[] readBytes() throws IOException {
+            byte[] bytes = new byte[in.readInt()];
+
+            in.readFully(bytes);
+
+            return bytes;
+        }
+    }
+}
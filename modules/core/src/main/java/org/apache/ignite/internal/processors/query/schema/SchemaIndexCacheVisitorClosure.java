@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.query.schema;
 
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Index closure accepting current entry state.
@@ -30,4 +31,30 @@ public interface SchemaIndexCacheVisitorClosure {
      * @throws IgniteCheckedException If failed.
      */
     public void apply(CacheDataRow row) throws IgniteCheckedException;
+
+    /**
+     * @return {@code True} if the closure is applied faster to the rows ordered by {@link #sortKey(CacheDataRow)}.
+     */
+    public default boolean sortable() {
+        return false;
+    }
+
+    /**
+     * @param row Row.
+     * @return Key to order the rows by before the closure is applied to them, e.g. the row of the index being built.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable public default Object sortKey(CacheDataRow row) throws IgniteCheckedException {
+        return null;
+    }
+
+    /**
+     * @param key1 Sort key of the first row.
+     * @param key2 Sort key of the second row.
+     * @return Negative, zero or positive value if the first row is best applied before, together with or after the
+     *      second one.
+     */
+    public default int compareSortKeys(@Nullable Object key1, @Nullable Object key2) {
+        return 0;
+    }
 }
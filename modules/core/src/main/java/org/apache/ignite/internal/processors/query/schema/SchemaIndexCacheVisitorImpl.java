@@ -19,6 +19,7 @@ package org.apache.ignite.internal.processors.query.schema;
 import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.internal.IgniteInternalFuture;
@@ -35,16 +36,22 @@ import org.apache.ignite.internal.util.typedef.internal.SB;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.internal.util.worker.GridWorker;
 import org.apache.ignite.internal.util.worker.GridWorkerFuture;
+import org.jetbrains.annotations.Nullable;
 
 import static java.util.Objects.isNull;
 import static java.util.Objects.nonNull;
 import static org.apache.ignite.IgniteSystemProperties.IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_INDEX_BUILD_SORT_BUFFER_SIZE;
 import static org.apache.ignite.IgniteSystemProperties.getBoolean;
+import static org.apache.ignite.IgniteSystemProperties.getLong;
 
 /**
  * Visitor who create/rebuild indexes in parallel by partition for a given cache.
  */
 public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
+    /** Size in bytes of the buffer sorting the rows before the closure is applied to them (not final for test). */
+    private static long sortBufSize = getLong(IGNITE_INDEX_BUILD_SORT_BUFFER_SIZE, 16 * 1024 * 1024);
+
     /** Is extra index rebuild logging enabled. */
     private final boolean collectStat = getBoolean(IGNITE_ENABLE_EXTRA_INDEX_REBUILD_LOGGING, false);
 
@@ -98,23 +105,47 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
             return;
         }
 
+        SchemaIndexCacheBuildThrottle throttle = cctx.kernalContext().query().indexBuildThrottle();
+
+        throttle.onBuildStarted();
+
         AtomicBoolean stop = new AtomicBoolean();
 
+        SchemaIndexCacheSortBuffer sortBuf = sortBufSize > 0 && clo.sortable() ?
+            new SchemaIndexCacheSortBuffer(cctx, clo, sortBufSize) : null;
+
         GridCompoundFuture<SchemaIndexCacheStat, SchemaIndexCacheStat> buildIdxCompoundFut =
             new GridCompoundFuture<>();
 
-        for (GridDhtLocalPartition locPart : locParts) {
-            GridWorkerFuture<SchemaIndexCacheStat> workerFut = new GridWorkerFuture<>();
+        GridCompoundFuture<SchemaIndexCacheStat, SchemaIndexCacheStat> partsFut =
+            sortBuf != null ? new GridCompoundFuture<>() : buildIdxCompoundFut;
 
-            GridWorker worker = new SchemaIndexCachePartitionWorker(cctx, locPart, stop, cancel, clo, workerFut);
+        for (GridDhtLocalPartition locPart : locParts)
+            startWorker(locPart, sortBuf, stop, clo, partsFut);
 
-            workerFut.setWorker(worker);
-            buildIdxCompoundFut.add(workerFut);
+        if (sortBuf != null) {
+            // The sorted rows are applied by a single worker once all the partitions are read.
+            partsFut.listen(fut -> {
+                buildIdxCompoundFut.add(fut);
 
-            cctx.kernalContext().buildIndexExecutorService().execute(worker);
+                try {
+                    if (fut.error() == null)
+                        startWorker(null, sortBuf, stop, clo, buildIdxCompoundFut);
+                }
+                finally {
+                    buildIdxCompoundFut.markInitialized();
+                }
+            });
+
+            partsFut.markInitialized();
         }
 
         buildIdxCompoundFut.listen(fut -> {
+            throttle.onBuildFinished();
+
+            if (sortBuf != null)
+                sortBuf.close();
+
             Throwable err = fut.error();
 
             if (isNull(err) && collectStat && log.isInfoEnabled()) {
@@ -125,6 +156,8 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
                     SchemaIndexCacheStat resStat = new SchemaIndexCacheStat();
 
                     compoundFut.futures().stream()
+                        .flatMap(f -> f instanceof GridCompoundFuture ?
+                            ((GridCompoundFuture<SchemaIndexCacheStat, ?>)f).futures().stream() : Stream.of(f))
                         .map(IgniteInternalFuture::result)
                         .filter(Objects::nonNull)
                         .forEach(resStat::accumulate);
@@ -140,7 +173,33 @@ public class SchemaIndexCacheVisitorImpl implements SchemaIndexCacheVisitor {
             buildIdxFut.onDone(err);
         });
 
-        buildIdxCompoundFut.markInitialized();
+        if (sortBuf == null)
+            buildIdxCompoundFut.markInitialized();
+    }
+
+    /**
+     * @param locPart Partition, {@code null} to apply the closure to the sorted rows of all the partitions.
+     * @param sortBuf Buffer sorting the rows of all the partitions, {@code null} if the rows are not sorted.
+     * @param stop Stop flag between all workers for one cache.
+     * @param clo Index closure.
+     * @param compoundFut Future to add the worker future to.
+     */
+    private void startWorker(
+        @Nullable GridDhtLocalPartition locPart,
+        @Nullable SchemaIndexCacheSortBuffer sortBuf,
+        AtomicBoolean stop,
+        SchemaIndexCacheVisitorClosure clo,
+        GridCompoundFuture<SchemaIndexCacheStat, SchemaIndexCacheStat> compoundFut
+    ) {
+        GridWorkerFuture<SchemaIndexCacheStat> workerFut = new GridWorkerFuture<>();
+
+        GridWorker worker = new SchemaIndexCachePartitionWorker(cctx, locPart, sortBuf, stop, cancel, clo,
+            workerFut);
+
+        workerFut.setWorker(worker);
+        compoundFut.add(workerFut);
+
+        cctx.kernalContext().buildIndexExecutorService().execute(worker);
     }
 
     /**
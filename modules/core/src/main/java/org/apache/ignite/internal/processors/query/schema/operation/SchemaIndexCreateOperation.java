@@ -43,6 +43,9 @@ public class SchemaIndexCreateOperation extends SchemaIndexAbstractOperation {
     /** Index creation parallelism level */
     private final int parallel;
 
+    /** Replace existing index with the same name. */
+    private final boolean replace;
+
     /**
      * Constructor.
      *
@@ -56,12 +59,30 @@ public class SchemaIndexCreateOperation extends SchemaIndexAbstractOperation {
      */
     public SchemaIndexCreateOperation(UUID opId, String cacheName, String schemaName, String tblName, QueryIndex idx,
         boolean ifNotExists, int parallel) {
+        this(opId, cacheName, schemaName, tblName, idx, ifNotExists, parallel, false);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param opId Operation id.
+     * @param cacheName Cache name.
+     * @param schemaName Schame name.
+     * @param tblName Table name.
+     * @param idx Index params.
+     * @param ifNotExists Ignore operation if index exists.
+     * @param parallel Index creation parallelism level.
+     * @param replace Replace existing index with the same name.
+     */
+    public SchemaIndexCreateOperation(UUID opId, String cacheName, String schemaName, String tblName, QueryIndex idx,
+        boolean ifNotExists, int parallel, boolean replace) {
         super(opId, cacheName, schemaName);
 
         this.tblName = tblName;
         this.idx = idx;
         this.ifNotExists = ifNotExists;
         this.parallel = parallel;
+        this.replace = replace;
     }
 
     /** {@inheritDoc} */
@@ -99,6 +120,14 @@ public class SchemaIndexCreateOperation extends SchemaIndexAbstractOperation {
         return parallel;
     }
 
+    /**
+     * @return {@code True} if the index replaces the existing index with the same name: the new index is built
+     *      while the existing one is still used and then takes its place.
+     */
+    public boolean replace() {
+        return replace;
+    }
+
     /** {@inheritDoc} */
     @Override public String toString() {
         return S.toString(SchemaIndexCreateOperation.class, this, "parent", super.toString());
@@ -37,6 +37,9 @@ public class SqlKeyword {
     /** Keyword: ALLOW_OVERWRITE */
     public static final String ALLOW_OVERWRITE = "ALLOW_OVERWRITE";
 
+    /** Keyword: ANALYZE. */
+    public static final String ANALYZE = "ANALYZE";
+
     /** Keyword: ASC. */
     public static final String ASC = "ASC";
 
@@ -136,6 +139,9 @@ public class SqlKeyword {
     /** Keyword: IF. */
     public static final String IF = "IF";
 
+    /** Keyword: INCLUDE. */
+    public static final String INCLUDE = "INCLUDE";
+
     /** Keyword: INDEX. */
     public static final String INDEX = "INDEX";
 
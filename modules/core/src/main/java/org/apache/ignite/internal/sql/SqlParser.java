@@ -17,7 +17,9 @@
 package org.apache.ignite.internal.sql;
 
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.sql.command.SqlAlterIndexCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterTableCommand;
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterUserCommand;
 import org.apache.ignite.internal.sql.command.SqlBeginTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlBulkLoadCommand;
@@ -33,6 +35,7 @@ import org.apache.ignite.internal.sql.command.SqlSetStreamingCommand;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.internal.sql.SqlKeyword.ALTER;
+import static org.apache.ignite.internal.sql.SqlKeyword.ANALYZE;
 import static org.apache.ignite.internal.sql.SqlKeyword.BEGIN;
 import static org.apache.ignite.internal.sql.SqlKeyword.COMMIT;
 import static org.apache.ignite.internal.sql.SqlKeyword.COPY;
@@ -208,6 +211,11 @@ public class SqlParser {
                         case REVOKE:
                             cmd = processRevoke();
 
+                            break;
+
+                        case ANALYZE:
+                            cmd = processAnalyze();
+
                             break;
                     }
 
@@ -224,7 +232,8 @@ public class SqlParser {
                         return cmd;
                     }
                     else
-                        throw errorUnexpectedToken(lex, BEGIN, COMMIT, CREATE, DROP, ROLLBACK, COPY, SET, ALTER, START, KILL);
+                        throw errorUnexpectedToken(lex, BEGIN, COMMIT, CREATE, DROP, ROLLBACK, COPY, SET, ALTER, START, KILL,
+                            ANALYZE);
 
                 case QUOTED:
                 case MINUS:
@@ -294,6 +303,15 @@ public class SqlParser {
         throw errorUnexpectedToken(lex, QUERY);
     }
 
+    /**
+     * Process ANALYZE keyword.
+     *
+     * @return Command.
+     */
+    private SqlCommand processAnalyze() {
+        return new SqlAnalyzeCommand().parse(lex);
+    }
+
     /**
      * Processes COPY command.
      *
@@ -407,6 +425,11 @@ public class SqlParser {
 
                     break;
 
+                case INDEX:
+                    cmd = new SqlAlterIndexCommand();
+
+                    break;
+
                 case USER:
                     cmd = new SqlAlterUserCommand();
 
@@ -417,7 +440,7 @@ public class SqlParser {
                 return cmd.parse(lex);
         }
 
-        throw errorUnexpectedToken(lex, TABLE, USER);
+        throw errorUnexpectedToken(lex, TABLE, INDEX, USER);
     }
 
     /**
@@ -34,6 +34,7 @@ import java.util.Set;
 import static org.apache.ignite.internal.sql.SqlKeyword.ASC;
 import static org.apache.ignite.internal.sql.SqlKeyword.DESC;
 import static org.apache.ignite.internal.sql.SqlKeyword.IF;
+import static org.apache.ignite.internal.sql.SqlKeyword.INCLUDE;
 import static org.apache.ignite.internal.sql.SqlKeyword.INLINE_SIZE;
 import static org.apache.ignite.internal.sql.SqlKeyword.ON;
 import static org.apache.ignite.internal.sql.SqlKeyword.PARALLEL;
@@ -76,6 +77,10 @@ public class SqlCreateIndexCommand implements SqlCommand {
     @GridToStringInclude
     private Collection<SqlIndexColumn> cols;
 
+    /** Columns which are not a part of the index key, but are stored in the index to cover queries. */
+    @GridToStringInclude
+    private Collection<SqlIndexColumn> inclCols;
+
     /** Column names. */
     @GridToStringExclude
     private Set<String> colNames;
@@ -152,6 +157,13 @@ public class SqlCreateIndexCommand implements SqlCommand {
         return cols != null ? cols : Collections.<SqlIndexColumn>emptySet();
     }
 
+    /**
+     * @return Columns from the INCLUDE clause.
+     */
+    public Collection<SqlIndexColumn> includedColumns() {
+        return inclCols != null ? inclCols : Collections.<SqlIndexColumn>emptySet();
+    }
+
     /** {@inheritDoc} */
     @Override public SqlCommand parse(SqlLexer lex) {
         ifNotExists = parseIfNotExists(lex);
@@ -167,6 +179,12 @@ public class SqlCreateIndexCommand implements SqlCommand {
 
         parseColumnList(lex);
 
+        if (matchesKeyword(lex.lookAhead(), INCLUDE)) {
+            lex.shift();
+
+            parseIncludeList(lex);
+        }
+
         parseIndexProperties(lex);
 
         return this;
@@ -201,6 +219,29 @@ public class SqlCreateIndexCommand implements SqlCommand {
         }
     }
 
+    /**
+     * @param lex Lexer.
+     */
+    private void parseIncludeList(SqlLexer lex) {
+        if (!lex.shift() || lex.tokenType() != SqlLexerTokenType.PARENTHESIS_LEFT)
+            throw errorUnexpectedToken(lex, "(");
+
+        if (inclCols == null)
+            inclCols = new LinkedList<>();
+
+        while (true) {
+            String name = parseIdentifier(lex);
+
+            if (!colNames.add(name))
+                throw error(lex, "Column already defined: " + name);
+
+            inclCols.add(new SqlIndexColumn(name, false));
+
+            if (skipCommaOrRightParenthesis(lex))
+                break;
+        }
+    }
+
     /**
      * @param lex Lexer.
      */
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.internal.IgniteInterruptedCheckedException;
+import org.apache.ignite.internal.util.typedef.internal.A;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Rate limiter which distributes the permits evenly over time.
+ * <p>
+ * The permits are not accumulated while the limiter is not used, so the rate is never exceeded by a burst
+ * after an idle period. Zero rate means the limiter doesn't restrict the callers.
+ */
+public class BasicRateLimiter {
+    /** Mutex. */
+    private final Object mux = new Object();
+
+    /** Interval between two permits in nanoseconds, zero if unlimited. */
+    private volatile double intervalNanos;
+
+    /** Time when the next permit is available. */
+    private long nextFreeNanos;
+
+    /**
+     * @param permitsPerSec Number of permits per second, zero for unlimited.
+     */
+    public BasicRateLimiter(double permitsPerSec) {
+        setRate(permitsPerSec);
+    }
+
+    /**
+     * @param permitsPerSec Number of permits per second, zero for unlimited.
+     */
+    public void setRate(double permitsPerSec) {
+        A.ensure(permitsPerSec >= 0, "permitsPerSec >= 0");
+
+        intervalNanos = permitsPerSec == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / permitsPerSec;
+    }
+
+    /**
+     * @return Number of permits per second, zero for unlimited.
+     */
+    public double getRate() {
+        double interval = intervalNanos;
+
+        return interval == 0 ? 0 : TimeUnit.SECONDS.toNanos(1) / interval;
+    }
+
+    /**
+     * @return {@code True} if the limiter doesn't restrict the callers.
+     */
+    public boolean isUnlimited() {
+        return intervalNanos == 0;
+    }
+
+    /**
+     * Acquires the given number of permits, blocking until they are available.
+     *
+     * @param permits Number of permits.
+     * @throws IgniteInterruptedCheckedException If interrupted.
+     */
+    public void acquire(int permits) throws IgniteInterruptedCheckedException {
+        double interval = intervalNanos;
+
+        if (interval == 0 || permits <= 0)
+            return;
+
+        long waitNanos;
+
+        synchronized (mux) {
+            long now = System.nanoTime();
+
+            long start = Math.max(nextFreeNanos, now);
+
+            nextFreeNanos = start + (long)(permits * interval);
+
+            waitNanos = start - now;
+        }
+
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            }
+            catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+
+                throw new IgniteInterruptedCheckedException(e);
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(BasicRateLimiter.class, this);
+    }
+}
@@ -0,0 +1,339 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.nio;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.lang.IgniteInClosure;
+import org.apache.ignite.lang.IgnitePredicate;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageFactory;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.apache.ignite.spi.communication.tcp.messages.CompressedMessage;
+import org.apache.ignite.spi.communication.tcp.messages.SerializedMessage;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.makeMessageType;
+
+/**
+ * Filter compressing the large direct messages.
+ * <p>
+ * The filter must be placed above the codec filter, so that it deals with the {@link Message} instances.
+ * An outgoing message is serialized in the caller thread and, if its size reaches the threshold, is sent as
+ * a {@link CompressedMessage} holding the deflated bytes. Otherwise the serialized bytes are passed on as
+ * a {@link SerializedMessage}, so the codec filter does not serialize the message once again. The receiving filter
+ * inflates and parses the original message before passing it to the listener. The messages are compressed only for
+ * the sessions accepted by the session predicate, i.e. when the remote node is known to have this filter installed.
+ */
+public class GridNioCompressionFilter extends GridNioFilterAdapter {
+    /** */
+    public static final String COMPRESSED_MESSAGES_METRIC_NAME = "compressedMessagesCount";
+
+    /** */
+    public static final String COMPRESSED_MESSAGES_METRIC_DESC = "Total number of messages compressed by current node";
+
+    /** */
+    public static final String COMPRESSION_BYTES_BEFORE_METRIC_NAME = "compressionBytesBefore";
+
+    /** */
+    public static final String COMPRESSION_BYTES_BEFORE_METRIC_DESC =
+        "Total size in bytes of the compressed messages before compression";
+
+    /** */
+    public static final String COMPRESSION_BYTES_AFTER_METRIC_NAME = "compressionBytesAfter";
+
+    /** */
+    public static final String COMPRESSION_BYTES_AFTER_METRIC_DESC =
+        "Total size in bytes of the compressed messages after compression";
+
+    /** Initial size of the serialization buffer. */
+    private static final int INIT_BUF_SIZE = 8 * 1024;
+
+    /** Maximum size of the serialization buffer kept by a thread, a larger buffer is released once used. */
+    private static final int MAX_BUF_SIZE = 64 * 1024;
+
+    /** Serialization buffer of the current thread. */
+    private static final ThreadLocal<ByteBuffer> SER_BUF =
+        ThreadLocal.withInitial(() -> ByteBuffer.allocate(INIT_BUF_SIZE).order(ByteOrder.LITTLE_ENDIAN));
+
+    /** Deflater of the current thread, shared by all filters. Native memory is released when the thread ends. */
+    private static final ThreadLocal<Deflater> DEFLATER = ThreadLocal.withInitial(() -> new Deflater(
+        Deflater.DEFAULT_COMPRESSION, true));
+
+    /** Minimum size of the serialized message to be compressed. */
+    private final int threshold;
+
+    /** Deflate compression level. */
+    private final int level;
+
+    /** Message writer factory. */
+    private final GridNioMessageWriterFactory writerFactory;
+
+    /** Message reader factory. */
+    private final GridNioMessageReaderFactory readerFactory;
+
+    /** Message factory. */
+    private final MessageFactory msgFactory;
+
+    /** Predicate accepting the sessions the messages can be compressed for. */
+    private final IgnitePredicate<GridNioSession> sesPred;
+
+    /** Predicate accepting the messages which can be compressed. */
+    private final IgnitePredicate<Message> msgPred;
+
+    /** Compressed messages counter. */
+    @Nullable private final LongAdderMetric compressedMsgs;
+
+    /** Size of the compressed messages before compression. */
+    @Nullable private final LongAdderMetric bytesBefore;
+
+    /** Size of the compressed messages after compression. */
+    @Nullable private final LongAdderMetric bytesAfter;
+
+    /**
+     * @param threshold Minimum size of the serialized message to be compressed.
+     * @param level Deflate compression level.
+     * @param writerFactory Message writer factory.
+     * @param readerFactory Message reader factory.
+     * @param msgFactory Message factory.
+     * @param sesPred Predicate accepting the sessions the messages can be compressed for.
+     * @param msgPred Predicate accepting the messages which can be compressed.
+     * @param mreg Metric registry.
+     */
+    public GridNioCompressionFilter(
+        int threshold,
+        int level,
+        GridNioMessageWriterFactory writerFactory,
+        GridNioMessageReaderFactory readerFactory,
+        MessageFactory msgFactory,
+        IgnitePredicate<GridNioSession> sesPred,
+        IgnitePredicate<Message> msgPred,
+        @Nullable MetricRegistry mreg
+    ) {
+        super("GridNioCompressionFilter");
+
+        this.threshold = threshold;
+        this.level = level;
+        this.writerFactory = writerFactory;
+        this.readerFactory = readerFactory;
+        this.msgFactory = msgFactory;
+        this.sesPred = sesPred;
+        this.msgPred = msgPred;
+
+        if (mreg != null) {
+            compressedMsgs = mreg.longAdderMetric(COMPRESSED_MESSAGES_METRIC_NAME, COMPRESSED_MESSAGES_METRIC_DESC);
+            bytesBefore = mreg.longAdderMetric(COMPRESSION_BYTES_BEFORE_METRIC_NAME,
+                COMPRESSION_BYTES_BEFORE_METRIC_DESC);
+            bytesAfter = mreg.longAdderMetric(COMPRESSION_BYTES_AFTER_METRIC_NAME,
+                COMPRESSION_BYTES_AFTER_METRIC_DESC);
+        }
+        else {
+            compressedMsgs = null;
+            bytesBefore = null;
+            bytesAfter = null;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionOpened(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionOpened(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionClosed(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionClosed(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onExceptionCaught(
+        GridNioSession ses,
+        IgniteCheckedException ex
+    ) throws IgniteCheckedException {
+        proceedExceptionCaught(ses, ex);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<?> onSessionWrite(
+        GridNioSession ses,
+        Object msg,
+        boolean fut,
+        IgniteInClosure<IgniteException> ackC
+    ) throws IgniteCheckedException {
+        if (msg instanceof Message && msgPred.apply((Message)msg) && sesPred.apply(ses))
+            msg = compress(ses, (Message)msg);
+
+        return proceedSessionWrite(ses, msg, fut, ackC);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onMessageReceived(GridNioSession ses, Object msg) throws IgniteCheckedException {
+        if (msg instanceof CompressedMessage)
+            msg = decompress(ses, (CompressedMessage)msg);
+
+        proceedMessageReceived(ses, msg);
+    }
+
+    /** {@inheritDoc} */
+    @Override public GridNioFuture<Boolean> onSessionClose(GridNioSession ses) throws IgniteCheckedException {
+        return proceedSessionClose(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionIdleTimeout(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionIdleTimeout(ses);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onSessionWriteTimeout(GridNioSession ses) throws IgniteCheckedException {
+        proceedSessionWriteTimeout(ses);
+    }
+
+    /**
+     * @param ses Session.
+     * @param msg Message.
+     * @return Compressed message, serialized message if it is small or is not compressible, or the original one
+     *      if the session has no message writer.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Message compress(GridNioSession ses, Message msg) throws IgniteCheckedException {
+        MessageWriter writer = writerFactory.writer(ses);
+
+        if (writer == null)
+            return msg;
+
+        writer.setCurrentWriteClass(msg.getClass());
+
+        ByteBuffer buf = SER_BUF.get();
+
+        try {
+            buf.clear();
+
+            while (!msg.writeTo(buf, writer)) {
+                // Message doesn't fit, continue writing to a larger buffer.
+                ByteBuffer newBuf = ByteBuffer.allocate(buf.capacity() * 2).order(ByteOrder.LITTLE_ENDIAN);
+
+                buf.flip();
+
+                newBuf.put(buf);
+
+                SER_BUF.set(buf = newBuf);
+            }
+
+            int rawSize = buf.position();
+
+            if (rawSize < threshold)
+                return new SerializedMessage(msg, Arrays.copyOf(buf.array(), rawSize));
+
+            Deflater deflater = DEFLATER.get();
+
+            deflater.reset();
+            deflater.setLevel(level);
+            deflater.setInput(buf.array(), buf.arrayOffset(), rawSize);
+            deflater.finish();
+
+            byte[] out = new byte[rawSize];
+
+            int size = 0;
+
+            while (!deflater.finished() && size < out.length)
+                size += deflater.deflate(out, size, out.length - size);
+
+            // Not compressible enough.
+            if (!deflater.finished())
+                return new SerializedMessage(msg, Arrays.copyOf(buf.array(), rawSize));
+
+            if (compressedMsgs != null) {
+                compressedMsgs.increment();
+                bytesBefore.add(rawSize);
+                bytesAfter.add(size);
+            }
+
+            return new CompressedMessage(msg, rawSize, Arrays.copyOf(out, size));
+        }
+        finally {
+            // Don't keep the buffer grown by a rare large message.
+            if (buf.capacity() > MAX_BUF_SIZE)
+                SER_BUF.remove();
+        }
+    }
+
+    /**
+     * @param ses Session.
+     * @param msg Compressed message.
+     * @return Original message.
+     * @throws IgniteCheckedException If failed.
+     */
+    private Message decompress(GridNioSession ses, CompressedMessage msg) throws IgniteCheckedException {
+        byte[] raw = new byte[msg.rawSize()];
+
+        Inflater inflater = new Inflater(true);
+
+        try {
+            inflater.setInput(msg.data());
+
+            int size = 0;
+
+            while (size < raw.length) {
+                int cnt = inflater.inflate(raw, size, raw.length - size);
+
+                if (cnt == 0 && (inflater.finished() || inflater.needsInput()))
+                    break;
+
+                size += cnt;
+            }
+
+            if (size != raw.length)
+                throw new IgniteCheckedException("Failed to decompress message [expSize=" + raw.length +
+                    ", size=" + size + ']');
+        }
+        catch (DataFormatException e) {
+            throw new IgniteCheckedException("Failed to decompress message.", e);
+        }
+        finally {
+            inflater.end();
+        }
+
+        ByteBuffer buf = ByteBuffer.wrap(raw).order(ByteOrder.LITTLE_ENDIAN);
+
+        if (buf.remaining() < Message.DIRECT_TYPE_SIZE)
+            throw new IgniteCheckedException("Failed to read compressed message, no message type.");
+
+        byte b0 = buf.get();
+        byte b1 = buf.get();
+
+        Message res = msgFactory.create(makeMessageType(b0, b1));
+
+        MessageReader reader = readerFactory.reader(ses, msgFactory);
+
+        if (reader != null)
+            reader.setCurrentReadClass(res.getClass());
+
+        if (!res.readFrom(buf, reader))
+            throw new IgniteCheckedException("Failed to read compressed message, message is incomplete: " + res);
+
+        return res;
+    }
+}
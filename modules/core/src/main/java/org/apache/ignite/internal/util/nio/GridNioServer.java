@@ -20,8 +20,8 @@ import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.InetAddress;
 import java.net.InetSocketAddress;
-import java.net.Socket;
 import java.net.SocketAddress;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.ClosedByInterruptException;
@@ -34,6 +34,9 @@ import java.nio.channels.ServerSocketChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.channels.WritableByteChannel;
 import java.nio.channels.spi.SelectorProvider;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
@@ -46,7 +49,9 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
 import java.util.stream.Collectors;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
@@ -160,6 +165,28 @@ public class GridNioServer<T> {
     /** */
     public static final String SENT_BYTES_METRIC_DESC = "Total number of bytes sent by current node";
 
+    /** */
+    public static final String SOCKET_WRITES_METRIC_NAME = "socketWritesCount";
+
+    /** */
+    public static final String SOCKET_WRITES_METRIC_DESC = "Total number of socket write operations done by current node";
+
+    /** */
+    public static final String COALESCED_WRITES_METRIC_NAME = "coalescedWritesCount";
+
+    /** */
+    public static final String COALESCED_WRITES_METRIC_DESC =
+        "Total number of socket writes postponed to coalesce them with the following outgoing messages";
+
+    /**
+     * Session is considered busy and its writes are coalesced if the previous write was done not earlier than
+     * this number of coalescing delays ago.
+     */
+    private static final int WRITE_COALESCING_BUSY_FACTOR = 16;
+
+    /** Maximum timeout of the blocking select in nanoseconds. */
+    private static final long MAX_SELECT_TIMEOUT = TimeUnit.SECONDS.toNanos(2);
+
     /**
      *
      */
@@ -235,6 +262,9 @@ public class GridNioServer<T> {
     /** Local address. */
     private final InetSocketAddress locAddr;
 
+    /** Unix domain socket file path, {@code null} if server doesn't accept unix domain socket connections. */
+    @Nullable private final String udsPath;
+
     /** Order. */
     private final ByteOrder order;
 
@@ -256,6 +286,14 @@ public class GridNioServer<T> {
     /** Outbound messages queue size. */
     @Nullable private final LongAdderMetric outboundMessagesQueueSizeMetric;
 
+    /** Socket writes count metric. */
+    @Nullable private final LongAdderMetric socketWritesCntMetric;
+
+    /** Coalesced writes count metric. */
+    @Nullable private final LongAdderMetric coalescedWritesCntMetric;
+
+    /** Maximum delay in nanoseconds of a socket write to coalesce it with the following messages. */
+    private volatile long writeCoalescingDelay;
 
     /** Sessions. */
     private final GridConcurrentHashSet<GridSelectorNioSessionImpl> sessions = new GridConcurrentHashSet<>();
@@ -317,6 +355,8 @@ public class GridNioServer<T> {
      * @param readWriteSelectorsAssign If {@code true} then in/out connections are assigned to even/odd workers.
      * @param workerLsnr Worker lifecycle listener.
      * @param mreg Metrics registry.
+     * @param tracing Tracing processor.
+     * @param udsPath Unix domain socket file path to accept connections on, in addition to the TCP port.
      * @param filters Filters for this server.
      * @throws IgniteCheckedException If failed.
      */
@@ -344,6 +384,7 @@ public class GridNioServer<T> {
         @Nullable GridWorkerListener workerLsnr,
         @Nullable MetricRegistry mreg,
         Tracing tracing,
+        @Nullable String udsPath,
         GridNioFilter... filters
     ) throws IgniteCheckedException {
         if (port != -1)
@@ -371,6 +412,7 @@ public class GridNioServer<T> {
         this.readWriteSelectorsAssign = readWriteSelectorsAssign;
         this.lsnr = lsnr;
         this.tracing = tracing == null ? new NoopTracing() : tracing;
+        this.udsPath = port != -1 && GridNioUnixDomainSockets.supported() ? udsPath : null;
 
         filterChain = new GridNioFilterChain<>(log, lsnr, new HeadFilter(), filters);
 
@@ -389,7 +431,7 @@ public class GridNioServer<T> {
             locAddr = new InetSocketAddress(addr, port);
 
             // This method will throw exception if address already in use.
-            Selector acceptSelector = createSelector(locAddr);
+            Selector acceptSelector = createAcceptSelector();
 
             String threadName;
 
@@ -462,6 +504,12 @@ public class GridNioServer<T> {
             OUTBOUND_MESSAGES_QUEUE_SIZE_METRIC_NAME,
             OUTBOUND_MESSAGES_QUEUE_SIZE_METRIC_DESC
         );
+
+        socketWritesCntMetric = mreg == null ?
+            null : mreg.longAdderMetric(SOCKET_WRITES_METRIC_NAME, SOCKET_WRITES_METRIC_DESC);
+
+        coalescedWritesCntMetric = mreg == null ?
+            null : mreg.longAdderMetric(COALESCED_WRITES_METRIC_NAME, COALESCED_WRITES_METRIC_DESC);
     }
 
     /**
@@ -518,6 +566,15 @@ public class GridNioServer<T> {
             U.cancel(acceptWorker);
             U.join(acceptWorker, log);
 
+            if (udsPath != null) {
+                try {
+                    Files.deleteIfExists(Paths.get(udsPath));
+                }
+                catch (IOException e) {
+                    U.warn(log, "Failed to delete unix domain socket file: " + udsPath, e);
+                }
+            }
+
             U.cancel(clientWorkers);
             U.join(clientWorkers, log);
 
@@ -537,6 +594,14 @@ public class GridNioServer<T> {
         return locAddr;
     }
 
+    /**
+     * @return Unix domain socket file path the server accepts connections on, {@code null} if server doesn't
+     *      accept unix domain socket connections.
+     */
+    @Nullable public String unixDomainSocketPath() {
+        return udsPath;
+    }
+
     /**
      * @return Selector spins.
      */
@@ -984,6 +1049,29 @@ public class GridNioServer<T> {
         this.writeTimeout = writeTimeout;
     }
 
+    /**
+     * Gets maximum delay of a socket write to coalesce it with the following messages, {@code 0} if writes are
+     * never postponed.
+     *
+     * @return Write coalescing delay in nanoseconds.
+     */
+    public long writeCoalescingDelay() {
+        return writeCoalescingDelay;
+    }
+
+    /**
+     * Sets maximum delay of a socket write to coalesce it with the following messages. Only the writes of the busy
+     * sessions in direct mode without SSL are postponed, and only if the write buffer is less than half full.
+     * <p>
+     * Each postponed write costs an extra selector wake up. Deadlines closer than a millisecond are awaited by parking
+     * the selector thread, which doesn't handle network events meanwhile.
+     *
+     * @param writeCoalescingDelay Write coalescing delay in nanoseconds, {@code 0} to disable coalescing.
+     */
+    public void writeCoalescingDelay(long writeCoalescingDelay) {
+        this.writeCoalescingDelay = writeCoalescingDelay;
+    }
+
     /**
      * Gets configurable idle timeout for this session. If not set, default value is
      * {@link ConnectorConfiguration#DFLT_IDLE_TIMEOUT}.
@@ -1050,6 +1138,48 @@ public class GridNioServer<T> {
         }
     }
 
+    /**
+     * Creates acceptor selector listening on the TCP address and the unix domain socket, if configured.
+     *
+     * @return Created selector.
+     * @throws IgniteCheckedException If selector could not be created or address is already in use.
+     */
+    private Selector createAcceptSelector() throws IgniteCheckedException {
+        Selector selector = createSelector(locAddr);
+
+        if (udsPath == null)
+            return selector;
+
+        ServerSocketChannel srvrCh = null;
+
+        try {
+            // Socket file is unique for the node, if it exists it is left by a crashed node with the same ID.
+            Files.deleteIfExists(Paths.get(udsPath));
+
+            srvrCh = GridNioUnixDomainSockets.openServerChannel();
+
+            srvrCh.configureBlocking(false);
+
+            srvrCh.bind(GridNioUnixDomainSockets.address(udsPath));
+
+            srvrCh.register(selector, SelectionKey.OP_ACCEPT);
+
+            return selector;
+        }
+        catch (Throwable e) {
+            for (SelectionKey key : selector.keys())
+                U.close(key.channel(), log);
+
+            U.close(srvrCh, log);
+            U.close(selector, log);
+
+            if (e instanceof Error)
+                throw (Error)e;
+
+            throw new IgniteCheckedException("Failed to bind unix domain socket: " + udsPath, e);
+        }
+    }
+
     /**
      * @param req Request to balance.
      * @param meta Session metadata.
@@ -1254,8 +1384,10 @@ public class GridNioServer<T> {
                         if (log.isTraceEnabled())
                             log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
 
-                    if (sentBytesCntMetric != null)
+                    if (sentBytesCntMetric != null) {
                         sentBytesCntMetric.add(cnt);
+                        socketWritesCntMetric.increment();
+                    }
 
                         ses.bytesSent(cnt);
                     }
@@ -1437,8 +1569,10 @@ public class GridNioServer<T> {
                 if (sslNetBuf != null) {
                     int cnt = sockCh.write(sslNetBuf);
 
-                    if (sentBytesCntMetric != null)
+                    if (sentBytesCntMetric != null) {
                         sentBytesCntMetric.add(cnt);
+                        socketWritesCntMetric.increment();
+                    }
 
                     ses.bytesSent(cnt);
 
@@ -1525,8 +1659,10 @@ public class GridNioServer<T> {
                         if (log.isTraceEnabled())
                             log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
 
-                        if (sentBytesCntMetric != null)
+                        if (sentBytesCntMetric != null) {
                             sentBytesCntMetric.add(cnt);
+                            socketWritesCntMetric.increment();
+                        }
 
                         ses.bytesSent(cnt);
                     }
@@ -1621,8 +1757,10 @@ public class GridNioServer<T> {
             while ((buf = queue.peek()) != null) {
                 int cnt = sockCh.write(buf);
 
-                if (sentBytesCntMetric != null)
+                if (sentBytesCntMetric != null) {
                     sentBytesCntMetric.add(cnt);
+                    socketWritesCntMetric.increment();
+                }
 
                 ses.bytesSent(cnt);
 
@@ -1711,6 +1849,12 @@ public class GridNioServer<T> {
                 finished = writeToBuffer(ses, buf, req, writer);
             }
 
+            long coalescingDelay = writeCoalescingDelay;
+
+            // Queue is drained, wait for the following messages instead of writing a small chunk.
+            if (req == null && coalescingDelay > 0 && postponeWrite(key, ses, buf, coalescingDelay))
+                return;
+
             buf.flip();
 
             assert buf.hasRemaining();
@@ -1721,8 +1865,10 @@ public class GridNioServer<T> {
                 if (log.isTraceEnabled())
                     log.trace("Bytes sent [sockCh=" + sockCh + ", cnt=" + cnt + ']');
 
-                if (sentBytesCntMetric != null)
+                if (sentBytesCntMetric != null) {
                     sentBytesCntMetric.add(cnt);
+                    socketWritesCntMetric.increment();
+                }
 
                 ses.bytesSent(cnt);
                 onWrite(cnt);
@@ -1737,6 +1883,17 @@ public class GridNioServer<T> {
                 }
             }
 
+            if (coalescingDelay > 0) {
+                long now = System.nanoTime();
+
+                // Postponed write is done before the deadline, e.g. the buffer got half full.
+                if (ses.coalescingDeadline != 0 && now - ses.coalescingDeadline < 0)
+                    cancelPostponedWrite(ses);
+
+                ses.lastWriteTime = now;
+                ses.coalescingDeadline = 0;
+            }
+
             if (buf.hasRemaining() || !finished) {
                 buf.compact();
 
@@ -1746,6 +1903,51 @@ public class GridNioServer<T> {
                 buf.clear();
         }
 
+        /**
+         * Checks whether the write of the serialized messages should be postponed to coalesce it with the following
+         * messages. The session stops polling for write until the deadline, while it keeps the write processing flag,
+         * so the messages offered to it meanwhile don't wake the selector up.
+         *
+         * @param key Key.
+         * @param ses Session.
+         * @param buf Write buffer.
+         * @param delay Write coalescing delay in nanoseconds.
+         * @return {@code True} if the write should be postponed.
+         */
+        private boolean postponeWrite(SelectionKey key, GridSelectorNioSessionImpl ses, ByteBuffer buf, long delay) {
+            // Enough data is collected.
+            if (buf.position() >= buf.capacity() / 2)
+                return false;
+
+            long now = System.nanoTime();
+
+            long deadline = ses.coalescingDeadline;
+
+            if (deadline == 0) {
+                // Don't delay the writes of idle sessions, they are not going to be coalesced anyway.
+                if (ses.lastWriteTime == 0 || now - ses.lastWriteTime > delay * WRITE_COALESCING_BUSY_FACTOR)
+                    return false;
+
+                ses.coalescingDeadline = now + delay;
+
+                if (coalescedWritesCntMetric != null)
+                    coalescedWritesCntMetric.increment();
+
+                schedulePostponedWrite(key, ses);
+
+                return true;
+            }
+
+            if (now - deadline >= 0)
+                return false;
+
+            // Session was registered for write before the deadline, it is still in the postponed writes queue.
+            if ((key.interestOps() & SelectionKey.OP_WRITE) != 0)
+                key.interestOps(key.interestOps() & (~SelectionKey.OP_WRITE));
+
+            return true;
+        }
+
         /**
          * @param writer Customizer of writing.
          * @param buf Buffer to write.
@@ -1851,6 +2053,13 @@ public class GridNioServer<T> {
         /** {@code True} if worker has called or is about to call {@code Selector.select()}. */
         private volatile boolean select;
 
+        /**
+         * Sessions which writes are postponed to coalesce them with the following messages, ordered by the deadline.
+         * Accessed by the selector thread only.
+         */
+        @GridToStringExclude
+        private final Deque<GridSelectorNioSessionImpl> postponedWrites = new ArrayDeque<>();
+
         /**
          * @param idx Index of this worker in server's array.
          * @param igniteInstanceName Ignite instance name.
@@ -2119,6 +2328,13 @@ public class GridNioServer<T> {
                                     assert f.movedSocketChannel() == null : f;
 
                                     if (workerSessions.remove(ses)) {
+                                        // The new worker does the postponed write right after the session is moved.
+                                        if (ses.coalescingDeadline != 0) {
+                                            cancelPostponedWrite(ses);
+
+                                            ses.coalescingDeadline = 0;
+                                        }
+
                                         ses.startMoveSession(this);
 
                                         SelectionKey key = ses.key();
@@ -2215,6 +2431,8 @@ public class GridNioServer<T> {
                         }
                     }
 
+                    long selectTimeoutNanos = flushPostponedWrites();
+
                     int res = 0;
 
                     for (long i = 0; i < selectorSpins && res == 0; i++) {
@@ -2255,8 +2473,20 @@ public class GridNioServer<T> {
 
                         updateHeartbeat();
 
-                        // Wake up every 2 seconds to check if closed.
-                        if (selector.select(2000) > 0) {
+                        int readyCnt;
+
+                        // Wake up every 2 seconds to check if closed, or to do the postponed writes.
+                        if (selectTimeoutNanos >= TimeUnit.MILLISECONDS.toNanos(1))
+                            readyCnt = selector.select(TimeUnit.NANOSECONDS.toMillis(selectTimeoutNanos));
+                        else {
+                            // Blocking select can't wait for less than a millisecond, park until the deadline
+                            // instead of spinning over the selector.
+                            LockSupport.parkNanos(selectTimeoutNanos);
+
+                            readyCnt = selector.selectNow();
+                        }
+
+                        if (readyCnt > 0) {
                             // Walk through the ready keys collection and process network events.
                             if (selectedKeys == null)
                                 processSelectedKeys(selector.selectedKeys());
@@ -2313,6 +2543,54 @@ public class GridNioServer<T> {
             }
         }
 
+        /**
+         * Stops polling the session for write until its write coalescing deadline.
+         *
+         * @param key Key.
+         * @param ses Session.
+         */
+        protected final void schedulePostponedWrite(SelectionKey key, GridSelectorNioSessionImpl ses) {
+            assert ses.coalescingDeadline != 0;
+
+            if ((key.interestOps() & SelectionKey.OP_WRITE) != 0)
+                key.interestOps(key.interestOps() & (~SelectionKey.OP_WRITE));
+
+            postponedWrites.add(ses);
+        }
+
+        /**
+         * Removes the session from the postponed writes queue.
+         *
+         * @param ses Session.
+         */
+        protected final void cancelPostponedWrite(GridSelectorNioSessionImpl ses) {
+            postponedWrites.remove(ses);
+        }
+
+        /**
+         * Registers for write the sessions which write coalescing deadline has come.
+         *
+         * @return Time in nanoseconds until the next deadline, but not more than 2 seconds.
+         */
+        private long flushPostponedWrites() {
+            GridSelectorNioSessionImpl ses;
+
+            while ((ses = postponedWrites.peek()) != null) {
+                long wait = ses.coalescingDeadline - System.nanoTime();
+
+                // Delay is the same for all the sessions, so the following deadlines are not earlier.
+                if (ses.coalescingDeadline != 0 && wait > 0)
+                    return Math.min(MAX_SELECT_TIMEOUT, wait);
+
+                postponedWrites.poll();
+
+                if (ses.coalescingDeadline != 0 && !ses.closed())
+                    registerWrite(ses);
+            }
+
+            return MAX_SELECT_TIMEOUT;
+        }
+
         /**
          * @param ses Session.
          */
@@ -2649,17 +2927,17 @@ public class GridNioServer<T> {
 
             assert sockCh != null;
 
-            Socket sock = sockCh.socket();
-
             try {
                 ByteBuffer writeBuf = null;
                 ByteBuffer readBuf = null;
 
                 if (directMode) {
-                    writeBuf = directBuf ? ByteBuffer.allocateDirect(sock.getSendBufferSize()) :
-                        ByteBuffer.allocate(sock.getSendBufferSize());
-                    readBuf = directBuf ? ByteBuffer.allocateDirect(sock.getReceiveBufferSize()) :
-                        ByteBuffer.allocate(sock.getReceiveBufferSize());
+                    // Socket options are used instead of the socket since unix domain socket channels have no socket.
+                    int sndBufSize = sockCh.getOption(StandardSocketOptions.SO_SNDBUF);
+                    int rcvBufSize = sockCh.getOption(StandardSocketOptions.SO_RCVBUF);
+
+                    writeBuf = directBuf ? ByteBuffer.allocateDirect(sndBufSize) : ByteBuffer.allocate(sndBufSize);
+                    readBuf = directBuf ? ByteBuffer.allocateDirect(rcvBufSize) : ByteBuffer.allocate(rcvBufSize);
 
                     writeBuf.order(order);
                     readBuf.order(order);
@@ -2669,8 +2947,8 @@ public class GridNioServer<T> {
                     log,
                     this,
                     filterChain,
-                    (InetSocketAddress)sockCh.getLocalAddress(),
-                    (InetSocketAddress)sockCh.getRemoteAddress(),
+                    GridNioUnixDomainSockets.sessionAddress(sockCh.getLocalAddress()),
+                    GridNioUnixDomainSockets.sessionAddress(sockCh.getRemoteAddress()),
                     fut.accepted(),
                     sndQueueLimit,
                     mreg,
@@ -2739,7 +3017,7 @@ public class GridNioServer<T> {
             }
             catch (ClosedChannelException e) {
                 U.warn(log, "Failed to register accepted socket channel to selector (channel was closed): "
-                    + sock.getRemoteSocketAddress(), e);
+                    + sockCh, e);
             }
             catch (IOException e) {
                 U.error(log, "Failed to get socket addresses.", e);
@@ -2751,18 +3029,18 @@ public class GridNioServer<T> {
          */
         private void closeKey(SelectionKey key) {
             // Shutdown input and output so that remote client will see correct socket close.
-            Socket sock = ((SocketChannel)key.channel()).socket();
+            SocketChannel sockCh = (SocketChannel)key.channel();
 
             try {
                 try {
-                    sock.shutdownInput();
+                    sockCh.shutdownInput();
                 }
                 catch (IOException ignored) {
                     // No-op.
                 }
 
                 try {
-                    sock.shutdownOutput();
+                    sockCh.shutdownOutput();
                 }
                 catch (IOException ignored) {
                     // No-op.
@@ -2770,7 +3048,7 @@ public class GridNioServer<T> {
             }
             finally {
                 U.close(key, log);
-                U.close(sock, log);
+                U.close(sockCh, log);
             }
         }
 
@@ -2989,7 +3267,7 @@ public class GridNioServer<T> {
                 while (!closed && !isCancelled()) {
                     try {
                         if (reset)
-                            selector = createSelector(locAddr);
+                            selector = createAcceptSelector();
 
                         accept();
                     }
@@ -3118,17 +3396,27 @@ public class GridNioServer<T> {
                     SocketChannel sockCh = srvrCh.accept();
 
                     sockCh.configureBlocking(false);
-                    sockCh.socket().setTcpNoDelay(tcpNoDelay);
-                    sockCh.socket().setKeepAlive(true);
 
-                    if (sockSndBuf > 0)
-                        sockCh.socket().setSendBufferSize(sockSndBuf);
+                    if (GridNioUnixDomainSockets.isUnixDomain(sockCh)) {
+                        if (sockSndBuf > 0)
+                            sockCh.setOption(StandardSocketOptions.SO_SNDBUF, sockSndBuf);
+
+                        if (sockRcvBuf > 0)
+                            sockCh.setOption(StandardSocketOptions.SO_RCVBUF, sockRcvBuf);
+                    }
+                    else {
+                        sockCh.socket().setTcpNoDelay(tcpNoDelay);
+                        sockCh.socket().setKeepAlive(true);
 
-                    if (sockRcvBuf > 0)
-                        sockCh.socket().setReceiveBufferSize(sockRcvBuf);
+                        if (sockSndBuf > 0)
+                            sockCh.socket().setSendBufferSize(sockSndBuf);
+
+                        if (sockRcvBuf > 0)
+                            sockCh.socket().setReceiveBufferSize(sockRcvBuf);
+                    }
 
                     if (log.isDebugEnabled())
-                        log.debug("Accepted new client connection: " + sockCh.socket().getRemoteSocketAddress());
+                        log.debug("Accepted new client connection: " + sockCh.getRemoteAddress());
 
                     addRegistrationRequest(sockCh);
                 }
@@ -3783,6 +4071,12 @@ public class GridNioServer<T> {
         /** Write timeout. */
         private long writeTimeout = -1;
 
+        /** Write coalescing delay. */
+        private long writeCoalescingDelay;
+
+        /** Unix domain socket file path. */
+        private String udsPath;
+
         /** Daemon flag. */
         private boolean daemon;
 
@@ -3843,6 +4137,7 @@ public class GridNioServer<T> {
                 workerLsnr,
                 mreg,
                 tracing,
+                udsPath,
                 filters != null ? Arrays.copyOf(filters, filters.length) : EMPTY_FILTERS
             );
 
@@ -3852,6 +4147,9 @@ public class GridNioServer<T> {
             if (writeTimeout >= 0)
                 ret.writeTimeout(writeTimeout);
 
+            if (writeCoalescingDelay > 0)
+                ret.writeCoalescingDelay(writeCoalescingDelay);
+
             return ret;
         }
 
@@ -4058,6 +4356,28 @@ public class GridNioServer<T> {
             return this;
         }
 
+        /**
+         * @param writeCoalescingDelay Maximum delay in nanoseconds of a socket write to coalesce it with the
+         *      following messages. Default is {@code 0}, writes are never postponed.
+         * @return This for chaining.
+         */
+        public Builder<T> writeCoalescingDelay(long writeCoalescingDelay) {
+            this.writeCoalescingDelay = writeCoalescingDelay;
+
+            return this;
+        }
+
+        /**
+         * @param udsPath Unix domain socket file path to accept connections on, in addition to the TCP port.
+         *      Ignored if current Java runtime doesn't support unix domain sockets.
+         * @return This for chaining.
+         */
+        public Builder<T> unixDomainSocketPath(@Nullable String udsPath) {
+            this.udsPath = udsPath;
+
+            return this;
+        }
+
         /**
          * @param daemon Daemon flag to create threads.
          * @return This for chaining.
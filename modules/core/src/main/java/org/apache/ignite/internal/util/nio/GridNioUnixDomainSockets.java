@@ -0,0 +1,177 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util.nio;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ProtocolFamily;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.nio.channels.NetworkChannel;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Unix domain socket channels support.
+ * <p>
+ * Unix domain socket channels are available starting with Java 16 only, so the corresponding API is accessed
+ * by reflection. On the older runtimes {@link #supported()} returns {@code false}.
+ * <p>
+ * Note that the unix domain socket channels don't support {@link SocketChannel#socket()} and TCP-specific
+ * socket options.
+ */
+public final class GridNioUnixDomainSockets {
+    /** Unix protocol family. */
+    @Nullable private static final ProtocolFamily UNIX;
+
+    /** Unix domain socket address class. */
+    @Nullable private static final Class<?> ADDR_CLS;
+
+    /** {@code UnixDomainSocketAddress.of(String)} method. */
+    @Nullable private static final Method ADDR_OF;
+
+    /** {@code SocketChannel.open(ProtocolFamily)} method. */
+    @Nullable private static final Method OPEN_CHANNEL;
+
+    /** {@code ServerSocketChannel.open(ProtocolFamily)} method. */
+    @Nullable private static final Method OPEN_SRV_CHANNEL;
+
+    /** Address used for the sessions of the unix domain socket channels. */
+    private static final InetSocketAddress LOOPBACK_ADDR = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+
+    static {
+        ProtocolFamily unix = null;
+        Class<?> addrCls = null;
+        Method addrOf = null;
+        Method openCh = null;
+        Method openSrvCh = null;
+
+        try {
+            unix = StandardProtocolFamily.valueOf("UNIX");
+            addrCls = Class.forName("java.net.UnixDomainSocketAddress");
+            addrOf = addrCls.getMethod("of", String.class);
+            openCh = SocketChannel.class.getMethod("open", ProtocolFamily.class);
+            openSrvCh = ServerSocketChannel.class.getMethod("open", ProtocolFamily.class);
+        }
+        catch (IllegalArgumentException | ReflectiveOperationException ignored) {
+            unix = null;
+        }
+
+        UNIX = unix;
+        ADDR_CLS = unix != null ? addrCls : null;
+        ADDR_OF = unix != null ? addrOf : null;
+        OPEN_CHANNEL = unix != null ? openCh : null;
+        OPEN_SRV_CHANNEL = unix != null ? openSrvCh : null;
+    }
+
+    /**
+     * Ensure singleton.
+     */
+    private GridNioUnixDomainSockets() {
+        // No-op.
+    }
+
+    /**
+     * @return {@code True} if the current runtime supports unix domain socket channels.
+     */
+    public static boolean supported() {
+        return UNIX != null;
+    }
+
+    /**
+     * @param path Socket file path.
+     * @return Unix domain socket address.
+     * @throws IOException If unix domain sockets are not supported or the path is invalid.
+     */
+    public static SocketAddress address(String path) throws IOException {
+        return (SocketAddress)invoke(ADDR_OF, null, path);
+    }
+
+    /**
+     * @return New unix domain socket channel.
+     * @throws IOException If failed.
+     */
+    public static SocketChannel openChannel() throws IOException {
+        return (SocketChannel)invoke(OPEN_CHANNEL, null, UNIX);
+    }
+
+    /**
+     * @return New unix domain server socket channel.
+     * @throws IOException If failed.
+     */
+    public static ServerSocketChannel openServerChannel() throws IOException {
+        return (ServerSocketChannel)invoke(OPEN_SRV_CHANNEL, null, UNIX);
+    }
+
+    /**
+     * @param ch Channel.
+     * @return {@code True} if the channel is a unix domain socket channel.
+     */
+    public static boolean isUnixDomain(NetworkChannel ch) {
+        if (ADDR_CLS == null)
+            return false;
+
+        try {
+            return ADDR_CLS.isInstance(ch.getLocalAddress());
+        }
+        catch (IOException ignored) {
+            return false;
+        }
+    }
+
+    /**
+     * Gets address to be used as a local or remote address of the session. Unix domain socket channels
+     * don't have IP addresses, loopback address is used for them.
+     *
+     * @param addr Channel address.
+     * @return Session address.
+     */
+    public static InetSocketAddress sessionAddress(SocketAddress addr) {
+        return addr instanceof InetSocketAddress ? (InetSocketAddress)addr : LOOPBACK_ADDR;
+    }
+
+    /**
+     * @param mtd Method.
+     * @param target Target object.
+     * @param arg Argument.
+     * @return Result.
+     * @throws IOException If failed.
+     */
+    private static Object invoke(@Nullable Method mtd, @Nullable Object target, Object arg) throws IOException {
+        if (mtd == null)
+            throw new IOException("Unix domain sockets are not supported by current Java runtime.");
+
+        try {
+            return mtd.invoke(target, arg);
+        }
+        catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+
+            if (cause instanceof IOException)
+                throw (IOException)cause;
+
+            throw new IOException("Failed to invoke unix domain socket method: " + mtd.getName(), cause);
+        }
+        catch (IllegalAccessException e) {
+            throw new IOException("Failed to invoke unix domain socket method: " + mtd.getName(), e);
+        }
+    }
+}
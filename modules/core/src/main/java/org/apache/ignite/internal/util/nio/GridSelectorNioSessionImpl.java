@@ -82,6 +82,12 @@ class GridSelectorNioSessionImpl extends GridNioSessionImpl implements GridNioKe
     /** */
     final AtomicBoolean procWrite = new AtomicBoolean();
 
+    /** Time in nanoseconds of the last socket write, accessed by the selector thread only. */
+    long lastWriteTime;
+
+    /** Time in nanoseconds to do the postponed socket write, {@code 0} if write isn't postponed. */
+    long coalescingDeadline;
+
     /** */
     private Object sysMsg;
 
@@ -16,6 +16,7 @@
 
 package org.apache.ignite.spi.communication.tcp;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -25,11 +26,13 @@ import java.net.InetSocketAddress;
 import java.net.SocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
+import java.net.StandardSocketOptions;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.nio.channels.SelectableChannel;
 import java.nio.channels.SocketChannel;
 import java.nio.channels.spi.AbstractInterruptibleChannel;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.BitSet;
@@ -49,6 +52,7 @@ import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.Deflater;
 import javax.net.ssl.SSLEngine;
 import javax.net.ssl.SSLException;
 import org.apache.ignite.Ignite;
@@ -75,9 +79,18 @@ import org.apache.ignite.internal.IgniteInterruptedCheckedException;
 import org.apache.ignite.internal.IgniteKernal;
 import org.apache.ignite.internal.IgniteTooManyOpenFilesException;
 import org.apache.ignite.internal.cluster.ClusterTopologyCheckedException;
+import org.apache.ignite.internal.managers.communication.GridIoMessage;
 import org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi;
 import org.apache.ignite.internal.managers.eventstorage.GridLocalEventListener;
 import org.apache.ignite.internal.managers.eventstorage.HighPriorityListener;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtTxFinishResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.GridDhtTxOnePhaseCommitAckRequest;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicDeferredUpdateResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicNearResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridDhtAtomicUpdateResponse;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNearAtomicCheckUpdateRequest;
+import org.apache.ignite.internal.processors.cache.distributed.dht.atomic.GridNearAtomicUpdateResponse;
+import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxFinishResponse;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
 import org.apache.ignite.internal.processors.metric.impl.MetricUtils;
 import org.apache.ignite.internal.processors.tracing.NoopTracing;
@@ -98,6 +111,7 @@ import org.apache.ignite.internal.util.nio.GridCommunicationClient;
 import org.apache.ignite.internal.util.nio.GridConnectionBytesVerifyFilter;
 import org.apache.ignite.internal.util.nio.GridDirectParser;
 import org.apache.ignite.internal.util.nio.GridNioCodecFilter;
+import org.apache.ignite.internal.util.nio.GridNioCompressionFilter;
 import org.apache.ignite.internal.util.nio.GridNioFilter;
 import org.apache.ignite.internal.util.nio.GridNioMessageReaderFactory;
 import org.apache.ignite.internal.util.nio.GridNioMessageTracker;
@@ -109,6 +123,7 @@ import org.apache.ignite.internal.util.nio.GridNioServerListenerAdapter;
 import org.apache.ignite.internal.util.nio.GridNioSession;
 import org.apache.ignite.internal.util.nio.GridNioSessionMetaKey;
 import org.apache.ignite.internal.util.nio.GridNioTracerFilter;
+import org.apache.ignite.internal.util.nio.GridNioUnixDomainSockets;
 import org.apache.ignite.internal.util.nio.GridShmemCommunicationClient;
 import org.apache.ignite.internal.util.nio.GridTcpNioCommunicationClient;
 import org.apache.ignite.internal.util.nio.ssl.BlockingSslHandler;
@@ -159,11 +174,13 @@ import org.apache.ignite.spi.communication.tcp.internal.NodeUnreachableException
 import org.apache.ignite.spi.communication.tcp.internal.TcpCommunicationConnectionCheckFuture;
 import org.apache.ignite.spi.communication.tcp.internal.TcpCommunicationNodeConnectionCheckFuture;
 import org.apache.ignite.spi.communication.tcp.internal.TcpConnectionIndexAwareMessage;
+import org.apache.ignite.spi.communication.tcp.messages.CompressedMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeMessage2;
 import org.apache.ignite.spi.communication.tcp.messages.HandshakeWaitMessage;
 import org.apache.ignite.spi.communication.tcp.messages.NodeIdMessage;
 import org.apache.ignite.spi.communication.tcp.messages.RecoveryLastReceivedMessage;
+import org.apache.ignite.spi.communication.tcp.messages.SerializedMessage;
 import org.apache.ignite.spi.discovery.DiscoverySpi;
 import org.apache.ignite.spi.discovery.IgniteDiscoveryThread;
 import org.apache.ignite.spi.discovery.tcp.TcpDiscoverySpi;
@@ -242,11 +259,13 @@ import static org.apache.ignite.spi.communication.tcp.messages.RecoveryLastRecei
  * <li>Use paired connections (see {@link #setUsePairedConnections(boolean)}</li>
  * <li>Connections per node (see {@link #setConnectionsPerNode(int)})</li>
  * <li>Shared memory port (see {@link #setSharedMemoryPort(int)}</li>
+ * <li>Unix domain sockets for the nodes on the same host (see {@link #setUnixDomainSocketEnabled(boolean)})</li>
  * <li>Idle connection timeout (see {@link #setIdleConnectionTimeout(long)})</li>
  * <li>Direct or heap buffer allocation (see {@link #setDirectBuffer(boolean)})</li>
  * <li>Direct or heap buffer allocation for sending (see {@link #setDirectSendBuffer(boolean)})</li>
  * <li>Count of selectors and selector threads for NIO server (see {@link #setSelectorsCount(int)})</li>
  * <li>Selector thread busy-loop iterations (see {@link #setSelectorSpins(long)}</li>
+ * <li>Write coalescing delay (see {@link #setWriteCoalescingDelay(long)})</li>
  * <li>{@code TCP_NODELAY} socket option for sockets (see {@link #setTcpNoDelay(boolean)})</li>
  * <li>Filter reachable addresses (see {@link #setFilterReachableAddresses(boolean)} </li>
  * <li>Message queue limit (see {@link #setMessageQueueLimit(int)})</li>
@@ -328,6 +347,18 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Attribute with information of {@link EnvironmentType environment} local node is started in. */
     public static final String ATTR_ENVIRONMENT_TYPE = "comm.environment.type";
 
+    /** Node attribute that is mapped to node unix domain socket path (value is <tt>comm.tcp.uds.path</tt>). */
+    public static final String ATTR_UDS_PATH = "comm.tcp.uds.path";
+
+    /** Node attribute that is mapped to message compression flag (value is <tt>comm.tcp.msg.compression</tt>). */
+    public static final String ATTR_MSG_COMPRESSION = "comm.tcp.msg.compression";
+
+    /** Default minimum size of the serialized message to be compressed (value is <tt>4096</tt>). */
+    public static final int DFLT_MSG_COMPRESSION_THRESHOLD = 4096;
+
+    /** Default message compression level (value is {@link Deflater#BEST_SPEED}). */
+    public static final int DFLT_MSG_COMPRESSION_LEVEL = Deflater.BEST_SPEED;
+
     /** Default port which node sets listener to (value is <tt>47100</tt>). */
     public static final int DFLT_PORT = 47100;
 
@@ -406,6 +437,12 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** No-op runnable. */
     private static final IgniteRunnable NOOP = () -> {};
 
+    /** Name prefix of the unix domain socket files. */
+    private static final String UDS_FILE_PREFIX = "ignite-";
+
+    /** Name suffix of the unix domain socket files. */
+    private static final String UDS_FILE_SUFFIX = ".sock";
+
     /** Node ID message type. */
     public static final short NODE_ID_MSG_TYPE = -1;
 
@@ -797,6 +834,11 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             }
 
             @Override public void onMessageSent(GridNioSession ses, Message msg) {
+                if (msg instanceof CompressedMessage)
+                    msg = ((CompressedMessage)msg).message();
+                else if (msg instanceof SerializedMessage)
+                    msg = ((SerializedMessage)msg).message();
+
                 Object consistentId = ses.meta(CONSISTENT_ID_META);
 
                 if (consistentId != null)
@@ -1209,6 +1251,27 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
     /** Slow client queue limit. */
     private int slowClientQueueLimit;
 
+    /** Message compression flag. */
+    private boolean msgCompressionEnabled;
+
+    /** Minimum size of the serialized message to be compressed. */
+    private int msgCompressionThreshold = DFLT_MSG_COMPRESSION_THRESHOLD;
+
+    /** Message compression level. */
+    private int msgCompressionLevel = DFLT_MSG_COMPRESSION_LEVEL;
+
+    /** Message types which are never compressed. */
+    private Set<Class<? extends Message>> msgCompressionExcludedTypes = new HashSet<>(Arrays.asList(
+        GridDhtAtomicDeferredUpdateResponse.class,
+        GridDhtAtomicNearResponse.class,
+        GridDhtAtomicUpdateResponse.class,
+        GridNearAtomicCheckUpdateRequest.class,
+        GridNearAtomicUpdateResponse.class,
+        GridDhtTxFinishResponse.class,
+        GridNearTxFinishResponse.class,
+        GridDhtTxOnePhaseCommitAckRequest.class
+    ));
+
     /** NIO server. */
     private GridNioServer<Message> nioSrvr;
 
@@ -1267,6 +1330,12 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
      */
     private long selectorSpins = IgniteSystemProperties.getLong("IGNITE_SELECTOR_SPINS", 0L);
 
+    /** Maximum delay in microseconds of a socket write to coalesce it with the following messages. */
+    private long writeCoalescingDelay;
+
+    /** Unix domain sockets flag. */
+    private boolean udsEnabled;
+
     /** Address resolver. */
     private AddressResolver addrRslvr;
 
@@ -1809,6 +1878,73 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         return this;
     }
 
+    /**
+     * See {@link #setUnixDomainSocketEnabled(boolean)}.
+     *
+     * @return {@code True} if unix domain sockets are used for the nodes on the same host.
+     */
+    public boolean isUnixDomainSocketEnabled() {
+        return udsEnabled;
+    }
+
+    /**
+     * Enables unix domain socket connections between the nodes running on the same host.
+     * <p>
+     * If enabled, the node accepts connections on a unix domain socket in addition to the TCP port. A node
+     * connecting to another node on the same host (the nodes are considered to be on the same host if they have
+     * the same set of MAC addresses) with the unix domain socket enabled tries it first and falls back to TCP if it
+     * fails. Unix domain sockets bypass the TCP/IP stack, which reduces latency and CPU consumption of the intra-host
+     * traffic.
+     * <p>
+     * Unix domain sockets require Java 16 or later and are not used if SSL is enabled. On the older Java runtimes
+     * this setting is ignored.
+     * <p>
+     * Default is {@code false}.
+     *
+     * @param udsEnabled {@code True} to use unix domain sockets for the nodes on the same host.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setUnixDomainSocketEnabled(boolean udsEnabled) {
+        this.udsEnabled = udsEnabled;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setWriteCoalescingDelay(long)}.
+     *
+     * @return Write coalescing delay in microseconds.
+     */
+    public long getWriteCoalescingDelay() {
+        return writeCoalescingDelay;
+    }
+
+    /**
+     * Sets maximum delay in microseconds of a socket write to coalesce it with the following messages.
+     * <p>
+     * When a selector thread has drained the outgoing queue of a connection which was written to recently, it
+     * doesn't flush a small chunk of messages right away, but gives the senders up to this time to enqueue more
+     * messages, which are then sent with a single socket write and without waking the selector up. This increases
+     * throughput of small messages at the cost of latency. Idle connections and SSL connections are never delayed.
+     * <p>
+     * Each postponed write costs an extra wake up of the selector thread at the write deadline, so the delay should
+     * not be less than the time needed to accumulate several messages, otherwise CPU usage grows without any gain in
+     * throughput. The selector timeout has millisecond granularity, so the last millisecond of the delay is awaited
+     * by parking the selector thread, which doesn't handle network events meanwhile.
+     * <p>
+     * Default is {@code 0}, writes are never postponed.
+     *
+     * @param writeCoalescingDelay Write coalescing delay in microseconds.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setWriteCoalescingDelay(long writeCoalescingDelay) {
+        this.writeCoalescingDelay = writeCoalescingDelay;
+
+        return this;
+    }
+
     /**
      * Sets value for {@code TCP_NODELAY} socket option. Each
      * socket will be opened using provided value.
@@ -1840,6 +1976,106 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         return tcpNoDelay;
     }
 
+    /**
+     * Enables compression of the large messages sent to the remote nodes. A message is compressed only if the remote
+     * node has the compression enabled as well, so the nodes with and without compression can work together.
+     * <p>
+     * If not provided, default value is {@code false}.
+     *
+     * @param msgCompressionEnabled {@code True} to enable message compression.
+     * @return {@code this} for chaining.
+     * @see #setMessageCompressionThreshold(int)
+     * @see #setMessageCompressionExcludedTypes(Set)
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionEnabled(boolean msgCompressionEnabled) {
+        this.msgCompressionEnabled = msgCompressionEnabled;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionEnabled(boolean)}.
+     *
+     * @return {@code True} if message compression is enabled.
+     */
+    public boolean isMessageCompressionEnabled() {
+        return msgCompressionEnabled;
+    }
+
+    /**
+     * Sets minimum size in bytes of the serialized message to be compressed. Smaller messages are sent as is.
+     * <p>
+     * If not provided, default value is {@link #DFLT_MSG_COMPRESSION_THRESHOLD}.
+     *
+     * @param msgCompressionThreshold Minimum size of the serialized message to be compressed.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionThreshold(int msgCompressionThreshold) {
+        this.msgCompressionThreshold = msgCompressionThreshold;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionThreshold(int)}.
+     *
+     * @return Minimum size of the serialized message to be compressed.
+     */
+    public int getMessageCompressionThreshold() {
+        return msgCompressionThreshold;
+    }
+
+    /**
+     * Sets {@link Deflater} compression level, from {@link Deflater#BEST_SPEED} to {@link Deflater#BEST_COMPRESSION}.
+     * <p>
+     * If not provided, default value is {@link #DFLT_MSG_COMPRESSION_LEVEL}.
+     *
+     * @param msgCompressionLevel Compression level.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionLevel(int msgCompressionLevel) {
+        this.msgCompressionLevel = msgCompressionLevel;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionLevel(int)}.
+     *
+     * @return Compression level.
+     */
+    public int getMessageCompressionLevel() {
+        return msgCompressionLevel;
+    }
+
+    /**
+     * Sets message types which are never compressed regardless of their size. By default it contains the small
+     * cache responses and acknowledgements, which are not worth compressing.
+     *
+     * @param msgCompressionExcludedTypes Message types which are never compressed.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpCommunicationSpi setMessageCompressionExcludedTypes(
+        Set<Class<? extends Message>> msgCompressionExcludedTypes
+    ) {
+        this.msgCompressionExcludedTypes = msgCompressionExcludedTypes;
+
+        return this;
+    }
+
+    /**
+     * See {@link #setMessageCompressionExcludedTypes(Set)}.
+     *
+     * @return Message types which are never compressed.
+     */
+    public Set<Class<? extends Message>> getMessageCompressionExcludedTypes() {
+        return msgCompressionExcludedTypes;
+    }
+
     /**
      * Gets value for {@code FILTER_REACHABLE_ADDRESSES} socket option.
      *
@@ -2211,6 +2447,7 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         }
 
         assertParameter(sockWriteTimeout >= 0, "sockWriteTimeout >= 0");
+        assertParameter(writeCoalescingDelay >= 0, "writeCoalescingDelay >= 0");
         assertParameter(ackSndThreshold > 0, "ackSndThreshold > 0");
         assertParameter(unackedMsgsBufSize >= 0, "unackedMsgsBufSize >= 0");
 
@@ -2241,6 +2478,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             U.warn(log, "Failed to start shared memory communication server.", e);
         }
 
+        if (udsEnabled && !isSslEnabled() && GridNioUnixDomainSockets.supported())
+            deleteStaleUnixDomainSockets();
+
         try {
             // This method potentially resets local port to the value
             // local node was bound to.
@@ -2275,9 +2515,11 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             res.put(createSpiAttributeName(ATTR_HOST_NAMES), setEmptyHostNamesAttr ? emptyList() : addrs.get2());
             res.put(createSpiAttributeName(ATTR_PORT), boundTcpPort);
             res.put(createSpiAttributeName(ATTR_SHMEM_PORT), boundTcpShmemPort >= 0 ? boundTcpShmemPort : null);
+            res.put(createSpiAttributeName(ATTR_UDS_PATH), nioSrvr.unixDomainSocketPath());
             res.put(createSpiAttributeName(ATTR_EXT_ADDRS), extAddrs);
             res.put(createSpiAttributeName(ATTR_PAIRED_CONN), usePairedConnections);
             res.put(createSpiAttributeName(ATTR_ENVIRONMENT_TYPE), envType.toString());
+            res.put(createSpiAttributeName(ATTR_MSG_COMPRESSION), msgCompressionEnabled);
 
             return res;
         }
@@ -2315,6 +2557,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             log.debug(configInfo("shmemPort", shmemPort));
             log.debug(configInfo("msgQueueLimit", msgQueueLimit));
             log.debug(configInfo("connectionsPerNode", connectionsPerNode));
+            log.debug(configInfo("msgCompressionEnabled", msgCompressionEnabled));
+            log.debug(configInfo("writeCoalescingDelay", writeCoalescingDelay));
+            log.debug(configInfo("udsEnabled", udsEnabled));
 
             if (failureDetectionTimeoutEnabled()) {
                 log.debug(configInfo("connTimeout", connTimeout));
@@ -2518,6 +2763,27 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                         new GridConnectionBytesVerifyFilter(log)
                     };
 
+                // Compression filter must be above the codec one: it deals with the messages rather than the bytes.
+                if (msgCompressionEnabled) {
+                    GridNioFilter[] filters0 = new GridNioFilter[filters.length + 1];
+
+                    filters0[0] = filters[0];
+                    filters0[1] = new GridNioCompressionFilter(
+                        msgCompressionThreshold,
+                        msgCompressionLevel,
+                        writerFactory,
+                        readerFactory,
+                        msgFactory,
+                        this::isMessageCompressionSupported,
+                        this::isMessageCompressible,
+                        ignite instanceof IgniteEx ?
+                            ((IgniteEx)ignite).context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME) : null);
+
+                    System.arraycopy(filters, 1, filters0, 2, filters.length - 1);
+
+                    filters = filters0;
+                }
+
                 GridNioServer.Builder<Message> builder = GridNioServer.<Message>builder()
                     .address(locHost)
                     .port(port)
@@ -2535,6 +2801,9 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
                     .directMode(true)
                     .writeTimeout(sockWriteTimeout)
                     .selectorSpins(selectorSpins)
+                    .writeCoalescingDelay(TimeUnit.MICROSECONDS.toNanos(writeCoalescingDelay))
+                    .unixDomainSocketPath(udsEnabled && !isSslEnabled() ?
+                        unixDomainSocketPath(ignite.configuration().getNodeId()) : null)
                     .filters(filters)
                     .writerFactory(writerFactory)
                     .skipRecoveryPredicate(skipRecoveryPred)
@@ -3178,6 +3447,28 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             }
         }
 
+        String udsPath = node.attribute(createSpiAttributeName(ATTR_UDS_PATH));
+
+        // Unix domain socket is tried if both nodes have it enabled and likely run on the same host.
+        if (udsPath != null && udsEnabled && !isSslEnabled() && U.sameMacs(locNode, node)) {
+            try {
+                GridCommunicationClient client = createUnixDomainClient(node, connIdx, udsPath);
+
+                if (log.isDebugEnabled())
+                    log.debug("Unix domain socket client created: " + client);
+
+                return client;
+            }
+            catch (IgniteCheckedException e) {
+                if (getSpiContext().node(node.id()) != null)
+                    LT.warn(log, "Failed to establish unix domain socket connection (will use TCP) [node=" +
+                        node.id() + ", path=" + udsPath + ", err=" + e.getMessage() + ']');
+                else if (log.isDebugEnabled())
+                    log.debug("Failed to establish unix domain socket connection with local node (node has left): " +
+                        node.id());
+            }
+        }
+
         final long start = System.currentTimeMillis();
 
         GridCommunicationClient client = createTcpClient(node, connIdx);
@@ -3431,6 +3722,168 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
         return addrs;
     }
 
+    /**
+     * Establishes unix domain socket connection to the remote node running on the same host.
+     * The handshake is the same as for TCP connections, see {@link #createNioSession(ClusterNode, int)}.
+     *
+     * @param node Remote node.
+     * @param connIdx Connection index.
+     * @param path Remote node unix domain socket file path.
+     * @return Client or {@code null} if the connection is already established by the remote node.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private GridCommunicationClient createUnixDomainClient(ClusterNode node, int connIdx, String path)
+        throws IgniteCheckedException {
+        if (getSpiContext().node(node.id()) == null)
+            throw new ClusterTopologyCheckedException("Failed to send message (node left topology): " + node);
+
+        ClusterNode locNode = getLocalNode();
+
+        if (locNode == null)
+            throw new IgniteCheckedException("Local node has not been started or " +
+                "fully initialized [isStopping=" + getSpiContext().isStopping() + ']');
+
+        ConnectionKey connKey = new ConnectionKey(node.id(), connIdx, -1);
+
+        GridNioRecoveryDescriptor recoveryDesc = outRecoveryDescriptor(node, connKey);
+
+        assert recoveryDesc != null :
+            "Recovery descriptor not found [connKey=" + connKey + ", rmtNode=" + node.id() + ']';
+
+        boolean reserved;
+
+        try {
+            reserved = recoveryDesc.reserve();
+        }
+        catch (InterruptedException e) {
+            throw new IgniteInterruptedCheckedException(e);
+        }
+
+        if (!reserved) {
+            // Ensure the session is closed.
+            GridNioSession sesFromRecovery = recoveryDesc.session();
+
+            if (sesFromRecovery != null) {
+                while (sesFromRecovery.closeTime() == 0)
+                    sesFromRecovery.close();
+            }
+
+            return null;
+        }
+
+        SocketChannel ch = null;
+
+        GridNioSession ses = null;
+
+        connectGate.enter();
+
+        try {
+            ch = GridNioUnixDomainSockets.openChannel();
+
+            ch.configureBlocking(true);
+
+            if (sockRcvBuf > 0)
+                ch.setOption(StandardSocketOptions.SO_RCVBUF, sockRcvBuf);
+
+            if (sockSndBuf > 0)
+                ch.setOption(StandardSocketOptions.SO_SNDBUF, sockSndBuf);
+
+            // Connection to a local socket is either established or refused immediately.
+            ch.connect(GridNioUnixDomainSockets.address(path));
+
+            long timeout = failureDetectionTimeoutEnabled() ? failureDetectionTimeout() : connTimeout;
+
+            long rcvCnt = safeTcpHandshake(ch,
+                node.id(),
+                timeout,
+                null,
+                new HandshakeMessage2(locNode.id(),
+                    recoveryDesc.incrementConnectCount(),
+                    recoveryDesc.received(),
+                    connIdx));
+
+            if (rcvCnt == ALREADY_CONNECTED)
+                return null;
+
+            // Other special cases (node stopping, waiting for topology) are handled by TCP connection logic.
+            if (rcvCnt < 0)
+                throw new IgniteCheckedException("Unix domain socket handshake was not completed [rcvCnt=" +
+                    rcvCnt + ", node=" + node.id() + ']');
+
+            recoveryDesc.onHandshake(rcvCnt);
+
+            Map<Integer, Object> meta = new HashMap<>();
+
+            meta.put(CONSISTENT_ID_META, node.consistentId());
+            meta.put(CONN_IDX_META, connKey);
+            meta.put(GridNioServer.RECOVERY_DESC_META_KEY, recoveryDesc);
+
+            ses = nioSrvr.createSession(ch, meta, false, null).get();
+        }
+        catch (IOException e) {
+            throw new IgniteCheckedException("Failed to connect to unix domain socket: " + path, e);
+        }
+        finally {
+            connectGate.leave();
+
+            if (ses == null) {
+                U.closeQuiet(ch);
+
+                recoveryDesc.release();
+            }
+        }
+
+        return new GridTcpNioCommunicationClient(connIdx, ses, log);
+    }
+
+    /**
+     * Gets the socket file path unique for the local node. The port isn't enough, since the nodes bound to different
+     * addresses of the host may use the same port. Node ID is written without dashes to fit the socket path length
+     * limit of the platform.
+     *
+     * @param nodeId Local node ID.
+     * @return Unix domain socket file path of the local node.
+     */
+    private static String unixDomainSocketPath(UUID nodeId) {
+        String name = UDS_FILE_PREFIX + nodeId.toString().replace("-", "") + UDS_FILE_SUFFIX;
+
+        return new File(System.getProperty("java.io.tmpdir"), name).getAbsolutePath();
+    }
+
+    /**
+     * Deletes the unix domain socket files left by the crashed nodes, best effort. The file of a stopped node is
+     * deleted by the node itself, a file nobody accepts connections on is stale.
+     */
+    private void deleteStaleUnixDomainSockets() {
+        File[] files = new File(System.getProperty("java.io.tmpdir")).listFiles((dir, name) ->
+            name.startsWith(UDS_FILE_PREFIX) && name.endsWith(UDS_FILE_SUFFIX) &&
+                name.length() == UDS_FILE_PREFIX.length() + 32 + UDS_FILE_SUFFIX.length());
+
+        if (files == null)
+            return;
+
+        for (File file : files) {
+            try (SocketChannel ch = GridNioUnixDomainSockets.openChannel()) {
+                ch.connect(GridNioUnixDomainSockets.address(file.getAbsolutePath()));
+            }
+            catch (ConnectException ignored) {
+                try {
+                    Files.deleteIfExists(file.toPath());
+
+                    if (log.isDebugEnabled())
+                        log.debug("Deleted stale unix domain socket file: " + file);
+                }
+                catch (IOException e) {
+                    if (log.isDebugEnabled())
+                        log.debug("Failed to delete stale unix domain socket file [file=" + file + ", err=" + e + ']');
+                }
+            }
+            catch (IOException ignored) {
+                // Socket is alive or isn't accessible.
+            }
+        }
+    }
+
     /**
      * Establish TCP connection to remote node and returns client.
      *
@@ -4267,6 +4720,34 @@ public class TcpCommunicationSpi extends IgniteSpiAdapter implements Communicati
             return recoveryDescriptor(recoveryDescs, false, node, key);
     }
 
+    /**
+     * @param ses Session.
+     * @return {@code True} if the remote node of the session can receive the compressed messages.
+     */
+    private boolean isMessageCompressionSupported(GridNioSession ses) {
+        ConnectionKey key = ses.meta(CONN_IDX_META);
+
+        if (key == null)
+            return false;
+
+        ClusterNode node = getSpiContext().node(key.nodeId());
+
+        return node != null && Boolean.TRUE.equals(node.attribute(createSpiAttributeName(ATTR_MSG_COMPRESSION)));
+    }
+
+    /**
+     * @param msg Message.
+     * @return {@code True} if the message can be compressed.
+     */
+    private boolean isMessageCompressible(Message msg) {
+        if (!(msg instanceof GridIoMessage))
+            return false;
+
+        Set<Class<? extends Message>> excluded = msgCompressionExcludedTypes;
+
+        return excluded == null || !excluded.contains(((GridIoMessage)msg).message().getClass());
+    }
+
     /**
      * @param node Node.
      * @return {@code True} if can use in/out connection pair for communication.
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp.messages;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.GridDirectTransient;
+import org.apache.ignite.internal.util.nio.GridNioCompressionFilter;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Message holding another message serialized and compressed by {@link GridNioCompressionFilter}.
+ */
+public class CompressedMessage implements Message {
+    /** */
+    public static final short TYPE_CODE = 176;
+
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Size of the serialized message before compression. */
+    private int rawSize;
+
+    /** Compressed serialized message. */
+    @GridToStringExclude
+    private byte[] data;
+
+    /** Original message, available on the sender side only. */
+    @GridDirectTransient
+    private Message msg;
+
+    /**
+     * Empty constructor required by {@link Message}.
+     */
+    public CompressedMessage() {
+        // No-op.
+    }
+
+    /**
+     * @param msg Original message.
+     * @param rawSize Size of the serialized message before compression.
+     * @param data Compressed serialized message.
+     */
+    public CompressedMessage(Message msg, int rawSize, byte[] data) {
+        this.msg = msg;
+        this.rawSize = rawSize;
+        this.data = data;
+    }
+
+    /**
+     * @return Original message, {@code null} on the receiver side.
+     */
+    @Nullable public Message message() {
+        return msg;
+    }
+
+    /**
+     * @return Size of the serialized message before compression.
+     */
+    public int rawSize() {
+        return rawSize;
+    }
+
+    /**
+     * @return Compressed serialized message.
+     */
+    public byte[] data() {
+        return data;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        writer.setBuffer(buf);
+
+        if (!writer.isHeaderWritten()) {
+            if (!writer.writeHeader(directType(), fieldsCount()))
+                return false;
+
+            writer.onHeaderWritten();
+        }
+
+        switch (writer.state()) {
+            case 0:
+                if (!writer.writeByteArray("data", data))
+                    return false;
+
+                writer.incrementState();
+
+            case 1:
+                if (!writer.writeInt("rawSize", rawSize))
+                    return false;
+
+                writer.incrementState();
+
+        }
+
+        return true;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        reader.setBuffer(buf);
+
+        if (!reader.beforeMessageRead())
+            return false;
+
+        switch (reader.state()) {
+            case 0:
+                data = reader.readByteArray("data");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+            case 1:
+                rawSize = reader.readInt("rawSize");
+
+                if (!reader.isLastRead())
+                    return false;
+
+                reader.incrementState();
+
+        }
+
+        return reader.afterMessageRead(CompressedMessage.class);
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return TYPE_CODE;
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return 2;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        if (msg != null)
+            msg.onAckReceived();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(CompressedMessage.class, this, "dataLen", data != null ? data.length : 0);
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp.messages;
+
+import java.nio.ByteBuffer;
+import org.apache.ignite.internal.util.nio.GridNioCompressionFilter;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.plugin.extensions.communication.Message;
+import org.apache.ignite.plugin.extensions.communication.MessageReader;
+import org.apache.ignite.plugin.extensions.communication.MessageWriter;
+
+/**
+ * Message already serialized by {@link GridNioCompressionFilter} but not compressed since it is small. Writes the
+ * serialized bytes as is, so the receiver reads the original message. Exists on the sender side only.
+ */
+public class SerializedMessage implements Message {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Original message. */
+    private final Message msg;
+
+    /** Serialized message. */
+    @GridToStringExclude
+    private final byte[] data;
+
+    /** Number of bytes written so far. */
+    private int off;
+
+    /**
+     * @param msg Original message.
+     * @param data Serialized message.
+     */
+    public SerializedMessage(Message msg, byte[] data) {
+        this.msg = msg;
+        this.data = data;
+    }
+
+    /**
+     * @return Original message.
+     */
+    public Message message() {
+        return msg;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean writeTo(ByteBuffer buf, MessageWriter writer) {
+        // Writer is reset after the message is written, so the message is written from the start once resent.
+        if (!writer.isHeaderWritten()) {
+            off = 0;
+
+            writer.onHeaderWritten();
+        }
+
+        int cnt = Math.min(buf.remaining(), data.length - off);
+
+        buf.put(data, off, cnt);
+
+        off += cnt;
+
+        return off == data.length;
+    }
+
+    /** {@inheritDoc} */
+    @Override public boolean readFrom(ByteBuffer buf, MessageReader reader) {
+        throw new UnsupportedOperationException();
+    }
+
+    /** {@inheritDoc} */
+    @Override public short directType() {
+        return msg.directType();
+    }
+
+    /** {@inheritDoc} */
+    @Override public byte fieldsCount() {
+        return msg.fieldsCount();
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onAckReceived() {
+        msg.onAckReceived();
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(SerializedMessage.class, this, "dataLen", data.length);
+    }
+}
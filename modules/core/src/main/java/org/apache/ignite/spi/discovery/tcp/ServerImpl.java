@@ -155,6 +155,7 @@ import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryPingRequest;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryPingResponse;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryRedirectToClient;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryRequiredFeatureSupport;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryRingBatchMessage;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryRingLatencyCheckMessage;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryServerOnlyCustomEventMessage;
 import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryStatusCheckMessage;
@@ -176,6 +177,8 @@ import static org.apache.ignite.events.EventType.EVT_NODE_SEGMENTED;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.failure.FailureType.SYSTEM_WORKER_TERMINATION;
 import static org.apache.ignite.internal.IgniteFeatures.TCP_DISCOVERY_MESSAGE_NODE_COMPACT_REPRESENTATION;
+import static org.apache.ignite.internal.IgniteFeatures.TCP_DISCOVERY_RING_MESSAGE_BATCHING;
+import static org.apache.ignite.internal.IgniteFeatures.TCP_DISCOVERY_TOPOLOGY_HISTORY_DELTA;
 import static org.apache.ignite.internal.IgniteFeatures.nodeSupports;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_EVENT_DRIVEN_SERVICE_PROCESSOR_ENABLED;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_LATE_AFFINITY_ASSIGNMENT;
@@ -184,6 +187,7 @@ import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_MARSHALLER_CO
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_MARSHALLER_USE_BINARY_STRING_SER_VER_2;
 import static org.apache.ignite.internal.IgniteNodeAttributes.ATTR_MARSHALLER_USE_DFLT_SUID;
 import static org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi.ALL_NODES;
+import static org.apache.ignite.internal.managers.discovery.IgniteDiscoverySpi.SRV_NODES;
 import static org.apache.ignite.internal.processors.security.SecurityUtils.nodeSecurityContext;
 import static org.apache.ignite.spi.IgnitePortProtocol.TCP;
 import static org.apache.ignite.spi.discovery.tcp.internal.TcpDiscoverySpiState.AUTH_FAILED;
@@ -1877,7 +1881,10 @@ class ServerImpl extends TcpDiscoveryImpl {
                     hist = new TreeMap<>(topHist);
                 }
 
-                nodeAddedMsg.topologyHistory(hist);
+                if (nodeSupports(gridKernalContext(), node, TCP_DISCOVERY_TOPOLOGY_HISTORY_DELTA))
+                    nodeAddedMsg.topologyHistoryDelta(hist);
+                else
+                    nodeAddedMsg.topologyHistory(hist);
             }
         }
     }
@@ -3025,6 +3032,9 @@ class ServerImpl extends TcpDiscoveryImpl {
         /** Filter for {@link TcpDiscoveryMetricsUpdateMessage}s. */
         private final MetricsUpdateMessageFilter metricsMsgFilter = new MetricsUpdateMessageFilter();
 
+        /** Custom messages waiting to be sent across the ring in one {@link TcpDiscoveryRingBatchMessage}. */
+        private List<TcpDiscoveryAbstractMessage> ringBatch = new ArrayList<>();
+
         /**
          * @param log Logger.
          */
@@ -3237,6 +3247,9 @@ class ServerImpl extends TcpDiscoveryImpl {
 
         /** {@inheritDoc} */
         @Override protected void processMessage(TcpDiscoveryAbstractMessage msg) {
+            if (!(msg instanceof TcpDiscoveryCustomEventMessage))
+                flushRingBatch();
+
             if (msg == WAKEUP)
                 return;
 
@@ -3370,6 +3383,10 @@ class ServerImpl extends TcpDiscoveryImpl {
 
             spi.stats.onMessageProcessingFinished(msg);
 
+            // Do not hold batched messages if there is nothing to add to the batch.
+            if (!(queue.peek() instanceof TcpDiscoveryCustomEventMessage))
+                flushRingBatch();
+
             // TODO: https://ggsystems.atlassian.net/browse/GG-22502
             if (msg instanceof TraceableMessage &&
                 (msg instanceof TcpDiscoveryNodeAddedMessage
@@ -3403,6 +3420,8 @@ class ServerImpl extends TcpDiscoveryImpl {
             if (locNode == null)
                 return;
 
+            flushRingBatch();
+
             checkConnection();
 
             sendMetricsUpdateMessage();
@@ -3482,12 +3501,17 @@ class ServerImpl extends TcpDiscoveryImpl {
          *
          * @param msg Message to send
          */
-        @SuppressWarnings({"BreakStatementWithLabel", "LabeledStatement", "ContinueStatementWithLabel"})
         private void sendMessageAcrossRing(TcpDiscoveryAbstractMessage msg) {
             assert msg != null;
 
             assert ring.hasRemoteNodes();
 
+            boolean batch = msg instanceof TcpDiscoveryCustomEventMessage && ringBatchingEnabled();
+
+            // Preserve order of messages sent across the ring.
+            if (!batch)
+                flushRingBatch();
+
             for (IgniteInClosure<TcpDiscoveryAbstractMessage> msgLsnr : spi.sndMsgLsnrs)
                 msgLsnr.apply(msg);
 
@@ -3497,6 +3521,66 @@ class ServerImpl extends TcpDiscoveryImpl {
 
             sendMessageToClients(msg);
 
+            if (batch) {
+                ringBatch.add(msg);
+
+                // Wait for the next queued custom message, it is likely to be forwarded right after this one.
+                if (ringBatch.size() < spi.ringMsgBatchSize && queue.peek() instanceof TcpDiscoveryCustomEventMessage)
+                    return;
+
+                flushRingBatch();
+            }
+            else
+                sendMessageAcrossRing0(msg);
+        }
+
+        /**
+         * @return {@code True} if custom messages can be sent across the ring in batches.
+         */
+        private boolean ringBatchingEnabled() {
+            return spi.ringMsgBatchSize > 1 && allNodesSupport(TCP_DISCOVERY_RING_MESSAGE_BATCHING, SRV_NODES);
+        }
+
+        /**
+         * Sends custom messages collected by {@link #sendMessageAcrossRing(TcpDiscoveryAbstractMessage)}
+         * to the next node, wrapped into {@link TcpDiscoveryRingBatchMessage} if there are several of them.
+         */
+        private void flushRingBatch() {
+            if (ringBatch.isEmpty())
+                return;
+
+            List<TcpDiscoveryAbstractMessage> msgs = ringBatch;
+
+            ringBatch = new ArrayList<>();
+
+            if (!ring.hasRemoteNodes()) {
+                // All remote nodes left while messages were collected, process them locally.
+                for (TcpDiscoveryAbstractMessage msg : msgs) {
+                    msg.senderNodeId(getLocalNodeId());
+
+                    addMessage(msg, true);
+                }
+
+                return;
+            }
+
+            if (msgs.size() == 1)
+                sendMessageAcrossRing0(msgs.get(0));
+            else {
+                if (log.isDebugEnabled())
+                    log.debug("Sending batch of custom messages across the ring [size=" + msgs.size() + ']');
+
+                sendMessageAcrossRing0(new TcpDiscoveryRingBatchMessage(getLocalNodeId(), msgs));
+            }
+        }
+
+        /**
+         * Sends message across the ring without notifying listeners and client nodes.
+         *
+         * @param msg Message to send
+         */
+        @SuppressWarnings({"BreakStatementWithLabel", "LabeledStatement", "ContinueStatementWithLabel"})
+        private void sendMessageAcrossRing0(TcpDiscoveryAbstractMessage msg) {
             List<TcpDiscoveryNode> failedNodes;
 
             TcpDiscoverySpiState state;
@@ -3530,9 +3614,20 @@ class ServerImpl extends TcpDiscoveryImpl {
 
                     if (ring.hasRemoteNodes() && !(msg instanceof TcpDiscoveryConnectionCheckMessage) &&
                         !(msg instanceof TcpDiscoveryStatusCheckMessage && msg.creatorNodeId().equals(locNodeId))) {
-                        msg.senderNodeId(locNodeId);
+                        if (msg instanceof TcpDiscoveryRingBatchMessage) {
+                            TcpDiscoveryRingBatchMessage batchMsg = (TcpDiscoveryRingBatchMessage)msg;
+
+                            for (TcpDiscoveryAbstractMessage batchedMsg : batchMsg.messages()) {
+                                batchedMsg.senderNodeId(locNodeId);
+
+                                addMessage(batchedMsg, true);
+                            }
+                        }
+                        else {
+                            msg.senderNodeId(locNodeId);
 
-                        addMessage(msg, true);
+                            addMessage(msg, true);
+                        }
                     }
 
                     break;
@@ -4128,7 +4223,11 @@ class ServerImpl extends TcpDiscoveryImpl {
         private void registerPendingMessage(TcpDiscoveryAbstractMessage msg) {
             assert msg != null;
 
-            if (spi.ensured(msg)) {
+            if (msg instanceof TcpDiscoveryRingBatchMessage) {
+                for (TcpDiscoveryAbstractMessage batchedMsg : ((TcpDiscoveryRingBatchMessage)msg).messages())
+                    registerPendingMessage(batchedMsg);
+            }
+            else if (spi.ensured(msg)) {
                 pendingMsgs.add(msg);
 
                 spi.stats.onPendingMessageRegistered();
@@ -7346,6 +7445,23 @@ class ServerImpl extends TcpDiscoveryImpl {
 
                             continue;
                         }
+                        else if (msg instanceof TcpDiscoveryRingBatchMessage) {
+                            ringMessageReceived();
+
+                            TcpDiscoveryRingBatchMessage batchMsg = (TcpDiscoveryRingBatchMessage)msg;
+
+                            for (TcpDiscoveryAbstractMessage batchedMsg : batchMsg.messages()) {
+                                batchedMsg.senderNodeId(nodeId);
+
+                                spi.stats.onMessageReceived(batchedMsg);
+
+                                msgWorker.addMessage(batchedMsg, false, true);
+                            }
+
+                            spi.writeToSocket(msg, sock, RES_OK, sockTimeout);
+
+                            continue;
+                        }
                         else if (msg instanceof TcpDiscoveryRingLatencyCheckMessage) {
                             ringMessageReceived();
 
@@ -256,6 +256,9 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** Default size of topology snapshots history. */
     public static final int DFLT_TOP_HISTORY_SIZE = 1000;
 
+    /** Default maximum number of custom messages sent across the ring in one batch (value is <tt>16</tt>). */
+    public static final int DFLT_RING_MSG_BATCH_SIZE = 16;
+
     /** Default socket operations timeout in milliseconds (value is <tt>5000ms</tt>). */
     public static final long DFLT_SOCK_TIMEOUT = 5000;
 
@@ -322,6 +325,9 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
     /** Size of topology snapshots history. */
     protected int topHistSize = DFLT_TOP_HISTORY_SIZE;
 
+    /** Maximum number of custom messages sent across the ring in one batch. */
+    protected int ringMsgBatchSize = DFLT_RING_MSG_BATCH_SIZE;
+
     /** Default connection recovery timeout in ms. */
     protected long connRecoveryTimeout = DFLT_CONNECTION_RECOVERY_TIMEOUT;
 
@@ -1033,6 +1039,34 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         return this;
     }
 
+    /**
+     * Gets maximum number of custom discovery messages sent across the ring in one batch.
+     * See {@link #setRingMessageBatchSize(int)} for details.
+     *
+     * @return Maximum number of custom messages in one ring batch.
+     */
+    public int getRingMessageBatchSize() {
+        return ringMsgBatchSize;
+    }
+
+    /**
+     * Sets maximum number of custom discovery messages (including acknowledgements) sent to the next node
+     * in the ring in one batch. When several custom messages are queued on a node, they are forwarded with
+     * a single socket write and a single receipt instead of one round-trip per message. Batching is used only
+     * when all server nodes support it. Value {@code 1} disables batching.
+     * <p>
+     * If not provided, default value is {@link #DFLT_RING_MSG_BATCH_SIZE}.
+     *
+     * @param ringMsgBatchSize Maximum number of custom messages in one ring batch.
+     * @return {@code this} for chaining.
+     */
+    @IgniteSpiConfiguration(optional = true)
+    public TcpDiscoverySpi setRingMessageBatchSize(int ringMsgBatchSize) {
+        this.ringMsgBatchSize = ringMsgBatchSize;
+
+        return this;
+    }
+
     /**
      * Gets timeout that defines how long server node would try to recovery connection.<br>
      * See {@link #setConnectionRecoveryTimeout(long)} for details.
@@ -2173,6 +2207,7 @@ public class TcpDiscoverySpi extends IgniteSpiAdapter implements IgniteDiscovery
         assertParameter(locPort + locPortRange <= 0xffff, "locPort + locPortRange <= 0xffff");
         assertParameter(threadPri > 0, "threadPri > 0");
         assertParameter(statsPrintFreq >= 0, "statsPrintFreq >= 0");
+        assertParameter(ringMsgBatchSize > 0, "ringMsgBatchSize > 0");
 
         if (isSslEnabled()) {
             try {
@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp.internal;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Compact form of topology snapshots history. The oldest snapshot is stored in full, every next snapshot
+ * is stored as a difference with the previous one: positions of removed nodes and added nodes with
+ * their positions. Consecutive snapshots usually differ by a single node, so history of a large
+ * cluster shrinks from {@code O(versions * nodes)} to {@code O(versions + nodes)} entries.
+ */
+public class TcpDiscoveryTopologyHistoryDelta implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** */
+    private static final int[] EMPTY = new int[0];
+
+    /** Topology versions in ascending order. */
+    private final long[] vers;
+
+    /** Positions of nodes removed from the previous snapshot, {@code null} if snapshot is stored in full. */
+    private final int[][] rmvIdxs;
+
+    /** Positions of added nodes in the snapshot, {@code null} if snapshot is stored in full. */
+    private final int[][] addIdxs;
+
+    /** Added nodes or all nodes if snapshot is stored in full. */
+    private final ClusterNode[][] added;
+
+    /**
+     * @param size Number of snapshots.
+     */
+    private TcpDiscoveryTopologyHistoryDelta(int size) {
+        vers = new long[size];
+        rmvIdxs = new int[size][];
+        addIdxs = new int[size][];
+        added = new ClusterNode[size][];
+    }
+
+    /**
+     * Encodes topology history.
+     *
+     * @param hist Topology snapshots history.
+     * @return Encoded history.
+     */
+    public static TcpDiscoveryTopologyHistoryDelta encode(Map<Long, Collection<ClusterNode>> hist) {
+        Map<Long, Collection<ClusterNode>> sorted = hist instanceof TreeMap ? hist : new TreeMap<>(hist);
+
+        TcpDiscoveryTopologyHistoryDelta delta = new TcpDiscoveryTopologyHistoryDelta(sorted.size());
+
+        List<ClusterNode> prev = null;
+
+        int i = 0;
+
+        for (Map.Entry<Long, Collection<ClusterNode>> e : sorted.entrySet()) {
+            List<ClusterNode> cur = new ArrayList<>(e.getValue());
+
+            delta.vers[i] = e.getKey();
+
+            if (prev == null || !delta.encodeDiff(i, prev, cur)) {
+                delta.rmvIdxs[i] = null;
+                delta.addIdxs[i] = null;
+                delta.added[i] = cur.toArray(new ClusterNode[cur.size()]);
+            }
+
+            prev = cur;
+
+            i++;
+        }
+
+        return delta;
+    }
+
+    /**
+     * Decodes topology history.
+     *
+     * @return Topology snapshots history.
+     */
+    public Map<Long, Collection<ClusterNode>> decode() {
+        Map<Long, Collection<ClusterNode>> hist = new TreeMap<>();
+
+        List<ClusterNode> prev = null;
+
+        for (int i = 0; i < vers.length; i++) {
+            List<ClusterNode> cur;
+
+            if (rmvIdxs[i] == null) {
+                cur = new ArrayList<>(added[i].length);
+
+                for (ClusterNode node : added[i])
+                    cur.add(node);
+            }
+            else {
+                assert prev != null : i;
+
+                cur = apply(prev, rmvIdxs[i], addIdxs[i], added[i]);
+            }
+
+            hist.put(vers[i], cur);
+
+            prev = cur;
+        }
+
+        return hist;
+    }
+
+    /**
+     * @return Number of snapshots.
+     */
+    public int size() {
+        return vers.length;
+    }
+
+    /**
+     * Stores snapshot as a difference with the previous one.
+     *
+     * @param i Snapshot index.
+     * @param prev Previous snapshot.
+     * @param cur Current snapshot.
+     * @return {@code False} if the difference can not reproduce current snapshot (order of nodes that are present
+     *      in both snapshots has changed), so it should be stored in full.
+     */
+    private boolean encodeDiff(int i, List<ClusterNode> prev, List<ClusterNode> cur) {
+        Set<UUID> prevIds = new HashSet<>(prev.size() * 2);
+        Set<UUID> curIds = new HashSet<>(cur.size() * 2);
+
+        for (ClusterNode node : prev)
+            prevIds.add(node.id());
+
+        for (ClusterNode node : cur)
+            curIds.add(node.id());
+
+        List<Integer> rmv = new ArrayList<>();
+
+        for (int j = 0; j < prev.size(); j++) {
+            if (!curIds.contains(prev.get(j).id()))
+                rmv.add(j);
+        }
+
+        List<Integer> addIdx = new ArrayList<>();
+        List<ClusterNode> add = new ArrayList<>();
+
+        for (int j = 0; j < cur.size(); j++) {
+            ClusterNode node = cur.get(j);
+
+            if (!prevIds.contains(node.id())) {
+                addIdx.add(j);
+                add.add(node);
+            }
+        }
+
+        int[] rmv0 = toArray(rmv);
+        int[] addIdx0 = toArray(addIdx);
+        ClusterNode[] add0 = add.toArray(new ClusterNode[add.size()]);
+
+        if (!apply(prev, rmv0, addIdx0, add0).equals(cur))
+            return false;
+
+        rmvIdxs[i] = rmv0;
+        addIdxs[i] = addIdx0;
+        added[i] = add0;
+
+        return true;
+    }
+
+    /**
+     * @param prev Previous snapshot.
+     * @param rmv Positions of removed nodes in ascending order.
+     * @param addIdx Positions of added nodes in ascending order.
+     * @param add Added nodes.
+     * @return Restored snapshot.
+     */
+    private static List<ClusterNode> apply(List<ClusterNode> prev, int[] rmv, int[] addIdx, ClusterNode[] add) {
+        List<ClusterNode> res = new ArrayList<>(prev.size() - rmv.length + add.length);
+
+        int r = 0;
+
+        for (int j = 0; j < prev.size(); j++) {
+            if (r < rmv.length && rmv[r] == j) {
+                r++;
+
+                continue;
+            }
+
+            res.add(prev.get(j));
+        }
+
+        for (int j = 0; j < addIdx.length; j++)
+            res.add(addIdx[j], add[j]);
+
+        return res;
+    }
+
+    /**
+     * @param list List of integers.
+     * @return Array of integers.
+     */
+    private static int[] toArray(List<Integer> list) {
+        if (list.isEmpty())
+            return EMPTY;
+
+        int[] res = new int[list.size()];
+
+        for (int i = 0; i < res.length; i++)
+            res[i] = list.get(i);
+
+        return res;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(TcpDiscoveryTopologyHistoryDelta.class, this, "size", vers.length);
+    }
+}
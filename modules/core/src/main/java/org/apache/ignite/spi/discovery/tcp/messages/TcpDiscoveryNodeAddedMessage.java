@@ -25,6 +25,7 @@ import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.lang.IgniteUuid;
 import org.apache.ignite.spi.discovery.tcp.internal.DiscoveryDataPacket;
 import org.apache.ignite.spi.discovery.tcp.internal.TcpDiscoveryNode;
+import org.apache.ignite.spi.discovery.tcp.internal.TcpDiscoveryTopologyHistoryDelta;
 import org.jetbrains.annotations.Nullable;
 
 /**
@@ -64,6 +65,9 @@ public class TcpDiscoveryNodeAddedMessage extends TcpDiscoveryAbstractTraceableM
     /** Topology snapshots history. */
     private Map<Long, Collection<ClusterNode>> topHist;
 
+    /** Delta-encoded topology snapshots history, set instead of {@link #topHist} if receiver supports it. */
+    private TcpDiscoveryTopologyHistoryDelta topHistDelta;
+
     /** Start time of the first grid node. */
     private final long gridStartTime;
 
@@ -103,6 +107,7 @@ public class TcpDiscoveryNodeAddedMessage extends TcpDiscoveryAbstractTraceableM
         this.top = msg.top;
         this.clientTop = msg.clientTop;
         this.topHist = msg.topHist;
+        this.topHistDelta = msg.topHistDelta;
         this.dataPacket = msg.dataPacket;
         this.gridStartTime = msg.gridStartTime;
     }
@@ -200,6 +205,12 @@ public class TcpDiscoveryNodeAddedMessage extends TcpDiscoveryAbstractTraceableM
      * @return Map with topology snapshots history.
      */
     public Map<Long, Collection<ClusterNode>> topologyHistory() {
+        if (topHist == null && topHistDelta != null) {
+            topHist = topHistDelta.decode();
+
+            topHistDelta = null;
+        }
+
         return topHist;
     }
 
@@ -210,6 +221,22 @@ public class TcpDiscoveryNodeAddedMessage extends TcpDiscoveryAbstractTraceableM
      */
     public void topologyHistory(@Nullable Map<Long, Collection<ClusterNode>> topHist) {
         this.topHist = topHist;
+
+        topHistDelta = null;
+    }
+
+    /**
+     * Sets topology snapshots history encoded as a sequence of differences between consecutive snapshots.
+     * Receiver must support {@link org.apache.ignite.internal.IgniteFeatures#TCP_DISCOVERY_TOPOLOGY_HISTORY_DELTA}.
+     *
+     * @param topHist Map with topology snapshots history.
+     */
+    public void topologyHistoryDelta(Map<Long, Collection<ClusterNode>> topHist) {
+        assert topHist != null;
+
+        this.topHist = null;
+
+        topHistDelta = TcpDiscoveryTopologyHistoryDelta.encode(topHist);
     }
 
     /**
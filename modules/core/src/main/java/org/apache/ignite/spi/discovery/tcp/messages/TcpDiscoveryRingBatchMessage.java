@@ -0,0 +1,70 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp.messages;
+
+import java.util.List;
+import java.util.UUID;
+import org.apache.ignite.internal.util.tostring.GridToStringInclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Message carrying several custom discovery messages to the next node in the ring with a single
+ * write and a single receipt. Receiving node unpacks the messages and processes them one by one
+ * in their original order.
+ */
+public class TcpDiscoveryRingBatchMessage extends TcpDiscoveryAbstractMessage {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Batched messages. */
+    @GridToStringInclude
+    private final List<TcpDiscoveryAbstractMessage> msgs;
+
+    /**
+     * Constructor.
+     *
+     * @param creatorNodeId Creator node ID.
+     * @param msgs Messages to batch.
+     */
+    public TcpDiscoveryRingBatchMessage(UUID creatorNodeId, List<TcpDiscoveryAbstractMessage> msgs) {
+        super(creatorNodeId);
+
+        assert msgs != null && !msgs.isEmpty();
+
+        this.msgs = msgs;
+    }
+
+    /**
+     * @return Batched messages.
+     */
+    public List<TcpDiscoveryAbstractMessage> messages() {
+        return msgs;
+    }
+
+    /** {@inheritDoc} */
+    @Override public void addFailedNode(UUID nodeId) {
+        super.addFailedNode(nodeId);
+
+        for (TcpDiscoveryAbstractMessage msg : msgs)
+            msg.addFailedNode(nodeId);
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(TcpDiscoveryRingBatchMessage.class, this, "super", super.toString());
+    }
+}
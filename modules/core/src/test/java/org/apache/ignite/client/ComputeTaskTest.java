@@ -0,0 +1,406 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.client;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.compute.ComputeJob;
+import org.apache.ignite.compute.ComputeJobAdapter;
+import org.apache.ignite.compute.ComputeJobResult;
+import org.apache.ignite.compute.ComputeTaskAdapter;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.ThinClientConfiguration;
+import org.apache.ignite.internal.client.thin.ClientServerError;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.visor.tx.VisorTxTask;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+/**
+ * Tests compute task execution by the thin client.
+ */
+public class ComputeTaskTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 2;
+
+    /** Active compute tasks per connection limit. */
+    private static final int ACTIVE_TASKS_LIMIT = 50;
+
+    /** Latch to block long running jobs. */
+    private static volatile CountDownLatch jobLatch;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        // Compute is disabled for thin clients by default, it's left disabled on the extra node.
+        if (!getTestIgniteInstanceName(NODES_CNT).equals(igniteInstanceName)) {
+            cfg.setClientConnectorConfiguration(new ClientConnectorConfiguration()
+                .setThinClientConfiguration(new ThinClientConfiguration()
+                    .setMaxActiveComputeTasksPerConnection(ACTIVE_TASKS_LIMIT)));
+        }
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Tests that the task is executed on all server nodes and the result is returned to the client.
+     */
+    @Test
+    public void testExecuteTask() throws Exception {
+        try (IgniteClient client = startClient()) {
+            Collection<UUID> nodeIds = client.compute().execute(TestTask.class.getName(), null);
+
+            assertEquals(NODES_CNT, nodeIds.size());
+
+            for (int i = 0; i < NODES_CNT; i++)
+                assertTrue(nodeIds.contains(grid(i).localNode().id()));
+
+            Future<Collection<UUID>> fut = client.compute().executeAsync(TestTask.class.getName(), null);
+
+            assertEquals(NODES_CNT, fut.get().size());
+            assertTrue(fut.isDone());
+        }
+    }
+
+    /**
+     * Tests concurrent execution of several tasks on the same channel.
+     */
+    @Test
+    public void testExecuteTasksConcurrently() throws Exception {
+        try (IgniteClient client = startClient()) {
+            Map<Integer, Future<Integer>> futs = new HashMap<>();
+
+            for (int i = 0; i < 20; i++)
+                futs.put(i, client.compute().executeAsync(EchoTask.class.getName(), i));
+
+            GridTestUtils.runMultiThreaded(i -> {
+                try {
+                    assertEquals((int)i, (int)futs.get(i).get());
+                }
+                catch (Exception e) {
+                    throw new RuntimeException(e);
+                }
+            }, futs.size(), "compute-waiter");
+        }
+    }
+
+    /**
+     * Tests that task failure is propagated to the client.
+     */
+    @Test
+    public void testTaskFailed() throws Exception {
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrowsAnyCause(log, () -> client.compute().execute(FailingTask.class.getName(), null),
+                ClientException.class, "Task failed");
+
+            Future<Object> fut = client.compute().executeAsync(FailingTask.class.getName(), null);
+
+            GridTestUtils.assertThrowsWithCause(() -> fut.get(), ExecutionException.class);
+        }
+    }
+
+    /**
+     * Tests unknown task name.
+     */
+    @Test
+    public void testUnknownTask() throws Exception {
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrowsWithCause(() -> client.compute().execute("NoSuchTask", null),
+                ClientServerError.class);
+        }
+    }
+
+    /**
+     * Tests that Ignite internal tasks can't be executed.
+     */
+    @Test
+    public void testInternalTask() throws Exception {
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrowsAnyCause(log, () -> client.compute().execute(VisorTxTask.class.getName(), null),
+                ClientServerError.class, "Execution of internal tasks is not allowed");
+        }
+    }
+
+    /**
+     * Tests that compute is disabled for thin clients by default.
+     */
+    @Test
+    public void testComputeDisabled() throws Exception {
+        try {
+            startGrid(NODES_CNT);
+
+            try (IgniteClient client = Ignition.startClient(new ClientConfiguration()
+                .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + NODES_CNT)))) {
+                ClientServerError err = X.cause(GridTestUtils.assertThrowsWithCause(
+                    () -> client.compute().execute(EchoTask.class.getName(), 1), ClientServerError.class),
+                    ClientServerError.class);
+
+                assertEquals(ClientStatus.FUNCTIONALITY_DISABLED, err.getCode());
+            }
+        }
+        finally {
+            stopGrid(NODES_CNT);
+        }
+    }
+
+    /**
+     * Tests active compute tasks per connection limit.
+     */
+    @Test
+    public void testActiveTasksLimit() throws Exception {
+        jobLatch = new CountDownLatch(1);
+
+        try (IgniteClient client = startClient()) {
+            List<Future<Object>> futs = new ArrayList<>();
+
+            for (int i = 0; i < ACTIVE_TASKS_LIMIT; i++)
+                futs.add(client.compute().executeAsync(BlockingTask.class.getName(), null));
+
+            ClientServerError err = X.cause(GridTestUtils.assertThrowsWithCause(
+                () -> client.compute().execute(EchoTask.class.getName(), 1), ClientServerError.class),
+                ClientServerError.class);
+
+            assertEquals(ClientStatus.TOO_MANY_COMPUTE_TASKS, err.getCode());
+
+            jobLatch.countDown();
+
+            for (Future<Object> fut : futs)
+                fut.get();
+
+            // Finished tasks are not counted anymore.
+            assertEquals(1, (int)client.compute().execute(EchoTask.class.getName(), 1));
+        }
+        finally {
+            jobLatch.countDown();
+        }
+    }
+
+    /**
+     * Tests task cancellation by the client.
+     */
+    @Test
+    public void testCancelTask() throws Exception {
+        jobLatch = new CountDownLatch(1);
+
+        try (IgniteClient client = startClient()) {
+            Future<Object> fut = client.compute().executeAsync(BlockingTask.class.getName(), null);
+
+            GridTestUtils.assertThrowsWithCause(() -> fut.get(200L, TimeUnit.MILLISECONDS),
+                TimeoutException.class);
+
+            assertTrue(fut.cancel(true));
+            assertTrue(fut.isCancelled());
+            assertFalse(fut.cancel(true));
+
+            GridTestUtils.assertThrowsWithCause(() -> fut.get(), CancellationException.class);
+
+            // Channel is still usable after the cancellation.
+            assertEquals(1, (int)client.compute().execute(EchoTask.class.getName(), 1));
+        }
+        finally {
+            jobLatch.countDown();
+        }
+    }
+
+    /**
+     * Tests task timeout.
+     */
+    @Test
+    public void testTaskTimeout() throws Exception {
+        jobLatch = new CountDownLatch(1);
+
+        try (IgniteClient client = startClient()) {
+            GridTestUtils.assertThrowsWithCause(
+                () -> client.compute().withTimeout(100L).execute(BlockingTask.class.getName(), null),
+                ClientException.class);
+        }
+        finally {
+            jobLatch.countDown();
+        }
+    }
+
+    /**
+     * Tests that task argument and result are passed in the binary form with keep binary flag.
+     */
+    @Test
+    public void testKeepBinary() throws Exception {
+        try (IgniteClient client = startClient()) {
+            Object res = client.compute().withKeepBinary().execute(EchoTask.class.getName(), new TestValue(42));
+
+            assertTrue(res instanceof BinaryObject);
+
+            assertEquals(42, (int)((BinaryObject)res).field("val"));
+
+            TestValue val = client.compute().execute(EchoTask.class.getName(), new TestValue(42));
+
+            assertEquals(42, val.val);
+        }
+    }
+
+    /**
+     * Starts thin client.
+     */
+    private IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"));
+    }
+
+    /**
+     * Test value.
+     */
+    private static class TestValue {
+        /** */
+        private final int val;
+
+        /**
+         * @param val Value.
+         */
+        private TestValue(int val) {
+            this.val = val;
+        }
+    }
+
+    /**
+     * Task returns IDs of the nodes its jobs were executed on.
+     */
+    private static class TestTask extends ComputeTaskAdapter<Object, Collection<UUID>> {
+        /** {@inheritDoc} */
+        @Override public @Nullable Map<? extends ComputeJob, ClusterNode> map(List<ClusterNode> subgrid,
+            @Nullable Object arg) throws IgniteException {
+            Map<ComputeJob, ClusterNode> jobs = new HashMap<>();
+
+            for (ClusterNode node : subgrid) {
+                jobs.put(new ComputeJobAdapter() {
+                    /** */
+                    @IgniteInstanceResource
+                    private Ignite ignite;
+
+                    @Override public Object execute() throws IgniteException {
+                        return ignite.cluster().localNode().id();
+                    }
+                }, node);
+            }
+
+            return jobs;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public Collection<UUID> reduce(List<ComputeJobResult> results) throws IgniteException {
+            return results.stream().map(res -> (UUID)res.getData()).collect(Collectors.toSet());
+        }
+    }
+
+    /**
+     * Task returns its argument.
+     */
+    private static class EchoTask extends ComputeTaskAdapter<Object, Object> {
+        /** {@inheritDoc} */
+        @Override public @Nullable Map<? extends ComputeJob, ClusterNode> map(List<ClusterNode> subgrid,
+            @Nullable Object arg) throws IgniteException {
+            return F.asMap(new ComputeJobAdapter() {
+                @Override public Object execute() throws IgniteException {
+                    return arg;
+                }
+            }, subgrid.get(0));
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public Object reduce(List<ComputeJobResult> results) throws IgniteException {
+            return results.get(0).getData();
+        }
+    }
+
+    /**
+     * Task fails on map stage.
+     */
+    private static class FailingTask extends ComputeTaskAdapter<Object, Object> {
+        /** {@inheritDoc} */
+        @Override public @Nullable Map<? extends ComputeJob, ClusterNode> map(List<ClusterNode> subgrid,
+            @Nullable Object arg) throws IgniteException {
+            throw new IgniteException("Task failed");
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public Object reduce(List<ComputeJobResult> results) throws IgniteException {
+            return null;
+        }
+    }
+
+    /**
+     * Task with a job blocked until {@link #jobLatch} is released.
+     */
+    private static class BlockingTask extends ComputeTaskAdapter<Object, Object> {
+        /** {@inheritDoc} */
+        @Override public @Nullable Map<? extends ComputeJob, ClusterNode> map(List<ClusterNode> subgrid,
+            @Nullable Object arg) throws IgniteException {
+            return F.asMap(new ComputeJobAdapter() {
+                @Override public Object execute() throws IgniteException {
+                    try {
+                        jobLatch.await();
+                    }
+                    catch (InterruptedException ignore) {
+                        // Cancelled.
+                    }
+
+                    return null;
+                }
+            }, subgrid.get(0));
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public Object reduce(List<ComputeJobResult> results) throws IgniteException {
+            return null;
+        }
+    }
+}
@@ -28,6 +28,7 @@ import org.apache.ignite.marshaller.MarshallerContextTestImpl;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 import java.sql.Timestamp;
 import java.util.Arrays;
 import java.util.Date;
@@ -403,6 +404,33 @@ public abstract class BinaryFieldsAbstractSelfTest extends GridCommonAbstractTes
         checkNested(dfltMarsh, fieldName, false);
     }
 
+    /**
+     * Test writing serialized field to heap and direct buffers.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteField() throws Exception {
+        String[] fieldNames = {"fByte", "fBool", "fShort", "fChar", "fInt", "fLong", "fFloat", "fDouble", "fString",
+            "fDate", "fTimestamp", "fUuid", "fDecimal", "fNull"};
+
+        for (String fieldName : fieldNames) {
+            TestContext testCtx = context(dfltMarsh, fieldName);
+
+            BinaryFieldEx field = (BinaryFieldEx)testCtx.field;
+
+            for (ByteBuffer buf : new ByteBuffer[] {ByteBuffer.allocate(1024), ByteBuffer.allocateDirect(1024)}) {
+                assertTrue(field.writeField(testCtx.portObj, buf));
+
+                buf.flip();
+
+                assertEquals(fieldName, U.field(testCtx.obj, fieldName), field.readField(buf));
+
+                assertFalse(buf.hasRemaining());
+            }
+        }
+    }
+
     /**
      * Check field resolution in both normal and nested modes.
      *
@@ -453,58 +481,74 @@ public abstract class BinaryFieldsAbstractSelfTest extends GridCommonAbstractTes
     private void check0(String fieldName, TestContext ctx, boolean exists) throws Exception {
         Object val = ctx.field.value(ctx.portObj);
 
+        Object namedVal = ctx.portObj.field(fieldName);
+
         if (exists) {
             assertTrue(ctx.field.exists(ctx.portObj));
+            assertTrue(ctx.portObj.hasField(fieldName));
 
             Object expVal = U.field(ctx.obj, fieldName);
 
-            if (val instanceof BinaryObject)
-                val = ((BinaryObject) val).deserialize();
-
-            if (val != null && val.getClass().isArray()) {
-                assertNotNull(expVal);
-
-                if (val instanceof byte[])
-                    assertTrue(Arrays.equals((byte[]) expVal, (byte[]) val));
-                else if (val instanceof boolean[])
-                    assertTrue(Arrays.equals((boolean[]) expVal, (boolean[]) val));
-                else if (val instanceof short[])
-                    assertTrue(Arrays.equals((short[]) expVal, (short[]) val));
-                else if (val instanceof char[])
-                    assertTrue(Arrays.equals((char[]) expVal, (char[]) val));
-                else if (val instanceof int[])
-                    assertTrue(Arrays.equals((int[]) expVal, (int[]) val));
-                else if (val instanceof long[])
-                    assertTrue(Arrays.equals((long[]) expVal, (long[]) val));
-                else if (val instanceof float[])
-                    assertTrue(Arrays.equals((float[]) expVal, (float[]) val));
-                else if (val instanceof double[])
-                    assertTrue(Arrays.equals((double[]) expVal, (double[]) val));
-                else {
-                    Object[] expVal0 = (Object[])expVal;
-                    Object[] val0 = (Object[])val;
-
-                    assertEquals(expVal0.length, val0.length);
-
-                    for (int i = 0; i < expVal0.length; i++) {
-                        Object expItem = expVal0[i];
-                        Object item = val0[i];
-
-                        if (item instanceof BinaryObject)
-                            item = ((BinaryObject)item).deserialize();
-
-                        assertEquals(expItem, item);
-                    }
-                }
-            }
-            else
-                assertEquals(expVal, val);
+            checkValue(expVal, val);
+            checkValue(expVal, namedVal);
         }
         else {
             assertFalse(ctx.field.exists(ctx.portObj));
+            assertFalse(ctx.portObj.hasField(fieldName));
 
             assert val == null;
+            assert namedVal == null;
+        }
+    }
+
+    /**
+     * Check field value.
+     *
+     * @param expVal Expected value.
+     * @param val Actual value.
+     */
+    private void checkValue(Object expVal, Object val) {
+        if (val instanceof BinaryObject)
+            val = ((BinaryObject) val).deserialize();
+
+        if (val != null && val.getClass().isArray()) {
+            assertNotNull(expVal);
+
+            if (val instanceof byte[])
+                assertTrue(Arrays.equals((byte[]) expVal, (byte[]) val));
+            else if (val instanceof boolean[])
+                assertTrue(Arrays.equals((boolean[]) expVal, (boolean[]) val));
+            else if (val instanceof short[])
+                assertTrue(Arrays.equals((short[]) expVal, (short[]) val));
+            else if (val instanceof char[])
+                assertTrue(Arrays.equals((char[]) expVal, (char[]) val));
+            else if (val instanceof int[])
+                assertTrue(Arrays.equals((int[]) expVal, (int[]) val));
+            else if (val instanceof long[])
+                assertTrue(Arrays.equals((long[]) expVal, (long[]) val));
+            else if (val instanceof float[])
+                assertTrue(Arrays.equals((float[]) expVal, (float[]) val));
+            else if (val instanceof double[])
+                assertTrue(Arrays.equals((double[]) expVal, (double[]) val));
+            else {
+                Object[] expVal0 = (Object[])expVal;
+                Object[] val0 = (Object[])val;
+
+                assertEquals(expVal0.length, val0.length);
+
+                for (int i = 0; i < expVal0.length; i++) {
+                    Object expItem = expVal0[i];
+                    Object item = val0[i];
+
+                    if (item instanceof BinaryObject)
+                        item = ((BinaryObject)item).deserialize();
+
+                    assertEquals(expItem, item);
+                }
+            }
         }
+        else
+            assertEquals(expVal, val);
     }
 
     /**
@@ -0,0 +1,324 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import javax.cache.Cache;
+import javax.cache.configuration.Factory;
+import javax.cache.event.CacheEntryEvent;
+import javax.cache.event.CacheEntryEventFilter;
+import javax.cache.event.EventType;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.query.ContinuousQuery;
+import org.apache.ignite.cache.query.QueryCursor;
+import org.apache.ignite.cache.query.ScanQuery;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.ThinClientConfiguration;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests continuous queries of the thin client.
+ */
+public class ContinuousQueryTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Nodes count. */
+    private static final int NODES_CNT = 2;
+
+    /** Limit of events buffered by the server for a query. */
+    private static final int MAX_PENDING_EVTS = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        // Remote filters are disabled by default, they are left disabled on the extra node.
+        cfg.setClientConnectorConfiguration(new ClientConnectorConfiguration()
+            .setThinClientConfiguration(new ThinClientConfiguration()
+                .setMaxContinuousQueryPendingEvents(MAX_PENDING_EVTS)
+                .setUserCodeDeserializationEnabled(!getTestIgniteInstanceName(NODES_CNT).equals(igniteInstanceName))));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        grid(0).destroyCache(CACHE_NAME);
+
+        super.afterTest();
+    }
+
+    /**
+     * Tests that events of all types are delivered to the local listener.
+     */
+    @Test
+    public void testEvents() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, String> cache = client.getOrCreateCache(CACHE_NAME);
+
+            List<CacheEntryEvent<? extends Integer, ? extends String>> evts = Collections.synchronizedList(
+                new ArrayList<>());
+
+            ContinuousQuery<Integer, String> qry = new ContinuousQuery<Integer, String>()
+                .setLocalListener(batch -> batch.forEach(evts::add));
+
+            try (QueryCursor<Cache.Entry<Integer, String>> ignored = cache.query(qry)) {
+                cache.put(1, "a");
+                cache.put(1, "b");
+                cache.remove(1);
+
+                assertTrue(GridTestUtils.waitForCondition(() -> evts.size() == 3, 5_000L));
+
+                assertEquals(EventType.CREATED, evts.get(0).getEventType());
+                assertEquals("a", evts.get(0).getValue());
+
+                assertEquals(EventType.UPDATED, evts.get(1).getEventType());
+                assertEquals("a", evts.get(1).getOldValue());
+                assertEquals("b", evts.get(1).getValue());
+
+                assertEquals(EventType.REMOVED, evts.get(2).getEventType());
+                assertEquals(1, (int)evts.get(2).getKey());
+                assertEquals(CACHE_NAME, evts.get(2).getSource().getName());
+
+                // Regular operations work on the channel while the query is running.
+                assertEquals(0, cache.query(new ScanQuery<Integer, String>()).getAll().size());
+            }
+
+            // No events after the cursor is closed.
+            evts.clear();
+
+            cache.put(2, "c");
+
+            assertFalse(GridTestUtils.waitForCondition(() -> !evts.isEmpty(), 500L));
+        }
+    }
+
+    /**
+     * Tests remote filter.
+     */
+    @Test
+    public void testRemoteFilter() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.getOrCreateCache(CACHE_NAME);
+
+            List<Integer> keys = Collections.synchronizedList(new ArrayList<>());
+
+            ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+                .setLocalListener(batch -> batch.forEach(e -> keys.add(e.getKey())));
+
+            qry.setRemoteFilterFactory(new EvenKeysFilterFactory());
+
+            try (QueryCursor<Cache.Entry<Integer, Integer>> ignored = cache.query(qry)) {
+                for (int i = 0; i < 10; i++)
+                    cache.put(i, i);
+
+                assertTrue(GridTestUtils.waitForCondition(() -> keys.size() == 5, 5_000L));
+
+                for (Integer key : keys)
+                    assertEquals(0, key % 2);
+            }
+        }
+    }
+
+    /**
+     * Tests that remote filters are rejected if user code deserialization is disabled on the server.
+     */
+    @Test
+    public void testRemoteFilterDisabled() throws Exception {
+        try {
+            startGrid(NODES_CNT);
+
+            try (IgniteClient client = Ignition.startClient(new ClientConfiguration()
+                .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + NODES_CNT)))) {
+                ClientCache<Integer, Integer> cache = client.getOrCreateCache(CACHE_NAME);
+
+                ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+                    .setLocalListener(batch -> {});
+
+                qry.setRemoteFilterFactory(new EvenKeysFilterFactory());
+
+                ClientServerError err = X.cause(GridTestUtils.assertThrowsWithCause(() -> cache.query(qry),
+                    ClientServerError.class), ClientServerError.class);
+
+                assertEquals(ClientStatus.FUNCTIONALITY_DISABLED, err.getCode());
+            }
+        }
+        finally {
+            stopGrid(NODES_CNT);
+        }
+    }
+
+    /**
+     * Tests that the query is stopped when the client falls behind by more than the buffered events limit.
+     */
+    @Test
+    public void testPendingEventsLimit() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.getOrCreateCache(CACHE_NAME);
+
+            CountDownLatch lsnrLatch = new CountDownLatch(1);
+
+            List<Integer> keys = Collections.synchronizedList(new ArrayList<>());
+
+            ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+                .setLocalListener(batch -> {
+                    U.awaitQuiet(lsnrLatch);
+
+                    batch.forEach(e -> keys.add(e.getKey()));
+                });
+
+            try (QueryCursor<Cache.Entry<Integer, Integer>> ignored = cache.query(qry)) {
+                int cnt = MAX_PENDING_EVTS + ClientContinuousQueryCursor.MAX_UNACKED_BATCHES * 2;
+
+                for (int i = 0; i < cnt; i++)
+                    grid(0).cache(CACHE_NAME).put(i, i);
+
+                lsnrLatch.countDown();
+
+                // Batches sent before the query is stopped are still delivered.
+                assertTrue(GridTestUtils.waitForCondition(() -> !keys.isEmpty(), 5_000L));
+
+                doSleep(500L);
+
+                keys.clear();
+
+                grid(0).cache(CACHE_NAME).put(-1, -1);
+
+                assertFalse(GridTestUtils.waitForCondition(() -> !keys.isEmpty(), 1_000L));
+            }
+        }
+    }
+
+    /**
+     * Tests that all events are delivered to the slow listener, when the server has to hold back event batches.
+     */
+    @Test
+    public void testSlowListener() throws Exception {
+        int cnt = ClientContinuousQueryCursor.MAX_UNACKED_BATCHES * 10;
+
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.getOrCreateCache(CACHE_NAME);
+
+            CountDownLatch latch = new CountDownLatch(cnt);
+
+            ContinuousQuery<Integer, Integer> qry = new ContinuousQuery<Integer, Integer>()
+                .setLocalListener(batch -> {
+                    for (CacheEntryEvent<? extends Integer, ? extends Integer> ignored : batch)
+                        latch.countDown();
+
+                    doSleep(1L);
+                });
+
+            try (QueryCursor<Cache.Entry<Integer, Integer>> ignored = cache.query(qry)) {
+                for (int i = 0; i < cnt; i++)
+                    grid(0).cache(CACHE_NAME).put(i, i);
+
+                assertTrue(latch.await(30, TimeUnit.SECONDS));
+            }
+        }
+    }
+
+    /**
+     * Tests events with keep binary flag.
+     */
+    @Test
+    public void testKeepBinary() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientCache<Integer, Person> cache = client.getOrCreateCache(CACHE_NAME);
+
+            ClientCache<Integer, BinaryObject> binCache = cache.withKeepBinary();
+
+            List<Object> vals = Collections.synchronizedList(new ArrayList<>());
+
+            ContinuousQuery<Integer, BinaryObject> qry = new ContinuousQuery<Integer, BinaryObject>()
+                .setLocalListener(batch -> batch.forEach(e -> vals.add(e.getValue())));
+
+            try (QueryCursor<Cache.Entry<Integer, BinaryObject>> ignored = binCache.query(qry)) {
+                cache.put(1, new Person("name"));
+
+                assertTrue(GridTestUtils.waitForCondition(() -> vals.size() == 1, 5_000L));
+
+                assertTrue(vals.get(0) instanceof BinaryObject);
+                assertEquals("name", ((BinaryObject)vals.get(0)).field("name"));
+            }
+        }
+    }
+
+    /**
+     * Starts thin client.
+     */
+    private IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"));
+    }
+
+    /**
+     * Test value.
+     */
+    private static class Person {
+        /** */
+        private final String name;
+
+        /**
+         * @param name Name.
+         */
+        private Person(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Filter factory passing events for even keys only.
+     */
+    private static class EvenKeysFilterFactory implements Factory<CacheEntryEventFilter<Integer, Integer>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public CacheEntryEventFilter<Integer, Integer> create() {
+            return evt -> evt.getKey() % 2 == 0;
+        }
+    }
+}
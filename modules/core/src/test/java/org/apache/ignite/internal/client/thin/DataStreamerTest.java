@@ -0,0 +1,297 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.Ignition;
+import org.apache.ignite.client.ClientDataStreamer;
+import org.apache.ignite.client.IgniteClient;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.configuration.ClientConnectorConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.ThinClientConfiguration;
+import org.apache.ignite.internal.processors.platform.client.ClientStatus;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.stream.StreamReceiver;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests thin client data streamer.
+ */
+public class DataStreamerTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 2;
+
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Entries count. */
+    private static final int ENTRIES_CNT = 10_000;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        // Receivers are disabled by default, they are left disabled on the extra node.
+        cfg.setClientConnectorConfiguration(new ClientConnectorConfiguration()
+            .setThinClientConfiguration(new ThinClientConfiguration()
+                .setUserCodeDeserializationEnabled(!getTestIgniteInstanceName(NODES_CNT).equals(igniteInstanceName))));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        grid(0).createCache(new CacheConfiguration<>(CACHE_NAME));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        grid(0).cache(CACHE_NAME).clear();
+    }
+
+    /**
+     * Tests that all streamed data is loaded after the streamer is closed.
+     */
+    @Test
+    public void testStreamData() throws Exception {
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.batchSize(100);
+
+                for (int i = 0; i < ENTRIES_CNT; i++)
+                    streamer.addData(i, i);
+            }
+
+            IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+            assertEquals(ENTRIES_CNT, cache.size());
+
+            for (int i = 0; i < ENTRIES_CNT; i += 97)
+                assertEquals(i, (int)cache.get(i));
+        }
+    }
+
+    /**
+     * Tests flush, overwrite and removal of entries.
+     */
+    @Test
+    public void testFlushOverwriteAndRemove() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        for (int i = 0; i < 100; i++)
+            cache.put(i, -1);
+
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.allowOverwrite(true);
+
+                Map<Integer, Integer> data = new HashMap<>();
+
+                for (int i = 0; i < 100; i++)
+                    data.put(i, i);
+
+                streamer.addData(data);
+
+                streamer.flush();
+
+                for (int i = 0; i < 100; i++)
+                    assertEquals(i, (int)cache.get(i));
+
+                for (int i = 0; i < 50; i++)
+                    streamer.removeData(i);
+            }
+
+            assertEquals(50, cache.size());
+            assertNull(cache.get(0));
+            assertEquals(99, (int)cache.get(99));
+        }
+    }
+
+    /**
+     * Tests that existing entries are not overwritten by default.
+     */
+    @Test
+    public void testNoOverwrite() throws Exception {
+        IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+        cache.put(0, -1);
+
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.addData(0, 0);
+                streamer.addData(1, 1);
+            }
+
+            assertEquals(-1, (int)cache.get(0));
+            assertEquals(1, (int)cache.get(1));
+        }
+    }
+
+    /**
+     * Tests custom stream receiver.
+     */
+    @Test
+    public void testReceiver() throws Exception {
+        try (IgniteClient client = startClient()) {
+            try (ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME)) {
+                streamer.receiver(new DoubleValueReceiver());
+
+                for (int i = 0; i < 100; i++)
+                    streamer.addData(i, i);
+            }
+
+            IgniteCache<Integer, Integer> cache = grid(0).cache(CACHE_NAME);
+
+            for (int i = 0; i < 100; i++)
+                assertEquals(i * 2, (int)cache.get(i));
+        }
+    }
+
+    /**
+     * Tests that receivers are rejected if user code deserialization is disabled on the server.
+     */
+    @Test
+    public void testReceiverDisabled() throws Exception {
+        try {
+            startGrid(NODES_CNT);
+
+            try (IgniteClient client = Ignition.startClient(new ClientConfiguration()
+                .setAddresses("127.0.0.1:" + (ClientConnectorConfiguration.DFLT_PORT + NODES_CNT)))) {
+                ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME);
+
+                streamer.receiver(new DoubleValueReceiver());
+
+                streamer.addData(0, 0);
+
+                ClientServerError err = X.cause(GridTestUtils.assertThrowsWithCause(() -> streamer.flush(),
+                    ClientServerError.class), ClientServerError.class);
+
+                assertEquals(ClientStatus.FUNCTIONALITY_DISABLED, err.getCode());
+
+                streamer.close(true);
+            }
+
+            assertEquals(0, grid(0).cache(CACHE_NAME).size());
+        }
+        finally {
+            stopGrid(NODES_CNT);
+        }
+    }
+
+    /**
+     * Tests that failure of a streamed batch is reported to the client.
+     */
+    @Test
+    public void testBatchFailure() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME);
+
+            streamer.receiver(new FailingReceiver());
+
+            for (int i = 0; i < 100; i++)
+                streamer.addData(i, i);
+
+            ClientServerError err = X.cause(GridTestUtils.assertThrowsWithCause(() -> streamer.flush(),
+                ClientServerError.class), ClientServerError.class);
+
+            assertEquals(ClientStatus.FAILED, err.getCode());
+
+            streamer.close(true);
+        }
+    }
+
+    /**
+     * Tests that cancelled streamer discards buffered data and settings can't be changed after data is added.
+     */
+    @Test
+    public void testCancelAndIllegalState() throws Exception {
+        try (IgniteClient client = startClient()) {
+            ClientDataStreamer<Integer, Integer> streamer = client.dataStreamer(CACHE_NAME);
+
+            streamer.addData(0, 0);
+
+            GridTestUtils.assertThrows(log, () -> streamer.allowOverwrite(true), IllegalStateException.class, null);
+
+            streamer.close(true);
+
+            GridTestUtils.assertThrows(log, () -> {
+                streamer.addData(1, 1);
+
+                return null;
+            }, IllegalStateException.class, null);
+
+            assertEquals(0, grid(0).cache(CACHE_NAME).size());
+        }
+    }
+
+    /**
+     * @return Thin client.
+     */
+    private IgniteClient startClient() {
+        return Ignition.startClient(new ClientConfiguration().setAddresses("127.0.0.1:10800"));
+    }
+
+    /**
+     * Receiver, which puts doubled values to the cache.
+     */
+    private static class DoubleValueReceiver implements StreamReceiver<Integer, Integer> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public void receive(IgniteCache<Integer, Integer> cache,
+            Collection<Map.Entry<Integer, Integer>> entries) {
+            for (Map.Entry<Integer, Integer> e : entries)
+                cache.put(e.getKey(), e.getValue() * 2);
+        }
+    }
+
+    /**
+     * Receiver, which always fails.
+     */
+    private static class FailingReceiver implements StreamReceiver<Integer, Integer> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** {@inheritDoc} */
+        @Override public void receive(IgniteCache<Integer, Integer> cache,
+            Collection<Map.Entry<Integer, Integer>> entries) {
+            throw new IgniteException("Test receiver failure.");
+        }
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.client.thin;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.cache.CacheMode;
+import org.apache.ignite.client.ClientAuthorizationException;
+import org.apache.ignite.client.ClientCache;
+import org.apache.ignite.client.ClientConnectionException;
+import org.apache.ignite.client.ClientException;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.ClientConfiguration;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests that thin client sends key-based requests to the primary nodes when partition awareness is enabled.
+ */
+public class ThinClientPartitionAwarenessTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 3;
+
+    /** Partitioned cache name. */
+    private static final String PART_CACHE_NAME = "partitioned";
+
+    /** Replicated cache name. */
+    private static final String REPL_CACHE_NAME = "replicated";
+
+    /** Transactional cache name. */
+    private static final String TX_CACHE_NAME = "transactional";
+
+    /** Operations sent by the client: operation and server node ID. */
+    private final Queue<T2<ClientOperation, UUID>> ops = new ConcurrentLinkedQueue<>();
+
+    /** If {@code true}, channels fail to handle responses. */
+    private volatile boolean failResponses;
+
+    /** Opened channels. */
+    private final Queue<ClientChannel> channels = new ConcurrentLinkedQueue<>();
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        grid(0).createCache(new CacheConfiguration<>(PART_CACHE_NAME).setCacheMode(CacheMode.PARTITIONED));
+        grid(0).createCache(new CacheConfiguration<>(REPL_CACHE_NAME).setCacheMode(CacheMode.REPLICATED));
+        grid(0).createCache(new CacheConfiguration<>(TX_CACHE_NAME).setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL));
+
+        awaitPartitionMapExchange();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        ops.clear();
+        channels.clear();
+
+        failResponses = false;
+    }
+
+    /**
+     * Test that single key requests are sent to the primary node.
+     */
+    @Test
+    public void testSingleKeyRequests() throws Exception {
+        try (TcpIgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(PART_CACHE_NAME);
+
+            for (int i = 0; i < 100; i++) {
+                ops.clear();
+
+                cache.put(i, i);
+
+                assertOperation(ClientOperation.CACHE_PUT, primaryNode(i));
+
+                assertEquals(i, (int)cache.get(i));
+
+                assertOperation(ClientOperation.CACHE_GET, primaryNode(i));
+
+                assertTrue(cache.containsKey(i));
+
+                assertOperation(ClientOperation.CACHE_CONTAINS_KEY, primaryNode(i));
+            }
+        }
+    }
+
+    /**
+     * Test that multi key requests are split by the primary nodes.
+     */
+    @Test
+    public void testMultiKeyRequests() throws Exception {
+        try (TcpIgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(PART_CACHE_NAME);
+
+            Map<Integer, Integer> data = new HashMap<>();
+
+            for (int i = 0; i < 100; i++)
+                data.put(i, i);
+
+            // Warm up partition mapping.
+            cache.get(0);
+
+            ops.clear();
+
+            cache.putAll(data);
+
+            Set<UUID> expNodes = new HashSet<>();
+
+            for (Integer key : data.keySet())
+                expNodes.add(primaryNode(key));
+
+            assertEquals(expNodes, operationNodes(ClientOperation.CACHE_PUT_ALL));
+
+            ops.clear();
+
+            assertEquals(data, cache.getAll(data.keySet()));
+
+            assertEquals(expNodes, operationNodes(ClientOperation.CACHE_GET_ALL));
+        }
+    }
+
+    /**
+     * Test that keys of the transactional cache are not split between nodes, so the implicit transaction covers all
+     * the keys.
+     */
+    @Test
+    public void testTransactionalCacheMultiKeyRequests() throws Exception {
+        try (TcpIgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(TX_CACHE_NAME);
+
+            Map<Integer, Integer> data = new HashMap<>();
+
+            for (int i = 0; i < 100; i++)
+                data.put(i, i);
+
+            // Warm up partition mapping.
+            cache.get(0);
+
+            ops.clear();
+
+            cache.putAll(data);
+
+            assertEquals(1, operationNodes(ClientOperation.CACHE_PUT_ALL).size());
+
+            assertEquals(data, cache.getAll(data.keySet()));
+        }
+    }
+
+    /**
+     * Test that no requests remain pending on the channels if a response to multi key request can't be handled.
+     */
+    @Test
+    public void testFailedMultiKeyRequests() throws Exception {
+        try (TcpIgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(PART_CACHE_NAME);
+
+            Map<Integer, Integer> data = new HashMap<>();
+
+            for (int i = 0; i < 100; i++)
+                data.put(i, i);
+
+            // Warm up partition mapping and cache configuration.
+            cache.putAll(data);
+
+            ops.clear();
+
+            failResponses = true;
+
+            GridTestUtils.assertThrows(log, () -> {
+                cache.putAll(data);
+
+                return null;
+            }, ClientException.class, "Response failed");
+
+            assertTrue(operationNodes(ClientOperation.CACHE_PUT_ALL).size() > 1);
+
+            for (ClientChannel ch : channels) {
+                Map<?, ?> pendingReqs = GridTestUtils.getFieldValue(((TestClientChannel)ch).delegate, "pendingReqs");
+
+                assertTrue(pendingReqs.isEmpty());
+            }
+        }
+    }
+
+    /**
+     * Test that requests to the caches not applicable for partition awareness are sent to the default channel.
+     */
+    @Test
+    public void testReplicatedCache() throws Exception {
+        try (TcpIgniteClient client = startClient()) {
+            ClientCache<Integer, Integer> cache = client.cache(REPL_CACHE_NAME);
+
+            for (int i = 0; i < 10; i++)
+                cache.put(i, i);
+
+            assertEquals(1, operationNodes(ClientOperation.CACHE_PUT).size());
+
+            for (int i = 0; i < 10; i++)
+                assertEquals(i, (int)cache.get(i));
+        }
+    }
+
+    /**
+     * Starts client with partition awareness and waits for the channels to all nodes to be opened.
+     */
+    private TcpIgniteClient startClient() throws Exception {
+        ClientConfiguration cfg = new ClientConfiguration()
+            .setAddresses("127.0.0.1:10800..10802")
+            .setPartitionAwarenessEnabled(true);
+
+        TcpIgniteClient client = new TcpIgniteClient(TestClientChannel::new, cfg);
+
+        assertTrue(GridTestUtils.waitForCondition(() -> channels.size() == NODES_CNT, 5_000L));
+
+        return client;
+    }
+
+    /**
+     * @param key Key.
+     * @return Primary node ID.
+     */
+    private UUID primaryNode(int key) {
+        return grid(0).affinity(PART_CACHE_NAME).mapKeyToNode(key).id();
+    }
+
+    /**
+     * Checks that the last sent operation of the given type was sent to the expected node.
+     *
+     * @param op Operation.
+     * @param expNodeId Expected node ID.
+     */
+    private void assertOperation(ClientOperation op, UUID expNodeId) {
+        T2<ClientOperation, UUID> last = null;
+
+        for (T2<ClientOperation, UUID> sent : ops) {
+            if (sent.get1() == op)
+                last = sent;
+        }
+
+        assertNotNull("Operation was not sent: " + op, last);
+        assertEquals(expNodeId, last.get2());
+
+        ops.clear();
+    }
+
+    /**
+     * @param op Operation.
+     * @return IDs of the nodes the operation was sent to.
+     */
+    private Set<UUID> operationNodes(ClientOperation op) {
+        Set<UUID> nodes = new HashSet<>();
+
+        for (T2<ClientOperation, UUID> sent : ops) {
+            if (sent.get1() == op)
+                nodes.add(sent.get2());
+        }
+
+        return nodes;
+    }
+
+    /**
+     * Channel, which records sent operations.
+     */
+    private class TestClientChannel implements ClientChannel {
+        /** Delegate. */
+        private final TcpClientChannel delegate;
+
+        /**
+         * @param cfg Channel configuration.
+         */
+        TestClientChannel(ClientChannelConfiguration cfg) {
+            delegate = new TcpClientChannel(cfg);
+
+            channels.add(this);
+        }
+
+        /** {@inheritDoc} */
+        @Override public <T> T service(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter,
+            Function<PayloadInputChannel, T> payloadReader) throws ClientConnectionException, ClientAuthorizationException {
+            return receive(send(op, payloadWriter), payloadReader);
+        }
+
+        /** {@inheritDoc} */
+        @Override public long send(ClientOperation op, Consumer<PayloadOutputChannel> payloadWriter)
+            throws ClientConnectionException {
+            ops.add(new T2<>(op, delegate.serverNodeId()));
+
+            return delegate.send(op, payloadWriter);
+        }
+
+        /** {@inheritDoc} */
+        @Override public <T> T receive(long reqId, Function<PayloadInputChannel, T> payloadReader)
+            throws ClientConnectionException, ClientAuthorizationException {
+            T res = delegate.receive(reqId, payloadReader);
+
+            if (failResponses)
+                throw new ClientException("Response failed");
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public <T> T receiveNotification(long rsrcId, Function<PayloadInputChannel, T> payloadReader,
+            long timeout) throws ClientException, TimeoutException, InterruptedException {
+            return delegate.receiveNotification(rsrcId, payloadReader, timeout);
+        }
+
+        /** {@inheritDoc} */
+        @Override public void dropNotifications(long rsrcId) {
+            delegate.dropNotifications(rsrcId);
+        }
+
+        /** {@inheritDoc} */
+        @Override public ProtocolVersion serverVersion() {
+            return delegate.serverVersion();
+        }
+
+        /** {@inheritDoc} */
+        @Override public UUID serverNodeId() {
+            return delegate.serverNodeId();
+        }
+
+        /** {@inheritDoc} */
+        @Override public AffinityTopologyVersion serverTopologyVersion() {
+            return delegate.serverTopologyVersion();
+        }
+
+        /** {@inheritDoc} */
+        @Override public void addTopologyChangeListener(Consumer<ClientChannel> lsnr) {
+            delegate.addTopologyChangeListener(ch -> lsnr.accept(this));
+        }
+
+        /** {@inheritDoc} */
+        @Override public void close() throws Exception {
+            channels.remove(this);
+
+            delegate.close();
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CachePeekMode;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.testframework.ListeningTestLogger;
+import org.apache.ignite.testframework.LogListener;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_PDS_FILE_REBALANCE_ENABLED;
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL;
+
+/**
+ * Tests rebalancing of empty persistent partitions by partition files.
+ */
+@WithSystemProperty(key = IGNITE_PDS_FILE_REBALANCE_ENABLED, value = "true")
+public class IgnitePdsFileRebalanceTest extends GridCommonAbstractTest {
+    /** */
+    private static final int PARTS = 32;
+
+    /** */
+    private static final int KEYS = 10_000;
+
+    /** */
+    private final LogListener fileRebalanceLsnr = LogListener.matches("Completed file rebalancing").build();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        ListeningTestLogger testLog = new ListeningTestLogger(false, cfg.getGridLogger());
+
+        testLog.registerListener(fileRebalanceLsnr);
+
+        cfg.setGridLogger(testLog);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalSegmentSize(4 * 1024 * 1024)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(100L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(TRANSACTIONAL)
+            .setBackups(1)
+            .setAffinity(new RendezvousAffinityFunction(false, PARTS)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRebalanceToNewNode() throws Exception {
+        IgniteEx crd = startGrids(2);
+
+        crd.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = crd.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache.put(i, i);
+
+        forceCheckpoint();
+
+        // Updates made after the checkpoint are rebalanced from WAL.
+        for (int i = 0; i < KEYS; i += 10)
+            cache.put(i, -i);
+
+        startGrid(2);
+
+        resetBaselineTopology();
+
+        awaitPartitionMapExchange(true, true, null);
+
+        assertTrue(fileRebalanceLsnr.check());
+
+        checkData(grid(2));
+
+        // Installed partition files must survive the node restart.
+        stopGrid(2);
+
+        startGrid(2);
+
+        awaitPartitionMapExchange(true, true, null);
+
+        checkData(grid(2));
+
+        assertPartitionsSame(idleVerify(crd, DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * @param ignite Node to check.
+     */
+    private void checkData(IgniteEx ignite) {
+        IgniteCache<Integer, Integer> cache = ignite.cache(DEFAULT_CACHE_NAME);
+
+        int cnt = 0;
+
+        for (int i = 0; i < KEYS; i++) {
+            if (!ignite.affinity(DEFAULT_CACHE_NAME).isPrimaryOrBackup(ignite.localNode(), i))
+                continue;
+
+            assertEquals((Integer)(i % 10 == 0 ? -i : i), cache.localPeek(i, CachePeekMode.PRIMARY,
+                CachePeekMode.BACKUP));
+
+            cnt++;
+        }
+
+        assertTrue(cnt > 0);
+    }
+}
@@ -0,0 +1,229 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.checkpoint;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.OpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.affinity.Affinity;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.CheckpointWriteOrder;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks that with several checkpoint threads and sequential write order every partition file is written by a single
+ * checkpoint thread, while the checkpoint is still written by several threads concurrently, and that a partition
+ * file with most of the checkpoint pages is written by several threads.
+ */
+public class CheckpointWritersStripingTest extends GridCommonAbstractTest {
+    /** Cache name. */
+    private static final String CACHE_NAME = "cache";
+
+    /** Checkpoint threads count. */
+    private static final int CP_THREADS = 4;
+
+    /** Keys count. */
+    private static final int KEYS_CNT = 20_000;
+
+    /** Checkpoint threads, which wrote a partition file, by file name. */
+    private static final ConcurrentMap<String, Set<String>> writers = new ConcurrentHashMap<>();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setCheckpointThreads(CP_THREADS)
+            .setCheckpointWriteOrder(CheckpointWriteOrder.SEQUENTIAL)
+            .setFileIOFactory(new WritersTrackingFileIOFactory(new RandomAccessFileIOFactory()))
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(256L * 1024 * 1024)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(CACHE_NAME)
+            .setAffinity(new RendezvousAffinityFunction(false, 64)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        writers.clear();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPartitionFileWrittenBySingleThread() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        IgniteCache<Integer, String> cache = ignite.cache(CACHE_NAME);
+
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < KEYS_CNT; i++)
+                cache.put(i, "value-" + i + "-" + round);
+
+            writers.clear();
+
+            forceCheckpoint();
+
+            assertFalse(writers.isEmpty());
+
+            Set<String> allWriters = ConcurrentHashMap.newKeySet();
+
+            for (Set<String> fileWriters : writers.values()) {
+                assertEquals(fileWriters.toString(), 1, fileWriters.size());
+
+                allWriters.addAll(fileWriters);
+            }
+
+            assertTrue(allWriters.toString(), allWriters.size() > 1);
+        }
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        cache = ignite.cache(CACHE_NAME);
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            assertEquals("value-" + i + "-2", cache.get(i));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testHotPartitionWrittenBySeveralThreads() throws Exception {
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        IgniteCache<Integer, String> cache = ignite.cache(CACHE_NAME);
+
+        Affinity<Integer> aff = ignite.affinity(CACHE_NAME);
+
+        List<Integer> keys = new ArrayList<>(KEYS_CNT);
+
+        for (int i = 0; keys.size() < KEYS_CNT; i++) {
+            if (aff.partition(i) == 0)
+                keys.add(i);
+        }
+
+        forceCheckpoint();
+
+        for (Integer key : keys)
+            cache.put(key, "value-" + key);
+
+        writers.clear();
+
+        forceCheckpoint();
+
+        Set<String> hotPartWriters = writers.get("part-0.bin");
+
+        assertNotNull(writers.toString(), hotPartWriters);
+        assertTrue(hotPartWriters.toString(), hotPartWriters.size() > 1);
+
+        stopGrid(0);
+
+        ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        cache = ignite.cache(CACHE_NAME);
+
+        for (Integer key : keys)
+            assertEquals("value-" + key, cache.get(key));
+    }
+
+    /**
+     * Records checkpoint threads writing to partition files.
+     */
+    private static class WritersTrackingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Delegate. */
+        private final FileIOFactory delegate;
+
+        /**
+         * @param delegate Delegate.
+         */
+        private WritersTrackingFileIOFactory(FileIOFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            FileIO fileIO = delegate.create(file, modes);
+
+            if (!file.getName().startsWith("part-"))
+                return fileIO;
+
+            return new FileIODecorator(fileIO) {
+                /** {@inheritDoc} */
+                @Override public int write(ByteBuffer srcBuf, long position) throws IOException {
+                    String thread = Thread.currentThread().getName();
+
+                    if (thread.startsWith("checkpoint-runner")) {
+                        writers.computeIfAbsent(file.getName(), k -> ConcurrentHashMap.newKeySet()).add(thread);
+
+                        // Slow down the writes, so a writer is not done before the others are started.
+                        doSleep(1);
+                    }
+
+                    return super.write(srcBuf, position);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.pagemem.wal.WALIterator;
+import org.apache.ignite.internal.pagemem.wal.WALPointer;
+import org.apache.ignite.internal.pagemem.wal.record.DataEntry;
+import org.apache.ignite.internal.pagemem.wal.record.DataRecord;
+import org.apache.ignite.internal.pagemem.wal.record.WALRecord;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.wal.FileWALPointer;
+import org.apache.ignite.internal.util.typedef.internal.CU;
+import org.apache.ignite.lang.IgniteBiTuple;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD;
+
+/**
+ * Tests compression of WAL data records.
+ */
+@WithSystemProperty(key = IGNITE_WAL_DATA_RECORD_COMPRESSION_THRESHOLD, value = "1024")
+public class WalDataRecordCompressionTest extends GridCommonAbstractTest {
+    /** Entries count. */
+    private static final int ENTRIES_CNT = 100;
+
+    /** Value length. */
+    private static final int VAL_LEN = 16 * 1024;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(100L * 1024 * 1024)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that large data records are compressed and restored on logical recovery.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompressedDataRecordsRecovery() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, String> cache = ig.getOrCreateCache(DEFAULT_CACHE_NAME);
+
+        forceCheckpoint();
+
+        GridCacheDatabaseSharedManager dbMgr = (GridCacheDatabaseSharedManager)ig.context().cache().context()
+            .database();
+
+        dbMgr.enableCheckpoints(false).get();
+
+        for (int i = 0; i < ENTRIES_CNT; i++)
+            cache.put(i, value(i));
+
+        int cacheId = CU.cacheId(DEFAULT_CACHE_NAME);
+
+        int compressed = 0;
+
+        try (WALIterator it = ig.context().cache().context().wal().replay(null)) {
+            while (it.hasNext()) {
+                IgniteBiTuple<WALPointer, WALRecord> next = it.next();
+
+                if (next.get2().type() != WALRecord.RecordType.DATA_RECORD)
+                    continue;
+
+                for (DataEntry entry : ((DataRecord)next.get2()).writeEntries()) {
+                    if (entry.cacheId() == cacheId && ((FileWALPointer)next.get1()).length() < VAL_LEN / 2)
+                        compressed++;
+                }
+            }
+        }
+
+        assertEquals(ENTRIES_CNT, compressed);
+
+        stopGrid(0, true);
+
+        ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < ENTRIES_CNT; i++)
+            assertEquals(value(i), cache.get(i));
+    }
+
+    /**
+     * @param i Index.
+     * @return Well compressible value.
+     */
+    private static String value(int i) {
+        StringBuilder sb = new StringBuilder(VAL_LEN);
+
+        while (sb.length() < VAL_LEN)
+            sb.append("value-").append(i).append(';');
+
+        return sb.toString();
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.db.wal;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.OpenOption;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.CacheAtomicityMode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.WALMode;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.cache.persistence.GridCacheDatabaseSharedManager;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIO;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIODecorator;
+import org.apache.ignite.internal.processors.cache.persistence.file.FileIOFactory;
+import org.apache.ignite.internal.processors.cache.persistence.file.RandomAccessFileIOFactory;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_FSYNC_GROUP_COMMIT;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_FSYNC_WITH_DEDICATED_WORKER;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_WAL_MMAP;
+
+/**
+ * Tests group commit of WAL fsync requests in FSYNC mode.
+ */
+@WithSystemProperty(key = IGNITE_WAL_FSYNC_GROUP_COMMIT, value = "true")
+public class WalFsyncGroupCommitTest extends GridCommonAbstractTest {
+    /** Threads count. */
+    private static final int THREADS_CNT = 16;
+
+    /** Transactions per thread. */
+    private static final int TX_PER_THREAD = 200;
+
+    /** Number of WAL segment fsyncs. */
+    private static final AtomicLong walFsyncCnt = new AtomicLong();
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setWalMode(WALMode.FSYNC)
+            .setWalFsyncDelayNanos(100_000)
+            .setFileIOFactory(new FsyncCountingFileIOFactory(new RandomAccessFileIOFactory()))
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setPersistenceEnabled(true)
+                .setMaxSize(100L * 1024 * 1024)));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setAtomicityMode(CacheAtomicityMode.TRANSACTIONAL));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testGroupCommit() throws Exception {
+        checkConcurrentCommits(true);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    @WithSystemProperty(key = IGNITE_WAL_FSYNC_WITH_DEDICATED_WORKER, value = "true")
+    @WithSystemProperty(key = IGNITE_WAL_MMAP, value = "false")
+    public void testGroupCommitWithDedicatedWorker() throws Exception {
+        // WAL writer thread flushes all the buffered records anyway, so fsyncs are grouped as well without the group
+        // commit and their number is not compared.
+        checkConcurrentCommits(false);
+    }
+
+    /**
+     * Commits transactions from several threads, checks that all the transactions are restored from WAL after the
+     * node is stopped without a checkpoint.
+     *
+     * @param cmpFsyncs If {@code true}, checks that group commit reduces the number of fsyncs of the same load.
+     * @throws Exception If failed.
+     */
+    private void checkConcurrentCommits(boolean cmpFsyncs) throws Exception {
+        if (cmpFsyncs) {
+            long fsyncsWithoutGroupCommit;
+
+            System.setProperty(IGNITE_WAL_FSYNC_GROUP_COMMIT, "false");
+
+            try {
+                fsyncsWithoutGroupCommit = commitConcurrently();
+            }
+            finally {
+                System.setProperty(IGNITE_WAL_FSYNC_GROUP_COMMIT, "true");
+            }
+
+            stopAllGrids();
+
+            cleanPersistenceDir();
+
+            long fsyncs = commitConcurrently();
+
+            assertTrue("Fsyncs are not grouped [commits=" + THREADS_CNT * TX_PER_THREAD + ", fsyncs=" + fsyncs +
+                ", fsyncsWithoutGroupCommit=" + fsyncsWithoutGroupCommit + ']', fsyncs < fsyncsWithoutGroupCommit);
+        }
+        else
+            commitConcurrently();
+
+        stopGrid(0, true);
+
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> restored = ig.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(THREADS_CNT * TX_PER_THREAD, restored.size());
+
+        for (int i = 0; i < THREADS_CNT * TX_PER_THREAD; i++)
+            assertEquals(i, (int)restored.get(i));
+    }
+
+    /**
+     * Starts the node and commits transactions from several threads with checkpoints disabled.
+     *
+     * @return Number of WAL fsyncs done during the commits.
+     * @throws Exception If failed.
+     */
+    private long commitConcurrently() throws Exception {
+        IgniteEx ig = startGrid(0);
+
+        ig.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = ig.cache(DEFAULT_CACHE_NAME);
+
+        forceCheckpoint();
+
+        GridCacheDatabaseSharedManager dbMgr = (GridCacheDatabaseSharedManager)ig.context().cache().context()
+            .database();
+
+        dbMgr.enableCheckpoints(false).get();
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        walFsyncCnt.set(0);
+
+        GridTestUtils.runMultiThreaded(() -> {
+            int base = threadIdx.getAndIncrement() * TX_PER_THREAD;
+
+            for (int i = 0; i < TX_PER_THREAD; i++)
+                cache.put(base + i, base + i);
+        }, THREADS_CNT, "committer");
+
+        return walFsyncCnt.get();
+    }
+
+    /**
+     * Counts fsyncs of WAL segments.
+     */
+    private static class FsyncCountingFileIOFactory implements FileIOFactory {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Delegate. */
+        private final FileIOFactory delegate;
+
+        /**
+         * @param delegate Delegate.
+         */
+        private FsyncCountingFileIOFactory(FileIOFactory delegate) {
+            this.delegate = delegate;
+        }
+
+        /** {@inheritDoc} */
+        @Override public FileIO create(File file, OpenOption... modes) throws IOException {
+            FileIO fileIO = delegate.create(file, modes);
+
+            if (!file.getName().endsWith(".wal"))
+                return fileIO;
+
+            return new FileIODecorator(fileIO) {
+                /** {@inheritDoc} */
+                @Override public void force() throws IOException {
+                    walFsyncCnt.incrementAndGet();
+
+                    super.force();
+                }
+
+                /** {@inheritDoc} */
+                @Override public void force(boolean withMetadata) throws IOException {
+                    walFsyncCnt.incrementAndGet();
+
+                    super.force(withMetadata);
+                }
+            };
+        }
+    }
+}
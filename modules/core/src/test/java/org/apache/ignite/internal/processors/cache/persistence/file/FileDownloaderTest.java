@@ -19,10 +19,14 @@ package org.apache.ignite.internal.processors.cache.persistence.file;
 import java.io.File;
 import java.io.IOException;
 import java.io.PrintWriter;
+import java.net.InetAddress;
 import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.UUID;
+import org.apache.ignite.internal.IgniteInternalFuture;
 import org.apache.ignite.internal.util.future.GridFutureAdapter;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
@@ -114,4 +118,47 @@ public class FileDownloaderTest extends GridCommonAbstractTest {
 
         assertArrayEquals(Files.readAllBytes(UPLOADER_PATH), Files.readAllBytes(DOWNLOADER_PATH));
     }
+
+    /**
+     * Checks that connections without a valid token are rejected.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTokenCheck() throws Exception {
+        assertTrue(UPLOADER_PATH.toFile().createNewFile());
+
+        Files.write(UPLOADER_PATH, "HELLO WORLD".getBytes());
+
+        UUID token = UUID.randomUUID();
+
+        FileDownloader downloader = new FileDownloader(log, DOWNLOADER_PATH, token);
+
+        InetSocketAddress address = downloader.start(InetAddress.getLoopbackAddress());
+
+        IgniteInternalFuture<?> downloadFut = runAsync(downloader::download);
+
+        try (SocketChannel wrongSc = SocketChannel.open(address)) {
+            FileUploader.writeToken(wrongSc, UUID.randomUUID());
+
+            // Rejected connection is closed by the downloader.
+            assertEquals(-1, wrongSc.read(ByteBuffer.allocate(1)));
+        }
+
+        SocketChannel sc = SocketChannel.open(address);
+
+        FileUploader.writeToken(sc, token);
+
+        GridFutureAdapter<Long> finishFut = new GridFutureAdapter<>();
+
+        new FileUploader(UPLOADER_PATH, log).upload(sc, finishFut);
+
+        downloader.onResult(finishFut.get(), null);
+
+        downloader.finishFuture().get();
+
+        downloadFut.get();
+
+        assertArrayEquals(Files.readAllBytes(UPLOADER_PATH), Files.readAllBytes(DOWNLOADER_PATH));
+    }
 }
@@ -0,0 +1,208 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.cache.persistence.snapshot;
+
+import java.util.Collections;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cache.affinity.rendezvous.RendezvousAffinityFunction;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.processors.cache.persistence.snapshot.IgniteCacheSnapshotManager.DFLT_SNAPSHOT_DIRECTORY;
+
+/**
+ * Tests cluster-wide snapshot creation and restore.
+ */
+public class IgniteClusterSnapshotTest extends GridCommonAbstractTest {
+    /** Nodes count. */
+    private static final int NODES_CNT = 2;
+
+    /** Keys count. */
+    private static final int KEYS_CNT = 10_000;
+
+    /** Snapshot name. */
+    private static final String SNAPSHOT_NAME = "testSnapshot";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setConsistentId(igniteInstanceName);
+
+        cfg.setDataStorageConfiguration(new DataStorageConfiguration()
+            .setCheckpointFrequency(20 * 60 * 1000)
+            .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                .setMaxSize(256L * 1024 * 1024)
+                .setPersistenceEnabled(true)));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        stopAllGrids();
+
+        cleanPersistenceDir();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void cleanPersistenceDir() throws Exception {
+        super.cleanPersistenceDir();
+
+        U.delete(U.resolveWorkDirectory(U.defaultWorkDirectory(), DFLT_SNAPSHOT_DIRECTORY, false));
+    }
+
+    /**
+     * Checks that snapshot contains the data at the moment of the snapshot start, though the data is updated and
+     * checkpointed while partition files are copied.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotConsistentWithConcurrentUpdates() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().active(true);
+
+        IgniteCache<Integer, Integer> cache = ignite.getOrCreateCache(
+            new CacheConfiguration<Integer, Integer>(DEFAULT_CACHE_NAME)
+                .setBackups(1)
+                .setAffinity(new RendezvousAffinityFunction(false, 64)));
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            cache.put(i, i);
+
+        AffinityTopologyVersion topVer = ignite.context().discovery().topologyVersionEx();
+
+        IgniteInternalFuture<Void> fut = snapshotManager(ignite).createSnapshot(SNAPSHOT_NAME, null);
+
+        // Snapshot checkpoint is marked on all nodes when the snapshot exchange is finished.
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            for (int i = 0; i < NODES_CNT; i++) {
+                if (grid(i).context().cache().context().exchange().readyAffinityVersion().compareTo(topVer) <= 0)
+                    return false;
+            }
+
+            return true;
+        }, getTestTimeout()));
+
+        for (int i = 0; i < KEYS_CNT; i++) {
+            cache.put(i, -i);
+
+            if (i % 1000 == 0)
+                forceCheckpoint();
+        }
+
+        fut.get(getTestTimeout());
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        awaitPartitionMapExchange();
+
+        snapshotManager(ignite).restoreSnapshot(SNAPSHOT_NAME, Collections.singleton(DEFAULT_CACHE_NAME))
+            .get(getTestTimeout());
+
+        IgniteCache<Integer, Integer> restored = ignite.cache(DEFAULT_CACHE_NAME);
+
+        assertEquals(KEYS_CNT, restored.size());
+
+        for (int i = 0; i < KEYS_CNT; i++)
+            assertEquals(i, (int)restored.get(i));
+    }
+
+    /**
+     * Checks that snapshot with the existing name can't be created.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSnapshotWithExistingName() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().active(true);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME).put(1, 1);
+
+        snapshotManager(ignite).createSnapshot(SNAPSHOT_NAME, null).get(getTestTimeout());
+
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> snapshotManager(ignite).createSnapshot(SNAPSHOT_NAME, null).get(getTestTimeout()),
+            IgniteCheckedException.class,
+            "Snapshot directory already exists");
+    }
+
+    /**
+     * Checks that snapshot can't be restored if the baseline topology has changed since the snapshot creation.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRestoreOnChangedBaseline() throws Exception {
+        IgniteEx ignite = startGrids(NODES_CNT);
+
+        ignite.cluster().active(true);
+
+        ignite.getOrCreateCache(DEFAULT_CACHE_NAME).put(1, 1);
+
+        snapshotManager(ignite).createSnapshot(SNAPSHOT_NAME, null).get(getTestTimeout());
+
+        ignite.destroyCache(DEFAULT_CACHE_NAME);
+
+        startGrid(NODES_CNT);
+
+        ignite.cluster().setBaselineTopology(ignite.cluster().topologyVersion());
+
+        awaitPartitionMapExchange();
+
+        GridTestUtils.assertThrowsAnyCause(log,
+            () -> snapshotManager(ignite).restoreSnapshot(SNAPSHOT_NAME, Collections.singleton(DEFAULT_CACHE_NAME))
+                .get(getTestTimeout()),
+            IgniteCheckedException.class,
+            "Snapshot can be restored only to the same baseline topology");
+
+        assertNull(ignite.cache(DEFAULT_CACHE_NAME));
+    }
+
+    /**
+     * @param ignite Ignite instance.
+     * @return Snapshot manager.
+     */
+    private static IgniteCacheSnapshotManager<?> snapshotManager(IgniteEx ignite) {
+        return ignite.context().cache().context().snapshot();
+    }
+}
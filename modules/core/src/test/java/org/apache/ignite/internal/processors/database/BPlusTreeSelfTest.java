@@ -2503,6 +2503,41 @@ public class BPlusTreeSelfTest extends GridCommonAbstractTest {
         }
     }
 
+    /**
+     * Checks that sorted load in the sequential load mode leaves the leaf pages full.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testSequentialPutPacksPages() throws Exception {
+        MAX_PER_PAGE = 10;
+
+        TestTree tree = createTestTree(true);
+
+        tree.sequentialLoad(true);
+
+        long pagesBefore = pageMem.loadedPages();
+
+        int cnt = 10_000;
+
+        for (long i = 0; i < cnt; i++)
+            tree.put(i);
+
+        assertNoLocks();
+
+        tree.validateTree();
+
+        assertEquals(cnt, tree.size());
+
+        for (long i = 0; i < cnt; i++)
+            assertEquals(Long.valueOf(i), tree.findOne(i));
+
+        long leafPages = cnt / MAX_PER_PAGE;
+
+        // Half-full leaf pages would take twice as many pages.
+        assertTrue(pageMem.loadedPages() - pagesBefore < leafPages * 3 / 2);
+    }
+
     /**
      * @param canGetRow Can get row from inner page.
      * @throws Exception If failed.
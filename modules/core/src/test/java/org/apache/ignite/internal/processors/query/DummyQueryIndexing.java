@@ -126,6 +126,16 @@ public class DummyQueryIndexing implements GridQueryIndexing {
 
     }
 
+    /** {@inheritDoc} */
+    @Override public void dynamicIndexReplace(
+        String schemaName,
+        String tblName,
+        QueryIndexDescriptorImpl idxDesc,
+        SchemaIndexCacheVisitor cacheVisitor
+    ) throws IgniteCheckedException {
+
+    }
+
     /** {@inheritDoc} */
     @Override public void dynamicIndexDrop(
         String schemaName,
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql;
+
+import org.apache.ignite.internal.sql.command.SqlAlterIndexCommand;
+import org.junit.Test;
+
+/**
+ * Tests for SQL parser: ALTER INDEX.
+ */
+public class SqlParserAlterIndexSelfTest extends SqlParserAbstractSelfTest {
+    /**
+     * Tests for ALTER INDEX command.
+     */
+    @Test
+    public void testAlterIndex() {
+        parseValidate(null, "ALTER INDEX idx INLINE_SIZE 64", null, "IDX", 64, 0);
+        parseValidate(null, "ALTER INDEX \"iDx\" INLINE_SIZE 0", null, "iDx", 0, 0);
+        parseValidate(null, "ALTER INDEX idx INLINE_SIZE 32 PARALLEL 4", null, "IDX", 32, 4);
+
+        parseValidate("SCHEMA", "ALTER INDEX idx INLINE_SIZE 10", "SCHEMA", "IDX", 10, 0);
+        parseValidate(null, "ALTER INDEX \"schema\".idx INLINE_SIZE 10", "schema", "IDX", 10, 0);
+
+        SqlAlterIndexCommand cmd = parseValidate(null, "ALTER INDEX IF EXISTS schema.idx INLINE_SIZE 10",
+            "SCHEMA", "IDX", 10, 0);
+
+        assertTrue(cmd.ifExists());
+
+        assertFalse(parseValidate(null, "ALTER INDEX idx INLINE_SIZE 10", null, "IDX", 10, 0).ifExists());
+
+        assertParseError(null, "ALTER INDEX", "Unexpected end of command");
+        assertParseError(null, "ALTER INDEX idx", "Unexpected end of command (expected: \"INLINE_SIZE\")");
+        assertParseError(null, "ALTER INDEX idx INLINE_SIZE", "Unexpected end of command (expected: \"[integer]\")");
+        assertParseError(null, "ALTER INDEX idx INLINE_SIZE abc", "Unexpected token: \"ABC\"");
+        assertParseError(null, "ALTER INDEX idx INLINE_SIZE -1", "Illegal INLINE_SIZE value. Should be positive: -1");
+        assertParseError(null, "ALTER INDEX idx INLINE_SIZE 10 PARALLEL -1",
+            "Illegal PARALLEL value. Should be positive: -1");
+        assertParseError(null, "ALTER INDEX idx PARALLEL 2", "Unexpected token: \"PARALLEL\"");
+    }
+
+    /**
+     * Parse and validate SQL script.
+     *
+     * @param schema Schema.
+     * @param sql SQL.
+     * @param expSchemaName Expected schema name.
+     * @param expIdxName Expected index name.
+     * @param expInlineSize Expected inline size.
+     * @param expParallel Expected parallelism level.
+     * @return Command.
+     */
+    private static SqlAlterIndexCommand parseValidate(String schema, String sql, String expSchemaName,
+        String expIdxName, int expInlineSize, int expParallel) {
+        SqlAlterIndexCommand cmd = (SqlAlterIndexCommand)new SqlParser(schema, sql).nextCommand();
+
+        assertEquals(expSchemaName, cmd.schemaName());
+        assertEquals(expIdxName, cmd.indexName());
+        assertEquals(expInlineSize, cmd.inlineSize());
+        assertEquals(expParallel, cmd.parallel());
+
+        return cmd;
+    }
+}
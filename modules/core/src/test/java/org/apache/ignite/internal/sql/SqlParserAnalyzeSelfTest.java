@@ -0,0 +1,60 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.sql;
+
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
+import org.junit.Test;
+
+/**
+ * Tests for SQL parser: ANALYZE.
+ */
+public class SqlParserAnalyzeSelfTest extends SqlParserAbstractSelfTest {
+    /**
+     * Tests for ANALYZE command.
+     */
+    @Test
+    public void testAnalyze() {
+        parseValidate(null, "ANALYZE tbl", null, "TBL");
+        parseValidate(null, "ANALYZE \"tbl\"", null, "tbl");
+        parseValidate(null, "ANALYZE TABLE tbl", null, "TBL");
+        parseValidate(null, "analyze table tbl;", null, "TBL");
+
+        parseValidate("SCHEMA", "ANALYZE tbl", "SCHEMA", "TBL");
+        parseValidate(null, "ANALYZE schema.tbl", "SCHEMA", "TBL");
+        parseValidate(null, "ANALYZE TABLE \"schema\".\"tbl\"", "schema", "tbl");
+
+        assertParseError(null, "ANALYZE", "Unexpected end of command");
+        assertParseError(null, "ANALYZE TABLE", "Unexpected end of command");
+        assertParseError(null, "ANALYZE .tbl", "Unexpected");
+        assertParseError(null, "ANALYZE tbl SAMPLE_SIZE 10", "Unexpected token: \"SAMPLE_SIZE\"");
+    }
+
+    /**
+     * Parse and validate SQL script.
+     *
+     * @param schema Schema.
+     * @param sql SQL.
+     * @param expSchemaName Expected schema name.
+     * @param expTblName Expected table name.
+     */
+    private static void parseValidate(String schema, String sql, String expSchemaName, String expTblName) {
+        SqlAnalyzeCommand cmd = (SqlAnalyzeCommand)new SqlParser(schema, sql).nextCommand();
+
+        assertEquals(expSchemaName, cmd.schemaName());
+        assertEquals(expTblName, cmd.tableName());
+    }
+}
@@ -179,6 +179,34 @@ public class SqlParserCreateIndexSelfTest extends SqlParserAbstractSelfTest {
 
     }
 
+    /**
+     * Tests for INCLUDE clause of CREATE INDEX command.
+     */
+    @Test
+    public void testCreateIndexInclude() {
+        SqlCreateIndexCommand cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a) INCLUDE (b, \"c\")", null, "TBL",
+            "IDX", DEFAULT_PROPS, "A", false);
+
+        Iterator<SqlIndexColumn> inclIter = cmd.includedColumns().iterator();
+
+        assertEquals("B", inclIter.next().name());
+        assertEquals("c", inclIter.next().name());
+        assertFalse(inclIter.hasNext());
+
+        cmd = parseValidate(null, "CREATE INDEX idx ON tbl(a DESC) INCLUDE (b) INLINE_SIZE 64 PARALLEL 2", null, "TBL",
+            "IDX", getProps(2, 64), "A", true);
+
+        assertEquals(1, cmd.includedColumns().size());
+
+        assertTrue(parseValidate(null, "CREATE INDEX idx ON tbl(a)", null, "TBL", "IDX", DEFAULT_PROPS, "A", false)
+            .includedColumns().isEmpty());
+
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE", "Unexpected end of command (expected: \"(\")");
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE ()", "Unexpected token: \")\"");
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE (a)", "Column already defined: A");
+        assertParseError(null, "CREATE INDEX idx ON tbl(a) INCLUDE (b, b)", "Column already defined: B");
+    }
+
     /**
      * Parse and validate SQL script.
      *
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.util;
+
+import java.util.concurrent.TimeUnit;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Tests for {@link BasicRateLimiter}.
+ */
+public class BasicRateLimiterTest extends GridCommonAbstractTest {
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testUnlimited() throws Exception {
+        BasicRateLimiter limiter = new BasicRateLimiter(0);
+
+        assertTrue(limiter.isUnlimited());
+
+        long start = System.nanoTime();
+
+        for (int i = 0; i < 1_000; i++)
+            limiter.acquire(1_000_000);
+
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1_000);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRate() throws Exception {
+        BasicRateLimiter limiter = new BasicRateLimiter(1_000);
+
+        assertFalse(limiter.isUnlimited());
+        assertEquals(1_000, limiter.getRate(), 0.001);
+
+        long start = System.nanoTime();
+
+        // First batch is granted immediately, the next ones wait 100 ms each.
+        for (int i = 0; i < 6; i++)
+            limiter.acquire(100);
+
+        long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        assertTrue("Elapsed: " + elapsed, elapsed >= 450);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testChangeRate() throws Exception {
+        BasicRateLimiter limiter = new BasicRateLimiter(1);
+
+        limiter.setRate(0);
+
+        assertTrue(limiter.isUnlimited());
+        assertEquals(0, limiter.getRate(), 0);
+
+        limiter.acquire(1_000);
+
+        limiter.setRate(500);
+
+        assertEquals(500, limiter.getRate(), 0.001);
+    }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheMode.REPLICATED;
+import static org.apache.ignite.internal.util.nio.GridNioCompressionFilter.COMPRESSED_MESSAGES_METRIC_NAME;
+import static org.apache.ignite.internal.util.nio.GridNioCompressionFilter.COMPRESSION_BYTES_AFTER_METRIC_NAME;
+import static org.apache.ignite.internal.util.nio.GridNioCompressionFilter.COMPRESSION_BYTES_BEFORE_METRIC_NAME;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMMUNICATION_METRICS_GROUP_NAME;
+
+/**
+ * Tests the compression of the messages sent by {@link TcpCommunicationSpi}.
+ */
+public class TcpCommunicationMessageCompressionTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 100;
+
+    /** */
+    private static final int VAL_LEN = 16 * 1024;
+
+    /** Message compression flag for the next started node. */
+    private boolean compression;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TcpCommunicationSpi().setMessageCompressionEnabled(compression));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME).setCacheMode(REPLICATED));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCompression() throws Exception {
+        compression = true;
+
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        checkData(ignite0, ignite1);
+
+        MetricRegistry mreg = ignite0.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME);
+
+        long before = metric(mreg, COMPRESSION_BYTES_BEFORE_METRIC_NAME);
+        long after = metric(mreg, COMPRESSION_BYTES_AFTER_METRIC_NAME);
+
+        assertTrue(metric(mreg, COMPRESSED_MESSAGES_METRIC_NAME) > 0);
+        assertTrue("Compression is not effective [before=" + before + ", after=" + after + ']',
+            after > 0 && after < before / 2);
+    }
+
+    /**
+     * Checks the large messages which are not compressible, they are sent as serialized by the filter.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testIncompressibleMessages() throws Exception {
+        compression = true;
+
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        IgniteCache<Integer, byte[]> cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        byte[][] vals = new byte[KEYS][];
+
+        for (int i = 0; i < KEYS; i++) {
+            // Larger than the socket buffer, so the serialized message is written in several chunks.
+            vals[i] = new byte[256 * 1024];
+
+            ThreadLocalRandom.current().nextBytes(vals[i]);
+
+            cache0.put(i, vals[i]);
+        }
+
+        IgniteCache<Integer, byte[]> cache1 = ignite1.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertTrue(Arrays.equals(vals[i], cache1.localPeek(i)));
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testRemoteNodeWithoutCompression() throws Exception {
+        compression = true;
+
+        IgniteEx ignite0 = startGrid(0);
+
+        compression = false;
+
+        IgniteEx ignite1 = startGrid(1);
+
+        checkData(ignite0, ignite1);
+
+        MetricRegistry mreg = ignite0.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME);
+
+        assertEquals(0, metric(mreg, COMPRESSED_MESSAGES_METRIC_NAME));
+        assertNull(ignite1.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME)
+            .findMetric(COMPRESSED_MESSAGES_METRIC_NAME));
+    }
+
+    /**
+     * Puts large values on the first node and checks them on the second one.
+     *
+     * @param ignite0 First node.
+     * @param ignite1 Second node.
+     */
+    private void checkData(Ignite ignite0, Ignite ignite1) {
+        IgniteCache<Integer, String> cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache0.put(i, value(i));
+
+        IgniteCache<Integer, String> cache1 = ignite1.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(value(i), cache1.localPeek(i));
+    }
+
+    /**
+     * @param i Key.
+     * @return Large well compressible value.
+     */
+    private static String value(int i) {
+        StringBuilder sb = new StringBuilder(VAL_LEN);
+
+        while (sb.length() < VAL_LEN)
+            sb.append("value-").append(i).append('-');
+
+        return sb.toString();
+    }
+
+    /**
+     * @param mreg Metric registry.
+     * @param name Metric name.
+     * @return Metric value.
+     */
+    private static long metric(MetricRegistry mreg, String name) {
+        LongAdderMetric metric = mreg.findMetric(name);
+
+        assertNotNull(name, metric);
+
+        return metric.value();
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.io.File;
+import java.nio.channels.ServerSocketChannel;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.util.nio.GridCommunicationClient;
+import org.apache.ignite.internal.util.nio.GridNioUnixDomainSockets;
+import org.apache.ignite.internal.util.nio.GridTcpNioCommunicationClient;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Assume;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheMode.REPLICATED;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.ATTR_UDS_PATH;
+
+/**
+ * Tests unix domain socket connections of {@link TcpCommunicationSpi}.
+ */
+public class TcpCommunicationUnixDomainSocketTest extends GridCommonAbstractTest {
+    /** */
+    private static final int KEYS = 1_000;
+
+    /** Unix domain sockets flag for the next started node. */
+    private boolean udsEnabled = true;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TcpCommunicationSpi().setUnixDomainSocketEnabled(udsEnabled));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME).setCacheMode(REPLICATED));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testUnixDomainSocket() throws Exception {
+        Assume.assumeTrue("Unix domain sockets are not supported", GridNioUnixDomainSockets.supported());
+
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        String path = ignite1.localNode().attribute(U.spiAttribute(ignite1.configuration().getCommunicationSpi(),
+            ATTR_UDS_PATH));
+
+        assertNotNull(path);
+        assertTrue(new File(path).exists());
+
+        checkData(ignite0, ignite1);
+
+        assertTrue(unixDomainConnection(ignite0, ignite1));
+
+        stopGrid(1);
+
+        assertFalse(new File(path).exists());
+    }
+
+    /**
+     * Checks that the socket file left by a crashed node is deleted by the starting node.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testStaleSocketFileDeleted() throws Exception {
+        Assume.assumeTrue("Unix domain sockets are not supported", GridNioUnixDomainSockets.supported());
+
+        File stale = new File(System.getProperty("java.io.tmpdir"),
+            "ignite-" + UUID.randomUUID().toString().replace("-", "") + ".sock");
+
+        // Closed server channel leaves the socket file, like a crashed node does.
+        try (ServerSocketChannel ch = GridNioUnixDomainSockets.openServerChannel()) {
+            ch.bind(GridNioUnixDomainSockets.address(stale.getAbsolutePath()));
+        }
+
+        assertTrue(stale.exists());
+
+        IgniteEx ignite0 = startGrid(0);
+
+        String path = ignite0.localNode().attribute(U.spiAttribute(ignite0.configuration().getCommunicationSpi(),
+            ATTR_UDS_PATH));
+
+        assertFalse(stale.exists());
+        assertTrue(new File(path).exists());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTcpFallback() throws Exception {
+        udsEnabled = false;
+
+        IgniteEx ignite0 = startGrid(0);
+
+        udsEnabled = true;
+
+        IgniteEx ignite1 = startGrid(1);
+
+        checkData(ignite0, ignite1);
+
+        assertFalse(unixDomainConnection(ignite0, ignite1));
+        assertFalse(unixDomainConnection(ignite1, ignite0));
+    }
+
+    /**
+     * @param ignite0 First node.
+     * @param ignite1 Second node.
+     */
+    private void checkData(IgniteEx ignite0, IgniteEx ignite1) {
+        IgniteCache<Integer, Integer> cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            cache0.put(i, i);
+
+        IgniteCache<Integer, Integer> cache1 = ignite1.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < KEYS; i++)
+            assertEquals(i, (int)cache1.localPeek(i));
+    }
+
+    /**
+     * @param from Node.
+     * @param to Remote node.
+     * @return {@code True} if the node is connected to the remote one with unix domain socket.
+     */
+    private boolean unixDomainConnection(IgniteEx from, IgniteEx to) {
+        ConcurrentMap<UUID, GridCommunicationClient[]> clients =
+            U.field(from.configuration().getCommunicationSpi(), "clients");
+
+        GridCommunicationClient[] nodeClients = clients.get(to.localNode().id());
+
+        assertNotNull(nodeClients);
+
+        for (GridCommunicationClient client : nodeClients) {
+            // Unix domain socket sessions have loopback address with zero port.
+            if (client instanceof GridTcpNioCommunicationClient &&
+                ((GridTcpNioCommunicationClient)client).session().remoteAddress().getPort() == 0)
+                return true;
+        }
+
+        return false;
+    }
+}
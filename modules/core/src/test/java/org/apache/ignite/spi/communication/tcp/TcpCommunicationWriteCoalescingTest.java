@@ -0,0 +1,187 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.communication.tcp;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.IgniteInternalFuture;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.nio.GridNioServer;
+import org.apache.ignite.internal.util.nio.GridNioSession;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.ATOMIC;
+import static org.apache.ignite.cache.CacheMode.REPLICATED;
+import static org.apache.ignite.cache.CacheWriteSynchronizationMode.FULL_SYNC;
+import static org.apache.ignite.internal.util.nio.GridNioServer.COALESCED_WRITES_METRIC_NAME;
+import static org.apache.ignite.internal.util.nio.GridNioServer.SOCKET_WRITES_METRIC_NAME;
+import static org.apache.ignite.spi.communication.tcp.TcpCommunicationSpi.COMMUNICATION_METRICS_GROUP_NAME;
+
+/**
+ * Tests coalescing of the socket writes by {@link TcpCommunicationSpi}.
+ */
+public class TcpCommunicationWriteCoalescingTest extends GridCommonAbstractTest {
+    /** */
+    private static final int THREADS = 8;
+
+    /** */
+    private static final int KEYS_PER_THREAD = 2_000;
+
+    /** Write coalescing delay in microseconds. */
+    private long coalescingDelay = 100;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        cfg.setCommunicationSpi(new TcpCommunicationSpi().setWriteCoalescingDelay(coalescingDelay));
+
+        cfg.setCacheConfiguration(new CacheConfiguration<>(DEFAULT_CACHE_NAME)
+            .setCacheMode(REPLICATED)
+            .setAtomicityMode(ATOMIC)
+            .setWriteSynchronizationMode(FULL_SYNC));
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteCoalescing() throws Exception {
+        IgniteEx ignite0 = startGrid(0);
+        IgniteEx ignite1 = startGrid(1);
+
+        IgniteCache<Integer, Integer> cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        multithreaded(() -> {
+            int base = threadIdx.getAndIncrement() * KEYS_PER_THREAD;
+
+            for (int i = base; i < base + KEYS_PER_THREAD; i++)
+                cache0.put(i, i);
+        }, THREADS, "put");
+
+        IgniteCache<Integer, Integer> cache1 = ignite1.cache(DEFAULT_CACHE_NAME);
+
+        for (int i = 0; i < THREADS * KEYS_PER_THREAD; i++)
+            assertEquals(i, (int)cache1.localPeek(i));
+
+        MetricRegistry mreg = ignite0.context().metric().registry(COMMUNICATION_METRICS_GROUP_NAME);
+
+        LongAdderMetric coalesced = mreg.findMetric(COALESCED_WRITES_METRIC_NAME);
+        LongAdderMetric writes = mreg.findMetric(SOCKET_WRITES_METRIC_NAME);
+
+        assertTrue(coalesced.value() > 0);
+
+        // Each put sends at least one update request to the backup node.
+        assertTrue("Socket writes are not coalesced [writes=" + writes.value() + ']',
+            writes.value() < THREADS * KEYS_PER_THREAD);
+    }
+
+    /**
+     * Checks that the postponed writes of the sessions moved between the selectors are not stalled.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testWriteCoalescingWithSessionsMove() throws Exception {
+        // Long enough for the sessions to be moved while their writes are postponed.
+        coalescingDelay = 20_000;
+
+        IgniteEx ignite0 = startGrid(0);
+
+        startGrid(1);
+
+        IgniteCache<Integer, Integer> cache0 = ignite0.cache(DEFAULT_CACHE_NAME);
+
+        GridNioServer<?> srv = GridTestUtils.getFieldValue(ignite0.configuration().getCommunicationSpi(), "nioSrvr");
+
+        Method moveSes = GridNioServer.class.getDeclaredMethod("moveSession", GridNioSession.class, int.class,
+            int.class);
+
+        moveSes.setAccessible(true);
+
+        AtomicBoolean stop = new AtomicBoolean();
+
+        IgniteInternalFuture<?> moveFut = GridTestUtils.runAsync(() -> {
+            while (!stop.get()) {
+                for (GridNioSession ses : srv.sessions()) {
+                    int from = srv.workers().indexOf(GridTestUtils.getFieldValue(ses, "worker"));
+
+                    if (from >= 0)
+                        moveSes.invoke(srv, ses, from, (from + 1) % srv.workers().size());
+                }
+
+                U.sleep(10);
+            }
+
+            return null;
+        });
+
+        AtomicInteger threadIdx = new AtomicInteger();
+
+        AtomicLong maxPutTime = new AtomicLong();
+
+        long stopTime = System.currentTimeMillis() + 5_000;
+
+        try {
+            multithreaded(() -> {
+                int base = threadIdx.getAndIncrement() * KEYS_PER_THREAD;
+
+                for (int i = 0; System.currentTimeMillis() < stopTime; i = (i + 1) % KEYS_PER_THREAD) {
+                    long start = System.nanoTime();
+
+                    cache0.put(base + i, i);
+
+                    maxPutTime.accumulateAndGet(U.nanosToMillis(System.nanoTime() - start), Math::max);
+                }
+            }, THREADS, "put");
+        }
+        finally {
+            stop.set(true);
+        }
+
+        moveFut.get();
+
+        long moves = GridTestUtils.<AtomicLong>getFieldValue(srv, "readerMoveCnt").get() +
+            GridTestUtils.<AtomicLong>getFieldValue(srv, "writerMoveCnt").get();
+
+        assertTrue(moves > 0);
+
+        // Stalled write waits for the selector to wake up, it wakes up every 2 seconds.
+        assertTrue("Write is stalled [maxPutTime=" + maxPutTime.get() + ']', maxPutTime.get() < 1_000);
+    }
+}
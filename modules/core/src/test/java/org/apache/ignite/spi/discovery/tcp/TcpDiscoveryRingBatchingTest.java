@@ -0,0 +1,306 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.spi.discovery.tcp;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.managers.discovery.CustomMessageWrapper;
+import org.apache.ignite.internal.managers.discovery.DiscoCache;
+import org.apache.ignite.internal.managers.discovery.DiscoveryCustomMessage;
+import org.apache.ignite.internal.managers.discovery.GridDiscoveryManager;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.util.GridConcurrentHashSet;
+import org.apache.ignite.lang.IgniteUuid;
+import org.apache.ignite.spi.discovery.tcp.internal.TcpDiscoveryTopologyHistoryDelta;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryAbstractMessage;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryCustomEventMessage;
+import org.apache.ignite.spi.discovery.tcp.messages.TcpDiscoveryRingBatchMessage;
+import org.apache.ignite.testframework.GridTestNode;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.jetbrains.annotations.Nullable;
+import org.junit.Test;
+
+/**
+ * Tests batching of custom messages sent across the ring and delta-encoded topology history
+ * in node added messages.
+ */
+public class TcpDiscoveryRingBatchingTest extends GridCommonAbstractTest {
+    /** */
+    private static final AtomicInteger batchesSent = new AtomicInteger();
+
+    /** Custom message IDs processed by every node. */
+    private static final Map<String, Set<IgniteUuid>> processedMsgs = new ConcurrentHashMap<>();
+
+    /** */
+    private int batchSize = TcpDiscoverySpi.DFLT_RING_MSG_BATCH_SIZE;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        IgniteConfiguration cfg = super.getConfiguration(igniteInstanceName);
+
+        TcpDiscoverySpi disco = new BatchCountingDiscoverySpi(igniteInstanceName);
+
+        disco.setIpFinder(sharedStaticIpFinder);
+        disco.setRingMessageBatchSize(batchSize);
+
+        cfg.setDiscoverySpi(disco);
+
+        return cfg;
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        batchesSent.set(0);
+
+        processedMsgs.clear();
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        super.afterTest();
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testCustomMessagesBatched() throws Exception {
+        checkCustomMessagesDelivered(true);
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testBatchingDisabled() throws Exception {
+        batchSize = 1;
+
+        checkCustomMessagesDelivered(false);
+    }
+
+    /**
+     * @param expBatches Whether batches are expected to be sent.
+     * @throws Exception If failed.
+     */
+    private void checkCustomMessagesDelivered(boolean expBatches) throws Exception {
+        IgniteEx crd = startGrids(4);
+
+        TcpDiscoverySpi crdDisco = (TcpDiscoverySpi)crd.configuration().getDiscoverySpi();
+
+        Set<IgniteUuid> sentMsgs = new GridConcurrentHashSet<>();
+
+        crdDisco.addSendMessageListener(msg -> {
+            if (msg instanceof TcpDiscoveryCustomEventMessage)
+                sentMsgs.add(msg.id());
+        });
+
+        int msgsNum = 500;
+
+        for (int i = 0; i < msgsNum; i++) {
+            DiscoveryCustomMessage msg = new DummyCustomDiscoveryMessage(IgniteUuid.randomUuid());
+
+            crdDisco.sendCustomEvent(new CustomMessageWrapper(msg));
+        }
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            if (sentMsgs.size() < msgsNum)
+                return false;
+
+            for (int i = 0; i < 4; i++) {
+                Set<IgniteUuid> processed = processedMsgs.get(getTestIgniteInstanceName(i));
+
+                if (processed == null || !processed.containsAll(sentMsgs))
+                    return false;
+            }
+
+            return true;
+        }, 30_000));
+
+        if (expBatches)
+            assertTrue("No batches were sent", batchesSent.get() > 0);
+        else
+            assertEquals(0, batchesSent.get());
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testJoiningNodesTopologyHistory() throws Exception {
+        IgniteEx crd = startGrids(3);
+
+        stopGrid(1);
+
+        startGrid(3);
+
+        IgniteEx client = startClientGrid(4);
+
+        IgniteEx srv = startGrid(5);
+
+        long topVer = srv.cluster().topologyVersion();
+
+        for (long ver = 1; ver <= topVer; ver++) {
+            Collection<ClusterNode> exp = crd.cluster().topology(ver);
+
+            assertEquals(ids(exp), ids(srv.cluster().topology(ver)));
+
+            if (ver < topVer)
+                assertEquals(ids(exp), ids(client.cluster().topology(ver)));
+        }
+    }
+
+    /**
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testTopologyHistoryDelta() throws Exception {
+        ClusterNode n1 = new GridTestNode(UUID.randomUUID());
+        ClusterNode n2 = new GridTestNode(UUID.randomUUID());
+        ClusterNode n3 = new GridTestNode(UUID.randomUUID());
+        ClusterNode n4 = new GridTestNode(UUID.randomUUID());
+
+        Map<Long, Collection<ClusterNode>> hist = new TreeMap<>();
+
+        hist.put(3L, Arrays.asList(n1, n2));
+        hist.put(4L, Arrays.asList(n1, n2, n3));
+        hist.put(5L, Arrays.asList(n1, n3));
+        hist.put(6L, Arrays.asList(n4, n1, n3));
+        hist.put(7L, Arrays.asList(n3, n1, n4));
+        hist.put(8L, new ArrayList<>());
+        hist.put(9L, Arrays.asList(n2));
+
+        TcpDiscoveryTopologyHistoryDelta delta = TcpDiscoveryTopologyHistoryDelta.encode(hist);
+
+        assertEquals(hist.size(), delta.size());
+
+        Map<Long, Collection<ClusterNode>> decoded = delta.decode();
+
+        assertEquals(hist.keySet(), decoded.keySet());
+
+        for (Map.Entry<Long, Collection<ClusterNode>> e : hist.entrySet())
+            assertEquals(ids(e.getValue()), ids(decoded.get(e.getKey())));
+    }
+
+    /**
+     * @param nodes Nodes.
+     * @return Node IDs in the same order.
+     */
+    private static List<UUID> ids(Collection<ClusterNode> nodes) {
+        List<UUID> ids = new ArrayList<>(nodes.size());
+
+        for (ClusterNode node : nodes)
+            ids.add(node.id());
+
+        return ids;
+    }
+
+    /**
+     * Discovery SPI counting sent batches and processed custom messages.
+     */
+    private static class BatchCountingDiscoverySpi extends TcpDiscoverySpi {
+        /** */
+        private final String igniteInstanceName;
+
+        /**
+         * @param igniteInstanceName Ignite instance name.
+         */
+        BatchCountingDiscoverySpi(String igniteInstanceName) {
+            this.igniteInstanceName = igniteInstanceName;
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void writeToSocket(Socket sock, OutputStream out, TcpDiscoveryAbstractMessage msg,
+            long timeout) throws IOException, IgniteCheckedException {
+            if (msg instanceof TcpDiscoveryRingBatchMessage)
+                batchesSent.incrementAndGet();
+
+            super.writeToSocket(sock, out, msg, timeout);
+        }
+
+        /** {@inheritDoc} */
+        @Override protected void startMessageProcess(TcpDiscoveryAbstractMessage msg) {
+            if (msg instanceof TcpDiscoveryCustomEventMessage) {
+                processedMsgs.computeIfAbsent(igniteInstanceName, k -> new GridConcurrentHashSet<>())
+                    .add(msg.id());
+            }
+        }
+    }
+
+    /**
+     *
+     */
+    private static class DummyCustomDiscoveryMessage implements DiscoveryCustomMessage {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** */
+        private final IgniteUuid id;
+
+        /**
+         * @param id Message id.
+         */
+        DummyCustomDiscoveryMessage(IgniteUuid id) {
+            this.id = id;
+        }
+
+        /** {@inheritDoc} */
+        @Override public IgniteUuid id() {
+            return id;
+        }
+
+        /** {@inheritDoc} */
+        @Nullable @Override public DiscoveryCustomMessage ackMessage() {
+            return null;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean isMutable() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean stopProcess() {
+            return false;
+        }
+
+        /** {@inheritDoc} */
+        @Override public DiscoCache createDiscoCache(GridDiscoveryManager mgr, AffinityTopologyVersion topVer,
+            DiscoCache discoCache) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -41,6 +41,7 @@ import org.apache.ignite.internal.processors.cache.persistence.db.wal.IgniteWalS
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionNoArchiverTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionSwitchOnTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalCompactionTest;
+import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalDataRecordCompressionTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.WalRolloverTypesTest;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.crc.IgniteDataIntegrityTests;
 import org.apache.ignite.internal.processors.cache.persistence.db.wal.crc.IgniteFsyncReplayWalIteratorInvalidCrcTest;
@@ -96,6 +97,7 @@ public class IgnitePdsMvccTestSuite2 {
         ignoredTests.add(StandaloneWalRecordsIteratorTest.class);
         ignoredTests.add(IgniteWALTailIsReachedDuringIterationOverArchiveTest.class);
         ignoredTests.add(WalRolloverTypesTest.class);
+        ignoredTests.add(WalDataRecordCompressionTest.class);
         ignoredTests.add(FsyncWalRolloverDoesNotBlockTest.class);
         ignoredTests.add(IgniteWalRebalanceLoggingTest.class);
         ignoredTests.add(CorruptedCheckpointReservationTest.class);
@@ -40,6 +40,7 @@ import org.apache.ignite.spi.communication.tcp.IgniteTcpCommunicationConnectOnIn
 import org.apache.ignite.spi.communication.tcp.IgniteTcpCommunicationHandshakeWaitSslTest;
 import org.apache.ignite.spi.communication.tcp.IgniteTcpCommunicationHandshakeWaitTest;
 import org.apache.ignite.spi.communication.tcp.IgniteTcpCommunicationRecoveryAckClosureSelfTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationMessageCompressionTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiDropNodesTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiFaultyClientSslTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiFaultyClientTest;
@@ -48,6 +49,8 @@ import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiHalfOpenedConn
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiMultiJvmTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationSpiSkipMessageSendTest;
 import org.apache.ignite.spi.communication.tcp.TcpCommunicationStatisticsTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationUnixDomainSocketTest;
+import org.apache.ignite.spi.communication.tcp.TcpCommunicationWriteCoalescingTest;
 import org.apache.ignite.spi.communication.tcp.TooManyOpenFilesTcpCommunicationSpiTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
@@ -95,6 +98,9 @@ import org.junit.runners.Suite;
     TcpCommunicationSpiHalfOpenedConnectionTest.class,
 
     TcpCommunicationStatisticsTest.class,
+    TcpCommunicationMessageCompressionTest.class,
+    TcpCommunicationWriteCoalescingTest.class,
+    TcpCommunicationUnixDomainSocketTest.class,
 
     IgniteTcpCommunicationHandshakeWaitTest.class,
     IgniteTcpCommunicationHandshakeWaitSslTest.class,
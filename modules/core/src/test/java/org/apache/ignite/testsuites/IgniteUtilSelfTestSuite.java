@@ -20,6 +20,7 @@ import org.apache.ignite.internal.IgniteVersionUtilsSelfTest;
 import org.apache.ignite.internal.commandline.CommandHandlerParsingTest;
 import org.apache.ignite.internal.pagemem.impl.PageIdUtilsSelfTest;
 import org.apache.ignite.internal.processors.cache.GridCacheUtilsSelfTest;
+import org.apache.ignite.internal.util.BasicRateLimiterTest;
 import org.apache.ignite.internal.util.GridArraysSelfTest;
 import org.apache.ignite.internal.util.GridConcurrentMultiPairQueueTest;
 import org.apache.ignite.internal.util.IgniteDevOnlyLogTest;
@@ -96,6 +97,7 @@ import org.junit.runners.Suite;
     GridTransientTest.class,
     IgniteDevOnlyLogTest.class,
     GridConcurrentMultiPairQueueTest.class,
+    BasicRateLimiterTest.class,
 
     // Sensitive toString.
     IncludeSensitiveAtomicTest.class,
@@ -24,6 +24,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
+import org.h2.api.ErrorCode;
 import org.h2.command.dml.AllColumnsForPlan;
 import org.h2.engine.Constants;
 import org.h2.engine.DbObject;
@@ -427,6 +428,11 @@ public class HashJoinIndex extends BaseIndex {
         // Don't use ignorecase on build.
         tracker = ses.memoryTracker() != null ? ses.memoryTracker().createChildTracker() : null;
 
+        // Row count of the table may be unknown at planning time (e.g. for reduce tables), so check it here too.
+        int maxSize = ses.getHashJoinMaxTableSize();
+
+        int rows = 0;
+
         while (cur.next()) {
             Row r = cur.get();
 
@@ -437,6 +443,13 @@ public class HashJoinIndex extends BaseIndex {
                 if (key.containsNull())
                     continue;
 
+                if (++rows > maxSize) {
+                    clearHashTable(ses);
+
+                    throw DbException.get(ErrorCode.GENERAL_ERROR_1, "Hash join table size exceeds the limit " +
+                        "[table=" + table.getName() + ", maxTableSize=" + maxSize + ']');
+                }
+
                 List<Row> keyRows = hashTbl.get(key);
 
                 if (tracker != null) {
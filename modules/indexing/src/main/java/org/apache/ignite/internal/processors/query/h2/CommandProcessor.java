@@ -65,6 +65,7 @@ import org.apache.ignite.internal.processors.cache.GridCacheContext;
 import org.apache.ignite.internal.processors.cache.distributed.near.GridNearTxLocal;
 import org.apache.ignite.internal.processors.cache.mvcc.MvccUtils;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.query.GridQueryIndexDescriptor;
 import org.apache.ignite.internal.processors.query.GridQueryProperty;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.GridRunningQueryInfo;
@@ -89,7 +90,9 @@ import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
 import org.apache.ignite.internal.processors.query.messages.GridQueryKillRequest;
 import org.apache.ignite.internal.processors.query.messages.GridQueryKillResponse;
 import org.apache.ignite.internal.processors.query.schema.SchemaOperationException;
+import org.apache.ignite.internal.sql.command.SqlAlterIndexCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterTableCommand;
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterUserCommand;
 import org.apache.ignite.internal.sql.command.SqlBeginTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlBulkLoadCommand;
@@ -374,6 +377,7 @@ public class CommandProcessor {
         return cmd instanceof SqlCreateIndexCommand
             || cmd instanceof SqlDropIndexCommand
             || cmd instanceof SqlAlterTableCommand
+            || cmd instanceof SqlAlterIndexCommand
             || cmd instanceof SqlCreateUserCommand
             || cmd instanceof SqlAlterUserCommand
             || cmd instanceof SqlDropUserCommand;
@@ -412,6 +416,8 @@ public class CommandProcessor {
                 processSetStreamingCommand((SqlSetStreamingCommand)cmdNative, cliCtx);
             else if(cmdNative instanceof SqlKillQueryCommand)
                 processKillQueryCommand((SqlKillQueryCommand) cmdNative);
+            else if (cmdNative instanceof SqlAnalyzeCommand)
+                processAnalyzeCommand((SqlAnalyzeCommand)cmdNative);
             else
                 processTxCommand(cmdNative, params);
         }
@@ -424,6 +430,16 @@ public class CommandProcessor {
         return new CommandResult(res, unregister);
     }
 
+    /**
+     * Process ANALYZE command.
+     *
+     * @param cmd Command.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void processAnalyzeCommand(SqlAnalyzeCommand cmd) throws IgniteCheckedException {
+        idx.statisticsManager().analyze(cmd.schemaName(), cmd.tableName());
+    }
+
     /**
      * Process kill query command
      *
@@ -538,6 +554,17 @@ public class CommandProcessor {
                     flds.put(prop.name(), !col.descending());
                 }
 
+                // Included columns trail the key columns, so they don't affect the order of the key prefix,
+                // but their values are inlined into the index tree and may be read without a data page lookup.
+                for (SqlIndexColumn col : cmd0.includedColumns()) {
+                    GridQueryProperty prop = typeDesc.property(col.name());
+
+                    if (prop == null)
+                        throw new SchemaOperationException(SchemaOperationException.CODE_COLUMN_NOT_FOUND, col.name());
+
+                    flds.put(prop.name(), true);
+                }
+
                 newIdx.setFields(flds);
                 newIdx.setInlineSize(cmd0.inlineSize());
 
@@ -563,6 +590,49 @@ public class CommandProcessor {
                             cmd0.indexName());
                 }
             }
+            else if (cmd instanceof SqlAlterIndexCommand) {
+                SqlAlterIndexCommand cmd0 = (SqlAlterIndexCommand)cmd;
+
+                GridH2Table tbl = schemaMgr.dataTableForIndex(cmd0.schemaName(), cmd0.indexName());
+
+                if (tbl != null) {
+                    ensureDdlSupported(tbl);
+
+                    GridQueryTypeDescriptor typeDesc = tbl.rowDescriptor().type();
+
+                    GridQueryIndexDescriptor idxDesc = typeDesc.indexes().get(cmd0.indexName());
+
+                    if (idxDesc == null || idxDesc.type() != QueryIndexType.SORTED) {
+                        throw new IgniteSQLException("Only secondary sorted indexes may be altered: " +
+                            cmd0.indexName(), IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+                    }
+
+                    QueryIndex newIdx = new QueryIndex();
+
+                    newIdx.setName(idxDesc.name());
+
+                    newIdx.setIndexType(QueryIndexType.SORTED);
+
+                    LinkedHashMap<String, Boolean> flds = new LinkedHashMap<>();
+
+                    for (String fld : idxDesc.fields())
+                        flds.put(fld, !idxDesc.descending(fld));
+
+                    newIdx.setFields(flds);
+                    newIdx.setInlineSize(cmd0.inlineSize());
+
+                    // The new index is built next to the existing one, which serves queries until they are swapped.
+                    fut = ctx.query().dynamicIndexReplace(tbl.cacheName(), cmd0.schemaName(), typeDesc.tableName(),
+                        newIdx, cmd0.parallel());
+                }
+                else {
+                    if (cmd0.ifExists())
+                        fut = new GridFinishedFuture();
+                    else
+                        throw new SchemaOperationException(SchemaOperationException.CODE_INDEX_NOT_FOUND,
+                            cmd0.indexName());
+                }
+            }
             else if (cmd instanceof SqlAlterTableCommand) {
                 SqlAlterTableCommand cmd0 = (SqlAlterTableCommand)cmd;
 
@@ -381,8 +381,19 @@ public class H2TableDescriptor {
      * @param idxDesc Index descriptor.
      * @return Index.
      */
-    @SuppressWarnings("ZeroLengthArrayAllocation")
     public GridH2IndexBase createUserIndex(GridQueryIndexDescriptor idxDesc) {
+        return createUserIndex(idxDesc, false);
+    }
+
+    /**
+     * Create user index.
+     *
+     * @param idxDesc Index descriptor.
+     * @param replacement Whether the index replaces the existing index with the same name.
+     * @return Index.
+     */
+    @SuppressWarnings("ZeroLengthArrayAllocation")
+    public GridH2IndexBase createUserIndex(GridQueryIndexDescriptor idxDesc, boolean replacement) {
         IndexColumn keyCol = tbl.indexColumn(QueryUtils.KEY_COL, SortOrder.ASCENDING);
         IndexColumn affCol = tbl.getAffinityKeyColumn();
 
@@ -413,7 +424,8 @@ public class H2TableDescriptor {
                 false,
                 colsWithUnwrappedKey,
                 cols,
-                idxDesc.inlineSize()
+                idxDesc.inlineSize(),
+                replacement
             );
         }
         else if (idxDesc.type() == QueryIndexType.GEOSPATIAL)
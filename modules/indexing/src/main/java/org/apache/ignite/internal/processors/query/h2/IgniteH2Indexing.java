@@ -144,6 +144,7 @@ import org.apache.ignite.internal.processors.query.h2.opt.QueryContextRegistry;
 import org.apache.ignite.internal.processors.query.h2.sql.GridFirstValueFunction;
 import org.apache.ignite.internal.processors.query.h2.sql.GridLastValueFunction;
 import org.apache.ignite.internal.processors.query.h2.sql.GridSqlStatement;
+import org.apache.ignite.internal.processors.query.h2.stat.StatisticsManager;
 import org.apache.ignite.internal.processors.query.h2.twostep.GridMapQueryExecutor;
 import org.apache.ignite.internal.processors.query.h2.twostep.GridReduceQueryExecutor;
 import org.apache.ignite.internal.processors.query.h2.twostep.PartitionReservationManager;
@@ -288,6 +289,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /** Parser. */
     private QueryParser parser;
 
+    /** Cache of the results of read-only queries. */
+    private QueryResultCache resCache;
+
     /** Memory manager */
     private QueryMemoryManager memoryMgr;
 
@@ -312,6 +316,9 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     /** Schema manager. */
     private SchemaManager schemaMgr;
 
+    /** Column statistics manager. */
+    private StatisticsManager statsMgr;
+
     /** H2 Connection manager. */
     private LongRunningQueryManager longRunningQryMgr;
 
@@ -416,6 +423,14 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         schemaMgr.createIndex(schemaName, tblName, idxDesc, ifNotExists, cacheVisitor);
     }
 
+    /** {@inheritDoc} */
+    @Override public void dynamicIndexReplace(String schemaName, String tblName, QueryIndexDescriptorImpl idxDesc,
+        SchemaIndexCacheVisitor cacheVisitor) throws IgniteCheckedException {
+        schemaMgr.replaceIndex(schemaName, tblName, idxDesc, cacheVisitor);
+
+        clearPlanCache();
+    }
+
     /** {@inheritDoc} */
     @Override public void dynamicIndexDrop(String schemaName, String idxName, boolean ifExists)
         throws IgniteCheckedException{
@@ -450,9 +465,27 @@ public class IgniteH2Indexing implements GridQueryIndexing {
      * @param inlineSize Index inline size.
      * @return Index.
      */
-    @SuppressWarnings("ConstantConditions")
     GridH2IndexBase createSortedIndex(String name, GridH2Table tbl, boolean pk, boolean affinityKey,
         List<IndexColumn> unwrappedCols, List<IndexColumn> wrappedCols, int inlineSize) {
+        return createSortedIndex(name, tbl, pk, affinityKey, unwrappedCols, wrappedCols, inlineSize, false);
+    }
+
+    /**
+     * Create sorted index.
+     *
+     * @param name Index name,
+     * @param tbl Table.
+     * @param pk Primary key flag.
+     * @param affinityKey Affinity key flag.
+     * @param unwrappedCols Unwrapped index columns for complex types.
+     * @param wrappedCols Index columns as is complex types.
+     * @param inlineSize Index inline size.
+     * @param replacement Whether the index replaces the existing index with the same name.
+     * @return Index.
+     */
+    @SuppressWarnings("ConstantConditions")
+    GridH2IndexBase createSortedIndex(String name, GridH2Table tbl, boolean pk, boolean affinityKey,
+        List<IndexColumn> unwrappedCols, List<IndexColumn> wrappedCols, int inlineSize, boolean replacement) {
         try {
             GridCacheContextInfo cacheInfo = tbl.cacheInfo();
 
@@ -475,6 +508,7 @@ public class IgniteH2Indexing implements GridQueryIndexing {
                     wrappedCols,
                     inlineSize,
                     segments,
+                    replacement,
                     log
                 );
             }
@@ -1332,17 +1366,31 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
             int timeout = operationTimeout(qryParams.timeout(), tx);
 
-            Iterable<List<?>> iter = executeSelect0(
-                qryId,
-                qryDesc,
-                qryParams,
-                select,
-                keepBinary,
-                tracker,
-                cancel,
-                inTx,
-                timeout
-            );
+            QueryResultCache.Key resKey = inTx ? null : resCache.key(qryDesc, qryParams, select, keepBinary);
+
+            Iterable<List<?>> iter = resKey != null ? resCache.get(resKey) : null;
+
+            if (iter != null) {
+                // Check security for the cached result as well.
+                if (ctx.security().enabled())
+                    checkSecurity(select.cacheIds());
+            }
+            else {
+                iter = executeSelect0(
+                    qryId,
+                    qryDesc,
+                    qryParams,
+                    select,
+                    keepBinary,
+                    tracker,
+                    cancel,
+                    inTx,
+                    timeout
+                );
+
+                if (resKey != null)
+                    iter = resCache.collect(resKey, iter);
+            }
 
             // Execute SELECT FOR UPDATE if needed.
             if (select.forUpdate() && inTx)
@@ -1876,6 +1924,8 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         validateTypeDescriptor(type);
         schemaMgr.onCacheTypeCreated(cacheInfo, this, type, isSql);
 
+        statsMgr.onTableCreated(schemaMgr.dataTable(schemaMgr.schemaName(cacheInfo.name()), type.tableName()));
+
         return true;
     }
 
@@ -2197,9 +2247,14 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         parser = new QueryParser(this, connections());
 
+        resCache = new QueryResultCache(ctx);
+
         schemaMgr = new SchemaManager(ctx, connections());
         schemaMgr.start(ctx.config().getSqlConfiguration().getSqlSchemas());
 
+        statsMgr = new StatisticsManager(ctx, this);
+        statsMgr.start();
+
         nodeId = ctx.localNodeId();
         marshaller = ctx.config().getMarshaller();
 
@@ -2504,6 +2559,10 @@ public class IgniteH2Indexing implements GridQueryIndexing {
 
         partReservationMgr.onCacheStop(cacheName);
 
+        resCache.onCacheStop(cacheName, cacheInfo.cacheId());
+
+        statsMgr.onCacheDestroyed(cacheName, schemaMgr.tablesForCache(cacheName));
+
         // Drop schema (needs to be called after callback to DML processor because the latter depends on schema).
         schemaMgr.onCacheDestroyed(cacheName, rmvIdx);
 
@@ -2594,10 +2653,12 @@ public class IgniteH2Indexing implements GridQueryIndexing {
     }
 
     /**
-     * Remove all cached queries from cached two-steps queries.
+     * Remove all cached queries from cached two-steps queries and all cached query results.
      */
     private void clearPlanCache() {
         parser.clearCache();
+
+        resCache.clear();
     }
 
     /** {@inheritDoc} */
@@ -2702,6 +2763,13 @@ public class IgniteH2Indexing implements GridQueryIndexing {
         return schemaMgr;
     }
 
+    /**
+     * @return Column statistics manager.
+     */
+    public StatisticsManager statisticsManager() {
+        return statsMgr;
+    }
+
     /**
      * @return Partition extractor.
      */
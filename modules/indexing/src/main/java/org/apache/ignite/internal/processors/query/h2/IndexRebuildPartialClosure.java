@@ -23,6 +23,7 @@ import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
 import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorClosure;
+import org.apache.ignite.internal.util.typedef.F;
 
 import java.util.Collection;
 import java.util.Collections;
@@ -65,6 +66,46 @@ public class IndexRebuildPartialClosure implements SchemaIndexCacheVisitorClosur
         }
     }
 
+    /** {@inheritDoc} */
+    @Override public boolean sortable() {
+        return tblIdxs.size() == 1 && F.first(tblIdxs.values()).size() == 1;
+    }
+
+    /**
+     * Returns the row of the single index being built, so that the index pages are filled sequentially.
+     *
+     * @param row Row.
+     * @return Index row, or {@code null} if the row doesn't belong to the table.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Override public Object sortKey(CacheDataRow row) throws IgniteCheckedException {
+        assert sortable();
+
+        GridH2Table tbl = F.first(tblIdxs.keySet());
+
+        if (!cctx.kernalContext().query().belongsToTable(cctx, tbl.cacheName(), tbl.getName(), row.key(),
+            row.value()))
+            return null;
+
+        return tbl.rowDescriptor().createRow(row);
+    }
+
+    /**
+     * Compares the rows in the order of the single index being built. Rows which don't belong to the table go last.
+     *
+     * @param key1 Sort key of the first row.
+     * @param key2 Sort key of the second row.
+     * @return Comparison result.
+     */
+    @Override public int compareSortKeys(Object key1, Object key2) {
+        if (key1 == null || key2 == null)
+            return key1 == null ? (key2 == null ? 0 : 1) : -1;
+
+        GridH2IndexBase idx = F.first(F.first(tblIdxs.values()));
+
+        return idx.compareRows((H2CacheRow)key1, (H2CacheRow)key2);
+    }
+
     /**
      * @param idx Index to be rebuilt.
      */
@@ -56,7 +56,9 @@ import org.apache.ignite.internal.processors.query.h2.sql.GridSqlTable;
 import org.apache.ignite.internal.sql.SqlParseException;
 import org.apache.ignite.internal.sql.SqlParser;
 import org.apache.ignite.internal.sql.SqlStrictParseException;
+import org.apache.ignite.internal.sql.command.SqlAlterIndexCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterTableCommand;
+import org.apache.ignite.internal.sql.command.SqlAnalyzeCommand;
 import org.apache.ignite.internal.sql.command.SqlAlterUserCommand;
 import org.apache.ignite.internal.sql.command.SqlBeginTransactionCommand;
 import org.apache.ignite.internal.sql.command.SqlBulkLoadCommand;
@@ -73,21 +75,24 @@ import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.h2.command.Prepared;
+import org.h2.command.dml.Query;
+import org.h2.expression.ExpressionVisitor;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PARSER_CACHE_SIZE;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlQuerySplitter.keyColumn;
 
 /**
  * Parser module. Splits incoming request into a series of parsed results.
  */
 public class QueryParser {
-    /** */
-    private static final int CACHE_SIZE = 1024;
+    /** Default size of the queries cache. */
+    public static final int DFLT_CACHE_SIZE = 1024;
 
     /** A pattern for commands having internal implementation in Ignite. */
     private static final Pattern INTERNAL_CMD_RE = Pattern.compile(
-        "^(create|drop)\\s+index|^alter\\s+table|^copy|^set|^begin|^commit|^rollback|^(create|alter|drop)\\s+user" +
-            "|^kill\\s+query|show|help|grant|revoke",
+        "^(create|drop)\\s+index|^alter\\s+(table|index)|^copy|^set|^begin|^commit|^rollback" +
+            "|^(create|alter|drop)\\s+user|^kill\\s+query|^analyze|show|help|grant|revoke",
         Pattern.CASE_INSENSITIVE);
 
     /** Indexing. */
@@ -102,9 +107,12 @@ public class QueryParser {
     /** Query parser metrics holder. */
     private final QueryParserMetricsHolder metricsHolder;
 
+    /** Maximum number of entries in the queries cache. */
+    private final int cacheSize = IgniteSystemProperties.getInteger(IGNITE_SQL_PARSER_CACHE_SIZE, DFLT_CACHE_SIZE);
+
     /** */
     private volatile GridBoundedConcurrentLinkedHashMap<QueryDescriptor, QueryParserCacheEntry> cache =
-        new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+        new GridBoundedConcurrentLinkedHashMap<>(cacheSize);
 
     /**
      * Constructor.
@@ -117,7 +125,7 @@ public class QueryParser {
         this.connMgr = connMgr;
 
         this.log = idx.kernalContext().log(QueryParser.class);
-        this.metricsHolder = new QueryParserMetricsHolder(idx.kernalContext().metric());
+        this.metricsHolder = new QueryParserMetricsHolder(idx.kernalContext().metric(), () -> cache.sizex());
     }
 
     /**
@@ -176,7 +184,11 @@ public class QueryParser {
         if (parseRes.remainingQuery() == null) {
             cached = new QueryParserCacheEntry(parseRes.parametersMeta(), parseRes.select(), parseRes.dml(), parseRes.command());
 
-            cache.put(qryDesc, cached);
+            // The eldest entry is evicted when a new one is added to the full cache.
+            boolean full = cache.sizex() >= cacheSize;
+
+            if (cache.put(qryDesc, cached) == null && full)
+                metricsHolder.countCacheEviction();
         }
 
         // Done.
@@ -214,11 +226,13 @@ public class QueryParser {
                 || nativeCmd instanceof SqlRollbackTransactionCommand
                 || nativeCmd instanceof SqlBulkLoadCommand
                 || nativeCmd instanceof SqlAlterTableCommand
+                || nativeCmd instanceof SqlAlterIndexCommand
                 || nativeCmd instanceof SqlSetStreamingCommand
                 || nativeCmd instanceof SqlCreateUserCommand
                 || nativeCmd instanceof SqlAlterUserCommand
                 || nativeCmd instanceof SqlDropUserCommand
-                || nativeCmd instanceof SqlKillQueryCommand)
+                || nativeCmd instanceof SqlKillQueryCommand
+                || nativeCmd instanceof SqlAnalyzeCommand)
             )
                 return null;
 
@@ -522,7 +536,8 @@ public class QueryParser {
                     cacheIds,
                     mvccCacheId,
                     forUpdateQryOutTx,
-                    forUpdateQryTx
+                    forUpdateQryTx,
+                    prepared instanceof Query && ((Query)prepared).isEverything(ExpressionVisitor.DETERMINISTIC_VISITOR)
                 );
 
                 return new QueryParserResult(
@@ -683,7 +698,7 @@ public class QueryParser {
      * Clear cached plans.
      */
     public void clearCache() {
-        cache = new GridBoundedConcurrentLinkedHashMap<>(CACHE_SIZE);
+        cache = new GridBoundedConcurrentLinkedHashMap<>(cacheSize);
     }
 
     /**
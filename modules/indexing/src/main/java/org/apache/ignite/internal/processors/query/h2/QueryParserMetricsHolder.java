@@ -16,6 +16,7 @@
 
 package org.apache.ignite.internal.processors.query.h2;
 
+import java.util.function.IntSupplier;
 import org.apache.ignite.internal.processors.metric.GridMetricManager;
 import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
@@ -33,16 +34,23 @@ public class QueryParserMetricsHolder {
     /** Query cache misses counter. */
     private final LongAdderMetric qryCacheMisses;
 
+    /** Query cache evictions counter. */
+    private final LongAdderMetric qryCacheEvictions;
+
     /**
      * Create metrics holder with given metric manager.
      *
      * @param metricMgr Metric manager.
+     * @param cacheSize Supplier of the current number of entries in queries cache.
      */
-    public QueryParserMetricsHolder(GridMetricManager metricMgr) {
+    public QueryParserMetricsHolder(GridMetricManager metricMgr, IntSupplier cacheSize) {
         MetricRegistry registry = metricMgr.registry(QUERY_PARSER_METRIC_GROUP_NAME);
 
         this.qryCacheHits = registry.longAdderMetric("hits", "Count of hits for queries cache");
         this.qryCacheMisses = registry.longAdderMetric("misses", "Count of misses for queries cache");
+        this.qryCacheEvictions = registry.longAdderMetric("evictions", "Count of evictions from queries cache");
+
+        registry.register("size", cacheSize, "Count of entries in queries cache");
     }
 
     /**
@@ -58,4 +66,11 @@ public class QueryParserMetricsHolder {
     public void countCacheMiss() {
         qryCacheMisses.increment();
     }
+
+    /**
+     * Increment cache evictions counter. Should be called when a query is added to the full cache.
+     */
+    public void countCacheEviction() {
+        qryCacheEvictions.increment();
+    }
 }
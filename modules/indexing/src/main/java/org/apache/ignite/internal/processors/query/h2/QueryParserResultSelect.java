@@ -65,6 +65,9 @@ public class QueryParserResultSelect {
      */
     private final String forUpdateQryTx;
 
+    /** Whether the query returns the same result for the same data and parameters. */
+    private final boolean deterministic;
+
     /**
      * Constructor.
      *
@@ -76,6 +79,7 @@ public class QueryParserResultSelect {
      * @param mvccCacheId ID of the first MVCC cache.
      * @param forUpdateQryOutTx FOR UPDATE query string for execution out of transaction.
      * @param forUpdateQryTx FOR UPDATE query string for execution within transaction.
+     * @param deterministic Whether the query returns the same result for the same data and parameters.
      */
     public QueryParserResultSelect(
         GridSqlStatement stmt,
@@ -85,7 +89,8 @@ public class QueryParserResultSelect {
         List<Integer> cacheIds,
         @Nullable Integer mvccCacheId,
         String forUpdateQryOutTx,
-        String forUpdateQryTx
+        String forUpdateQryTx,
+        boolean deterministic
     ) {
         this.stmt = stmt;
         this.twoStepQry = twoStepQry;
@@ -95,6 +100,7 @@ public class QueryParserResultSelect {
         this.mvccCacheId = mvccCacheId;
         this.forUpdateQryOutTx = forUpdateQryOutTx;
         this.forUpdateQryTx = forUpdateQryTx;
+        this.deterministic = deterministic;
     }
 
     /**
@@ -173,4 +179,11 @@ public class QueryParserResultSelect {
     public String forUpdateQueryTx() {
         return forUpdateQryTx;
     }
+
+    /**
+     * @return Whether the query returns the same result for the same data and parameters.
+     */
+    public boolean deterministic() {
+        return deterministic;
+    }
 }
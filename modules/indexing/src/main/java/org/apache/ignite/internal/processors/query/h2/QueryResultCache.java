@@ -0,0 +1,517 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.binary.BinaryObjectImpl;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionTopology;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.util.GridBoundedConcurrentLinkedHashMap;
+import org.apache.ignite.internal.util.typedef.X;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_MAX_ROWS;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_SIZE;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+
+/**
+ * Node-wide cache of the results of read-only SELECT queries over the local data.
+ * <p>
+ * A cached result is valid while the update counters and the sizes of the local partitions of all the involved
+ * caches are unchanged. The update counters of the remote partitions are not known to the query initiator, so only
+ * the queries over the data held entirely by the local node are cached: local queries and queries over REPLICATED
+ * caches fully owned by the local node. Results of distributed queries over PARTITIONED caches are never cached.
+ * <p>
+ * The node holds up to {@link IgniteSystemProperties#IGNITE_SQL_RESULT_CACHE_SIZE} results of all the caches in
+ * total, the least recently added result is evicted first. Hits and misses are counted per first involved cache.
+ * <p>
+ * Only the results consisting of the values of immutable types, byte arrays and dates are cached. Byte arrays and
+ * dates are copied when the result is cached and each time the cached result is returned.
+ */
+public class QueryResultCache {
+    /** Metric group name of the result cache. */
+    static final String QUERY_RESULT_CACHE_METRIC_GROUP_NAME = "sql.result.cache";
+
+    /** Default maximum number of rows in a cached result. */
+    private static final int DFLT_MAX_ROWS = 10_000;
+
+    /** Immutable types of the values which can be shared by the cached result and the users. */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.asList(
+        Boolean.class,
+        Byte.class,
+        Short.class,
+        Integer.class,
+        Long.class,
+        Float.class,
+        Double.class,
+        Character.class,
+        String.class,
+        BigDecimal.class,
+        BigInteger.class,
+        UUID.class,
+        LocalDate.class,
+        LocalTime.class,
+        LocalDateTime.class,
+        BinaryObjectImpl.class
+    ));
+
+    /** Maximum number of cached results on the node, zero if the result cache is disabled. */
+    private final int cacheSize = IgniteSystemProperties.getInteger(IGNITE_SQL_RESULT_CACHE_SIZE, 0);
+
+    /** Maximum number of rows in a cached result. */
+    private final int maxRows = IgniteSystemProperties.getInteger(IGNITE_SQL_RESULT_CACHE_MAX_ROWS, DFLT_MAX_ROWS);
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Cached results of all the caches. */
+    private final GridBoundedConcurrentLinkedHashMap<Key, CachedResult> map;
+
+    /** Evictions counter, {@code null} if the result cache is disabled. */
+    private final LongAdderMetric evictions;
+
+    /** Hit and miss counters by the ID of the first involved cache. */
+    private final ConcurrentMap<Integer, CacheMetrics> metrics = new ConcurrentHashMap<>();
+
+    /**
+     * @param ctx Kernal context.
+     */
+    public QueryResultCache(GridKernalContext ctx) {
+        this.ctx = ctx;
+
+        map = new GridBoundedConcurrentLinkedHashMap<>(Math.max(cacheSize, 1));
+
+        if (cacheSize > 0) {
+            MetricRegistry registry = ctx.metric().registry(QUERY_RESULT_CACHE_METRIC_GROUP_NAME);
+
+            evictions = registry.longAdderMetric("evictions", "Count of evictions from the result cache");
+
+            registry.register("size", map::sizex, "Count of results in the result cache");
+        }
+        else
+            evictions = null;
+    }
+
+    /**
+     * @param qryDesc Query descriptor.
+     * @param qryParams Query parameters.
+     * @param select Select.
+     * @param keepBinary Whether binary objects must not be deserialized automatically.
+     * @return Result cache key, or {@code null} if the result of the query can't be cached.
+     */
+    @Nullable public Key key(
+        QueryDescriptor qryDesc,
+        QueryParameters qryParams,
+        QueryParserResultSelect select,
+        boolean keepBinary
+    ) {
+        if (cacheSize <= 0 || !select.deterministic() || select.mvccEnabled() || select.forUpdate() ||
+            select.cacheIds().isEmpty())
+            return null;
+
+        long[] ver = dataVersion(select.cacheIds(), qryDesc.local());
+
+        if (ver == null)
+            return null;
+
+        return new Key(select.cacheIds(), qryDesc, qryParams.arguments(), qryParams.partitions(), keepBinary, ver);
+    }
+
+    /**
+     * @param key Key.
+     * @return Cached result, or {@code null} if there is no valid cached result for the key.
+     */
+    @Nullable public Iterable<List<?>> get(Key key) {
+        CacheMetrics cacheMetrics = cacheMetrics(key.cacheId);
+
+        if (cacheMetrics == null)
+            return null;
+
+        CachedResult res = map.get(key);
+
+        if (res != null && Arrays.equals(res.ver, key.ver)) {
+            cacheMetrics.hits.increment();
+
+            return () -> new Iterator<List<?>>() {
+                /** */
+                private final Iterator<List<?>> it = res.rows.iterator();
+
+                /** {@inheritDoc} */
+                @Override public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                /** {@inheritDoc} */
+                @Override public List<?> next() {
+                    // Copy to protect the cached row from modification by the user.
+                    return copy(it.next());
+                }
+            };
+        }
+
+        if (res != null)
+            map.remove(key, res);
+
+        cacheMetrics.misses.increment();
+
+        return null;
+    }
+
+    /**
+     * Wraps the result of the query execution, so that it is put to the cache once it is fully read.
+     *
+     * @param key Key.
+     * @param res Query execution result.
+     * @return Result to be returned to the user.
+     */
+    public Iterable<List<?>> collect(Key key, Iterable<List<?>> res) {
+        return () -> new CollectingIterator(key, res.iterator());
+    }
+
+    /**
+     * Removes all the cached results.
+     */
+    public void clear() {
+        // Bounded map doesn't support clear().
+        for (Key key : map.keySet())
+            map.remove(key);
+    }
+
+    /**
+     * @param cacheName Name of the stopped cache.
+     * @param cacheId ID of the stopped cache.
+     */
+    public void onCacheStop(String cacheName, int cacheId) {
+        if (metrics.remove(cacheId) != null)
+            ctx.metric().remove(metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, cacheName));
+
+        // Results of the other caches can also depend on the stopped one.
+        clear();
+    }
+
+    /**
+     * @param cacheId Cache ID.
+     * @return Metrics of the queries whose first involved cache is the given one, or {@code null} if cache is stopped.
+     */
+    @Nullable private CacheMetrics cacheMetrics(int cacheId) {
+        CacheMetrics cacheMetrics = metrics.get(cacheId);
+
+        if (cacheMetrics == null) {
+            GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheId);
+
+            if (cctx == null)
+                return null;
+
+            CacheMetrics old = metrics.putIfAbsent(cacheId, cacheMetrics = new CacheMetrics(cctx.name()));
+
+            if (old != null)
+                cacheMetrics = old;
+        }
+
+        return cacheMetrics;
+    }
+
+    /**
+     * @param key Key.
+     * @param rows Rows.
+     */
+    private void put(Key key, List<List<?>> rows) {
+        // The eldest entry is evicted when a new one is added to the full cache.
+        boolean full = map.sizex() >= cacheSize;
+
+        if (map.put(key, new CachedResult(key.ver, rows)) == null && full)
+            evictions.increment();
+    }
+
+    /**
+     * @param row Result row.
+     * @return {@code True} if all the values of the row can be cached, see {@link #copy(List)}.
+     */
+    private static boolean cacheable(List<?> row) {
+        for (Object val : row) {
+            if (val != null && !IMMUTABLE_TYPES.contains(val.getClass()) && !(val instanceof byte[]) &&
+                !(val instanceof Date))
+                return false;
+        }
+
+        return true;
+    }
+
+    /**
+     * @param row Result row.
+     * @return Copy of the row, the values are copied unless they are immutable.
+     */
+    private static List<?> copy(List<?> row) {
+        List<Object> res = new ArrayList<>(row.size());
+
+        for (Object val : row) {
+            if (val instanceof byte[])
+                val = ((byte[])val).clone();
+            else if (val instanceof Date)
+                val = ((Date)val).clone();
+
+            res.add(val);
+        }
+
+        return res;
+    }
+
+    /**
+     * Calculates the version of the local data of the caches. Any update or removal on the local node changes the
+     * update counter or the size of some partition, and thus the version.
+     *
+     * @param cacheIds Cache IDs.
+     * @param loc Local query flag.
+     * @return Data version, or {@code null} if the local node doesn't hold all the data used by the query.
+     */
+    @Nullable private long[] dataVersion(List<Integer> cacheIds, boolean loc) {
+        long[] ver = new long[cacheIds.size() * 4];
+
+        int i = 0;
+
+        for (Integer cacheId : cacheIds) {
+            GridCacheContext<?, ?> cctx = ctx.cache().context().cacheContext(cacheId);
+
+            if (cctx == null || cctx.isLocal() || !cctx.affinityNode() || !(loc || cctx.isReplicated()))
+                return null;
+
+            GridDhtPartitionTopology top = cctx.topology();
+
+            AffinityTopologyVersion topVer = top.readyTopologyVersion();
+
+            long cntrs = 0;
+            long size = 0;
+            int owning = 0;
+
+            for (GridDhtLocalPartition part : top.currentLocalPartitions()) {
+                if (part.state() != OWNING)
+                    continue;
+
+                cntrs += part.updateCounter();
+                size += part.fullSize();
+                owning++;
+            }
+
+            // REPLICATED cache is being rebalanced to the local node.
+            if (!loc && owning != cctx.affinity().partitions())
+                return null;
+
+            ver[i++] = topVer.topologyVersion();
+            ver[i++] = topVer.minorTopologyVersion();
+            ver[i++] = cntrs;
+            ver[i++] = size;
+        }
+
+        return ver;
+    }
+
+    /**
+     * Key of a cached result.
+     */
+    public static class Key {
+        /** ID of the first involved cache. */
+        private final int cacheId;
+
+        /** IDs of the involved caches, not a part of the key identity. */
+        private final List<Integer> cacheIds;
+
+        /** Query descriptor. */
+        private final QueryDescriptor qryDesc;
+
+        /** Arguments. */
+        private final Object[] args;
+
+        /** Partitions. */
+        private final int[] parts;
+
+        /** Whether binary objects must not be deserialized automatically. */
+        private final boolean keepBinary;
+
+        /** Data version at the moment of the key creation, not a part of the key identity. */
+        private final long[] ver;
+
+        /**
+         * @param cacheIds IDs of the involved caches.
+         * @param qryDesc Query descriptor.
+         * @param args Arguments.
+         * @param parts Partitions.
+         * @param keepBinary Whether binary objects must not be deserialized automatically.
+         * @param ver Data version.
+         */
+        private Key(List<Integer> cacheIds, QueryDescriptor qryDesc, Object[] args, int[] parts, boolean keepBinary,
+            long[] ver) {
+            this.cacheIds = cacheIds;
+            cacheId = cacheIds.get(0);
+            this.qryDesc = qryDesc;
+            // Arguments are null or empty for the same query without parameters depending on the execution path.
+            this.args = args == null ? X.EMPTY_OBJECT_ARRAY : args;
+            this.parts = parts;
+            this.keepBinary = keepBinary;
+            this.ver = ver;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean equals(Object o) {
+            if (this == o)
+                return true;
+
+            if (o == null || getClass() != o.getClass())
+                return false;
+
+            Key key = (Key)o;
+
+            return cacheId == key.cacheId && keepBinary == key.keepBinary && qryDesc.equals(key.qryDesc) &&
+                Arrays.deepEquals(args, key.args) && Arrays.equals(parts, key.parts);
+        }
+
+        /** {@inheritDoc} */
+        @Override public int hashCode() {
+            int res = qryDesc.hashCode();
+
+            res = 31 * res + Arrays.deepHashCode(args);
+            res = 31 * res + Arrays.hashCode(parts);
+            res = 31 * res + (keepBinary ? 1 : 0);
+
+            return res;
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(Key.class, this);
+        }
+    }
+
+    /**
+     * Cached result.
+     */
+    private static class CachedResult {
+        /** Data version the result was calculated for. */
+        private final long[] ver;
+
+        /** Rows. */
+        private final List<List<?>> rows;
+
+        /**
+         * @param ver Data version the result was calculated for.
+         * @param rows Rows.
+         */
+        private CachedResult(long[] ver, List<List<?>> rows) {
+            this.ver = ver;
+            this.rows = rows;
+        }
+    }
+
+    /**
+     * Metrics of the queries having the same first involved cache.
+     */
+    private class CacheMetrics {
+        /** Hits counter. */
+        private final LongAdderMetric hits;
+
+        /** Misses counter. */
+        private final LongAdderMetric misses;
+
+        /**
+         * @param cacheName Cache name.
+         */
+        private CacheMetrics(String cacheName) {
+            MetricRegistry registry = ctx.metric().registry(
+                metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, cacheName));
+
+            hits = registry.longAdderMetric("hits", "Count of queries served from the result cache");
+            misses = registry.longAdderMetric("misses", "Count of cacheable queries not found in the result cache");
+        }
+    }
+
+    /**
+     * Iterator collecting the rows of the query result to put them to the cache once the result is fully read.
+     */
+    private class CollectingIterator implements Iterator<List<?>> {
+        /** Key. */
+        private final Key key;
+
+        /** Query execution result. */
+        private final Iterator<List<?>> it;
+
+        /** Collected rows, {@code null} if the result can't be cached or is already cached. */
+        private List<List<?>> rows = new ArrayList<>();
+
+        /**
+         * @param key Key.
+         * @param it Query execution result.
+         */
+        private CollectingIterator(Key key, Iterator<List<?>> it) {
+            this.key = key;
+            this.it = it;
+        }
+
+        /** {@inheritDoc} */
+        @Override public boolean hasNext() {
+            boolean hasNext = it.hasNext();
+
+            if (!hasNext && rows != null) {
+                // Update counter of an atomic cache is incremented before the row is written to the indexes, so the
+                // query could miss an update counted in the version taken before the execution. The result is cached
+                // only if no updates were counted while the query was executed.
+                long[] ver = dataVersion(key.cacheIds, key.qryDesc.local());
+
+                if (Arrays.equals(ver, key.ver) && cacheMetrics(key.cacheId) != null)
+                    put(key, rows);
+
+                rows = null;
+            }
+
+            return hasNext;
+        }
+
+        /** {@inheritDoc} */
+        @Override public List<?> next() {
+            List<?> row = it.next();
+
+            if (rows != null) {
+                if (rows.size() < maxRows && cacheable(row))
+                    rows.add(copy(row));
+                else
+                    rows = null;
+            }
+
+            return row;
+        }
+    }
+}
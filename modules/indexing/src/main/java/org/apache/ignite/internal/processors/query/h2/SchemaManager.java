@@ -587,7 +587,14 @@ public class SchemaManager {
 
             idxBuild.addIndex(h2Tbl, h2Idx);
 
-            cacheVisitor.visit(idxBuild);
+            h2Idx.sequentialLoad(true);
+
+            try {
+                cacheVisitor.visit(idxBuild);
+            }
+            finally {
+                h2Idx.sequentialLoad(false);
+            }
 
             // At this point index is in consistent state, promote it through H2 SQL statement, so that cached
             // prepared statements are re-built.
@@ -603,6 +610,73 @@ public class SchemaManager {
         }
     }
 
+    /**
+     * Replace index. The new index is built while the existing index with the same name is still used, then
+     * they are swapped.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param idxDesc Index descriptor.
+     * @param cacheVisitor Cache visitor.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void replaceIndex(String schemaName, String tblName, QueryIndexDescriptorImpl idxDesc,
+        SchemaIndexCacheVisitor cacheVisitor) throws IgniteCheckedException {
+        // Locate table.
+        H2Schema schema = schema(schemaName);
+
+        H2TableDescriptor desc = (schema != null ? schema.tableByName(tblName) : null);
+
+        if (desc == null)
+            throw new IgniteCheckedException("Table not found in internal H2 database [schemaName=" + schemaName +
+                ", tblName=" + tblName + ']');
+
+        GridH2Table h2Tbl = desc.table();
+
+        Index oldIdx = h2Tbl.userIndex(idxDesc.name());
+
+        if (!(oldIdx instanceof GridH2IndexBase))
+            throw new IgniteCheckedException("Index not found in internal H2 database [schemaName=" + schemaName +
+                ", idxName=" + idxDesc.name() + ']');
+
+        // Create index next to the replaced one.
+        final GridH2IndexBase h2Idx = desc.createUserIndex(idxDesc, true);
+
+        h2Tbl.proposeReplacementIndex(h2Idx);
+
+        try {
+            // Populate index with existing cache data.
+            IndexRebuildPartialClosure idxBuild = new IndexRebuildPartialClosure(h2Tbl.cacheContext());
+
+            idxBuild.addIndex(h2Tbl, h2Idx);
+
+            h2Idx.sequentialLoad(true);
+
+            try {
+                cacheVisitor.visit(idxBuild);
+            }
+            finally {
+                h2Idx.sequentialLoad(false);
+            }
+        }
+        catch (Exception e) {
+            // Rollback and re-throw.
+            h2Tbl.rollbackReplacementIndex(h2Idx.getName());
+
+            throw e;
+        }
+
+        // At this point index is in consistent state, swap it with the replaced one through H2 SQL statements, so
+        // that cached prepared statements are re-built.
+        h2Tbl.commitReplacementIndex(() -> {
+            dropIndex(schemaName, oldIdx.getName(), false);
+
+            h2Idx.onReplace((GridH2IndexBase)oldIdx);
+
+            connMgr.executeStatement(schemaName, H2Utils.indexCreateSql(desc.fullTableName(), h2Idx, false));
+        });
+    }
+
     /**
      * Drop index.
      *
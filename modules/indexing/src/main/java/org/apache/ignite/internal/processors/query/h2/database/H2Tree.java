@@ -17,6 +17,7 @@
 package org.apache.ignite.internal.processors.query.h2.database;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -43,14 +44,19 @@ import org.apache.ignite.internal.processors.cache.persistence.tree.io.BPlusMeta
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.cache.tree.mvcc.data.MvccDataRow;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.QueryUtils;
 import org.apache.ignite.internal.processors.query.h2.H2RowCache;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineIndexColumnFactory;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2ExtrasInnerIO;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2ExtrasLeafIO;
 import org.apache.ignite.internal.processors.query.h2.database.io.H2RowLinkIO;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRow;
 import org.apache.ignite.internal.processors.query.h2.opt.H2Row;
 import org.apache.ignite.internal.util.typedef.internal.S;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -60,8 +66,11 @@ import org.h2.result.SearchRow;
 import org.h2.result.SortOrder;
 import org.h2.table.IndexColumn;
 import org.h2.value.Value;
+import org.h2.value.ValueNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.internal.metric.IoStatisticsType.SORTED_INDEX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase.computeInlineSize;
 import static org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase.getAvailableInlineColumns;
 import static org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.AbstractInlineIndexColumn.CANT_BE_COMPARE;
@@ -73,6 +82,15 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     /** */
     public static final String IGNITE_THROTTLE_INLINE_SIZE_CALCULATION = "IGNITE_THROTTLE_INLINE_SIZE_CALCULATION";
 
+    /** Metric name of the number of comparisons that read the data row because the inlined values were not enough. */
+    public static final String ROW_COMPARISONS = "ROW_COMPARISONS";
+
+    /** Metric name of the number of comparisons that read the value fields right from the data page. */
+    public static final String IN_PLACE_COMPARISONS = "IN_PLACE_COMPARISONS";
+
+    /** Metric name of the inline size recommended by the sampled rows. */
+    public static final String RECOMMENDED_INLINE_SIZE = "RECOMMENDED_INLINE_SIZE";
+
     /** Cache context. */
     private final GridCacheContext cctx;
 
@@ -116,6 +134,12 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     /** */
     private final IoStatisticsHolder stats;
 
+    /** Number of comparisons that read the data row. */
+    private final LongAdderMetric rowCmpCnt;
+
+    /** Number of comparisons that read the value fields right from the data page. */
+    private final LongAdderMetric inPlaceCmpCnt;
+
     /** */
     private final Comparator<Value> comp = this::compareValues;
 
@@ -229,6 +253,23 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         this.affinityKey = affinityKey;
         this.mvccEnabled = mvccEnabled;
 
+        if (table != null) {
+            MetricRegistry mreg = cctx.kernalContext().metric().registry(
+                metricName(SORTED_INDEX.metricGroupName(), cctx.name(), idxName));
+
+            rowCmpCnt = mreg.longAdderMetric(ROW_COMPARISONS,
+                "Number of index row comparisons that read the data row.");
+
+            inPlaceCmpCnt = mreg.longAdderMetric(IN_PLACE_COMPARISONS,
+                "Number of index row comparisons that read the value fields right from the data page " +
+                    "without copying the row to heap.");
+        }
+        else {
+            // Tree is opened only to be destroyed.
+            rowCmpCnt = new LongAdderMetric(ROW_COMPARISONS, null);
+            inPlaceCmpCnt = new LongAdderMetric(IN_PLACE_COMPARISONS, null);
+        }
+
         if (!initNew) {
             // Page is ready - read meta information.
             MetaPageInfo metaInfo = getMetaInfo();
@@ -417,12 +458,69 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         return table.rowDescriptor().createRow(row);
     }
 
-    /** {@inheritDoc} */
-    @Override public H2Row getRow(BPlusIO<H2Row> io, long pageAddr, int idx, Object ignore)
+    /**
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @param x Set of the column indexes required by the query, or {@code null} if the full row is needed.
+     * @return Row.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Override public H2Row getRow(BPlusIO<H2Row> io, long pageAddr, int idx, Object x)
         throws IgniteCheckedException {
+        if (x != null && io.isLeaf()) {
+            H2Row row = inlineRow(io, pageAddr, idx, (BitSet)x);
+
+            if (row != null)
+                return row;
+        }
+
         return io.getLookupRow(this, pageAddr, idx);
     }
 
+    /**
+     * Restores the columns required by the query from the values inlined into the index item,
+     * so the data page of the row is not read.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Index.
+     * @param reqCols Set of the column indexes required by the query.
+     * @return Row or {@code null} if some of the required columns are not inlined completely.
+     */
+    @Nullable private H2Row inlineRow(BPlusIO<H2Row> io, long pageAddr, int idx, BitSet reqCols) {
+        if (inlineSize() == 0)
+            return null;
+
+        int reqCnt = reqCols.cardinality();
+
+        int off = io.offset(idx);
+
+        int fieldOff = 0;
+
+        H2PlainRow row = new H2PlainRow(table.getColumns().length);
+
+        for (int i = 0; i < inlineIdxs.size() && reqCnt > 0 && fieldOff < inlineSize(); i++) {
+            InlineIndexColumn inlineIdx = inlineIdxs.get(i);
+
+            Value v = inlineIdx.restore(pageAddr, off + fieldOff, inlineSize() - fieldOff);
+
+            // The following values are not inlined either.
+            if (v == null)
+                return null;
+
+            if (reqCols.get(inlineIdx.columnIndex()) && row.getValue(inlineIdx.columnIndex()) == null) {
+                row.setValue(inlineIdx.columnIndex(), v);
+
+                reqCnt--;
+            }
+
+            fieldOff += inlineIdx.fullSize(pageAddr, off + fieldOff);
+        }
+
+        return reqCnt == 0 ? row : null;
+    }
+
     /**
      * @return Inline size.
      */
@@ -495,8 +593,11 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     @Override protected int compare(BPlusIO<H2Row> io, long pageAddr, int idx,
         H2Row row) throws IgniteCheckedException {
         try {
-            if (inlineSize() == 0)
+            if (inlineSize() == 0) {
+                rowCmpCnt.increment();
+
                 return compareRows(getRow(io, pageAddr, idx), row);
+            }
             else {
                 int off = io.offset(idx);
 
@@ -530,8 +631,19 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
                 if (lastIdxUsed == cols.length)
                     return mvccCompare((H2RowLinkIO)io, pageAddr, idx, row);
 
+                // Only the comparisons that fall back to the data row are counted, they read a data page anyway.
+                rowCmpCnt.increment();
+
                 inlineSizeRecomendation(row);
 
+                Integer inPlaceRes = compareInPlace((H2RowLinkIO)io, pageAddr, idx, row, lastIdxUsed);
+
+                if (inPlaceRes != null) {
+                    inPlaceCmpCnt.increment();
+
+                    return inPlaceRes;
+                }
+
                 SearchRow rowData = getRow(io, pageAddr, idx);
 
                 for (int i = lastIdxUsed, len = cols.length; i < len; i++) {
@@ -561,6 +673,86 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
         }
     }
 
+    /**
+     * Compares the columns which are not inlined with the value fields read right from the data page,
+     * so the row is not copied to heap.
+     *
+     * @param io IO.
+     * @param pageAddr Page address.
+     * @param idx Item index.
+     * @param row Search row.
+     * @param fromIdx Index of the first column to compare.
+     * @return Comparison result or {@code null} if the columns can't be compared in place.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private Integer compareInPlace(H2RowLinkIO io, long pageAddr, int idx, H2Row row, int fromIdx)
+        throws IgniteCheckedException {
+        // Cached rows are already on heap, MVCC rows have different layout.
+        if (rowCache != null || mvccEnabled)
+            return null;
+
+        GridH2RowDescriptor desc = table.rowDescriptor();
+
+        if (!valueFieldColumn(desc, cols[fromIdx].column.getColumnId()))
+            return null;
+
+        CacheDataRowAdapter dataRow = new CacheDataRowAdapter(io.getLink(pageAddr, idx));
+
+        return dataRow.readValueInPlace(cctx.group(), val -> {
+            for (int i = fromIdx; i < cols.length; i++) {
+                IndexColumn col = cols[i];
+
+                int idx0 = col.column.getColumnId();
+
+                Value v2 = row.getValue(idx0);
+
+                // Can't compare further.
+                if (v2 == null)
+                    return 0;
+
+                // The rest of the columns are compared with the full row.
+                if (!valueFieldColumn(desc, idx0))
+                    return null;
+
+                int fieldIdx = idx0 - QueryUtils.DEFAULT_COLUMNS_COUNT;
+
+                Object res = desc.columnValue(null, val, fieldIdx);
+
+                Value v1 = res == null ? ValueNull.INSTANCE :
+                    H2Utils.wrap(desc.indexing().objectContext(), res, desc.fieldType(fieldIdx));
+
+                int c = compareValues(v1, v2);
+
+                if (c != 0)
+                    return fixSort(c, col.sortType);
+            }
+
+            return 0;
+        });
+    }
+
+    /**
+     * Checks that the column is a value field which can be read without copying the value to heap.
+     * Values of object columns may keep references to the data page, so they are not read in place.
+     *
+     * @param desc Row descriptor.
+     * @param colId Column ID.
+     * @return {@code True} if column value can be read in place.
+     */
+    private static boolean valueFieldColumn(GridH2RowDescriptor desc, int colId) {
+        if (desc.isKeyValueOrVersionColumn(colId))
+            return false;
+
+        int fieldIdx = colId - QueryUtils.DEFAULT_COLUMNS_COUNT;
+
+        if (desc.isColumnKeyProperty(fieldIdx))
+            return false;
+
+        int type = desc.fieldType(fieldIdx);
+
+        return type != Value.JAVA_OBJECT && type != Value.ARRAY && type != Value.GEOMETRY;
+    }
+
     /**
      * Perform sort order correction.
      *
@@ -647,8 +839,8 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
     }
 
     /**
-     * Calculate aggregate inline size for given indexes and log recommendation in case calculated size more than
-     * current inline size.
+     * Calculate aggregate inline size for given indexes, keep the maximum as the recommended inline size
+     * and log recommendation in case calculated size more than current inline size.
      *
      * @param row Grid H2 row related to given inline indexes.
      */
@@ -681,19 +873,19 @@ public class H2Tree extends BPlusTree<H2Row, H2Row> {
             colNames.add(index.columnName());
         }
 
-        if (newSize > inlineSize()) {
-            int oldSize;
+        int oldSize;
 
-            while (true) {
-                oldSize = maxCalculatedInlineSize.get();
+        while (true) {
+            oldSize = maxCalculatedInlineSize.get();
 
-                if (oldSize >= newSize)
-                    return;
+            if (oldSize >= newSize)
+                return;
 
-                if (maxCalculatedInlineSize.compareAndSet(oldSize, newSize))
-                    break;
-            }
+            if (maxCalculatedInlineSize.compareAndSet(oldSize, newSize))
+                break;
+        }
 
+        if (newSize > inlineSize()) {
             String cols = colNames.stream().collect(Collectors.joining(", ", "(", ")"));
 
             String idxType = pk ? "PRIMARY KEY" : affinityKey ? "AFFINITY KEY (implicit)" : "SECONDARY";
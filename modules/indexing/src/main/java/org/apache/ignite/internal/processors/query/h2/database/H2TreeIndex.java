@@ -17,7 +17,9 @@
 package org.apache.ignite.internal.processors.query.h2.database;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -28,6 +30,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.failure.FailureContext;
 import org.apache.ignite.internal.GridKernalContext;
@@ -45,8 +48,10 @@ import org.apache.ignite.internal.processors.cache.persistence.IgniteCacheDataba
 import org.apache.ignite.internal.processors.cache.persistence.RootPage;
 import org.apache.ignite.internal.processors.cache.persistence.metastorage.pendingtask.DurableBackgroundTask;
 import org.apache.ignite.internal.processors.cache.persistence.tree.BPlusTree;
+import org.apache.ignite.internal.processors.cache.persistence.tree.io.PageIO;
 import org.apache.ignite.internal.processors.cache.persistence.tree.reuse.ReuseList;
 import org.apache.ignite.internal.processors.failure.FailureProcessor;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
 import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
 import org.apache.ignite.internal.processors.query.h2.DurableBackgroundCleanupIndexTreeTask;
 import org.apache.ignite.internal.processors.query.h2.H2Cursor;
@@ -55,6 +60,7 @@ import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
 import org.apache.ignite.internal.processors.query.h2.database.inlinecolumn.InlineIndexColumnFactory;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Cursor;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2IndexBase;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
 import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
@@ -83,7 +89,9 @@ import org.apache.ignite.lang.IgniteBiTuple;
 import org.apache.ignite.plugin.extensions.communication.Message;
 import org.apache.ignite.spi.indexing.IndexingQueryCacheFilter;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
+import org.h2.command.dml.Select;
 import org.h2.engine.Session;
+import org.h2.expression.ExpressionVisitor;
 import org.h2.index.Cursor;
 import org.h2.index.IndexCondition;
 import org.h2.index.IndexLookupBatch;
@@ -91,6 +99,7 @@ import org.h2.index.IndexType;
 import org.h2.index.SingleRowCursor;
 import org.h2.message.DbException;
 import org.h2.result.SearchRow;
+import org.h2.table.Column;
 import org.h2.table.IndexColumn;
 import org.h2.table.TableFilter;
 import org.h2.value.Value;
@@ -98,8 +107,10 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
 import static java.util.Collections.singletonList;
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_COVERING_INDEX_SCAN;
 import static org.apache.ignite.failure.FailureType.CRITICAL_ERROR;
 import static org.apache.ignite.internal.metric.IoStatisticsType.SORTED_INDEX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2IndexRangeResponse.STATUS_ERROR;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2IndexRangeResponse.STATUS_NOT_FOUND;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2IndexRangeResponse.STATUS_OK;
@@ -111,6 +122,9 @@ import static org.h2.result.Row.MEMORY_CALCULATE;
  */
 @SuppressWarnings({"TypeMayBeWeakened", "unchecked"})
 public class H2TreeIndex extends H2TreeIndexBase {
+    /** Index-only scans enabled flag. */
+    private static final boolean COVERING_SCAN = IgniteSystemProperties.getBoolean(IGNITE_SQL_COVERING_INDEX_SCAN, true);
+
     /** */
     private final H2Tree[] segments;
 
@@ -126,8 +140,8 @@ public class H2TreeIndex extends H2TreeIndexBase {
     /** */
     private final String idxName;
 
-    /** Tree name. */
-    private final String treeName;
+    /** Tree name, changes once the index replaces the index with the same name. */
+    private volatile String treeName;
 
     /** */
     private final IgniteLogger log;
@@ -159,6 +173,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
      * @param treeName Tree name.
      * @param segments Tree segments.
      * @param cols Columns.
+     * @param replacement Whether the index replaces the existing index with the same name.
      * @param log Logger.
      */
     private H2TreeIndex(
@@ -169,6 +184,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
         String treeName,
         H2Tree[] segments,
         IndexColumn[] cols,
+        boolean replacement,
         IgniteLogger log
     ) {
         super(tbl, idxName, cols,
@@ -207,7 +223,9 @@ public class H2TreeIndex extends H2TreeIndexBase {
             }
         };
 
-        ctx.io().addMessageListener(msgTopic, msgLsnr);
+        // Replaced index still serves distributed joins on the same topic until the indexes are swapped.
+        if (!replacement)
+            ctx.io().addMessageListener(msgTopic, msgLsnr);
     }
 
     /**
@@ -221,6 +239,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
      * @param wrappedCols Index columns as is.
      * @param inlineSize Inline size.
      * @param segmentsCnt Count of tree segments.
+     * @param replacement Whether the index replaces the existing index with the same name.
      * @param log Logger.
      * @return Index.
      * @throws IgniteCheckedException If failed.
@@ -236,6 +255,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
         List<IndexColumn> wrappedCols,
         int inlineSize,
         int segmentsCnt,
+        boolean replacement,
         IgniteLogger log
     ) throws IgniteCheckedException {
         assert segmentsCnt > 0 : segmentsCnt;
@@ -244,7 +264,8 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         int typeId = cctx.binaryMarshaller() ? typeDesc.typeId() : typeDesc.valueClass().hashCode();
 
-        String treeName = BPlusTree.treeName((tbl.rowDescriptor() == null ? "" : typeId + "_") + idxName, "H2Tree");
+        String treeName = BPlusTree.treeName((tbl.rowDescriptor() == null ? "" : typeId + "_") + idxName,
+            replacement ? "H2TreeReplacement" : "H2Tree");
 
         assert cctx.affinityNode();
 
@@ -269,14 +290,38 @@ public class H2TreeIndex extends H2TreeIndexBase {
             stats
         );
 
+        MetricRegistry mreg = cctx.kernalContext().metric().registry(
+            metricName(SORTED_INDEX.metricGroupName(), cctx.name(), idxName));
+
+        // Index may be recreated with the new inline size, so the gauge is bound to the new calculated size.
+        mreg.remove(H2Tree.RECOMMENDED_INLINE_SIZE);
+
+        mreg.register(H2Tree.RECOMMENDED_INLINE_SIZE,
+            () -> Math.min(PageIO.MAX_PAYLOAD_SIZE, maxCalculatedInlineSize.get()),
+            "Inline size required to inline all indexed columns of the sampled rows, 0 if no rows were sampled.");
+
         InlineIndexColumnFactory idxHelperFactory = new InlineIndexColumnFactory(tbl.getCompareMode());
 
+        // Trees of a replacement that was interrupted by a node restart.
+        List<Long> staleRootPages = null;
+
         for (int i = 0; i < segments.length; i++) {
             db.checkpointReadLock();
 
             try {
                 RootPage page = getMetaPage(cctx, treeName, i);
 
+                if (replacement && !page.isAllocated()) {
+                    if (staleRootPages == null)
+                        staleRootPages = new ArrayList<>(segments.length);
+
+                    staleRootPages.add(page.pageId().pageId());
+
+                    cctx.offheap().dropRootPageForIndex(cctx.cacheId(), treeName, i);
+
+                    page = getMetaPage(cctx, treeName, i);
+                }
+
                 segments[i] = h2TreeFactory.create(
                     cctx,
                     tbl,
@@ -315,7 +360,20 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
         IndexColumn.mapColumns(cols, tbl);
 
-        return new H2TreeIndex(cctx, tbl, idxName, pk, treeName, segments, cols, log);
+        if (staleRootPages != null) {
+            DurableBackgroundTask task = new DurableBackgroundCleanupIndexTreeTask(
+                staleRootPages,
+                null,
+                cctx.group().name(),
+                cctx.cache().name(),
+                tbl.getSchema().getName(),
+                idxName
+            );
+
+            cctx.kernalContext().durableBackgroundTasksProcessor().startDurableBackgroundTask(task, cctx.config());
+        }
+
+        return new H2TreeIndex(cctx, tbl, idxName, pk, treeName, segments, cols, replacement, log);
     }
 
     /** {@inheritDoc} */
@@ -354,6 +412,67 @@ public class H2TreeIndex extends H2TreeIndexBase {
 
     /** {@inheritDoc} */
     @Override public Cursor find(Session ses, SearchRow lower, SearchRow upper) {
+        return find0(ses, lower, upper, null);
+    }
+
+    /** {@inheritDoc} */
+    @Override public Cursor find(TableFilter filter, SearchRow first, SearchRow last) {
+        return find0(filter.getSession(), first, last, coveredColumns(filter));
+    }
+
+    /**
+     * Gets the columns of the table referenced by the query and the columns of this index if all of them are inlined
+     * into this index, so the rows may be restored from the index pages.
+     *
+     * @param filter Table filter.
+     * @return Indexes of the referenced columns or {@code null} if the query is not covered by this index.
+     */
+    @Nullable private BitSet coveredColumns(TableFilter filter) {
+        if (!COVERING_SCAN || cctx.mvccEnabled() || cctx.ttl().hasPendingEntries())
+            return null;
+
+        Select select = filter.getSelect();
+
+        if (select == null)
+            return null;
+
+        List<InlineIndexColumn> inlineIdxs = segments[0].inlineIndexes();
+
+        if (segments[0].inlineSize() == 0 || inlineIdxs == null || inlineIdxs.isEmpty())
+            return null;
+
+        HashSet<Column> cols = new HashSet<>();
+
+        select.isEverything(ExpressionVisitor.getColumnsVisitor(cols, filter.getTable()));
+
+        if (cols.isEmpty())
+            return null;
+
+        BitSet res = new BitSet();
+
+        for (Column col : cols)
+            res.set(col.getColumnId());
+
+        // Cursor looks up the next page by the last returned row, so the row must have all the index columns.
+        for (IndexColumn idxCol : getIndexColumns())
+            res.set(idxCol.column.getColumnId());
+
+        BitSet notInlined = (BitSet)res.clone();
+
+        for (InlineIndexColumn inlineIdx : inlineIdxs)
+            notInlined.clear(inlineIdx.columnIndex());
+
+        return notInlined.isEmpty() ? res : null;
+    }
+
+    /**
+     * @param ses Session.
+     * @param lower Lower bound.
+     * @param upper Upper bound.
+     * @param reqCols Columns to restore from the index pages or {@code null} to read the full rows.
+     * @return Cursor.
+     */
+    private Cursor find0(Session ses, SearchRow lower, SearchRow upper, @Nullable BitSet reqCols) {
         assert lower == null || lower instanceof H2Row : lower;
         assert upper == null || upper instanceof H2Row : upper;
 
@@ -375,7 +494,7 @@ public class H2TreeIndex extends H2TreeIndexBase {
             }
             else {
                 return new H2Cursor(tree.find((H2Row)lower,
-                    (H2Row)upper, filter(qctx), null));
+                    (H2Row)upper, filter(qctx), reqCols));
             }
         }
         catch (IgniteCheckedException e) {
@@ -526,6 +645,35 @@ public class H2TreeIndex extends H2TreeIndexBase {
         destroy0(rmvIdx, true);
     }
 
+    /** {@inheritDoc} */
+    @Override public void sequentialLoad(boolean enabled) {
+        for (H2Tree tree : segments)
+            tree.sequentialLoad(enabled);
+    }
+
+    /** {@inheritDoc} */
+    @Override public void onReplace(GridH2IndexBase replaced) {
+        assert replaced instanceof H2TreeIndex : replaced;
+
+        String replacedTreeName = ((H2TreeIndex)replaced).treeName;
+
+        if (cctx.affinityNode()) {
+            assert cctx.shared().database().checkpointLockIsHeldByThread();
+
+            try {
+                for (int i = 0; i < segments.length; i++)
+                    cctx.offheap().renameRootPageForIndex(cctx.cacheId(), treeName, replacedTreeName, i);
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        }
+
+        treeName = replacedTreeName;
+
+        ctx.io().addMessageListener(msgTopic, msgLsnr);
+    }
+
     /**
      * Internal method for destroying index with async option.
      *
@@ -18,6 +18,7 @@ package org.apache.ignite.internal.processors.query.h2.database;
 
 import java.util.Comparator;
 import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
 
 /**
  * Basic interface for inlined index columns.
@@ -84,6 +85,17 @@ public interface InlineIndexColumn {
      */
     public int put(long pageAddr, int off, Value val, int maxSize);
 
+    /**
+     * Restores the complete value from the inline index tree.
+     *
+     * @param pageAddr Page address.
+     * @param off Offset.
+     * @param maxSize Max size.
+     *
+     * @return Inlined value or {@code null} if the value was not inlined or was inlined partially.
+     */
+    @Nullable public Value restore(long pageAddr, int off, int maxSize);
+
     /**
      * Returns name of the inlined column.
      *
@@ -119,6 +119,20 @@ public abstract class AbstractInlineIndexColumn implements InlineIndexColumn {
         return get0(pageAddr, off);
     }
 
+    /** {@inheritDoc} */
+    @Override public @Nullable Value restore(long pageAddr, int off, int maxSize) {
+        // Java objects are inlined as marshalled bytes and can't be exposed to the query as is.
+        if (type == Value.JAVA_OBJECT)
+            return null;
+
+        // Variable length value was truncated.
+        if (size < 0 && maxSize >= 3 && PageUtils.getByte(pageAddr, off) == type
+            && (PageUtils.getShort(pageAddr, off + 1) & 0x8000) != 0)
+            return null;
+
+        return get(pageAddr, off, maxSize);
+    }
+
     /** {@inheritDoc} */
     @Override public int compare(long pageAddr, int off, int maxSize, Value v, Comparator<Value> comp) {
         int type;
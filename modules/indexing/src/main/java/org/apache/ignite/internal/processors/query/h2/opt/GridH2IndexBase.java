@@ -75,6 +75,26 @@ public abstract class GridH2IndexBase extends H2IndexCostedBase {
         // No-op.
     }
 
+    /**
+     * Callback invoked when this index takes the place of the index with the same name, after the replaced index
+     * has been destroyed.
+     *
+     * @param replaced Replaced index.
+     */
+    public void onReplace(GridH2IndexBase replaced) {
+        // No-op.
+    }
+
+    /**
+     * Enables or disables the sequential load mode, used while the index is built from the rows sorted in
+     * the index order.
+     *
+     * @param enabled Sequential load flag.
+     */
+    public void sequentialLoad(boolean enabled) {
+        // No-op.
+    }
+
     /**
      * @param qctx Query context.
      * @return Index segment ID for current query context.
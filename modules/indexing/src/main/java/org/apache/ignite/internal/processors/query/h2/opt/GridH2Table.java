@@ -51,6 +51,9 @@ import org.apache.ignite.internal.processors.query.h2.database.H2IndexType;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndex;
 import org.apache.ignite.internal.processors.query.h2.database.H2TreeIndexBase;
 import org.apache.ignite.internal.processors.query.h2.database.IndexInformation;
+import org.apache.ignite.internal.processors.query.h2.stat.ColumnHistogram;
+import org.apache.ignite.internal.processors.query.h2.stat.ColumnStatistics;
+import org.apache.ignite.internal.util.lang.IgniteThrowableRunner;
 import org.apache.ignite.internal.util.tostring.GridToStringExclude;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -72,6 +75,7 @@ import org.h2.table.IndexColumn;
 import org.h2.table.Table;
 import org.h2.table.TableBase;
 import org.h2.table.TableType;
+import org.h2.value.Value;
 import org.jetbrains.annotations.Nullable;
 
 import static org.apache.ignite.cache.CacheMode.PARTITIONED;
@@ -162,6 +166,12 @@ public class GridH2Table extends TableBase {
     /** Table statistics. */
     private volatile TableStatistics tblStats;
 
+    /** Column histograms collected by {@code ANALYZE}, indexed by column ID. */
+    private volatile ColumnHistogram[] colHists;
+
+    /** Cluster-wide row count collected by {@code ANALYZE} or {@code -1} if the table was not analyzed. */
+    private volatile long analyzedRowCnt = -1;
+
     /** Logger. */
     @GridToStringExclude
     private IgniteLogger log;
@@ -543,6 +553,27 @@ public class GridH2Table extends TableBase {
         }
     }
 
+    /**
+     * Acquires shared table lock outside of H2 session. Used by scans which bypass H2 query engine.
+     * Must be released with {@link #readUnlock()}.
+     */
+    public void readLock() {
+        lock(false, true);
+
+        if (destroyed) {
+            unlock(false);
+
+            throw new IllegalStateException("Table " + identifierString() + " already destroyed.");
+        }
+    }
+
+    /**
+     * Releases shared table lock acquired with {@link #readLock()}.
+     */
+    public void readUnlock() {
+        unlock(false);
+    }
+
     /**
      * Acquire table lock.
      *
@@ -973,6 +1004,97 @@ public class GridH2Table extends TableBase {
         }
     }
 
+    /**
+     * Add index that is built in the background to replace the user index with the same name. Index is not used in
+     * queries until it is swapped with the replaced one.
+     *
+     * @param idx Index to add.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void proposeReplacementIndex(Index idx) throws IgniteCheckedException {
+        assert idx instanceof GridH2IndexBase;
+
+        lock(true);
+
+        try {
+            ensureNotDestroyed();
+
+            Index oldTmpIdx = tmpIdxs.put(idx.getName(), (GridH2IndexBase)idx);
+
+            assert oldTmpIdx == null;
+        }
+        finally {
+            unlock(true);
+        }
+    }
+
+    /**
+     * Swap the replacement index with the user index it replaces. Table is locked exclusively for the duration of
+     * the swap, so concurrent queries and updates observe either the replaced or the new index.
+     *
+     * @param swap Closure that drops the replaced index and promotes the replacement one.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void commitReplacementIndex(IgniteThrowableRunner swap) throws IgniteCheckedException {
+        GridCacheContext cctx0 = cacheInfo.cacheContext();
+
+        // Checkpoint lock is taken before the table lock, same as for updates.
+        if (cctx0 != null)
+            cctx0.shared().database().checkpointReadLock();
+
+        try {
+            lock(true);
+
+            try {
+                ensureNotDestroyed();
+
+                swap.run();
+            }
+            finally {
+                unlock(true);
+            }
+        }
+        finally {
+            if (cctx0 != null)
+                cctx0.shared().database().checkpointReadUnlock();
+        }
+    }
+
+    /**
+     * Remove replacement index without swapping it and destroy its data.
+     *
+     * @param idxName Index name.
+     */
+    public void rollbackReplacementIndex(String idxName) {
+        GridH2IndexBase rmvIdx;
+
+        lock(true);
+
+        try {
+            ensureNotDestroyed();
+
+            rmvIdx = tmpIdxs.remove(idxName);
+
+            assert rmvIdx != null;
+        }
+        finally {
+            unlock(true);
+        }
+
+        GridCacheContext cctx0 = cacheInfo.cacheContext();
+
+        if (cctx0 != null) {
+            cctx0.shared().database().checkpointReadLock();
+
+            try {
+                rmvIdx.asyncDestroy(true);
+            }
+            finally {
+                cctx0.shared().database().checkpointReadUnlock();
+            }
+        }
+    }
+
     /**
      * Promote temporary index to make it usable in queries.
      *
@@ -1202,8 +1324,11 @@ public class GridH2Table extends TableBase {
 
     /** {@inheritDoc} */
     @Override public long getRowCountApproximation(Session ses) {
-        if (!localQuery(H2Utils.context(ses)))
-            return 10_000; // Fallback to the previous behaviour.
+        if (!localQuery(H2Utils.context(ses))) {
+            long rowCnt = analyzedRowCnt;
+
+            return rowCnt >= 0 ? rowCnt : 10_000; // Fallback to the previous behaviour.
+        }
 
         refreshStatsIfNeeded();
 
@@ -1221,6 +1346,71 @@ public class GridH2Table extends TableBase {
         return qctx.local();
     }
 
+    /**
+     * Applies column statistics collected by {@code ANALYZE}: distinct values count is exposed to H2 as column
+     * selectivity, histograms are used to estimate range conditions.
+     *
+     * @param stats Statistics by column name or {@code null} to reset them.
+     */
+    public void columnStatistics(@Nullable Map<String, ColumnStatistics> stats) {
+        Column[] cols = getColumns();
+
+        ColumnHistogram[] hists = new ColumnHistogram[cols.length];
+
+        long rowCnt = -1;
+
+        for (Column col : cols) {
+            ColumnStatistics colStats = stats == null ? null : stats.get(col.getName());
+
+            // Column was re-created with another type since statistics were collected.
+            if (colStats != null && colStats.type() != col.getType().getValueType())
+                colStats = null;
+
+            if (colStats == null) {
+                col.setSelectivity(0);
+
+                continue;
+            }
+
+            rowCnt = Math.max(rowCnt, colStats.total());
+
+            col.setSelectivity(colStats.selectivity());
+
+            Object[] bounds = colStats.bounds();
+
+            if (bounds == null || colStats.total() == 0)
+                continue;
+
+            try {
+                Value[] vals = new Value[bounds.length];
+
+                for (int i = 0; i < bounds.length; i++)
+                    vals[i] = H2Utils.wrap(desc.indexing().objectContext(), bounds[i], col.getType().getValueType());
+
+                hists[col.getColumnId()] = new ColumnHistogram(vals,
+                    (double)(colStats.total() - colStats.nulls()) / colStats.total(), getCompareMode());
+            }
+            catch (IgniteCheckedException | RuntimeException e) {
+                if (log != null && log.isDebugEnabled())
+                    log.debug("Failed to apply column histogram [tbl=" + identifierString() + ", col=" +
+                        col.getName() + ", err=" + e + ']');
+            }
+        }
+
+        colHists = hists;
+        analyzedRowCnt = rowCnt;
+    }
+
+    /**
+     * @param colId Column ID.
+     * @return Histogram of the column or {@code null} if it was not collected.
+     */
+    @Nullable public ColumnHistogram histogram(int colId) {
+        ColumnHistogram[] hists = colHists;
+
+        return hists == null || colId >= hists.length ? null : hists[colId];
+    }
+
     /**
      * Refreshes table stats if they are outdated.
      */
@@ -20,16 +20,21 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import org.apache.ignite.IgniteLogger;
 import org.apache.ignite.IgniteSystemProperties;
+import org.apache.ignite.internal.processors.query.h2.stat.ColumnHistogram;
 import org.apache.ignite.internal.util.typedef.internal.LT;
 import org.h2.command.dml.AllColumnsForPlan;
 import org.h2.engine.Constants;
+import org.h2.expression.Expression;
 import org.h2.index.BaseIndex;
 import org.h2.index.IndexCondition;
 import org.h2.index.IndexType;
+import org.h2.message.DbException;
 import org.h2.result.SortOrder;
 import org.h2.table.Column;
 import org.h2.table.IndexColumn;
 import org.h2.table.TableFilter;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
 
 /**
  * Index base.
@@ -136,17 +141,29 @@ public abstract class H2IndexCostedBase extends BaseIndex {
                     rowsCost = Math.min(5 + Math.max(rowsCost / distinctRows, 1), rowsCost - (i > 0 ? 1 : 0));
                 }
                 else if ((mask & IndexCondition.RANGE) == IndexCondition.RANGE) {
-                    rowsCost = Math.min(5 + rowsCost / 4, rowsCost - (i > 0 ? 1 : 0));
+                    double fraction = rangeFraction(column, filters, filter);
+
+                    long rangeRows = fraction < 0 ? rowsCost / 4 : (long)(rowsCost * fraction);
+
+                    rowsCost = Math.min(5 + rangeRows, rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
                 else if ((mask & IndexCondition.START) == IndexCondition.START) {
-                    rowsCost = Math.min(5 + rowsCost / 3, rowsCost - (i > 0 ? 1 : 0));
+                    double fraction = rangeFraction(column, filters, filter);
+
+                    long rangeRows = fraction < 0 ? rowsCost / 3 : (long)(rowsCost * fraction);
+
+                    rowsCost = Math.min(5 + rangeRows, rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
                 else if ((mask & IndexCondition.END) == IndexCondition.END) {
-                    rowsCost = Math.min(rowsCost / 3, rowsCost - (i > 0 ? 1 : 0));
+                    double fraction = rangeFraction(column, filters, filter);
+
+                    long rangeRows = fraction < 0 ? rowsCost / 3 : (long)(rowsCost * fraction);
+
+                    rowsCost = Math.min(rangeRows, rowsCost - (i > 0 ? 1 : 0));
 
                     break;
                 }
@@ -266,6 +283,58 @@ public abstract class H2IndexCostedBase extends BaseIndex {
         return rc;
     }
 
+    /**
+     * Estimates fraction of rows matching range conditions on the given column with the column histogram
+     * collected by {@code ANALYZE}.
+     *
+     * @param column Column.
+     * @param filters All joined table filters.
+     * @param filter Index of the current table filter.
+     * @return Fraction of rows from 0 to 1 or {@code -1} if it cannot be estimated.
+     */
+    private double rangeFraction(Column column, TableFilter[] filters, int filter) {
+        if (filters == null || !(table instanceof GridH2Table))
+            return -1;
+
+        ColumnHistogram hist = ((GridH2Table)table).histogram(column.getColumnId());
+
+        if (hist == null)
+            return -1;
+
+        TableFilter tblFilter = filters[filter];
+
+        Value lo = null;
+        Value hi = null;
+
+        for (IndexCondition cond : tblFilter.getIndexConditions()) {
+            Expression expr = cond.getExpression();
+
+            // Only constants and bound parameters could be estimated.
+            if (cond.getColumn() != column || expr == null || !expr.isValueSet())
+                continue;
+
+            Value val;
+
+            try {
+                val = expr.getValue(tblFilter.getSession()).convertTo(column.getType().getValueType());
+            }
+            catch (DbException e) {
+                return -1;
+            }
+
+            if (val == ValueNull.INSTANCE)
+                continue;
+
+            if (cond.isStart() && (lo == null || val.compareTypeSafe(lo, table.getCompareMode()) > 0))
+                lo = val;
+
+            if (cond.isEnd() && (hi == null || val.compareTypeSafe(hi, table.getCompareMode()) < 0))
+                hi = val;
+        }
+
+        return lo == null && hi == null ? -1 : hist.rangeFraction(lo, hi);
+    }
+
     /** Re-implement {@link BaseIndex#getCostRangeIndex} to support compatibility with versions
      * between 8.7.8 and 8.7.12.
      */
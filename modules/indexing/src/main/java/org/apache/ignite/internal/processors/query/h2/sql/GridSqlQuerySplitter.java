@@ -20,6 +20,7 @@ import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.BitSet;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.IdentityHashMap;
@@ -32,6 +33,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.cache.query.GridCacheTwoStepQuery;
 import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
@@ -49,8 +51,11 @@ import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.h2.command.Prepared;
 import org.h2.command.dml.Query;
+import org.h2.index.HashJoinIndex;
 import org.h2.table.Column;
+import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_HASH_JOIN;
 import static org.apache.ignite.internal.processors.query.h2.opt.join.CollocationModel.isCollocated;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlConst.TRUE;
 import static org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType.AVG;
@@ -272,12 +277,17 @@ public class GridSqlQuerySplitter {
         // Here we will have correct normalized AST with optimized join order.
         // The distributedJoins parameter is ignored because it is not relevant for
         // the REDUCE query optimization.
-        qry = GridSqlQueryParser.parseQuery(
-            prepare(conn, H2Utils.context(conn.connection()), qry.getSQL(), false, enforceJoinOrder),
-            true, log);
+        Prepared prepared = prepare(conn, H2Utils.context(conn.connection()), qry.getSQL(), false, enforceJoinOrder);
+
+        qry = GridSqlQueryParser.parseQuery(prepared, true, log);
+
+        // Non-collocated joins may be executed on the reducer if distributed joins are not requested.
+        boolean rdcHashJoin = !distributedJoins && !locSplit &&
+            IgniteSystemProperties.getBoolean(IGNITE_SQL_REDUCE_HASH_JOIN) &&
+            joinedTables(qry) != null && !isCollocated((Query)prepared);
 
         // Do the actual query split. We will update the original query AST, need to be careful.
-        splitter.splitQuery(qry);
+        splitter.splitQuery(qry, rdcHashJoin);
 
         assert !F.isEmpty(splitter.mapSqlQrys): "map"; // We must have at least one map query.
         assert splitter.rdcSqlQry != null: "rdc"; // We must have a reduce query.
@@ -332,41 +342,46 @@ public class GridSqlQuerySplitter {
 
     /**
      * @param qry Optimized and normalized query to split.
+     * @param rdcHashJoin Whether the joined tables must be fetched separately and joined on the reducer.
      */
-    private void splitQuery(GridSqlQuery qry) throws IgniteCheckedException {
-        // Create a fake parent AST element for the query to allow replacing the query in the parent by split.
-        GridSqlSubquery fakeQryParent = new GridSqlSubquery(qry);
+    private void splitQuery(GridSqlQuery qry, boolean rdcHashJoin) throws IgniteCheckedException {
+        if (rdcHashJoin)
+            splitJoinedTables((GridSqlSelect)qry);
+        else {
+            // Create a fake parent AST element for the query to allow replacing the query in the parent by split.
+            GridSqlSubquery fakeQryParent = new GridSqlSubquery(qry);
 
-        // Fake parent query model. We need it just for convenience because buildQueryModel needs parent model.
-        SplitterQueryModel fakeModelParent = new SplitterQueryModel(null, null, -1, null);
+            // Fake parent query model. We need it just for convenience because buildQueryModel needs parent model.
+            SplitterQueryModel fakeModelParent = new SplitterQueryModel(null, null, -1, null);
 
-        // Build a simplified query model. We need it because navigation over the original AST is too complex.
-        fakeModelParent.buildQueryModel(fakeQryParent, 0, null);
+            // Build a simplified query model. We need it because navigation over the original AST is too complex.
+            fakeModelParent.buildQueryModel(fakeQryParent, 0, null);
 
-        assert fakeModelParent.childModelsCount() == 1;
+            assert fakeModelParent.childModelsCount() == 1;
 
-        // Get the built query model from the fake parent.
-        SplitterQueryModel model = fakeModelParent.childModel(0);
+            // Get the built query model from the fake parent.
+            SplitterQueryModel model = fakeModelParent.childModel(0);
 
-        // Setup the needed information for split.
-        model.analyzeQueryModel(collocatedGrpBy);
+            // Setup the needed information for split.
+            model.analyzeQueryModel(collocatedGrpBy);
 
-        // If we have child queries to split, then go hard way.
-        if (model.needSplitChild()) {
-            // All the siblings to selects we are going to split must be also wrapped into subqueries.
-            pushDownQueryModel(model);
+            // If we have child queries to split, then go hard way.
+            if (model.needSplitChild()) {
+                // All the siblings to selects we are going to split must be also wrapped into subqueries.
+                pushDownQueryModel(model);
 
-            // Need to make all the joined subqueries to be ordered by join conditions.
-            setupMergeJoinSorting(model);
-        }
-        else if (!model.needSplit())  // Just split the top level query.
-            model.forceSplit();
+                // Need to make all the joined subqueries to be ordered by join conditions.
+                setupMergeJoinSorting(model);
+            }
+            else if (!model.needSplit())  // Just split the top level query.
+                model.forceSplit();
 
-        // Split the query model into multiple map queries and a single reduce query.
-        splitQueryModel(model);
+            // Split the query model into multiple map queries and a single reduce query.
+            splitQueryModel(model);
 
-        // Get back the updated query from the fake parent. It will be our reduce query.
-        qry = fakeQryParent.subquery();
+            // Get back the updated query from the fake parent. It will be our reduce query.
+            qry = fakeQryParent.subquery();
+        }
 
         String rdcQry = qry.getSQL();
 
@@ -380,6 +395,177 @@ public class GridSqlQuerySplitter {
         setupParameters(rdcSqlQry, qry, paramsCnt);
     }
 
+    /**
+     * Checks whether the query is a plain inner join of partitioned tables which may be executed on the reducer.
+     *
+     * @param qry Query.
+     * @return Aliases of the joined tables or {@code null} if the query is not a join of partitioned tables.
+     */
+    @Nullable private static List<GridSqlAlias> joinedTables(GridSqlQuery qry) {
+        if (!(qry instanceof GridSqlSelect))
+            return null;
+
+        GridSqlSelect select = (GridSqlSelect)qry;
+
+        if (!(select.from() instanceof GridSqlJoin) || SplitterUtils.hasSubQueries(select))
+            return null;
+
+        List<GridSqlAlias> res = new ArrayList<>();
+
+        if (!collectJoinedTables(select.from(), res))
+            return null;
+
+        // Every table must provide at least one column to the reducer.
+        for (GridSqlAlias tbl : res) {
+            Map<String, GridSqlColumn> cols = new LinkedHashMap<>();
+
+            collectTableColumns(select, tbl, cols);
+
+            if (cols.isEmpty())
+                return null;
+        }
+
+        return res;
+    }
+
+    /**
+     * @param from FROM element.
+     * @param res Aliases of the joined tables.
+     * @return {@code false} If the element is not an inner join of partitioned tables.
+     */
+    private static boolean collectJoinedTables(GridSqlAst from, List<GridSqlAlias> res) {
+        if (from instanceof GridSqlJoin) {
+            GridSqlJoin join = (GridSqlJoin)from;
+
+            return !join.isLeftOuter() && collectJoinedTables(join.leftTable(), res) &&
+                collectJoinedTables(join.rightTable(), res);
+        }
+
+        if (!(from instanceof GridSqlAlias) || !(from.child() instanceof GridSqlTable))
+            return false;
+
+        GridH2Table tbl = ((GridSqlTable)from.child()).dataTable();
+
+        if (tbl == null || !tbl.isPartitioned())
+            return false;
+
+        res.add((GridSqlAlias)from);
+
+        return true;
+    }
+
+    /**
+     * @param ast AST.
+     * @param tbl Table alias.
+     * @param cols Collected columns of the table by names.
+     */
+    private static void collectTableColumns(GridSqlAst ast, GridSqlAlias tbl, Map<String, GridSqlColumn> cols) {
+        if (ast instanceof GridSqlColumn) {
+            GridSqlColumn col = (GridSqlColumn)ast;
+
+            if (col.expressionInFrom() == tbl)
+                cols.putIfAbsent(col.columnName(), col);
+        }
+        else {
+            for (int i = 0; i < ast.size(); i++)
+                collectTableColumns(ast.child(i), tbl, cols);
+        }
+    }
+
+    /**
+     * Fetches every joined table to the reducer with a separate map query and replaces the table in the query
+     * with the respective merge table. The reducer joins the merge tables with the hash join indexes
+     * built on the fly, thus every merge table is scanned only once.
+     *
+     * @param select Select.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void splitJoinedTables(GridSqlSelect select) throws IgniteCheckedException {
+        List<GridSqlAlias> joinedTbls = joinedTables(select);
+
+        assert joinedTbls != null : select.getSQL();
+
+        for (GridSqlAlias tbl : joinedTbls)
+            splitJoinedTable(select, tbl);
+    }
+
+    /**
+     * @param select Select.
+     * @param tbl Table alias.
+     * @throws IgniteCheckedException If failed.
+     */
+    private void splitJoinedTable(GridSqlSelect select, GridSqlAlias tbl) throws IgniteCheckedException {
+        if (++splitId > 99)
+            throw new CacheException("Too complex query to process.");
+
+        GridSqlSelect mapQry = new GridSqlSelect().from(tbl);
+
+        // Move all the WHERE conditions related to this table only to the map query.
+        if (select.where() != null) {
+            Set<GridSqlAlias> tblAliases = U.newIdentityHashSet();
+
+            tblAliases.add(tbl);
+
+            List<SplitterAndCondition> andConditions = new ArrayList<>();
+
+            SplitterAndCondition.collectAndConditions(andConditions, select, WHERE_CHILD);
+
+            for (int i = 0; i < andConditions.size(); i++) {
+                SplitterAndCondition c = andConditions.get(i);
+                GridSqlAst condition = c.ast();
+
+                if (!SplitterUtils.isTrue(condition) &&
+                    isAllRelatedToTables(tblAliases, U.newIdentityHashSet(), condition)) {
+                    c.parent().child(c.childIndex(), TRUE);
+
+                    mapQry.whereAnd(condition);
+                }
+            }
+        }
+
+        // Fetch only the columns which are still needed by the reduce query.
+        Map<String, GridSqlColumn> cols = new LinkedHashMap<>();
+
+        collectTableColumns(select, tbl, cols);
+
+        // The table may be referenced only by the moved conditions.
+        if (cols.isEmpty())
+            collectTableColumns(mapQry.where(), tbl, cols);
+
+        assert !cols.isEmpty() : select.getSQL();
+
+        List<GridSqlAst> mapExps = new ArrayList<>(cols.size());
+
+        // Merge table columns are named after the table columns, so the reduce query needs no rewriting.
+        for (GridSqlColumn col : cols.values()) {
+            GridSqlAlias exp = SplitterUtils.alias(col.columnName(), col);
+
+            mapExps.add(exp);
+            mapQry.addColumn(exp, true);
+        }
+
+        // Setup resulting map query.
+        GridCacheSqlQuery map = new GridCacheSqlQuery(mapQry.getSQL());
+
+        setupParameters(map, mapQry, paramsCnt);
+
+        map.columns(collectColumns(mapExps));
+        map.partitioned(SplitterUtils.hasPartitionedTables(mapQry));
+        map.hasSubQueries(false);
+
+        if (map.isPartitioned() && canExtractPartitions)
+            map.derivedPartitions(extractor.extract(mapQry));
+
+        mapSqlQrys.add(map);
+
+        // Replace the table with the merge table and force the hash join over it.
+        GridSqlTable mergeTbl = mergeTable(splitId);
+
+        mergeTbl.useIndexes(Collections.singletonList(HashJoinIndex.HASH_JOIN_IDX));
+
+        tbl.child(0, mergeTbl);
+    }
+
     /**
      * @param model Query model.
      */
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import org.h2.value.CompareMode;
+import org.h2.value.DataType;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Equi-depth histogram of a column converted to H2 values. Used by the optimizer to estimate the fraction of rows
+ * matching a range condition.
+ */
+public class ColumnHistogram {
+    /** Bucket boundaries in ascending order. */
+    private final Value[] bounds;
+
+    /** Fraction of rows with non-null value. */
+    private final double nonNullFraction;
+
+    /** Compare mode. */
+    private final CompareMode cmp;
+
+    /** Whether the position within a bucket could be interpolated. */
+    private final boolean numeric;
+
+    /**
+     * @param bounds Bucket boundaries in ascending order.
+     * @param nonNullFraction Fraction of rows with non-null value.
+     * @param cmp Compare mode.
+     */
+    public ColumnHistogram(Value[] bounds, double nonNullFraction, CompareMode cmp) {
+        assert bounds.length > 0;
+
+        this.bounds = bounds;
+        this.nonNullFraction = nonNullFraction;
+        this.cmp = cmp;
+
+        numeric = DataType.isNumericType(bounds[0].getValueType());
+    }
+
+    /**
+     * Estimates fraction of rows with value between the given bounds. Inclusiveness of the bounds is ignored.
+     *
+     * @param lo Lower bound or {@code null} if not limited.
+     * @param hi Upper bound or {@code null} if not limited.
+     * @return Estimated fraction of rows, from 0 to 1.
+     */
+    public double rangeFraction(@Nullable Value lo, @Nullable Value hi) {
+        double fraction = (hi == null ? 1 : fractionBelow(hi)) - (lo == null ? 0 : fractionBelow(lo));
+
+        return Math.max(0, fraction) * nonNullFraction;
+    }
+
+    /**
+     * @param val Value.
+     * @return Fraction of non-null values less than the given one.
+     */
+    private double fractionBelow(Value val) {
+        int buckets = bounds.length - 1;
+
+        if (val.compareTypeSafe(bounds[0], cmp) <= 0)
+            return 0;
+
+        if (val.compareTypeSafe(bounds[buckets], cmp) >= 0)
+            return 1;
+
+        // Find the bucket [bounds[lo], bounds[hi]] containing the value.
+        int lo = 0;
+        int hi = buckets;
+
+        while (hi - lo > 1) {
+            int mid = (lo + hi) >>> 1;
+
+            if (bounds[mid].compareTypeSafe(val, cmp) <= 0)
+                lo = mid;
+            else
+                hi = mid;
+        }
+
+        double pos = 0.5;
+
+        if (numeric) {
+            double from = bounds[lo].getDouble();
+            double to = bounds[hi].getDouble();
+
+            if (to > from)
+                pos = (val.getDouble() - from) / (to - from);
+        }
+
+        return (lo + pos) / buckets;
+    }
+}
@@ -0,0 +1,275 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.T2;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.h2.value.Value;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Cluster-wide column statistics: number of rows, nulls and distinct values, minimum and maximum value and
+ * boundaries of an equi-depth histogram. Each histogram bucket holds roughly the same number of non-null rows.
+ */
+public class ColumnStatistics implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Comparator of column values. */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static final Comparator<Object> CMP = (o1, o2) -> ((Comparable)o1).compareTo(o2);
+
+    /** H2 value type of the column the statistics were collected for. */
+    private final int type;
+
+    /** Total number of rows. */
+    private final long total;
+
+    /** Number of rows with {@code NULL} value. */
+    private final long nulls;
+
+    /** Estimated number of distinct non-null values. */
+    private final long distinct;
+
+    /** Minimum value. */
+    private final Object min;
+
+    /** Maximum value. */
+    private final Object max;
+
+    /** Histogram bucket boundaries in ascending order or {@code null} if there is no histogram. */
+    @GridToStringExclude
+    private final Object[] bounds;
+
+    /**
+     * @param type H2 value type of the column.
+     * @param total Total number of rows.
+     * @param nulls Number of rows with {@code NULL} value.
+     * @param distinct Estimated number of distinct non-null values.
+     * @param min Minimum value.
+     * @param max Maximum value.
+     * @param bounds Histogram bucket boundaries.
+     */
+    public ColumnStatistics(int type, long total, long nulls, long distinct, @Nullable Object min,
+        @Nullable Object max, @Nullable Object[] bounds) {
+        this.type = type;
+        this.total = total;
+        this.nulls = nulls;
+        this.distinct = distinct;
+        this.min = min;
+        this.max = max;
+        this.bounds = bounds;
+    }
+
+    /**
+     * @return H2 value type of the column the statistics were collected for. Statistics must not be applied to a
+     *      column of another type, since the values are not comparable.
+     */
+    public int type() {
+        return type;
+    }
+
+    /**
+     * @return Total number of rows.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return Number of rows with {@code NULL} value.
+     */
+    public long nulls() {
+        return nulls;
+    }
+
+    /**
+     * @return Estimated number of distinct non-null values.
+     */
+    public long distinct() {
+        return distinct;
+    }
+
+    /**
+     * @return Minimum value.
+     */
+    @Nullable public Object min() {
+        return min;
+    }
+
+    /**
+     * @return Maximum value.
+     */
+    @Nullable public Object max() {
+        return max;
+    }
+
+    /**
+     * @return Histogram bucket boundaries in ascending order.
+     */
+    @Nullable public Object[] bounds() {
+        return bounds;
+    }
+
+    /**
+     * Selectivity in terms of H2 optimizer: percentage of distinct values among all rows.
+     *
+     * @return Selectivity (from 1 to 100) or {@code 0} if the table is empty.
+     */
+    public int selectivity() {
+        if (total == 0)
+            return 0;
+
+        return (int)Math.max(1, Math.min(100, 100 * distinct / total));
+    }
+
+    /**
+     * Merges statistics collected on different nodes. Statistics collected for a column of another type (the table
+     * was re-created on some node during collection) are ignored.
+     *
+     * @param locStats Statistics collected on each node.
+     * @param type H2 value type of the column.
+     * @param buckets Maximum number of histogram buckets.
+     * @return Cluster-wide statistics.
+     */
+    public static ColumnStatistics merge(Collection<LocalColumnStatistics> locStats, int type, int buckets) {
+        long total = 0;
+        long nulls = 0;
+
+        HyperLogLog distinct = new HyperLogLog();
+
+        Object min = null;
+        Object max = null;
+
+        List<T2<Object, Double>> sample = new ArrayList<>();
+
+        for (LocalColumnStatistics stat : locStats) {
+            if (stat.type() != type)
+                continue;
+
+            total += stat.total();
+            nulls += stat.nulls();
+
+            distinct.merge(stat.distinct());
+
+            if (stat.min() != null && (min == null || CMP.compare(stat.min(), min) < 0))
+                min = stat.min();
+
+            if (stat.max() != null && (max == null || CMP.compare(stat.max(), max) > 0))
+                max = stat.max();
+
+            Object[] locSample = stat.sample();
+
+            if (locSample == null || locSample.length == 0)
+                continue;
+
+            // Each sampled value stands for the same number of rows of its node.
+            double weight = (double)(stat.total() - stat.nulls()) / locSample.length;
+
+            for (Object val : locSample)
+                sample.add(new T2<>(val, weight));
+        }
+
+        return new ColumnStatistics(type, total, nulls, Math.min(distinct.estimate(), total - nulls), min, max,
+            histogram(sample, min, max, buckets));
+    }
+
+    /**
+     * Builds equi-depth histogram over the weighted sample.
+     *
+     * @param sample Sampled values with their weights.
+     * @param min Minimum value.
+     * @param max Maximum value.
+     * @param buckets Maximum number of buckets.
+     * @return Bucket boundaries or {@code null} if the sample is empty.
+     */
+    @Nullable private static Object[] histogram(List<T2<Object, Double>> sample, Object min, Object max,
+        int buckets) {
+        if (sample.isEmpty())
+            return null;
+
+        sample.sort((v1, v2) -> CMP.compare(v1.get1(), v2.get1()));
+
+        int cnt = Math.min(buckets, sample.size());
+
+        double totalWeight = 0;
+
+        for (T2<Object, Double> val : sample)
+            totalWeight += val.get2();
+
+        Object[] bounds = new Object[cnt + 1];
+
+        bounds[0] = min;
+        bounds[cnt] = max;
+
+        double acc = 0;
+        int bucket = 1;
+
+        for (T2<Object, Double> val : sample) {
+            if (bucket == cnt)
+                break;
+
+            acc += val.get2();
+
+            while (bucket < cnt && acc >= totalWeight * bucket / cnt)
+                bounds[bucket++] = val.get1();
+        }
+
+        while (bucket < cnt)
+            bounds[bucket++] = max;
+
+        return bounds;
+    }
+
+    /**
+     * @param type H2 value type.
+     * @return {@code True} if values of the given type are ordered in the same way by H2 and by their Java
+     *      {@link Comparable} implementation, so that histograms could be built for them.
+     */
+    public static boolean isOrdered(int type) {
+        switch (type) {
+            case Value.BOOLEAN:
+            case Value.BYTE:
+            case Value.SHORT:
+            case Value.INT:
+            case Value.LONG:
+            case Value.DECIMAL:
+            case Value.DOUBLE:
+            case Value.FLOAT:
+            case Value.TIME:
+            case Value.DATE:
+            case Value.TIMESTAMP:
+            case Value.STRING:
+            case Value.STRING_FIXED:
+                return true;
+
+            default:
+                return false;
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(ColumnStatistics.class, this);
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+import org.h2.table.Column;
+import org.h2.value.CompareMode;
+import org.h2.value.Value;
+import org.h2.value.ValueNull;
+
+/**
+ * Collects statistics of a single column while rows of the local primary partitions are scanned. Number of distinct
+ * values is estimated with {@link HyperLogLog} sketch, histogram is built later from a uniform (reservoir) sample of
+ * the non-null values.
+ */
+public class ColumnStatisticsCollector {
+    /** Column. */
+    private final Column col;
+
+    /** Compare mode. */
+    private final CompareMode cmp;
+
+    /** Whether minimum, maximum and sample are collected. */
+    private final boolean ordered;
+
+    /** Distinct values sketch. */
+    private final HyperLogLog distinct = new HyperLogLog();
+
+    /** Sample. */
+    private final Value[] sample;
+
+    /** Total number of rows. */
+    private long total;
+
+    /** Number of rows with {@code NULL} value. */
+    private long nulls;
+
+    /** Minimum value. */
+    private Value min;
+
+    /** Maximum value. */
+    private Value max;
+
+    /**
+     * @param col Column.
+     * @param cmp Compare mode.
+     * @param sampleSize Maximum number of sampled values.
+     */
+    public ColumnStatisticsCollector(Column col, CompareMode cmp, int sampleSize) {
+        this.col = col;
+        this.cmp = cmp;
+
+        ordered = ColumnStatistics.isOrdered(col.getType().getValueType());
+        sample = ordered ? new Value[sampleSize] : null;
+    }
+
+    /**
+     * @return Column name.
+     */
+    public String columnName() {
+        return col.getName();
+    }
+
+    /**
+     * @param val Column value of the next row.
+     */
+    public void add(Value val) {
+        total++;
+
+        if (val == null || val == ValueNull.INSTANCE) {
+            nulls++;
+
+            return;
+        }
+
+        distinct.add(HyperLogLog.hash(val.hashCode()));
+
+        if (!ordered)
+            return;
+
+        if (min == null || val.compareTypeSafe(min, cmp) < 0)
+            min = val;
+
+        if (max == null || val.compareTypeSafe(max, cmp) > 0)
+            max = val;
+
+        long seen = total - nulls - 1;
+
+        if (seen < sample.length)
+            sample[(int)seen] = val;
+        else {
+            long pos = ThreadLocalRandom.current().nextLong(seen + 1);
+
+            if (pos < sample.length)
+                sample[(int)pos] = val;
+        }
+    }
+
+    /**
+     * @return Collected statistics.
+     */
+    public LocalColumnStatistics localStatistics() {
+        Object[] objs = null;
+
+        if (ordered) {
+            int size = (int)Math.min(sample.length, total - nulls);
+
+            objs = new Object[size];
+
+            for (int i = 0; i < size; i++)
+                objs[i] = sample[i].getObject();
+
+            Arrays.fill(sample, null);
+        }
+
+        return new LocalColumnStatistics(
+            col.getType().getValueType(),
+            total,
+            nulls,
+            distinct,
+            min == null ? null : min.getObject(),
+            max == null ? null : max.getObject(),
+            objs
+        );
+    }
+}
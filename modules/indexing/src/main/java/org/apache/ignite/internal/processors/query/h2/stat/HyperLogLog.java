@@ -0,0 +1,112 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * HyperLogLog sketch used to estimate the number of distinct values of a column. Sketches built on different nodes
+ * are merged by taking the maximum of each register, so the estimate is not affected by values met on several nodes.
+ */
+public class HyperLogLog implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Number of index bits. */
+    private static final int P = 11;
+
+    /** Number of registers. */
+    private static final int M = 1 << P;
+
+    /** Bias correction constant. */
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / M);
+
+    /** Registers. */
+    @GridToStringExclude
+    private final byte[] regs = new byte[M];
+
+    /**
+     * @param hash 64-bit hash of the value.
+     */
+    public void add(long hash) {
+        int idx = (int)(hash >>> (Long.SIZE - P));
+
+        byte rank = (byte)(Long.numberOfLeadingZeros((hash << P) | (1L << (P - 1))) + 1);
+
+        if (rank > regs[idx])
+            regs[idx] = rank;
+    }
+
+    /**
+     * @param other Sketch to merge into this one.
+     */
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < M; i++) {
+            if (other.regs[i] > regs[i])
+                regs[i] = other.regs[i];
+        }
+    }
+
+    /**
+     * @return Estimated number of distinct values.
+     */
+    public long estimate() {
+        double sum = 0;
+
+        int zeros = 0;
+
+        for (byte reg : regs) {
+            sum += 1.0 / (1L << reg);
+
+            if (reg == 0)
+                zeros++;
+        }
+
+        double est = ALPHA * M * M / sum;
+
+        // Small range correction: linear counting is more precise while there are empty registers.
+        if (est <= 2.5 * M && zeros > 0)
+            est = M * Math.log((double)M / zeros);
+
+        return Math.round(est);
+    }
+
+    /**
+     * Spreads 32-bit hash code of a value over 64 bits (finalization step of MurmurHash3).
+     *
+     * @param hashCode Hash code.
+     * @return 64-bit hash.
+     */
+    public static long hash(int hashCode) {
+        long h = hashCode;
+
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+
+        return h;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(HyperLogLog.class, this, "estimate", estimate());
+    }
+}
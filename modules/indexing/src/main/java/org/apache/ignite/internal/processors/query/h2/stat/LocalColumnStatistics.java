@@ -0,0 +1,127 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.io.Serializable;
+import org.apache.ignite.internal.util.tostring.GridToStringExclude;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Column statistics collected over the primary partitions of a single node. Values are kept as plain Java objects,
+ * so that they could be sent to the node which merges them.
+ */
+public class LocalColumnStatistics implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** H2 value type of the column. */
+    private final int type;
+
+    /** Total number of rows. */
+    private final long total;
+
+    /** Number of rows with {@code NULL} value. */
+    private final long nulls;
+
+    /** Distinct values sketch. */
+    private final HyperLogLog distinct;
+
+    /** Minimum value or {@code null} if the column values are not ordered or there are no values. */
+    private final Object min;
+
+    /** Maximum value or {@code null} if the column values are not ordered or there are no values. */
+    private final Object max;
+
+    /** Uniform sample of non-null values or {@code null} if the column values are not ordered. */
+    @GridToStringExclude
+    private final Object[] sample;
+
+    /**
+     * @param type H2 value type of the column.
+     * @param total Total number of rows.
+     * @param nulls Number of rows with {@code NULL} value.
+     * @param distinct Distinct values sketch.
+     * @param min Minimum value.
+     * @param max Maximum value.
+     * @param sample Uniform sample of non-null values.
+     */
+    public LocalColumnStatistics(int type, long total, long nulls, HyperLogLog distinct, @Nullable Object min,
+        @Nullable Object max, @Nullable Object[] sample) {
+        this.type = type;
+        this.total = total;
+        this.nulls = nulls;
+        this.distinct = distinct;
+        this.min = min;
+        this.max = max;
+        this.sample = sample;
+    }
+
+    /**
+     * @return H2 value type of the column.
+     */
+    public int type() {
+        return type;
+    }
+
+    /**
+     * @return Total number of rows.
+     */
+    public long total() {
+        return total;
+    }
+
+    /**
+     * @return Number of rows with {@code NULL} value.
+     */
+    public long nulls() {
+        return nulls;
+    }
+
+    /**
+     * @return Distinct values sketch.
+     */
+    public HyperLogLog distinct() {
+        return distinct;
+    }
+
+    /**
+     * @return Minimum value.
+     */
+    @Nullable public Object min() {
+        return min;
+    }
+
+    /**
+     * @return Maximum value.
+     */
+    @Nullable public Object max() {
+        return max;
+    }
+
+    /**
+     * @return Uniform sample of non-null values.
+     */
+    @Nullable public Object[] sample() {
+        return sample;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(LocalColumnStatistics.class, this);
+    }
+}
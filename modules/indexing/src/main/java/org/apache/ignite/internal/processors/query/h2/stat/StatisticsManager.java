@@ -0,0 +1,381 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.apache.ignite.Ignite;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.affinity.AffinityTopologyVersion;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtLocalPartition;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.query.IgniteQueryErrorCode;
+import org.apache.ignite.internal.processors.cache.query.QueryTable;
+import org.apache.ignite.internal.processors.metastorage.DistributedMetastorageLifecycleListener;
+import org.apache.ignite.internal.processors.metastorage.ReadableDistributedMetaStorage;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.QueryTypeDescriptorImpl;
+import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.h2.H2TableDescriptor;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.H2CacheRow;
+import org.apache.ignite.internal.processors.task.GridInternal;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.S;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.lang.IgniteCallable;
+import org.apache.ignite.resources.IgniteInstanceResource;
+import org.h2.table.Column;
+import org.jetbrains.annotations.Nullable;
+
+import static org.apache.ignite.cache.CacheAtomicityMode.TRANSACTIONAL_SNAPSHOT;
+import static org.apache.ignite.internal.GridClosureCallMode.BROADCAST;
+import static org.apache.ignite.internal.processors.cache.distributed.dht.topology.GridDhtPartitionState.OWNING;
+
+/**
+ * Column statistics manager. Collects statistics on {@code ANALYZE} command: every data node scans its primary
+ * partitions, the initiator merges the results and writes them to the distributed metastorage. Every node listens
+ * to the metastorage and applies received statistics to the local H2 tables, so they survive restarts and are the
+ * same on all nodes.
+ */
+public class StatisticsManager {
+    /** Distributed metastorage key prefix. */
+    private static final String STATS_KEY_PREFIX = "sql.statistics.";
+
+    /** Maximum number of histogram buckets. */
+    private static final int HISTOGRAM_BUCKETS = 64;
+
+    /** Number of values sampled by every node for each column. */
+    private static final int SAMPLE_SIZE = 4096;
+
+    /** Kernal context. */
+    private final GridKernalContext ctx;
+
+    /** Indexing. */
+    private final IgniteH2Indexing idx;
+
+    /** Logger. */
+    private final IgniteLogger log;
+
+    /** Statistics received from the metastorage. */
+    private final ConcurrentMap<QueryTable, TableColumnStatistics> stats = new ConcurrentHashMap<>();
+
+    /**
+     * @param ctx Kernal context.
+     * @param idx Indexing.
+     */
+    public StatisticsManager(GridKernalContext ctx, IgniteH2Indexing idx) {
+        this.ctx = ctx;
+        this.idx = idx;
+
+        log = ctx.log(StatisticsManager.class);
+    }
+
+    /**
+     * Subscribes to statistics updates.
+     */
+    public void start() {
+        if (ctx.isDaemon())
+            return;
+
+        ctx.internalSubscriptionProcessor().registerDistributedMetastorageListener(
+            new DistributedMetastorageLifecycleListener() {
+                @Override public void onReadyForRead(ReadableDistributedMetaStorage metastorage) {
+                    metastorage.listen(
+                        key -> key.startsWith(STATS_KEY_PREFIX),
+                        (String key, Serializable oldVal, Serializable newVal) ->
+                            onStatisticsUpdate((TableColumnStatistics)oldVal, (TableColumnStatistics)newVal)
+                    );
+                }
+            });
+    }
+
+    /**
+     * Collects statistics of the given table on all data nodes and publishes them cluster-wide.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @throws IgniteCheckedException If failed.
+     */
+    public void analyze(String schemaName, String tblName) throws IgniteCheckedException {
+        GridH2Table tbl = idx.schemaManager().dataTable(schemaName, tblName);
+
+        if (tbl == null)
+            throw new IgniteSQLException("Table doesn't exist: " + tblName, IgniteQueryErrorCode.TABLE_NOT_FOUND);
+
+        if (tbl.cacheInfo().config().getAtomicityMode() == TRANSACTIONAL_SNAPSHOT)
+            throw new IgniteSQLException("ANALYZE is not supported for transactional snapshot tables: " + tblName,
+                IgniteQueryErrorCode.UNSUPPORTED_OPERATION);
+
+        Collection<ClusterNode> nodes = ctx.discovery().cacheGroupAffinityNodes(tbl.cacheInfo().groupId(),
+            AffinityTopologyVersion.NONE);
+
+        if (F.isEmpty(nodes))
+            throw new IgniteCheckedException("Failed to collect statistics, no data nodes found [schema=" +
+                schemaName + ", tbl=" + tblName + ']');
+
+        Collection<Map<String, LocalColumnStatistics>> res = ctx.closure().callAsyncNoFailover(
+            BROADCAST,
+            Collections.singleton(new CollectStatisticsJob(schemaName, tblName)),
+            nodes,
+            false,
+            0
+        ).get();
+
+        Map<String, List<LocalColumnStatistics>> byCol = new HashMap<>();
+
+        for (Map<String, LocalColumnStatistics> nodeRes : res) {
+            for (Map.Entry<String, LocalColumnStatistics> e : nodeRes.entrySet())
+                byCol.computeIfAbsent(e.getKey(), k -> new ArrayList<>()).add(e.getValue());
+        }
+
+        HashMap<String, ColumnStatistics> cols = new HashMap<>();
+
+        for (Map.Entry<String, List<LocalColumnStatistics>> e : byCol.entrySet()) {
+            // Column was dropped while statistics were collected.
+            if (!tbl.doesColumnExist(e.getKey()))
+                continue;
+
+            int type = tbl.getColumn(e.getKey()).getType().getValueType();
+
+            cols.put(e.getKey(), ColumnStatistics.merge(e.getValue(), type, HISTOGRAM_BUCKETS));
+        }
+
+        ctx.distributedMetastorage().write(statisticsKey(schemaName, tblName),
+            new TableColumnStatistics(schemaName, tblName, cols));
+
+        if (log.isInfoEnabled())
+            log.info("Column statistics collected [schema=" + schemaName + ", tbl=" + tblName + ", nodes=" +
+                nodes.size() + ']');
+    }
+
+    /**
+     * Collects statistics of the given table over the local primary partitions.
+     *
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @return Statistics by column name.
+     * @throws IgniteCheckedException If failed.
+     */
+    public Map<String, LocalColumnStatistics> collectLocal(String schemaName, String tblName)
+        throws IgniteCheckedException {
+        GridH2Table tbl = idx.schemaManager().dataTable(schemaName, tblName);
+
+        if (tbl == null)
+            throw new IgniteCheckedException("Table not found [schema=" + schemaName + ", tbl=" + tblName + ']');
+
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null)
+            return Collections.emptyMap();
+
+        GridH2RowDescriptor desc = tbl.rowDescriptor();
+
+        Column[] cols = tbl.getColumns();
+
+        ColumnStatisticsCollector[] collectors =
+            new ColumnStatisticsCollector[cols.length - QueryUtils.DEFAULT_COLUMNS_COUNT];
+
+        for (int i = 0; i < collectors.length; i++) {
+            collectors[i] = new ColumnStatisticsCollector(cols[i + QueryUtils.DEFAULT_COLUMNS_COUNT],
+                tbl.getCompareMode(), SAMPLE_SIZE);
+        }
+
+        AffinityTopologyVersion topVer = cctx.topology().readyTopologyVersion();
+
+        for (GridDhtLocalPartition part : cctx.topology().localPartitions()) {
+            if (part.state() != OWNING || !part.primary(topVer) || !part.reserve())
+                continue;
+
+            try {
+                GridCursor<? extends CacheDataRow> cur = part.dataStore().cursor(cctx.cacheId());
+
+                while (cur.next()) {
+                    CacheDataRow row = cur.get();
+
+                    QueryTypeDescriptorImpl type = ctx.query().typeByValue(cctx.name(), cctx.cacheObjectContext(),
+                        row.key(), row.value(), false);
+
+                    if (type == null || !F.eq(type.tableName(), desc.type().tableName()))
+                        continue;
+
+                    H2CacheRow h2Row = desc.createRow(row);
+
+                    for (int i = 0; i < collectors.length; i++)
+                        collectors[i].add(h2Row.getValue(i + QueryUtils.DEFAULT_COLUMNS_COUNT));
+                }
+            }
+            finally {
+                part.release();
+            }
+        }
+
+        Map<String, LocalColumnStatistics> res = new HashMap<>();
+
+        for (ColumnStatisticsCollector collector : collectors)
+            res.put(collector.columnName(), collector.localStatistics());
+
+        return res;
+    }
+
+    /**
+     * Applies statistics, if any, to the newly created table.
+     *
+     * @param tbl Table.
+     */
+    public void onTableCreated(@Nullable GridH2Table tbl) {
+        if (tbl == null)
+            return;
+
+        TableColumnStatistics tblStats = stats.get(tbl.identifier());
+
+        if (tblStats != null)
+            tbl.columnStatistics(tblStats.columns());
+    }
+
+    /**
+     * Removes statistics of the tables of the destroyed cache from the metastorage, so they are not applied to a
+     * table re-created with the same name. Does nothing if the cache is only stopped locally.
+     *
+     * @param cacheName Cache name.
+     * @param tbls Tables of the cache.
+     */
+    public void onCacheDestroyed(String cacheName, Collection<H2TableDescriptor> tbls) {
+        if (ctx.isDaemon() || ctx.cache().cacheDescriptor(cacheName) != null)
+            return;
+
+        List<String> keys = new ArrayList<>(tbls.size());
+
+        for (H2TableDescriptor tbl : tbls) {
+            QueryTable id = tbl.table().identifier();
+
+            if (stats.containsKey(id))
+                keys.add(statisticsKey(id.schema(), id.table()));
+        }
+
+        if (keys.isEmpty())
+            return;
+
+        // Metastorage update waits for the discovery message, so it must not be done in the exchange thread.
+        ctx.closure().runLocalSafe(() -> {
+            for (String key : keys) {
+                try {
+                    ctx.distributedMetastorage().remove(key);
+                }
+                catch (IgniteCheckedException e) {
+                    U.warn(log, "Failed to remove column statistics of the dropped table [key=" + key +
+                        ", err=" + e.getMessage() + ']');
+                }
+            }
+        }, true);
+    }
+
+    /**
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @return Distributed metastorage key of the table statistics.
+     */
+    private static String statisticsKey(String schemaName, String tblName) {
+        return STATS_KEY_PREFIX + schemaName + '.' + tblName;
+    }
+
+    /**
+     * @param oldVal Previous statistics.
+     * @param newVal New statistics or {@code null} if removed.
+     */
+    private void onStatisticsUpdate(@Nullable TableColumnStatistics oldVal, @Nullable TableColumnStatistics newVal) {
+        TableColumnStatistics val = newVal != null ? newVal : oldVal;
+
+        if (val == null)
+            return;
+
+        QueryTable id = new QueryTable(val.schemaName(), val.tableName());
+
+        if (newVal != null)
+            stats.put(id, newVal);
+        else
+            stats.remove(id);
+
+        GridH2Table tbl = idx.schemaManager().dataTable(val.schemaName(), val.tableName());
+
+        if (tbl == null)
+            return;
+
+        try {
+            tbl.columnStatistics(newVal == null ? null : newVal.columns());
+        }
+        catch (Exception e) {
+            U.error(log, "Failed to apply column statistics [schema=" + val.schemaName() + ", tbl=" +
+                val.tableName() + ']', e);
+        }
+    }
+
+    /**
+     * Job collecting statistics over primary partitions of a node.
+     */
+    @GridInternal
+    private static class CollectStatisticsJob implements IgniteCallable<Map<String, LocalColumnStatistics>> {
+        /** */
+        private static final long serialVersionUID = 0L;
+
+        /** Schema name. */
+        private final String schemaName;
+
+        /** Table name. */
+        private final String tblName;
+
+        /** Ignite instance. */
+        @IgniteInstanceResource
+        private Ignite ignite;
+
+        /**
+         * @param schemaName Schema name.
+         * @param tblName Table name.
+         */
+        private CollectStatisticsJob(String schemaName, String tblName) {
+            this.schemaName = schemaName;
+            this.tblName = tblName;
+        }
+
+        /** {@inheritDoc} */
+        @Override public Map<String, LocalColumnStatistics> call() throws Exception {
+            IgniteH2Indexing idx = (IgniteH2Indexing)((IgniteEx)ignite).context().query().getIndexing();
+
+            return idx.statisticsManager().collectLocal(schemaName, tblName);
+        }
+
+        /** {@inheritDoc} */
+        @Override public String toString() {
+            return S.toString(CollectStatisticsJob.class, this);
+        }
+    }
+}
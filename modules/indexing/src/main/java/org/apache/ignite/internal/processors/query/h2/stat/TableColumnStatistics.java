@@ -0,0 +1,75 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.stat;
+
+import java.io.Serializable;
+import java.util.Map;
+import org.apache.ignite.internal.util.typedef.internal.S;
+
+/**
+ * Column statistics of a table as they are stored in the distributed metastorage.
+ */
+public class TableColumnStatistics implements Serializable {
+    /** */
+    private static final long serialVersionUID = 0L;
+
+    /** Schema name. */
+    private final String schemaName;
+
+    /** Table name. */
+    private final String tblName;
+
+    /** Statistics by column name. */
+    private final Map<String, ColumnStatistics> cols;
+
+    /**
+     * @param schemaName Schema name.
+     * @param tblName Table name.
+     * @param cols Statistics by column name.
+     */
+    public TableColumnStatistics(String schemaName, String tblName, Map<String, ColumnStatistics> cols) {
+        this.schemaName = schemaName;
+        this.tblName = tblName;
+        this.cols = cols;
+    }
+
+    /**
+     * @return Schema name.
+     */
+    public String schemaName() {
+        return schemaName;
+    }
+
+    /**
+     * @return Table name.
+     */
+    public String tableName() {
+        return tblName;
+    }
+
+    /**
+     * @return Statistics by column name.
+     */
+    public Map<String, ColumnStatistics> columns() {
+        return cols;
+    }
+
+    /** {@inheritDoc} */
+    @Override public String toString() {
+        return S.toString(TableColumnStatistics.class, this);
+    }
+}
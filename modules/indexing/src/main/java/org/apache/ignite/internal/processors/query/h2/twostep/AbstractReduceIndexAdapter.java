@@ -72,7 +72,11 @@ public abstract class AbstractReduceIndexAdapter extends BaseIndex {
 
     /** {@inheritDoc} */
     @Override public final Cursor find(Session ses, SearchRow first, SearchRow last) {
-        return reducer().find(first, last);
+        AbstractReducer reducer = reducer();
+
+        reducer.memoryTracker(ses.memoryTracker());
+
+        return reducer.find(first, last);
     }
 
     /** {@inheritDoc} */
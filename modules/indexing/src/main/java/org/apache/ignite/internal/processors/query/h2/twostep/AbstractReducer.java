@@ -30,6 +30,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
 import org.apache.ignite.internal.util.typedef.F;
 import org.apache.ignite.internal.util.typedef.internal.U;
@@ -93,6 +94,9 @@ public abstract class AbstractReducer implements Reducer {
     /** */
     private Row lastEvictedRow;
 
+    /** Memory tracker of the reduce query. Accessed from query execution thread only. */
+    protected H2MemoryTracker memTracker;
+
     /**
      * Constructor.
      *
@@ -131,6 +135,13 @@ public abstract class AbstractReducer implements Reducer {
         this.pageSize = pageSize;
     }
 
+    /**
+     * @param memTracker Memory tracker of the reduce query, {@code null} if memory is not tracked.
+     */
+    void memoryTracker(@Nullable H2MemoryTracker memTracker) {
+        this.memTracker = memTracker;
+    }
+
     /** {@inheritDoc} */
     @Override public void onFailure(UUID nodeId, final CacheException e) {
         if (nodeId == null)
@@ -316,7 +327,7 @@ public abstract class AbstractReducer implements Reducer {
         if (!iter.hasNext()) {
             ReduceResultPage page = takeNextPage(queue);
 
-            if (!page.isLast())
+            if ((page.isFail() || onPageTaken(queue, page)) && !page.isLast())
                 page.fetchNextPage(); // Failed will throw an exception here.
 
             iter = page.rows();
@@ -328,6 +339,19 @@ public abstract class AbstractReducer implements Reducer {
         return iter;
     }
 
+    /**
+     * Callback on a non-failed page taken from the queue. Decides whether the page following the taken one has to be
+     * requested right away, i.e. prefetched while the taken page is being iterated. If not, the queue is responsible
+     * for requesting it later.
+     *
+     * @param queue Queue the page was taken from.
+     * @param page Taken page.
+     * @return {@code true} If the next page has to be requested right away.
+     */
+    protected boolean onPageTaken(Pollable<ReduceResultPage> queue, ReduceResultPage page) {
+        return true;
+    }
+
     /**
      * @param queue Queue to poll.
      * @return Next page.
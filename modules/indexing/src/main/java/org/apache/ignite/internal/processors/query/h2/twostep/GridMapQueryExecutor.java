@@ -33,6 +33,7 @@ import javax.cache.CacheException;
 import org.apache.ignite.IgniteCheckedException;
 import org.apache.ignite.IgniteException;
 import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.IgniteSystemProperties;
 import org.apache.ignite.cache.query.QueryCancelledException;
 import org.apache.ignite.cache.query.QueryRetryException;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
@@ -47,6 +48,7 @@ import org.apache.ignite.internal.processors.cache.mvcc.MvccSnapshot;
 import org.apache.ignite.internal.processors.cache.query.CacheQueryType;
 import org.apache.ignite.internal.processors.cache.query.GridCacheSqlQuery;
 import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.H2PooledConnection;
 import org.apache.ignite.internal.processors.query.h2.H2StatementCache;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
@@ -72,11 +74,14 @@ import org.apache.ignite.internal.util.typedef.internal.CU;
 import org.apache.ignite.internal.util.typedef.internal.U;
 import org.apache.ignite.spi.indexing.IndexingQueryFilter;
 import org.h2.api.ErrorCode;
+import org.h2.engine.Session;
 import org.h2.jdbc.JdbcResultSet;
+import org.h2.result.ResultInterface;
 import org.h2.value.Value;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAP_COLUMNAR_AGGREGATION;
 import static org.apache.ignite.events.EventType.EVT_CACHE_QUERY_EXECUTED;
 import static org.apache.ignite.internal.managers.communication.GridIoPolicy.QUERY_POOL;
 import static org.apache.ignite.internal.processors.query.h2.twostep.msg.GridH2QueryRequest.isDataPageScanEnabled;
@@ -102,6 +107,9 @@ public class GridMapQueryExecutor {
     /** */
     private ConcurrentMap<UUID, MapNodeResults> qryRess = new ConcurrentHashMap<>();
 
+    /** Whether simple aggregations are executed batch-at-a-time bypassing H2. */
+    private final boolean columnarAgg = IgniteSystemProperties.getBoolean(IGNITE_SQL_MAP_COLUMNAR_AGGREGATION);
+
     /**
      * @param ctx Context.
      * @param h2 H2 Indexing.
@@ -418,7 +426,14 @@ public class GridMapQueryExecutor {
 
                         MapH2QueryInfo qryInfo = new MapH2QueryInfo(stmt, qry.query(), node, reqId, segmentId, runningQryId);
 
-                        ResultSet rs = h2.executeSqlQueryWithTimer(
+                        ResultInterface aggRes = null;
+
+                        if (columnarAgg && mvccSnapshot == null && !distributedJoins) {
+                            aggRes = executeColumnarAggregation(stmt, conn, qctx, timeout,
+                                qryResults.queryCancel(qryIdx), qryInfo, maxMem);
+                        }
+
+                        ResultSet rs = aggRes != null ? null : h2.executeSqlQueryWithTimer(
                             stmt,
                             conn,
                             sql,
@@ -445,15 +460,19 @@ public class GridMapQueryExecutor {
                                 null));
                         }
 
-                        assert rs instanceof JdbcResultSet : rs.getClass();
+                        assert rs == null || rs instanceof JdbcResultSet : rs.getClass();
 
                         if (qryResults.cancelled()) {
-                            rs.close();
+                            if (rs != null)
+                                rs.close();
 
                             throw new QueryCancelledException();
                         }
 
-                        res.openResult(rs, qryInfo);
+                        if (rs != null)
+                            res.openResult(rs, qryInfo);
+                        else
+                            res.openResult(aggRes, qryInfo);
 
                         final GridQueryNextPageResponse msg = prepareNextPage(
                             nodeRess,
@@ -560,6 +579,61 @@ public class GridMapQueryExecutor {
         }
     }
 
+    /**
+     * Executes map query as batch-at-a-time aggregation if the query is eligible.
+     *
+     * @param stmt Prepared map query.
+     * @param conn Connection.
+     * @param qctx Query context.
+     * @param timeout Query timeout.
+     * @param cancel Query cancel.
+     * @param qryInfo Query info.
+     * @param maxMem Query memory limit.
+     * @return Result or {@code null} if the query has to be executed by H2.
+     * @throws IgniteCheckedException If failed.
+     */
+    @Nullable private ResultInterface executeColumnarAggregation(PreparedStatement stmt, H2PooledConnection conn,
+        QueryContext qctx, int timeout, GridQueryCancel cancel, MapH2QueryInfo qryInfo, long maxMem)
+        throws IgniteCheckedException {
+        MapColumnarAggregation agg = MapColumnarAggregation.create(stmt, log);
+
+        if (agg == null)
+            return null;
+
+        h2.longRunningQueries().registerQuery(qryInfo);
+
+        // Memory of the aggregation state is tracked by the session tracker, it is closed along with the result.
+        h2.initSession(conn, qryInfo, maxMem);
+
+        Session ses = H2Utils.session(conn);
+
+        ResultInterface res = null;
+
+        try {
+            res = agg.execute(qctx, cancel, timeout, ses.memoryTracker());
+
+            if (res == null && log.isDebugEnabled())
+                log.debug("Batch aggregation is not applicable to the data, fallback to H2: " + qryInfo);
+
+            return res;
+        }
+        finally {
+            h2.longRunningQueries().unregisterQuery(qryInfo);
+
+            ses.queryDescription(null);
+
+            // H2 initializes the session with a new tracker.
+            if (res == null) {
+                H2MemoryTracker tracker = ses.memoryTracker();
+
+                if (tracker != null)
+                    tracker.close();
+
+                ses.memoryTracker(null);
+            }
+        }
+    }
+
     /**
      * @param node Node.
      * @param req DML request.
@@ -0,0 +1,939 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteLogger;
+import org.apache.ignite.cache.query.QueryCancelledException;
+import org.apache.ignite.internal.processors.cache.GridCacheContext;
+import org.apache.ignite.internal.processors.cache.IgniteCacheOffheapManager.CacheDataStore;
+import org.apache.ignite.internal.processors.cache.persistence.CacheDataRow;
+import org.apache.ignite.internal.processors.cache.tree.CacheDataRowStore;
+import org.apache.ignite.internal.processors.query.GridQueryCancel;
+import org.apache.ignite.internal.processors.query.GridQueryTypeDescriptor;
+import org.apache.ignite.internal.processors.query.QueryUtils;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2RowDescriptor;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.opt.QueryContext;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAggregateFunction;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAlias;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlAst;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlColumn;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlFunctionType;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlQueryParser;
+import org.apache.ignite.internal.processors.query.h2.sql.GridSqlSelect;
+import org.apache.ignite.internal.util.lang.GridCursor;
+import org.apache.ignite.internal.util.typedef.F;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.spi.indexing.IndexingQueryCacheFilter;
+import org.apache.ignite.spi.indexing.IndexingQueryFilter;
+import org.h2.command.Prepared;
+import org.h2.command.dml.Select;
+import org.h2.expression.Expression;
+import org.h2.result.ResultInterface;
+import org.h2.result.SimpleResult;
+import org.h2.table.Column;
+import org.h2.table.TableFilter;
+import org.h2.value.Value;
+import org.h2.value.ValueBoolean;
+import org.h2.value.ValueDecimal;
+import org.h2.value.ValueDouble;
+import org.h2.value.ValueLong;
+import org.h2.value.ValueNull;
+import org.h2.value.ValueString;
+import org.jetbrains.annotations.Nullable;
+
+/**
+ * Batch-at-a-time execution of simple map-side aggregations, e.g.
+ * {@code SELECT a, COUNT(*), SUM(b), MIN(c), MAX(c) FROM T GROUP BY a}: a single table without filters,
+ * aggregated columns of primitive numeric types and grouping columns of integral, boolean or string types.
+ * <p>
+ * Instead of building H2 row per cache entry and evaluating aggregate expressions row by row, column values
+ * are read straight from cache entries into primitive arrays of {@link #BATCH_SIZE} rows and every aggregate
+ * is then applied to the whole batch in a tight loop. If a value of unexpected type is met, execution is
+ * abandoned and the query has to be executed by H2 as usual.
+ * <p>
+ * Memory of the per-group state is reserved from the query memory tracker. If the tracker requests offloading,
+ * execution is abandoned too, so H2 can spill the groups to disk.
+ */
+class MapColumnarAggregation {
+    /** Rows per batch. */
+    static final int BATCH_SIZE = 1024;
+
+    /** Column is only checked for {@code null}. */
+    private static final byte KIND_OTHER = 0;
+
+    /** Integral column. */
+    private static final byte KIND_LONG = 1;
+
+    /** Floating point column. */
+    private static final byte KIND_DOUBLE = 2;
+
+    /** Marker of a grouping value which can't be handled. */
+    private static final Object UNSUPPORTED = new Object();
+
+    /** Estimated size of a group slot: hash map entry, boxed slot index and reference in the keys list. */
+    private static final int GROUP_SIZE = 64;
+
+    /** Estimated size of per-group state of an aggregate. */
+    private static final int ACC_SIZE = 16;
+
+    /** Table. */
+    private final GridH2Table tbl;
+
+    /** Grouping columns as row descriptor property indexes. */
+    private final int[] grpProps;
+
+    /** Value types of grouping columns. */
+    private final int[] grpTypes;
+
+    /** Columns read for aggregates as row descriptor property indexes. */
+    private final int[] readProps;
+
+    /** Kinds of columns read for aggregates. */
+    private final byte[] readKinds;
+
+    /** Aggregate types. */
+    private final GridSqlFunctionType[] aggTypes;
+
+    /** Index of the read column for every aggregate, {@code -1} for {@code COUNT(*)}. */
+    private final int[] aggSrcs;
+
+    /** Output columns: grouping column index if non-negative, {@code -(aggregate index + 1)} otherwise. */
+    private final int[] outCols;
+
+    /** Output expressions. */
+    private final Expression[] outExprs;
+
+    /**
+     * @param tbl Table.
+     * @param grpProps Grouping columns.
+     * @param grpTypes Value types of grouping columns.
+     * @param readProps Columns read for aggregates.
+     * @param readKinds Kinds of columns read for aggregates.
+     * @param aggTypes Aggregate types.
+     * @param aggSrcs Read column index for every aggregate.
+     * @param outCols Output columns.
+     * @param outExprs Output expressions.
+     */
+    private MapColumnarAggregation(GridH2Table tbl, int[] grpProps, int[] grpTypes, int[] readProps,
+        byte[] readKinds, GridSqlFunctionType[] aggTypes, int[] aggSrcs, int[] outCols, Expression[] outExprs) {
+        this.tbl = tbl;
+        this.grpProps = grpProps;
+        this.grpTypes = grpTypes;
+        this.readProps = readProps;
+        this.readKinds = readKinds;
+        this.aggTypes = aggTypes;
+        this.aggSrcs = aggSrcs;
+        this.outCols = outCols;
+        this.outExprs = outExprs;
+    }
+
+    /**
+     * Checks whether the map query can be executed batch-at-a-time.
+     *
+     * @param stmt Prepared map query.
+     * @param log Logger.
+     * @return Aggregation or {@code null} if the query is not eligible.
+     */
+    @Nullable static MapColumnarAggregation create(PreparedStatement stmt, IgniteLogger log) {
+        Prepared prepared = GridSqlQueryParser.prepared(stmt);
+
+        if (!(prepared instanceof Select))
+            return null;
+
+        Select select = (Select)prepared;
+
+        if (!select.isGroupQuery() || select.isWindowQuery() || select.isAnyDistinct() || select.hasOrder() ||
+            select.getLimit() != null || select.getOffset() != null || select.getCondition() != null ||
+            select.getHaving() != null || select.getQualify() != null || select.getTopFilters().size() != 1)
+            return null;
+
+        TableFilter filter = select.getTopFilters().get(0);
+
+        if (filter.getJoin() != null || !(filter.getTable() instanceof GridH2Table))
+            return null;
+
+        GridH2Table tbl = (GridH2Table)filter.getTable();
+
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        if (cctx == null || cctx.mvccEnabled())
+            return null;
+
+        GridSqlSelect sel = (GridSqlSelect)new GridSqlQueryParser(false, log).parse(prepared);
+
+        if (sel.isForUpdate())
+            return null;
+
+        List<GridSqlAst> cols = sel.columns(false);
+
+        int[] grpIdxs = F.isEmpty(sel.groupColumns()) ? new int[0] : sel.groupColumns();
+
+        int[] grpProps = new int[grpIdxs.length];
+        int[] grpTypes = new int[grpIdxs.length];
+
+        for (int g = 0; g < grpIdxs.length; g++) {
+            GridSqlAst col = unwrap(cols.get(grpIdxs[g]));
+
+            if (!(col instanceof GridSqlColumn))
+                return null;
+
+            grpProps[g] = property(tbl, (GridSqlColumn)col);
+
+            if (grpProps[g] < 0)
+                return null;
+
+            grpTypes[g] = ((GridSqlColumn)col).column().getType().getValueType();
+
+            switch (grpTypes[g]) {
+                case Value.BOOLEAN:
+                case Value.BYTE:
+                case Value.SHORT:
+                case Value.INT:
+                case Value.LONG:
+                case Value.STRING:
+                    break;
+
+                default:
+                    return null;
+            }
+        }
+
+        List<Integer> readProps = new ArrayList<>();
+        List<Byte> readKinds = new ArrayList<>();
+        List<GridSqlFunctionType> aggTypes = new ArrayList<>();
+        List<Integer> aggSrcs = new ArrayList<>();
+
+        int[] outCols = new int[sel.visibleColumns()];
+
+        for (int i = 0; i < cols.size(); i++) {
+            int grpIdx = indexOf(grpIdxs, i);
+
+            if (grpIdx >= 0) {
+                if (i < outCols.length)
+                    outCols[i] = grpIdx;
+
+                continue;
+            }
+
+            GridSqlAst col = unwrap(cols.get(i));
+
+            if (i >= outCols.length || !(col instanceof GridSqlAggregateFunction))
+                return null;
+
+            GridSqlAggregateFunction agg = (GridSqlAggregateFunction)col;
+
+            if (agg.distinct())
+                return null;
+
+            int src = -1;
+
+            switch (agg.type()) {
+                case COUNT_ALL:
+                    break;
+
+                case COUNT:
+                case SUM:
+                case MIN:
+                case MAX:
+                    if (agg.size() != 1 || !(agg.child(0) instanceof GridSqlColumn))
+                        return null;
+
+                    GridSqlColumn aggCol = agg.child(0);
+
+                    int prop = property(tbl, aggCol);
+
+                    if (prop < 0)
+                        return null;
+
+                    byte kind = kind(aggCol.column().getType().getValueType());
+
+                    if (kind == KIND_OTHER && agg.type() != GridSqlFunctionType.COUNT)
+                        return null;
+
+                    src = readProps.indexOf(prop);
+
+                    if (src < 0) {
+                        src = readProps.size();
+
+                        readProps.add(prop);
+                        readKinds.add(kind);
+                    }
+
+                    break;
+
+                default:
+                    return null;
+            }
+
+            outCols[i] = -(aggTypes.size() + 1);
+
+            aggTypes.add(agg.type());
+            aggSrcs.add(src);
+        }
+
+        Expression[] outExprs = new Expression[outCols.length];
+
+        for (int i = 0; i < outExprs.length; i++)
+            outExprs[i] = select.getExpressions().get(i);
+
+        byte[] readKinds0 = new byte[readKinds.size()];
+
+        for (int i = 0; i < readKinds0.length; i++)
+            readKinds0[i] = readKinds.get(i);
+
+        return new MapColumnarAggregation(
+            tbl,
+            grpProps,
+            grpTypes,
+            U.toIntArray(readProps),
+            readKinds0,
+            aggTypes.toArray(new GridSqlFunctionType[0]),
+            U.toIntArray(aggSrcs),
+            outCols,
+            outExprs
+        );
+    }
+
+    /**
+     * Scans local partitions of the current query segment and aggregates them.
+     *
+     * @param qctx Query context.
+     * @param cancel Query cancel.
+     * @param timeout Query timeout in milliseconds, {@code 0} if not limited.
+     * @param tracker Query memory tracker.
+     * @return Result or {@code null} if data can't be aggregated batch-at-a-time.
+     * @throws IgniteCheckedException If failed.
+     * @throws QueryCancelledException If query was cancelled or timed out.
+     */
+    @Nullable ResultInterface execute(QueryContext qctx, @Nullable GridQueryCancel cancel, int timeout,
+        @Nullable H2MemoryTracker tracker) throws IgniteCheckedException {
+        GridCacheContext<?, ?> cctx = tbl.cacheContext();
+
+        GridH2RowDescriptor desc = tbl.rowDescriptor();
+
+        IndexingQueryFilter f = qctx.filter();
+        IndexingQueryCacheFilter filter = f != null ? f.forCache(cctx.name()) : null;
+
+        int segments = cctx.config().getQueryParallelism();
+
+        GridQueryTypeDescriptor type = desc.type();
+
+        long now = U.currentTimeMillis();
+
+        long deadline = timeout > 0 ? now + timeout : Long.MAX_VALUE;
+
+        Batch batch = new Batch(tracker);
+
+        long scanned = 0;
+
+        tbl.readLock();
+
+        try {
+            CacheDataRowStore.setSkipVersion(true);
+
+            try {
+                for (CacheDataStore store : cctx.offheap().cacheDataStores()) {
+                    int part = store.partId();
+
+                    if ((segments > 1 && part % segments != qctx.segment()) ||
+                        (filter != null && !filter.applyPartition(part)))
+                        continue;
+
+                    GridCursor<? extends CacheDataRow> cur = store.cursor(cctx.cacheId());
+
+                    while (cur.next()) {
+                        // Rows skipped by type are counted too, the table may be a small part of the cache.
+                        if (++scanned % BATCH_SIZE == 0)
+                            checkCancelled(cancel, deadline);
+
+                        CacheDataRow row = cur.get();
+
+                        // Cache may contain values of other types and expired entries, which are not removed yet.
+                        if (!type.matchType(row.value()) || (row.expireTime() > 0 && row.expireTime() <= now))
+                            continue;
+
+                        if (!batch.add(desc, row.key(), row.value()))
+                            return null;
+
+                        if (batch.size == BATCH_SIZE)
+                            batch.flush();
+                    }
+                }
+
+                batch.flush();
+            }
+            finally {
+                CacheDataRowStore.setSkipVersion(false);
+            }
+        }
+        finally {
+            tbl.readUnlock();
+        }
+
+        return batch.result();
+    }
+
+    /**
+     * @param cancel Query cancel.
+     * @param deadline Query deadline.
+     * @throws QueryCancelledException If query was cancelled or timed out.
+     */
+    private static void checkCancelled(@Nullable GridQueryCancel cancel, long deadline) throws QueryCancelledException {
+        if (cancel != null)
+            cancel.checkCancelled();
+
+        if (U.currentTimeMillis() > deadline)
+            throw new QueryCancelledException();
+    }
+
+    /**
+     * @param arr Array.
+     * @param val Value.
+     * @return Index of the value in the array or {@code -1} if not found.
+     */
+    private static int indexOf(int[] arr, int val) {
+        for (int i = 0; i < arr.length; i++) {
+            if (arr[i] == val)
+                return i;
+        }
+
+        return -1;
+    }
+
+    /**
+     * @param ast Select column.
+     * @return Column expression without alias.
+     */
+    private static GridSqlAst unwrap(GridSqlAst ast) {
+        return ast instanceof GridSqlAlias ? ast.child() : ast;
+    }
+
+    /**
+     * @param tbl Table.
+     * @param col Column.
+     * @return Row descriptor property index or {@code -1} if column is not a plain field of the table.
+     */
+    private static int property(GridH2Table tbl, GridSqlColumn col) {
+        Column col0 = col.column();
+
+        if (col0 == null || col0.getTable() != tbl)
+            return -1;
+
+        int colId = col0.getColumnId();
+
+        GridH2RowDescriptor desc = tbl.rowDescriptor();
+
+        if (colId < QueryUtils.DEFAULT_COLUMNS_COUNT || desc.isKeyAliasColumn(colId) ||
+            desc.isValueAliasColumn(colId))
+            return -1;
+
+        return colId - QueryUtils.DEFAULT_COLUMNS_COUNT;
+    }
+
+    /**
+     * @param type Value type.
+     * @return Column kind.
+     */
+    private static byte kind(int type) {
+        switch (type) {
+            case Value.BYTE:
+            case Value.SHORT:
+            case Value.INT:
+            case Value.LONG:
+                return KIND_LONG;
+
+            case Value.FLOAT:
+            case Value.DOUBLE:
+                return KIND_DOUBLE;
+
+            default:
+                return KIND_OTHER;
+        }
+    }
+
+    /**
+     * @param obj Object.
+     * @return {@code true} If object is a boxed integral primitive.
+     */
+    private static boolean isIntegral(Object obj) {
+        return obj instanceof Integer || obj instanceof Long || obj instanceof Short || obj instanceof Byte;
+    }
+
+    /**
+     * @param obj Field value.
+     * @param type Column value type.
+     * @return Normalized grouping value or {@link #UNSUPPORTED}.
+     */
+    private static Object groupValue(Object obj, int type) {
+        if (obj == null)
+            return null;
+
+        switch (type) {
+            case Value.BOOLEAN:
+                return obj instanceof Boolean ? obj : UNSUPPORTED;
+
+            case Value.STRING:
+                return obj instanceof String ? obj : UNSUPPORTED;
+
+            default:
+                return isIntegral(obj) ? (Object)((Number)obj).longValue() : UNSUPPORTED;
+        }
+    }
+
+    /**
+     * @param grpKey Grouping key.
+     * @return Estimated size of the key in bytes.
+     */
+    private static long keySize(Object grpKey) {
+        if (!(grpKey instanceof List))
+            return valueSize(grpKey);
+
+        // List wrapper and the backing array.
+        long size = 48;
+
+        for (Object val : (List<?>)grpKey)
+            size += 8 + valueSize(val);
+
+        return size;
+    }
+
+    /**
+     * @param val Normalized grouping value.
+     * @return Estimated size of the value in bytes.
+     */
+    private static long valueSize(Object val) {
+        // Boolean values are cached.
+        if (val == null || val instanceof Boolean)
+            return 0;
+
+        return val instanceof String ? 40 + 2L * ((String)val).length() : 24;
+    }
+
+    /**
+     * @param obj Normalized grouping value.
+     * @param type Output type.
+     * @return H2 value.
+     */
+    private static Value groupValueToH2(Object obj, int type) {
+        if (obj == null)
+            return ValueNull.INSTANCE;
+
+        Value v;
+
+        if (obj instanceof Boolean)
+            v = ValueBoolean.get((Boolean)obj);
+        else if (obj instanceof String)
+            v = ValueString.get((String)obj);
+        else
+            v = ValueLong.get((Long)obj);
+
+        return v.convertTo(type);
+    }
+
+    /**
+     * Batch of rows being aggregated along with per-group aggregation state.
+     */
+    private class Batch {
+        /** Number of rows in the batch. */
+        private int size;
+
+        /** Group slot of every row. */
+        private final int[] slots = new int[BATCH_SIZE];
+
+        /** Integral values of read columns. */
+        private final long[][] longs = new long[readProps.length][];
+
+        /** Floating point values of read columns. */
+        private final double[][] doubles = new double[readProps.length][];
+
+        /** Null flags of read columns. */
+        private final boolean[][] nulls = new boolean[readProps.length][BATCH_SIZE];
+
+        /** Group slots. */
+        private final Map<Object, Integer> grps = new HashMap<>();
+
+        /** Grouping keys by slots. */
+        private final List<Object> keys = new ArrayList<>();
+
+        /** Accumulators. */
+        private final Accumulator[] accs = new Accumulator[aggTypes.length];
+
+        /** Query memory tracker. */
+        private final H2MemoryTracker tracker;
+
+        /**
+         * @param tracker Query memory tracker.
+         */
+        Batch(@Nullable H2MemoryTracker tracker) {
+            this.tracker = tracker;
+
+            for (int c = 0; c < readProps.length; c++) {
+                if (readKinds[c] == KIND_LONG)
+                    longs[c] = new long[BATCH_SIZE];
+                else if (readKinds[c] == KIND_DOUBLE)
+                    doubles[c] = new double[BATCH_SIZE];
+            }
+
+            for (int a = 0; a < accs.length; a++) {
+                int src = aggSrcs[a];
+
+                accs[a] = new Accumulator(aggTypes[a], src >= 0 && readKinds[src] == KIND_DOUBLE);
+            }
+
+            // Aggregation without grouping always produces a single row, its state is not worth tracking.
+            if (grpProps.length == 0)
+                addSlot(null);
+        }
+
+        /**
+         * @param desc Row descriptor.
+         * @param key Cache key.
+         * @param val Cache value.
+         * @return {@code false} If row contains a value which can't be processed or memory for a new group can't
+         *      be reserved.
+         */
+        boolean add(GridH2RowDescriptor desc, Object key, Object val) {
+            for (int c = 0; c < readProps.length; c++) {
+                Object obj = desc.columnValue(key, val, readProps[c]);
+
+                boolean isNull = obj == null;
+
+                nulls[c][size] = isNull;
+
+                if (isNull)
+                    continue;
+
+                if (readKinds[c] == KIND_LONG) {
+                    if (!isIntegral(obj))
+                        return false;
+
+                    longs[c][size] = ((Number)obj).longValue();
+                }
+                else if (readKinds[c] == KIND_DOUBLE) {
+                    if (!(obj instanceof Double) && !(obj instanceof Float))
+                        return false;
+
+                    doubles[c][size] = ((Number)obj).doubleValue();
+                }
+            }
+
+            Object grpKey = null;
+
+            if (grpProps.length == 1) {
+                grpKey = groupValue(desc.columnValue(key, val, grpProps[0]), grpTypes[0]);
+
+                if (grpKey == UNSUPPORTED)
+                    return false;
+            }
+            else if (grpProps.length > 1) {
+                Object[] vals = new Object[grpProps.length];
+
+                for (int g = 0; g < vals.length; g++) {
+                    vals[g] = groupValue(desc.columnValue(key, val, grpProps[g]), grpTypes[g]);
+
+                    if (vals[g] == UNSUPPORTED)
+                        return false;
+                }
+
+                grpKey = Arrays.asList(vals);
+            }
+
+            int slot = slot(grpKey);
+
+            if (slot < 0)
+                return false;
+
+            slots[size++] = slot;
+
+            return true;
+        }
+
+        /**
+         * @param grpKey Grouping key.
+         * @return Group slot or {@code -1} if memory for a new group can't be reserved.
+         */
+        private int slot(Object grpKey) {
+            Integer slot = grps.get(grpKey);
+
+            if (slot != null)
+                return slot;
+
+            if (tracker != null && !tracker.reserve(GROUP_SIZE + keySize(grpKey) + (long)accs.length * ACC_SIZE))
+                return -1;
+
+            return addSlot(grpKey);
+        }
+
+        /**
+         * @param grpKey Grouping key.
+         * @return Slot of the new group.
+         */
+        private int addSlot(Object grpKey) {
+            int slot = keys.size();
+
+            grps.put(grpKey, slot);
+            keys.add(grpKey);
+
+            for (Accumulator acc : accs)
+                acc.ensureCapacity(slot + 1);
+
+            return slot;
+        }
+
+        /**
+         * Applies aggregates to the rows of the batch.
+         */
+        void flush() {
+            for (int a = 0; a < accs.length; a++) {
+                int src = aggSrcs[a];
+
+                if (src < 0)
+                    accs[a].add(slots, size, null, null, null);
+                else
+                    accs[a].add(slots, size, longs[src], doubles[src], nulls[src]);
+            }
+
+            size = 0;
+        }
+
+        /**
+         * @return Aggregation result.
+         */
+        ResultInterface result() {
+            SimpleResult res = new SimpleResult();
+
+            for (Expression expr : outExprs)
+                res.addColumn(expr.getAlias(), expr.getColumnName(), expr.getType());
+
+            for (int slot = 0; slot < keys.size(); slot++) {
+                Object grpKey = keys.get(slot);
+
+                Value[] row = new Value[outCols.length];
+
+                for (int i = 0; i < row.length; i++) {
+                    int outCol = outCols[i];
+
+                    int type = outExprs[i].getType().getValueType();
+
+                    if (outCol < 0)
+                        row[i] = accs[-outCol - 1].value(slot, type);
+                    else if (grpProps.length == 1)
+                        row[i] = groupValueToH2(grpKey, type);
+                    else
+                        row[i] = groupValueToH2(((List<?>)grpKey).get(outCol), type);
+                }
+
+                res.addRow(row);
+            }
+
+            return res;
+        }
+    }
+
+    /**
+     * Per-group state of a single aggregate.
+     */
+    private static class Accumulator {
+        /** Aggregate type. */
+        private final GridSqlFunctionType type;
+
+        /** Whether aggregated column is of floating point type. */
+        private final boolean floating;
+
+        /** Number of aggregated non-null values per group. */
+        private long[] cnts = new long[0];
+
+        /** Integral sums, minimums or maximums per group. */
+        private long[] longs;
+
+        /** Floating point sums, minimums or maximums per group. */
+        private double[] doubles;
+
+        /** Integral sums which overflowed {@code long} per group. */
+        private BigDecimal[] bigs;
+
+        /**
+         * @param type Aggregate type.
+         * @param floating Whether aggregated column is of floating point type.
+         */
+        Accumulator(GridSqlFunctionType type, boolean floating) {
+            this.type = type;
+            this.floating = floating;
+
+            if (type != GridSqlFunctionType.COUNT_ALL && type != GridSqlFunctionType.COUNT) {
+                if (floating)
+                    doubles = new double[0];
+                else
+                    longs = new long[0];
+            }
+        }
+
+        /**
+         * @param grps Required number of groups.
+         */
+        void ensureCapacity(int grps) {
+            if (cnts.length >= grps)
+                return;
+
+            int cap = Math.max(grps, cnts.length * 2);
+
+            cnts = Arrays.copyOf(cnts, cap);
+
+            if (longs != null)
+                longs = Arrays.copyOf(longs, cap);
+
+            if (doubles != null)
+                doubles = Arrays.copyOf(doubles, cap);
+
+            if (bigs != null)
+                bigs = Arrays.copyOf(bigs, cap);
+        }
+
+        /**
+         * @param slots Group slots of the rows.
+         * @param size Number of rows.
+         * @param lvals Integral values.
+         * @param dvals Floating point values.
+         * @param nulls Null flags.
+         */
+        void add(int[] slots, int size, long[] lvals, double[] dvals, boolean[] nulls) {
+            switch (type) {
+                case COUNT_ALL:
+                    for (int r = 0; r < size; r++)
+                        cnts[slots[r]]++;
+
+                    break;
+
+                case COUNT:
+                    for (int r = 0; r < size; r++) {
+                        if (!nulls[r])
+                            cnts[slots[r]]++;
+                    }
+
+                    break;
+
+                case SUM:
+                    if (floating) {
+                        for (int r = 0; r < size; r++) {
+                            if (!nulls[r]) {
+                                doubles[slots[r]] += dvals[r];
+                                cnts[slots[r]]++;
+                            }
+                        }
+                    }
+                    else {
+                        for (int r = 0; r < size; r++) {
+                            if (!nulls[r])
+                                addLong(slots[r], lvals[r]);
+                        }
+                    }
+
+                    break;
+
+                case MIN:
+                case MAX:
+                    boolean min = type == GridSqlFunctionType.MIN;
+
+                    for (int r = 0; r < size; r++) {
+                        if (nulls[r])
+                            continue;
+
+                        int s = slots[r];
+
+                        if (floating) {
+                            int cmp = Double.compare(dvals[r], doubles[s]);
+
+                            if (cnts[s]++ == 0 || (min ? cmp < 0 : cmp > 0))
+                                doubles[s] = dvals[r];
+                        }
+                        else {
+                            long v = lvals[r];
+
+                            if (cnts[s]++ == 0 || (min ? v < longs[s] : v > longs[s]))
+                                longs[s] = v;
+                        }
+                    }
+
+                    break;
+
+                default:
+                    throw new IllegalStateException("Unsupported aggregate: " + type);
+            }
+        }
+
+        /**
+         * @param s Group slot.
+         * @param v Value.
+         */
+        private void addLong(int s, long v) {
+            cnts[s]++;
+
+            if (bigs != null && bigs[s] != null) {
+                bigs[s] = bigs[s].add(BigDecimal.valueOf(v));
+
+                return;
+            }
+
+            long sum = longs[s];
+            long res = sum + v;
+
+            // Overflow if both arguments have the opposite sign of the result.
+            if (((sum ^ res) & (v ^ res)) < 0) {
+                if (bigs == null)
+                    bigs = new BigDecimal[longs.length];
+
+                bigs[s] = BigDecimal.valueOf(sum).add(BigDecimal.valueOf(v));
+            }
+            else
+                longs[s] = res;
+        }
+
+        /**
+         * @param s Group slot.
+         * @param outType Output value type.
+         * @return Aggregated value.
+         */
+        Value value(int s, int outType) {
+            if (type == GridSqlFunctionType.COUNT_ALL || type == GridSqlFunctionType.COUNT)
+                return ValueLong.get(cnts[s]).convertTo(outType);
+
+            if (cnts[s] == 0)
+                return ValueNull.INSTANCE;
+
+            Value v;
+
+            if (floating)
+                v = ValueDouble.get(doubles[s]);
+            else if (bigs != null && bigs[s] != null)
+                v = ValueDecimal.get(bigs[s]);
+            else
+                v = ValueLong.get(longs[s]);
+
+            return v.convertTo(outType);
+        }
+    }
+}
@@ -134,7 +134,30 @@ class MapQueryResult {
 
     /** */
     void openResult(@NotNull ResultSet rs, MapH2QueryInfo qryInfo) {
-        res = new Result(rs, qryInfo);
+        res = new Result(rs, extractResult(rs), qryInfo);
+    }
+
+    /**
+     * Opens result produced without H2 result set, e.g. by {@link MapColumnarAggregation}.
+     *
+     * @param res H2 result.
+     * @param qryInfo Query info.
+     */
+    void openResult(@NotNull ResultInterface res, MapH2QueryInfo qryInfo) {
+        this.res = new Result(null, res, qryInfo);
+    }
+
+    /**
+     * @param rs H2 result set.
+     * @return H2 result.
+     */
+    private static ResultInterface extractResult(ResultSet rs) {
+        try {
+            return (ResultInterface)RESULT_FIELD.get(rs);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e); // Must not happen.
+        }
     }
 
     /**
@@ -329,7 +352,7 @@ class MapQueryResult {
         /** */
         private final ResultInterface res;
 
-        /** */
+        /** H2 result set, {@code null} if result was produced without H2. */
         private final ResultSet rs;
 
         /** */
@@ -345,16 +368,12 @@ class MapQueryResult {
          * Constructor.
          *
          * @param rs H2 result set.
+         * @param res H2 result.
+         * @param qryInfo Query info.
          */
-        Result(@NotNull ResultSet rs, MapH2QueryInfo qryInfo) {
+        Result(@Nullable ResultSet rs, ResultInterface res, MapH2QueryInfo qryInfo) {
             this.rs = rs;
-
-            try {
-                res = (ResultInterface)RESULT_FIELD.get(rs);
-            }
-            catch (IllegalAccessException e) {
-                throw new IllegalStateException(e); // Must not happen.
-            }
+            this.res = res;
 
             rowCnt = (res instanceof LazyResult) ? -1 : res.getRowCount();
             cols = res.getVisibleColumnCount();
@@ -366,7 +385,10 @@ class MapQueryResult {
         void close() {
             fetchSizeInterceptor.checkOnClose();
 
-            U.close(rs, log);
+            if (rs != null)
+                U.close(rs, log);
+            else
+                res.close();
         }
     }
 }
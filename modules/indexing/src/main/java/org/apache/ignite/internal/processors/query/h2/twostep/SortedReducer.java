@@ -29,8 +29,10 @@ import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
+import org.apache.ignite.cache.query.exceptions.SqlMemoryQuotaExceededException;
 import org.apache.ignite.cluster.ClusterNode;
 import org.apache.ignite.internal.GridKernalContext;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
 import org.apache.ignite.internal.processors.query.h2.H2Utils;
 import org.apache.ignite.internal.processors.query.h2.opt.GridH2Cursor;
 import org.apache.ignite.internal.processors.query.h2.opt.H2PlainRowFactory;
@@ -80,6 +82,9 @@ public class SortedReducer extends AbstractReducer {
         return compareRows(o1.get(), o2.get());
     };
 
+    /** Row size estimation in bytes used until real rows are sampled. */
+    private static final long DFLT_ROW_SIZE = 128;
+
     /** */
     private final Lock lock = new ReentrantLock();
 
@@ -98,6 +103,9 @@ public class SortedReducer extends AbstractReducer {
     /** */
     private MergeStreamIterator it;
 
+    /** Running estimation of a row size in bytes. Accessed from query thread only. */
+    private long avgRowSize = DFLT_ROW_SIZE;
+
     /**
      *  Constructor.
      *
@@ -108,7 +116,6 @@ public class SortedReducer extends AbstractReducer {
         super(ctx);
 
         this.rowComparator = rowComparator;
-
     }
 
     /**
@@ -192,6 +199,11 @@ public class SortedReducer extends AbstractReducer {
         super.checkBounds(lastEvictedRow, first, last);
     }
 
+    /** {@inheritDoc} */
+    @Override protected boolean onPageTaken(Pollable<ReduceResultPage> queue, ReduceResultPage page) {
+        return ((RowStream)queue).onPageTaken(page);
+    }
+
     /** {@inheritDoc} */
     @Override protected void addPage0(ReduceResultPage page) {
         if (page.isFail()) {
@@ -323,6 +335,15 @@ public class SortedReducer extends AbstractReducer {
         /** */
         private ReduceResultPage nextPage;
 
+        /** Estimated size in bytes of the page requested ahead of consumption. */
+        private long prefetchedSize;
+
+        /** Taken page, the next page for which is not requested yet. */
+        private ReduceResultPage deferred;
+
+        /** Whether the next row has to be sampled for row size estimation. */
+        private boolean sample;
+
         /**
          * @param page Page.
          */
@@ -377,18 +398,90 @@ public class SortedReducer extends AbstractReducer {
             }
         }
 
+        /**
+         * @param page Taken page.
+         * @return {@code true} If the next page has to be requested right away.
+         */
+        private boolean onPageTaken(ReduceResultPage page) {
+            H2MemoryTracker tracker = memTracker;
+
+            if (tracker == null || tracker.closed())
+                return true;
+
+            // The page requested ahead is taken, so it is accounted by the query as any other consumed data.
+            tracker.release(prefetchedSize);
+
+            prefetchedSize = 0;
+
+            sample = true;
+
+            if (page.isLast())
+                return false;
+
+            long size = Math.max(page.rowsInPage(), 1) * avgRowSize;
+
+            if (!reserve(tracker, size)) {
+                deferred = page;
+
+                return false;
+            }
+
+            prefetchedSize = size;
+
+            return true;
+        }
+
+        /**
+         * Reserves memory for the page requested ahead of consumption. Prefetch never makes the query offload or fail.
+         *
+         * @param tracker Memory tracker.
+         * @param size Estimated page size in bytes.
+         * @return {@code true} If memory is reserved.
+         */
+        private boolean reserve(H2MemoryTracker tracker, long size) {
+            boolean reserved = false;
+
+            try {
+                reserved = tracker.reserve(size);
+            }
+            catch (SqlMemoryQuotaExceededException ignored) {
+                // No-op.
+            }
+
+            if (!reserved)
+                tracker.release(size);
+
+            return reserved;
+        }
+
         /**
          * @return {@code true} If we successfully switched to the next row.
          */
         private boolean next() {
             cur = null;
 
+            if (deferred != null && !iter.hasNext()) {
+                ReduceResultPage page = deferred;
+
+                deferred = null;
+
+                page.fetchNextPage();
+            }
+
             iter = pollNextIterator(this, iter);
 
             if (!iter.hasNext())
                 return false;
 
-            cur = H2PlainRowFactory.create(iter.next());
+            Value[] vals = iter.next();
+
+            if (sample) {
+                sample = false;
+
+                avgRowSize = (avgRowSize + H2Utils.rowSizeInBytes(vals)) / 2;
+            }
+
+            cur = H2PlainRowFactory.create(vals);
 
             return true;
         }
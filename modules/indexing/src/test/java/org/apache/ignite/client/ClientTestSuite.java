@@ -16,6 +16,9 @@
 
 package org.apache.ignite.client;
 
+import org.apache.ignite.internal.client.thin.ContinuousQueryTest;
+import org.apache.ignite.internal.client.thin.DataStreamerTest;
+import org.apache.ignite.internal.client.thin.ThinClientPartitionAwarenessTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -37,7 +40,11 @@ import org.junit.runners.Suite;
     ConnectionTest.class,
     ConnectToStartingNodeTest.class,
     AsyncChannelTest.class,
-    ThinClientTxMissingBackupsFailover.class
+    ThinClientTxMissingBackupsFailover.class,
+    ThinClientPartitionAwarenessTest.class,
+    ComputeTaskTest.class,
+    ContinuousQueryTest.class,
+    DataStreamerTest.class
 })
 public class ClientTestSuite {
     // No-op.
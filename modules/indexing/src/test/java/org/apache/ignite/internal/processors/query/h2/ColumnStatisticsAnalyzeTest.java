@@ -0,0 +1,204 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.List;
+import org.apache.ignite.IgniteCheckedException;
+import org.apache.ignite.IgniteException;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.opt.GridH2Table;
+import org.apache.ignite.internal.processors.query.h2.stat.ColumnHistogram;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.h2.table.Column;
+import org.h2.value.ValueInt;
+import org.junit.Test;
+
+/**
+ * Tests column statistics collected by ANALYZE command.
+ */
+public class ColumnStatisticsAnalyzeTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES_CNT = 2;
+
+    /** */
+    private static final int ROWS_CNT = 2000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        sql("CREATE TABLE t (id INT PRIMARY KEY, val INT, grp INT, name VARCHAR)");
+        sql("CREATE INDEX t_val ON t(val)");
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            sql("INSERT INTO t (id, val, grp, name) VALUES (?, ?, ?, ?)", i, i, i % 10,
+                i % 2 == 0 ? null : "name" + i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks that collected statistics are applied to the tables on all nodes.
+     */
+    @Test
+    public void testAnalyze() throws Exception {
+        sql("ANALYZE t");
+
+        for (int i = 0; i < NODES_CNT; i++)
+            checkStatistics(grid(i));
+    }
+
+    /**
+     * Checks that a node joining the cluster receives already collected statistics.
+     */
+    @Test
+    public void testStatisticsOnJoinedNode() throws Exception {
+        sql("ANALYZE TABLE PUBLIC.T");
+
+        IgniteEx joined = startGrid(NODES_CNT);
+
+        try {
+            awaitPartitionMapExchange();
+
+            assertTrue(GridTestUtils.waitForCondition(() -> table(joined).histogram(column(joined, "VAL")
+                .getColumnId()) != null, 5_000L));
+
+            checkStatistics(joined);
+        }
+        finally {
+            stopGrid(NODES_CNT);
+        }
+    }
+
+    /**
+     * Checks that statistics of a dropped table are removed and not applied to a re-created table.
+     */
+    @Test
+    public void testDropTable() throws Exception {
+        sql("CREATE TABLE t2 (id INT PRIMARY KEY, val INT)");
+
+        for (int i = 0; i < 100; i++)
+            sql("INSERT INTO t2 (id, val) VALUES (?, ?)", i, i);
+
+        sql("ANALYZE t2");
+
+        String key = "sql.statistics.PUBLIC.T2";
+
+        assertNotNull(grid(0).context().distributedMetastorage().read(key));
+
+        sql("DROP TABLE t2");
+
+        assertTrue(GridTestUtils.waitForCondition(() -> {
+            try {
+                return grid(0).context().distributedMetastorage().read(key) == null;
+            }
+            catch (IgniteCheckedException e) {
+                throw new IgniteException(e);
+            }
+        }, 5_000L));
+
+        sql("CREATE TABLE t2 (id INT PRIMARY KEY, val VARCHAR)");
+
+        try {
+            for (int i = 0; i < NODES_CNT; i++) {
+                GridH2Table tbl = ((IgniteH2Indexing)grid(i).context().query().getIndexing()).schemaManager()
+                    .dataTable("PUBLIC", "T2");
+
+                assertNull(tbl.histogram(tbl.getColumn("VAL").getColumnId()));
+            }
+        }
+        finally {
+            sql("DROP TABLE t2");
+        }
+    }
+
+    /**
+     * Checks ANALYZE of a missing table.
+     */
+    @Test
+    public void testAnalyzeMissingTable() {
+        GridTestUtils.assertThrows(log, () -> sql("ANALYZE missing"), IgniteSQLException.class,
+            "Table doesn't exist");
+    }
+
+    /**
+     * @param node Node.
+     */
+    private void checkStatistics(IgniteEx node) {
+        Column val = column(node, "VAL");
+        Column grp = column(node, "GRP");
+        Column name = column(node, "NAME");
+
+        assertTrue("Unexpected selectivity: " + val.getSelectivity(), val.getSelectivity() >= 90);
+        assertEquals(1, grp.getSelectivity());
+        assertTrue("Unexpected selectivity: " + name.getSelectivity(), name.getSelectivity() >= 40 &&
+            name.getSelectivity() <= 60);
+
+        ColumnHistogram hist = table(node).histogram(val.getColumnId());
+
+        assertNotNull(hist);
+
+        double fraction = hist.rangeFraction(ValueInt.get(0), ValueInt.get(ROWS_CNT / 10));
+
+        assertTrue("Unexpected fraction: " + fraction, fraction > 0.05 && fraction < 0.15);
+
+        assertEquals(1.0, hist.rangeFraction(null, null), 0.0001);
+        assertEquals(0.0, hist.rangeFraction(ValueInt.get(ROWS_CNT), null), 0.0001);
+
+        ColumnHistogram nameHist = table(node).histogram(name.getColumnId());
+
+        assertNotNull(nameHist);
+        assertEquals(0.5, nameHist.rangeFraction(null, null), 0.0001);
+    }
+
+    /**
+     * @param node Node.
+     * @return Table.
+     */
+    private static GridH2Table table(IgniteEx node) {
+        return ((IgniteH2Indexing)node.context().query().getIndexing()).schemaManager().dataTable("PUBLIC", "T");
+    }
+
+    /**
+     * @param node Node.
+     * @param name Column name.
+     * @return Column.
+     */
+    private static Column column(IgniteEx node, String name) {
+        return table(node).getColumn(name);
+    }
+
+    /**
+     * @param sql SQL.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
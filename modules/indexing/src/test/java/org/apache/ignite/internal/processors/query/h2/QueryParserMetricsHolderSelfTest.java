@@ -20,20 +20,27 @@ import org.apache.ignite.IgniteCache;
 import org.apache.ignite.cache.query.SqlFieldsQuery;
 import org.apache.ignite.configuration.CacheConfiguration;
 import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.spi.metric.IntMetric;
 import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
 import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
 import org.junit.Assert;
 import org.junit.Test;
 
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_PARSER_CACHE_SIZE;
 import static org.apache.ignite.internal.processors.query.h2.QueryParserMetricsHolder.QUERY_PARSER_METRIC_GROUP_NAME;
 
 /**
  * Test to check {@link QueryParserMetricsHolder}
  */
+@WithSystemProperty(key = IGNITE_SQL_PARSER_CACHE_SIZE, value = "16")
 public class QueryParserMetricsHolderSelfTest extends GridCommonAbstractTest {
     /** Cache name. */
     private static final String CACHE_NAME = "cache";
 
+    /** Size of the queries cache. */
+    private static final int PARSER_CACHE_SIZE = 16;
+
     /** Ignite. */
     private static IgniteEx ignite;
 
@@ -93,4 +100,30 @@ public class QueryParserMetricsHolderSelfTest extends GridCommonAbstractTest {
         cache.query(new SqlFieldsQuery("SELECT * FROM tbl_misses"));
         Assert.assertEquals(3, misses.value());
     }
+
+    /**
+     * Ensure that query cache evictions statistic is properly collected
+     */
+    @Test
+    public void testParserCacheEvictions() {
+        LongMetric evictions = (LongMetric)ignite.context().metric().registry(QUERY_PARSER_METRIC_GROUP_NAME).findMetric("evictions");
+        Assert.assertNotNull("Unable to find metric with name " + QUERY_PARSER_METRIC_GROUP_NAME + ".evictions", evictions);
+
+        IntMetric size = (IntMetric)ignite.context().metric().registry(QUERY_PARSER_METRIC_GROUP_NAME).findMetric("size");
+        Assert.assertNotNull("Unable to find metric with name " + QUERY_PARSER_METRIC_GROUP_NAME + ".size", size);
+
+        cache.query(new SqlFieldsQuery("CREATE TABLE tbl_evictions (id LONG PRIMARY KEY, val LONG)"));
+        evictions.reset();
+
+        for (int i = 0; i < PARSER_CACHE_SIZE; i++)
+            cache.query(new SqlFieldsQuery("SELECT * FROM tbl_evictions WHERE id = " + i)).getAll();
+        Assert.assertEquals(PARSER_CACHE_SIZE, size.value());
+
+        long evicted = evictions.value();
+
+        for (int i = 0; i < PARSER_CACHE_SIZE; i++)
+            cache.query(new SqlFieldsQuery("SELECT * FROM tbl_evictions WHERE val = " + i)).getAll();
+        Assert.assertEquals(PARSER_CACHE_SIZE, size.value());
+        Assert.assertEquals(evicted + PARSER_CACHE_SIZE, evictions.value());
+    }
 }
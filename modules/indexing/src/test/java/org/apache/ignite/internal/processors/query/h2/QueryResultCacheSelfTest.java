@@ -0,0 +1,220 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2;
+
+import java.util.List;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.spi.metric.IntMetric;
+import org.apache.ignite.spi.metric.LongMetric;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_RESULT_CACHE_SIZE;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.internal.processors.query.h2.QueryResultCache.QUERY_RESULT_CACHE_METRIC_GROUP_NAME;
+
+/**
+ * Test for {@link QueryResultCache}.
+ */
+@WithSystemProperty(key = IGNITE_SQL_RESULT_CACHE_SIZE, value = "16")
+public class QueryResultCacheSelfTest extends GridCommonAbstractTest {
+    /** Ignite. */
+    private static IgniteEx ignite;
+
+    /** Cache. */
+    private static IgniteCache<Integer, Integer> cache;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        ignite = startGrid(0);
+        cache = ignite.getOrCreateCache(new CacheConfiguration<>("cache"));
+    }
+
+    /**
+     * Checks that repeated query over a REPLICATED table is served from the cache until the table is updated.
+     */
+    @Test
+    public void testReplicated() {
+        sql("CREATE TABLE tbl_repl (id LONG PRIMARY KEY, val INT) WITH \"template=replicated\"");
+
+        for (int i = 0; i < 10; i++)
+            sql("INSERT INTO tbl_repl (id, val) values (?, ?)", i, i);
+
+        LongMetric hits = metric("SQL_PUBLIC_TBL_REPL", "hits");
+        LongMetric misses = metric("SQL_PUBLIC_TBL_REPL", "misses");
+
+        String qry = "SELECT SUM(val) FROM tbl_repl WHERE id < ?";
+
+        assertEquals(45L, sql(qry, 10).get(0).get(0));
+        assertEquals(0, hits.value());
+        assertEquals(1, misses.value());
+
+        assertEquals(45L, sql(qry, 10).get(0).get(0));
+        assertEquals(1, hits.value());
+
+        // Other arguments.
+        assertEquals(10L, sql(qry, 5).get(0).get(0));
+        assertEquals(1, hits.value());
+        assertEquals(2, misses.value());
+
+        sql("UPDATE tbl_repl SET val = val + 1 WHERE id = 0");
+
+        assertEquals(46L, sql(qry, 10).get(0).get(0));
+        assertEquals(1, hits.value());
+        assertEquals(3, misses.value());
+
+        assertEquals(46L, sql(qry, 10).get(0).get(0));
+        assertEquals(2, hits.value());
+
+        // Schema change clears the results.
+        sql("ALTER TABLE tbl_repl ADD COLUMN name VARCHAR");
+
+        assertEquals(46L, sql(qry, 10).get(0).get(0));
+        assertEquals(2, hits.value());
+        assertEquals(4, misses.value());
+
+        sql("DELETE FROM tbl_repl WHERE id = 9");
+
+        assertEquals(37L, sql(qry, 10).get(0).get(0));
+
+        ignite.cache("SQL_PUBLIC_TBL_REPL").clear();
+
+        assertEquals(0, sql("SELECT * FROM tbl_repl").size());
+    }
+
+    /**
+     * Checks that non-deterministic and distributed queries are not cached.
+     */
+    @Test
+    public void testNotCached() {
+        sql("CREATE TABLE tbl_part (id LONG PRIMARY KEY, val LONG)");
+        sql("CREATE TABLE tbl_rand (id LONG PRIMARY KEY, val LONG) WITH \"template=replicated\"");
+
+        sql("INSERT INTO tbl_part (id, val) values (1, 1)");
+        sql("INSERT INTO tbl_rand (id, val) values (1, 1)");
+
+        for (int i = 0; i < 3; i++) {
+            sql("SELECT * FROM tbl_part");
+            sql("SELECT val, RAND() FROM tbl_rand");
+        }
+
+        assertNull(ignite.context().metric().registry(
+            metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, "SQL_PUBLIC_TBL_PART")).findMetric("hits"));
+        assertNull(ignite.context().metric().registry(
+            metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, "SQL_PUBLIC_TBL_RAND")).findMetric("hits"));
+    }
+
+    /**
+     * Checks that mutable values of a cached result are not shared by the users.
+     */
+    @Test
+    public void testMutableValues() {
+        sql("CREATE TABLE tbl_bytes (id LONG PRIMARY KEY, val BINARY) WITH \"template=replicated\"");
+
+        sql("INSERT INTO tbl_bytes (id, val) values (?, ?)", 1, new byte[] {1, 2, 3});
+
+        LongMetric hits = metric("SQL_PUBLIC_TBL_BYTES", "hits");
+
+        String qry = "SELECT val FROM tbl_bytes";
+
+        ((byte[])sql(qry).get(0).get(0))[0] = 42;
+        ((byte[])sql(qry).get(0).get(0))[0] = 42;
+
+        assertEquals(1, hits.value());
+
+        assertEquals(1, ((byte[])sql(qry).get(0).get(0))[0]);
+        assertEquals(2, hits.value());
+    }
+
+    /**
+     * Checks that the size limit is shared by the results of all the caches.
+     */
+    @Test
+    public void testNodeWideLimit() {
+        sql("CREATE TABLE tbl_a (id LONG PRIMARY KEY, val INT) WITH \"template=replicated\"");
+        sql("CREATE TABLE tbl_b (id LONG PRIMARY KEY, val INT) WITH \"template=replicated\"");
+
+        LongMetric hitsA = metric("SQL_PUBLIC_TBL_A", "hits");
+        LongMetric missesA = metric("SQL_PUBLIC_TBL_A", "misses");
+
+        IntMetric size = ignite.context().metric().registry(QUERY_RESULT_CACHE_METRIC_GROUP_NAME).findMetric("size");
+        LongMetric evictions =
+            ignite.context().metric().registry(QUERY_RESULT_CACHE_METRIC_GROUP_NAME).findMetric("evictions");
+
+        for (int i = 0; i < 16; i++)
+            sql("SELECT COUNT(*) FROM tbl_a WHERE id < ?", i);
+
+        assertEquals(16, size.value());
+
+        sql("SELECT COUNT(*) FROM tbl_a WHERE id < ?", 0);
+
+        assertEquals(1, hitsA.value());
+
+        evictions.reset();
+
+        for (int i = 0; i < 16; i++)
+            sql("SELECT COUNT(*) FROM tbl_b WHERE id < ?", i);
+
+        assertEquals(16, size.value());
+        assertEquals(16, evictions.value());
+
+        // Results of the first cache are evicted by the results of the second one.
+        sql("SELECT COUNT(*) FROM tbl_a WHERE id < ?", 0);
+
+        assertEquals(1, hitsA.value());
+        assertEquals(17, missesA.value());
+    }
+
+    /**
+     * @param cacheName Cache name.
+     * @param name Metric name.
+     * @return Metric.
+     */
+    private LongMetric metric(String cacheName, String name) {
+        LongMetric metric = ignite.context().metric().registry(
+            metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, cacheName)).findMetric(name);
+
+        if (metric == null) {
+            // Metrics are registered on the first cacheable query.
+            sql("SELECT COUNT(*) FROM " + cacheName.substring("SQL_PUBLIC_".length()));
+
+            metric = ignite.context().metric().registry(
+                metricName(QUERY_RESULT_CACHE_METRIC_GROUP_NAME, cacheName)).findMetric(name);
+        }
+
+        assertNotNull(metric);
+
+        metric.reset();
+
+        return metric;
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return cache.query(new SqlFieldsQuery(sql).setArgs(args)).getAll();
+    }
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+/**
+ * Checks that the queries covered by the columns inlined into a sorted index (e.g. listed in the INCLUDE clause)
+ * return the same results as the table scans.
+ */
+public class CoveringIndexScanTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES_CNT = 2;
+
+    /** */
+    private static final int ROWS_CNT = 1000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        sql("CREATE TABLE person (id INT PRIMARY KEY, age INT, name VARCHAR, salary BIGINT, info VARCHAR)");
+
+        sql("CREATE INDEX person_age_idx ON person (age) INCLUDE (name, salary) INLINE_SIZE 64");
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            // Every 10th name doesn't fit into the inline size and is read from the data page.
+            String name = i % 10 == 0 ? "long_name_" + String.format("%040d", i) : "name" + i;
+
+            sql("INSERT INTO person (id, age, name, salary, info) VALUES (?, ?, ?, ?, ?)",
+                i, i % 70, i % 13 == 0 ? null : name, (long)i * 100, "info" + i);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks that INCLUDE columns are appended to the index columns.
+     */
+    @Test
+    public void testIndexColumns() {
+        List<List<?>> cols = sql("SELECT COLUMNS FROM IGNITE.INDEXES WHERE INDEX_NAME = 'PERSON_AGE_IDX'");
+
+        assertEquals(1, cols.size());
+
+        String colsStr = cols.get(0).get(0).toString();
+
+        assertTrue(colsStr, colsStr.indexOf("\"AGE\"") < colsStr.indexOf("\"NAME\""));
+        assertTrue(colsStr, colsStr.indexOf("\"NAME\"") < colsStr.indexOf("\"SALARY\""));
+    }
+
+    /**
+     * Checks queries covered by the index.
+     */
+    @Test
+    public void testCoveredQueries() {
+        checkQuery("SELECT age, name, salary FROM person %s WHERE age > ? ORDER BY age, name, salary", 30);
+
+        checkQuery("SELECT name FROM person %s WHERE age = ? ORDER BY name", 7);
+
+        checkQuery("SELECT age, SUM(salary), COUNT(name) FROM person %s WHERE age BETWEEN ? AND ? " +
+            "GROUP BY age ORDER BY age", 10, 40);
+
+        checkQuery("SELECT age, name FROM person %s WHERE age < ? AND name LIKE ? ORDER BY age, name", 50, "long%");
+    }
+
+    /**
+     * Checks covered queries that read many index pages.
+     */
+    @Test
+    public void testCoveredQueriesManyPages() {
+        checkQuery("SELECT age FROM person %s WHERE age >= ? ORDER BY age", 0);
+
+        checkQuery("SELECT age, salary FROM person %s WHERE age >= ? ORDER BY age, salary", 0);
+    }
+
+    /**
+     * Checks queries that need the columns which are not inlined.
+     */
+    @Test
+    public void testNotCoveredQueries() {
+        checkQuery("SELECT age, name, info FROM person %s WHERE age > ? ORDER BY id", 60);
+
+        checkQuery("SELECT id, name FROM person %s WHERE age = ? ORDER BY id", 3);
+    }
+
+    /**
+     * Compares the results of the query which uses the index with the results of the table scan.
+     *
+     * @param qry Query template with the placeholder for the index hint.
+     * @param args Query arguments.
+     */
+    private void checkQuery(String qry, Object... args) {
+        List<List<?>> exp = sql(String.format(qry, "USE INDEX ()"), args);
+
+        assertFalse(exp.isEmpty());
+
+        assertEquals(exp, sql(String.format(qry, "USE INDEX (person_age_idx)"), args));
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        SqlFieldsQuery qry = new SqlFieldsQuery(sql).setArgs(args);
+
+        return grid(0).context().query().querySqlFields(qry, false).getAll();
+    }
+}
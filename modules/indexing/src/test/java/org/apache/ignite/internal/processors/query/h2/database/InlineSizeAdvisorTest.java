@@ -0,0 +1,166 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.metric.MetricRegistry;
+import org.apache.ignite.internal.processors.metric.impl.IntGauge;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.metric.IoStatisticsType.SORTED_INDEX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.IGNITE_THROTTLE_INLINE_SIZE_CALCULATION;
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.RECOMMENDED_INLINE_SIZE;
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.ROW_COMPARISONS;
+import static org.apache.ignite.testframework.GridTestUtils.assertThrowsWithCause;
+
+/**
+ * Checks the inline size metrics of the sorted indexes and the index rebuild with the recommended inline size.
+ */
+@WithSystemProperty(key = IGNITE_THROTTLE_INLINE_SIZE_CALCULATION, value = "1")
+public class InlineSizeAdvisorTest extends GridCommonAbstractTest {
+    /** */
+    private static final int ROWS_CNT = 500;
+
+    /** */
+    private static final String IDX_NAME = "PERSON_NAME_IDX";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setPersistenceEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        cleanPersistenceDir();
+
+        startGrid(0).cluster().active(true);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        cleanPersistenceDir();
+
+        super.afterTest();
+    }
+
+    /**
+     * Checks that the index is rebuilt with the recommended inline size, keeps serving the queries and survives
+     * the node restart.
+     */
+    @Test
+    public void testRebuildWithRecommendedInlineSize() throws Exception {
+        sql("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR, age INT)");
+
+        sql("CREATE INDEX " + IDX_NAME + " ON person (name) INLINE_SIZE 4");
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            sql("INSERT INTO person (id, name, age) VALUES (?, ?, ?)", i, String.format("name_%020d", i), i % 50);
+
+        List<List<?>> exp = selectByName();
+
+        assertEquals(101, exp.size());
+
+        MetricRegistry mreg = grid(0).context().metric().registry(
+            metricName(SORTED_INDEX.metricGroupName(), "SQL_PUBLIC_PERSON", IDX_NAME));
+
+        LongAdderMetric rowCmp = mreg.findMetric(ROW_COMPARISONS);
+
+        assertTrue(rowCmp.value() > 0);
+
+        int recommended = mreg.<IntGauge>findMetric(RECOMMENDED_INLINE_SIZE).value();
+
+        assertTrue("recommended=" + recommended, recommended > 4);
+
+        sql("ALTER INDEX " + IDX_NAME + " INLINE_SIZE " + recommended);
+
+        assertEquals(recommended, sql("SELECT INLINE_SIZE FROM IGNITE.INDEXES WHERE INDEX_NAME = ?", IDX_NAME)
+            .get(0).get(0));
+
+        long rowCmpBefore = rowCmp.value();
+
+        assertEquals(exp, selectByName());
+
+        // The rebuilt index resolves the comparisons by the inlined values.
+        assertEquals(rowCmpBefore, rowCmp.value());
+
+        sql("INSERT INTO person (id, name, age) VALUES (?, ?, ?)", ROWS_CNT, "name_00000000000000000150a", 0);
+
+        assertEquals(102, selectByName().size());
+
+        // The replacement tree took the name of the replaced one, so it is found after the restart.
+        stopGrid(0);
+
+        IgniteEx ignite = startGrid(0);
+
+        ignite.cluster().active(true);
+
+        awaitPartitionMapExchange();
+
+        assertEquals(recommended, sql("SELECT INLINE_SIZE FROM IGNITE.INDEXES WHERE INDEX_NAME = ?", IDX_NAME)
+            .get(0).get(0));
+
+        assertEquals(102, selectByName().size());
+    }
+
+    /**
+     * Checks that only secondary sorted indexes may be altered.
+     */
+    @Test
+    public void testAlterIndexErrors() {
+        sql("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR)");
+
+        sql("ALTER INDEX IF EXISTS unknown_idx INLINE_SIZE 10");
+
+        assertThrowsWithCause(() -> sql("ALTER INDEX unknown_idx INLINE_SIZE 10"), IgniteSQLException.class);
+
+        assertThrowsWithCause(() -> sql("ALTER INDEX \"_key_PK\" INLINE_SIZE 10"), IgniteSQLException.class);
+    }
+
+    /**
+     * @return Rows selected by the name index.
+     */
+    private List<List<?>> selectByName() {
+        return sql("SELECT id, name FROM person USE INDEX (" + IDX_NAME + ") " +
+            "WHERE name BETWEEN ? AND ? ORDER BY name", "name_00000000000000000100", "name_00000000000000000200");
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.processors.metric.impl.LongAdderMetric;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.internal.metric.IoStatisticsType.SORTED_INDEX;
+import static org.apache.ignite.internal.processors.metric.impl.MetricUtils.metricName;
+import static org.apache.ignite.internal.processors.query.h2.database.H2Tree.IN_PLACE_COMPARISONS;
+
+/**
+ * Checks the sorted index which columns don't fit into the inline size, so the rows are compared
+ * with the values read from the data pages.
+ */
+public class NotInlinedColumnCompareTest extends GridCommonAbstractTest {
+    /** */
+    private static final int ROWS_CNT = 500;
+
+    /** Common prefix of the names, it is longer than the inline size. */
+    private static final String NAME_PREFIX = "name_with_a_long_common_prefix_";
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrid(0);
+
+        sql("CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR, city VARCHAR, salary DECIMAL)");
+
+        sql("CREATE INDEX person_name_idx ON person (name, city, salary) INLINE_SIZE 10");
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            sql("INSERT INTO person (id, name, city, salary) VALUES (?, ?, ?, ?)",
+                i, NAME_PREFIX + (i % 50), i % 7 == 0 ? null : "city" + (i % 3), i % 11 * 100);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks index lookups and ordering.
+     */
+    @Test
+    public void testQueries() {
+        long inPlaceCmp = inPlaceComparisons();
+
+        checkQuery("SELECT id, name, city, salary FROM person %s WHERE name = ? ORDER BY name, city, salary, id",
+            NAME_PREFIX + 7);
+
+        checkQuery("SELECT id, name, city FROM person %s WHERE name > ? AND name < ? ORDER BY name, city, id",
+            NAME_PREFIX + 1, NAME_PREFIX + 3);
+
+        checkQuery("SELECT COUNT(*) FROM person %s WHERE name = ? AND city = ? AND salary > ?",
+            NAME_PREFIX + 12, "city0", 300);
+
+        assertTrue(inPlaceComparisons() > inPlaceCmp);
+    }
+
+    /**
+     * Checks that the rows are found in the index on update and removal.
+     */
+    @Test
+    public void testUpdateAndRemove() {
+        long inPlaceCmp = inPlaceComparisons();
+
+        sql("UPDATE person SET city = ? WHERE id % 5 = 0", "city_updated");
+
+        sql("DELETE FROM person WHERE id % 4 = 0");
+
+        assertTrue(inPlaceComparisons() > inPlaceCmp);
+
+        checkQuery("SELECT id, name, city, salary FROM person %s WHERE name >= ? ORDER BY name, city, salary, id",
+            NAME_PREFIX);
+
+        checkQuery("SELECT COUNT(*) FROM person %s WHERE name = ? AND city = ?", NAME_PREFIX + 10, "city_updated");
+    }
+
+    /**
+     * Compares the results of the query which uses the index with the results of the table scan.
+     *
+     * @param qry Query template with the placeholder for the index hint.
+     * @param args Query arguments.
+     */
+    private void checkQuery(String qry, Object... args) {
+        List<List<?>> exp = sql(String.format(qry, "USE INDEX ()"), args);
+
+        assertFalse(exp.isEmpty());
+
+        assertEquals(exp, sql(String.format(qry, "USE INDEX (person_name_idx)"), args));
+    }
+
+    /**
+     * @return Number of the index row comparisons that read the value fields right from the data page.
+     */
+    private long inPlaceComparisons() {
+        LongAdderMetric metric = grid(0).context().metric().registry(
+            metricName(SORTED_INDEX.metricGroupName(), "SQL_PUBLIC_PERSON", "PERSON_NAME_IDX"))
+            .findMetric(IN_PLACE_COMPARISONS);
+
+        return metric.value();
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        SqlFieldsQuery qry = new SqlFieldsQuery(sql).setArgs(args);
+
+        return grid(0).context().query().querySqlFields(qry, false).getAll();
+    }
+}
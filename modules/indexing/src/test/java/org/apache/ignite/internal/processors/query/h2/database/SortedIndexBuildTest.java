@@ -0,0 +1,133 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.database;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.DataRegionConfiguration;
+import org.apache.ignite.configuration.DataStorageConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.internal.processors.query.schema.SchemaIndexCacheVisitorImpl;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.configuration.DataStorageConfiguration.DFLT_DATA_REG_DEFAULT_NAME;
+
+/**
+ * Checks that CREATE INDEX loads the index with the rows sorted across all the partitions, so the index takes fewer
+ * pages than the index built in the order of the partition rows.
+ */
+public class SortedIndexBuildTest extends GridCommonAbstractTest {
+    /** */
+    private static final int ROWS_CNT = 20_000;
+
+    /** */
+    private static final long DFLT_SORT_BUF_SIZE = 16 * 1024 * 1024;
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setDataStorageConfiguration(new DataStorageConfiguration()
+                .setDefaultDataRegionConfiguration(new DataRegionConfiguration()
+                    .setMetricsEnabled(true)));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTest() throws Exception {
+        super.beforeTest();
+
+        startGrid(0);
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTest() throws Exception {
+        stopAllGrids();
+
+        GridTestUtils.setFieldValue(SchemaIndexCacheVisitorImpl.class, "sortBufSize", DFLT_SORT_BUF_SIZE);
+
+        super.afterTest();
+    }
+
+    /**
+     * Compares the page count of the indexes built without sorting, with all the rows sorted in memory and with
+     * the sorted runs merged from the files.
+     */
+    @Test
+    public void testSortedBuildPacksPages() throws Exception {
+        for (int t = 0; t < 3; t++) {
+            sql("CREATE TABLE person" + t + " (id INT PRIMARY KEY, name VARCHAR)");
+
+            // Names are ordered differently from the keys, so the partition rows are not in the index order.
+            for (int i = 0; i < ROWS_CNT; i++)
+                sql("INSERT INTO person" + t + " (id, name) VALUES (?, ?)", i, name(i * 7919 % ROWS_CNT));
+        }
+
+        long unsorted = createIndex(0, 0);
+        long inMemory = createIndex(1, DFLT_SORT_BUF_SIZE);
+        long merged = createIndex(2, 64 * 1024);
+
+        log.info("Index pages [unsorted=" + unsorted + ", inMemory=" + inMemory + ", merged=" + merged + ']');
+
+        // Leaf pages of the unsorted build are filled by the half on average.
+        assertTrue("unsorted=" + unsorted + ", inMemory=" + inMemory, inMemory < unsorted * 3 / 4);
+        assertTrue("unsorted=" + unsorted + ", merged=" + merged, merged < unsorted * 3 / 4);
+
+        for (int t = 0; t < 3; t++) {
+            List<List<?>> res = sql("SELECT name FROM person" + t + " USE INDEX (person" + t + "_name_idx) " +
+                "WHERE name >= '' ORDER BY name");
+
+            assertEquals(ROWS_CNT, res.size());
+
+            for (int i = 0; i < ROWS_CNT; i++)
+                assertEquals(name(i), res.get(i).get(0));
+        }
+    }
+
+    /**
+     * @param t Table number.
+     * @param sortBufSize Size of the sort buffer, zero to build the index without sorting.
+     * @return Count of pages allocated by the index build.
+     */
+    private long createIndex(int t, long sortBufSize) {
+        GridTestUtils.setFieldValue(SchemaIndexCacheVisitorImpl.class, "sortBufSize", sortBufSize);
+
+        long pagesBefore = grid(0).dataRegionMetrics(DFLT_DATA_REG_DEFAULT_NAME).getTotalAllocatedPages();
+
+        sql("CREATE INDEX person" + t + "_name_idx ON person" + t + " (name)");
+
+        return grid(0).dataRegionMetrics(DFLT_DATA_REG_DEFAULT_NAME).getTotalAllocatedPages() - pagesBefore;
+    }
+
+    /**
+     * @param i Number.
+     * @return Name.
+     */
+    private static String name(int i) {
+        return String.format("name_%08d", i);
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Arguments.
+     * @return Result.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false)
+            .getAll();
+    }
+}
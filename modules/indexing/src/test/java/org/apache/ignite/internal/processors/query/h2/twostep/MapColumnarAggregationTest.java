@@ -0,0 +1,240 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javax.cache.expiry.CreatedExpiryPolicy;
+import javax.cache.expiry.Duration;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.binary.BinaryObject;
+import org.apache.ignite.cache.QueryEntity;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.internal.util.typedef.internal.U;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_MAP_COLUMNAR_AGGREGATION;
+
+/**
+ * Checks that batch-at-a-time map aggregation returns the same results as H2. Every query is compared with
+ * the same query with a condition, which makes it ineligible for batch aggregation.
+ */
+@WithSystemProperty(key = IGNITE_SQL_MAP_COLUMNAR_AGGREGATION, value = "true")
+public class MapColumnarAggregationTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES_CNT = 3;
+
+    /** */
+    private static final int ROWS_CNT = 3000;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        sql("CREATE TABLE t (id INT PRIMARY KEY, grp INT, tag VARCHAR, flag BOOLEAN, ival INT, lval BIGINT, " +
+            "dval DOUBLE)");
+
+        sql("CREATE TABLE empty (id INT PRIMARY KEY, ival INT)");
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            sql("INSERT INTO t (id, grp, tag, flag, ival, lval, dval) VALUES (?, ?, ?, ?, ?, ?, ?)",
+                i,
+                i % 10,
+                i % 3 == 0 ? null : "tag" + i % 4,
+                i % 2 == 0,
+                i % 7 == 0 ? null : i - ROWS_CNT / 2,
+                Long.MAX_VALUE / 1000 * (i % 5),
+                i * 0.5);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks aggregation with grouping.
+     */
+    @Test
+    public void testGroupBy() {
+        checkQuery("SELECT grp, COUNT(*), COUNT(ival), SUM(ival), MIN(ival), MAX(ival), SUM(dval), MIN(dval), " +
+            "MAX(dval) FROM t %s GROUP BY grp ORDER BY grp");
+
+        checkQuery("SELECT tag, flag, COUNT(*), SUM(ival) FROM t %s GROUP BY tag, flag ORDER BY tag, flag");
+    }
+
+    /**
+     * Checks aggregation without grouping.
+     */
+    @Test
+    public void testNoGroupBy() {
+        checkQuery("SELECT COUNT(*), COUNT(tag), SUM(ival), MIN(lval), MAX(lval), SUM(dval) FROM t %s");
+    }
+
+    /**
+     * Checks sum which doesn't fit into {@code long}.
+     */
+    @Test
+    public void testSumOverflow() {
+        checkQuery("SELECT grp, SUM(lval) FROM t %s GROUP BY grp ORDER BY grp");
+    }
+
+    /**
+     * Checks queries which are not eligible for batch aggregation.
+     */
+    @Test
+    public void testNotEligible() {
+        checkQuery("SELECT grp, AVG(ival), SUM(DISTINCT ival) FROM t %s GROUP BY grp ORDER BY grp");
+
+        checkQuery("SELECT id, COUNT(*) FROM t %s GROUP BY id ORDER BY id");
+    }
+
+    /**
+     * Checks aggregation of an empty table.
+     */
+    @Test
+    public void testEmptyTable() {
+        List<List<?>> res = sql("SELECT COUNT(*), SUM(ival), MAX(ival) FROM empty");
+
+        assertEquals(1, res.size());
+        assertEquals(0L, res.get(0).get(0));
+        assertNull(res.get(0).get(1));
+        assertNull(res.get(0).get(2));
+
+        assertTrue(sql("SELECT ival, COUNT(*) FROM empty GROUP BY ival").isEmpty());
+    }
+
+    /**
+     * Checks that expired entries, which are not removed from the cache yet, are not aggregated.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testExpiredEntries() throws Exception {
+        IgniteCache<Integer, BinaryObject> cache = grid(0).createCache(typeCacheConfiguration("ttl")
+            .setEagerTtl(false)).withKeepBinary();
+
+        IgniteCache<Integer, BinaryObject> expiring = cache.withExpiryPolicy(
+            new CreatedExpiryPolicy(new Duration(TimeUnit.MILLISECONDS, 500)));
+
+        try {
+            for (int i = 0; i < ROWS_CNT; i++)
+                (i % 2 == 0 ? cache : expiring).put(i, value("TypeA", i));
+
+            U.sleep(1000);
+
+            List<List<?>> res = sql("SELECT COUNT(*), SUM(ival) FROM \"ttl\".TypeA");
+
+            assertEquals((long)ROWS_CNT / 2, res.get(0).get(0));
+
+            checkQuery("SELECT grp, COUNT(*), SUM(ival), MAX(ival) FROM \"ttl\".TypeA %s GROUP BY grp ORDER BY grp",
+                "WHERE _key >= 0");
+        }
+        finally {
+            grid(0).destroyCache("ttl");
+        }
+    }
+
+    /**
+     * Checks that values of other types stored in the cache of the table are not aggregated.
+     */
+    @Test
+    public void testMixedValueTypes() {
+        IgniteCache<Integer, BinaryObject> cache = grid(0).createCache(typeCacheConfiguration("mixed"))
+            .withKeepBinary();
+
+        try {
+            for (int i = 0; i < ROWS_CNT; i++)
+                cache.put(i, value(i % 3 == 0 ? "TypeB" : "TypeA", i));
+
+            List<List<?>> res = sql("SELECT COUNT(*) FROM \"mixed\".TypeA");
+
+            assertEquals((long)ROWS_CNT - ROWS_CNT / 3, res.get(0).get(0));
+
+            checkQuery("SELECT grp, COUNT(*), SUM(ival), MIN(ival) FROM \"mixed\".TypeA %s GROUP BY grp ORDER BY grp",
+                "WHERE _key >= 0");
+        }
+        finally {
+            grid(0).destroyCache("mixed");
+        }
+    }
+
+    /**
+     * @param name Cache name.
+     * @return Configuration of the cache with a single query type {@code TypeA}.
+     */
+    private CacheConfiguration<Integer, BinaryObject> typeCacheConfiguration(String name) {
+        LinkedHashMap<String, String> fields = new LinkedHashMap<>();
+
+        fields.put("grp", Integer.class.getName());
+        fields.put("ival", Integer.class.getName());
+
+        return new CacheConfiguration<Integer, BinaryObject>(name)
+            .setQueryEntities(Collections.singleton(new QueryEntity(Integer.class.getName(), "TypeA")
+                .setFields(fields)));
+    }
+
+    /**
+     * @param type Type name.
+     * @param i Value index.
+     * @return Binary value of the given type with {@code grp} and {@code ival} fields.
+     */
+    private BinaryObject value(String type, int i) {
+        return grid(0).binary().builder(type)
+            .setField("grp", i % 10)
+            .setField("ival", i)
+            .build();
+    }
+
+    /**
+     * @param qry Query with a placeholder for the condition.
+     */
+    private void checkQuery(String qry) {
+        checkQuery(qry, "WHERE id >= 0");
+    }
+
+    /**
+     * @param qry Query with a placeholder for the condition.
+     * @param cond Condition, which makes the query ineligible for batch aggregation.
+     */
+    private void checkQuery(String qry, String cond) {
+        List<List<?>> exp = sql(String.format(qry, cond));
+
+        assertFalse(exp.isEmpty());
+
+        assertEquals(exp, sql(String.format(qry, "")));
+    }
+
+    /**
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(String sql, Object... args) {
+        return grid(0).context().query().querySqlFields(new SqlFieldsQuery(sql).setArgs(args), false).getAll();
+    }
+}
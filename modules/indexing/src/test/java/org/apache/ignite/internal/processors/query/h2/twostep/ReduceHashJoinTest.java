@@ -0,0 +1,183 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.util.List;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.internal.processors.query.IgniteSQLException;
+import org.apache.ignite.internal.processors.query.h2.H2Utils;
+import org.apache.ignite.testframework.GridTestUtils;
+import org.apache.ignite.testframework.junits.WithSystemProperty;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.junit.Test;
+
+import static org.apache.ignite.IgniteSystemProperties.IGNITE_SQL_REDUCE_HASH_JOIN;
+
+/**
+ * Checks that non-collocated joins executed with hash joins on the reducer return the same results
+ * as the distributed joins.
+ */
+@WithSystemProperty(key = IGNITE_SQL_REDUCE_HASH_JOIN, value = "true")
+public class ReduceHashJoinTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES_CNT = 3;
+
+    /** */
+    private static final int DEPT_CNT = 50;
+
+    /** */
+    private static final int PERSON_CNT = 2000;
+
+    /** Number of rows greater than the row count estimation of reduce tables. */
+    private static final int BIG_CNT = 10_100;
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        sql(false, "CREATE TABLE dept (id INT PRIMARY KEY, name VARCHAR, cityId INT)");
+        sql(false, "CREATE TABLE city (id INT PRIMARY KEY, name VARCHAR)");
+        sql(false, "CREATE TABLE person (id INT PRIMARY KEY, name VARCHAR, deptId INT, salary INT)");
+
+        for (int i = 0; i < DEPT_CNT / 5; i++)
+            sql(false, "INSERT INTO city (id, name) VALUES (?, ?)", i, "city" + i);
+
+        for (int i = 0; i < DEPT_CNT; i++)
+            sql(false, "INSERT INTO dept (id, name, cityId) VALUES (?, ?, ?)", i, "dept" + i, i % (DEPT_CNT / 5));
+
+        for (int i = 0; i < PERSON_CNT; i++) {
+            sql(false, "INSERT INTO person (id, name, deptId, salary) VALUES (?, ?, ?, ?)",
+                i, "person" + i, i % 3 == 0 ? null : i % (DEPT_CNT + 10), i % 100);
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks that the joined tables are fetched to the reducer and joined with the hash join index.
+     */
+    @Test
+    public void testPlan() {
+        List<List<?>> plan = sql(false, "EXPLAIN SELECT p.name, d.name FROM person p, dept d WHERE p.deptId = d.id");
+
+        assertEquals(plan.toString(), 3, plan.size());
+        assertTrue(plan.toString(), plan.get(2).get(0).toString().contains("HASH_JOIN_IDX"));
+    }
+
+    /**
+     * Checks joins of two tables.
+     */
+    @Test
+    public void testJoin() {
+        checkQuery("SELECT p.id, p.name, d.name FROM person p, dept d WHERE p.deptId = d.id ORDER BY p.id");
+
+        checkQuery("SELECT p.id, d.name FROM person p INNER JOIN dept d ON p.deptId = d.id " +
+            "WHERE p.salary > ? AND d.id < ? ORDER BY p.id", 50, 20);
+
+        checkQuery("SELECT d.name, COUNT(*), SUM(p.salary) FROM person p, dept d WHERE p.deptId = d.id " +
+            "GROUP BY d.name ORDER BY d.name");
+
+        checkQuery("SELECT DISTINCT d.cityId FROM person p, dept d WHERE p.deptId = d.id ORDER BY d.cityId");
+    }
+
+    /**
+     * Checks joins of three tables.
+     */
+    @Test
+    public void testJoinThreeTables() {
+        checkQuery("SELECT p.id, d.name, c.name FROM person p, dept d, city c " +
+            "WHERE p.deptId = d.id AND d.cityId = c.id ORDER BY p.id LIMIT 100 OFFSET 10");
+
+        checkQuery("SELECT c.name, COUNT(p.id) FROM person p, dept d, city c " +
+            "WHERE p.deptId = d.id AND d.cityId = c.id AND c.id <> 1 GROUP BY c.name ORDER BY c.name");
+    }
+
+    /**
+     * Checks that the query fails once a reduce table with more rows than {@code IGNITE_HASH_JOIN_MAX_TABLE_SIZE} is
+     * hashed. Row count of a reduce table is not known when the reduce query is planned.
+     */
+    @Test
+    public void testMaxTableSizeExceeded() {
+        sql(false, "CREATE TABLE big (id INT PRIMARY KEY, deptId INT)");
+        sql(false, "CREATE INDEX big_dept ON big (deptId)");
+
+        try {
+            sql(false, "INSERT INTO big (id, deptId) SELECT x, x % " + DEPT_CNT + " FROM system_range(1, ?)",
+                BIG_CNT);
+
+            // The dept table is scanned, the big table is hashed.
+            String qry = "SELECT COUNT(*) FROM dept d, big b WHERE b.deptId = d.id";
+
+            GridTestUtils.setFieldValue(H2Utils.class, "hashJoinMaxTableSize", BIG_CNT);
+
+            assertEquals((long)BIG_CNT, sql(false, true, qry).get(0).get(0));
+
+            GridTestUtils.setFieldValue(H2Utils.class, "hashJoinMaxTableSize", BIG_CNT - 1);
+
+            GridTestUtils.assertThrowsAnyCause(log, () -> sql(false, true, qry), IgniteSQLException.class,
+                "Hash join table size exceeds the limit");
+        }
+        finally {
+            GridTestUtils.setFieldValue(H2Utils.class, "hashJoinMaxTableSize", H2Utils.DFLT_HASH_JOIN_MAX_TABLE_SIZE);
+
+            sql(false, "DROP TABLE big");
+        }
+    }
+
+    /**
+     * @param qry Query.
+     * @param args Query arguments.
+     */
+    private void checkQuery(String qry, Object... args) {
+        List<List<?>> exp = sql(true, qry, args);
+
+        assertFalse(exp.isEmpty());
+
+        assertEquals(exp, sql(false, qry, args));
+    }
+
+    /**
+     * @param distributedJoins Distributed joins flag.
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(boolean distributedJoins, String sql, Object... args) {
+        return sql(distributedJoins, false, sql, args);
+    }
+
+    /**
+     * @param distributedJoins Distributed joins flag.
+     * @param enforceJoinOrder Enforce join order flag.
+     * @param sql SQL query.
+     * @param args Query arguments.
+     * @return Results.
+     */
+    private List<List<?>> sql(boolean distributedJoins, boolean enforceJoinOrder, String sql, Object... args) {
+        SqlFieldsQuery qry = new SqlFieldsQuery(sql).setArgs(args).setDistributedJoins(distributedJoins)
+            .setEnforceJoinOrder(enforceJoinOrder);
+
+        return grid(0).context().query().querySqlFields(qry, false).getAll();
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright 2019 GridGain Systems, Inc. and Contributors.
+ *
+ * Licensed under the GridGain Community Edition License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.gridgain.com/products/software/community-edition/gridgain-community-edition-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.apache.ignite.internal.processors.query.h2.twostep;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.apache.ignite.IgniteCache;
+import org.apache.ignite.cache.query.SqlFieldsQuery;
+import org.apache.ignite.cluster.ClusterNode;
+import org.apache.ignite.configuration.CacheConfiguration;
+import org.apache.ignite.configuration.IgniteConfiguration;
+import org.apache.ignite.configuration.SqlConfiguration;
+import org.apache.ignite.internal.IgniteEx;
+import org.apache.ignite.internal.processors.query.h2.H2MemoryTracker;
+import org.apache.ignite.internal.processors.query.h2.IgniteH2Indexing;
+import org.apache.ignite.internal.processors.query.h2.QueryMemoryManager;
+import org.apache.ignite.internal.processors.query.h2.twostep.messages.GridQueryNextPageResponse;
+import org.apache.ignite.testframework.junits.common.GridCommonAbstractTest;
+import org.h2.index.Cursor;
+import org.h2.value.Value;
+import org.h2.value.ValueInt;
+import org.h2.value.ValueString;
+import org.junit.Test;
+
+/**
+ * Checks sorted distributed query results when prefetch of pages from map nodes is limited by the SQL memory quota.
+ */
+public class SortedReducerPrefetchBudgetTest extends GridCommonAbstractTest {
+    /** */
+    private static final int NODES_CNT = 4;
+
+    /** */
+    private static final int SEGMENTS_CNT = 2;
+
+    /** */
+    private static final int ROWS_CNT = 2000;
+
+    /** */
+    private static final int PAGE_SIZE = 50;
+
+    /** */
+    private static final String CACHE_NAME = "cache";
+
+    /** {@inheritDoc} */
+    @Override protected IgniteConfiguration getConfiguration(String igniteInstanceName) throws Exception {
+        return super.getConfiguration(igniteInstanceName)
+            .setSqlConfiguration(new SqlConfiguration()
+                .setSqlGlobalMemoryQuota("1M")
+                .setSqlQueryMemoryQuota("256K")
+                .setSqlOffloadingEnabled(true));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void beforeTestsStarted() throws Exception {
+        super.beforeTestsStarted();
+
+        startGrids(NODES_CNT);
+
+        IgniteCache<Integer, String> cache = grid(0).createCache(new CacheConfiguration<Integer, String>(CACHE_NAME)
+            .setIndexedTypes(Integer.class, String.class)
+            .setQueryParallelism(SEGMENTS_CNT));
+
+        for (int i = 0; i < ROWS_CNT; i++)
+            cache.put(i, value(i));
+    }
+
+    /** {@inheritDoc} */
+    @Override protected void afterTestsStopped() throws Exception {
+        stopAllGrids();
+
+        super.afterTestsStopped();
+    }
+
+    /**
+     * Checks that all rows are returned in the right order with small pages of large rows.
+     */
+    @Test
+    public void testSortedResult() {
+        List<List<?>> res = grid(0).cache(CACHE_NAME).query(new SqlFieldsQuery("SELECT _key, _val FROM String " +
+            "ORDER BY _val DESC").setPageSize(PAGE_SIZE)).getAll();
+
+        assertEquals(ROWS_CNT, res.size());
+
+        for (int i = 0; i < ROWS_CNT; i++) {
+            int key = ROWS_CNT - 1 - i;
+
+            assertEquals(key, res.get(i).get(0));
+            assertEquals(value(key), res.get(i).get(1));
+        }
+    }
+
+    /**
+     * Checks that once the query memory quota is taken by the pages requested ahead, the next pages of large rows are
+     * requested only when the current ones are consumed, while the next pages of small rows are requested right away.
+     *
+     * @throws Exception If failed.
+     */
+    @Test
+    public void testPrefetchDeferred() throws Exception {
+        int streamsCnt = NODES_CNT * SEGMENTS_CNT;
+
+        assertEquals(streamsCnt, requestedOnFirstRow(false));
+
+        int requested = requestedOnFirstRow(true);
+
+        assertTrue("Next pages must be deferred [requested=" + requested + ", streams=" + streamsCnt + ']',
+            requested > 0 && requested < streamsCnt);
+    }
+
+    /**
+     * Feeds the first page of every source to a sorted reducer and takes the first row.
+     *
+     * @param large Whether rows are large.
+     * @return Number of sources the next page is requested from.
+     * @throws Exception If failed.
+     */
+    private int requestedOnFirstRow(boolean large) throws Exception {
+        IgniteEx node = grid(0);
+
+        QueryMemoryManager memMgr = ((IgniteH2Indexing)node.context().query().getIndexing()).memoryManager();
+
+        H2MemoryTracker tracker = (H2MemoryTracker)memMgr.createQueryMemoryTracker(0);
+
+        AtomicInteger requested = new AtomicInteger();
+
+        try {
+            SortedReducer reducer = new SortedReducer(node.context(),
+                (r1, r2) -> Integer.compare(r1.getValue(0).getInt(), r2.getValue(0).getInt()));
+
+            Collection<ClusterNode> srcs = node.cluster().nodes();
+
+            reducer.setSources(srcs, SEGMENTS_CNT);
+            reducer.setPageSize(PAGE_SIZE);
+            reducer.memoryTracker(tracker);
+
+            int key = 0;
+
+            for (ClusterNode src : srcs) {
+                for (int seg = 0; seg < SEGMENTS_CNT; seg++) {
+                    List<Value[]> rows = new ArrayList<>(PAGE_SIZE);
+
+                    for (int i = 0; i < PAGE_SIZE; i++, key++) {
+                        rows.add(new Value[] {ValueInt.get(key),
+                            ValueString.get(large ? value(key) : String.valueOf(key))});
+                    }
+
+                    GridQueryNextPageResponse res = new GridQueryNextPageResponse(0, seg, 0, 0, -1, 2, null, rows,
+                        false);
+
+                    reducer.addPage(new ReduceResultPage(node.context(), src.id(), res) {
+                        @Override public void fetchNextPage() {
+                            requested.incrementAndGet();
+                        }
+                    });
+                }
+            }
+
+            Cursor cur = reducer.find(null, null);
+
+            assertTrue(cur.next());
+            assertEquals(0, cur.get().getValue(0).getInt());
+
+            return requested.get();
+        }
+        finally {
+            tracker.close();
+        }
+    }
+
+    /**
+     * @param key Key.
+     * @return Value of about 2 KB, ordered the same way as keys.
+     */
+    private static String value(int key) {
+        StringBuilder sb = new StringBuilder(String.format("%05d", key));
+
+        while (sb.length() < 1024)
+            sb.append('x');
+
+        return sb.toString();
+    }
+}
@@ -234,6 +234,7 @@ import org.apache.ignite.internal.processors.query.SqlQuerySystemViewsIntegratio
 import org.apache.ignite.internal.processors.query.SqlQuerySystemViewsSelfTest;
 import org.apache.ignite.internal.processors.query.SqlSchemaSelfTest;
 import org.apache.ignite.internal.processors.query.SqlSystemViewsSelfTest;
+import org.apache.ignite.internal.processors.query.h2.ColumnStatisticsAnalyzeTest;
 import org.apache.ignite.internal.processors.query.h2.GridIndexRebuildSelfTest;
 import org.apache.ignite.internal.processors.query.h2.GridIndexRebuildTest;
 import org.apache.ignite.internal.processors.query.h2.H2ResultSetIteratorNullifyOnEndSelfTest;
@@ -242,8 +243,12 @@ import org.apache.ignite.internal.processors.query.h2.IgniteSqlQueryMinMaxTest;
 import org.apache.ignite.internal.processors.query.h2.IgniteSqlQueryStartFinishListenerTest;
 import org.apache.ignite.internal.processors.query.h2.QueryDataPageScanTest;
 import org.apache.ignite.internal.processors.query.h2.QueryParserMetricsHolderSelfTest;
+import org.apache.ignite.internal.processors.query.h2.QueryResultCacheSelfTest;
 import org.apache.ignite.internal.processors.query.h2.RowCountTableStatisticsSurvivesNodeRestartTest;
 import org.apache.ignite.internal.processors.query.h2.RowCountTableStatisticsUsageTest;
+import org.apache.ignite.internal.processors.query.h2.database.CoveringIndexScanTest;
+import org.apache.ignite.internal.processors.query.h2.database.InlineSizeAdvisorTest;
+import org.apache.ignite.internal.processors.query.h2.database.NotInlinedColumnCompareTest;
 import org.apache.ignite.internal.processors.query.h2.sql.BaseH2CompareQueryTest;
 import org.apache.ignite.internal.processors.query.h2.sql.ExplainSelfTest;
 import org.apache.ignite.internal.processors.query.h2.sql.GridQueryParsingTest;
@@ -256,7 +261,10 @@ import org.apache.ignite.internal.processors.query.h2.twostep.BetweenOperationEx
 import org.apache.ignite.internal.processors.query.h2.twostep.DmlSelectPartitionPruningSelfTest;
 import org.apache.ignite.internal.processors.query.h2.twostep.InOperationExtractPartitionSelfTest;
 import org.apache.ignite.internal.processors.query.h2.twostep.JoinPartitionPruningSelfTest;
+import org.apache.ignite.internal.processors.query.h2.twostep.MapColumnarAggregationTest;
 import org.apache.ignite.internal.processors.query.h2.twostep.MvccDmlPartitionPruningSelfTest;
+import org.apache.ignite.internal.processors.query.h2.twostep.ReduceHashJoinTest;
+import org.apache.ignite.internal.processors.query.h2.twostep.SortedReducerPrefetchBudgetTest;
 import org.apache.ignite.internal.processors.query.h2.twostep.SqlDataTypeConversionTest;
 import org.apache.ignite.internal.processors.sql.IgniteCachePartitionedAtomicColumnConstraintsTest;
 import org.apache.ignite.internal.processors.sql.IgniteCachePartitionedTransactionalColumnConstraintsTest;
@@ -268,6 +276,8 @@ import org.apache.ignite.internal.processors.sql.IgniteSQLColumnConstraintsTest;
 import org.apache.ignite.internal.processors.sql.IgniteTransactionSQLColumnConstraintTest;
 import org.apache.ignite.internal.processors.sql.SqlConnectorConfigurationValidationSelfTest;
 import org.apache.ignite.internal.product.IndexingFeatureIsAvailableTest;
+import org.apache.ignite.internal.sql.SqlParserAlterIndexSelfTest;
+import org.apache.ignite.internal.sql.SqlParserAnalyzeSelfTest;
 import org.apache.ignite.internal.sql.SqlParserBulkLoadSelfTest;
 import org.apache.ignite.internal.sql.SqlParserCreateIndexSelfTest;
 import org.apache.ignite.internal.sql.SqlParserDropIndexSelfTest;
@@ -299,10 +309,12 @@ import org.junit.runners.Suite;
 
     SqlParserCreateIndexSelfTest.class,
     SqlParserDropIndexSelfTest.class,
+    SqlParserAlterIndexSelfTest.class,
     SqlParserTransactionalKeywordsSelfTest.class,
     SqlParserBulkLoadSelfTest.class,
     SqlParserSetStreamingSelfTest.class,
     SqlParserKillQuerySelfTest.class,
+    SqlParserAnalyzeSelfTest.class,
     SqlParserMultiStatementSelfTest.class,
 
     SqlConnectorConfigurationValidationSelfTest.class,
@@ -405,6 +417,7 @@ import org.junit.runners.Suite;
     IgniteCacheQueryLargeRecordsOomTest.class,
 
     QueryParserMetricsHolderSelfTest.class,
+    QueryResultCacheSelfTest.class,
 
     // DML.
     IgniteCacheMergeSqlQuerySelfTest.class,
@@ -634,6 +647,13 @@ import org.junit.runners.Suite;
     // Table statistics.
     RowCountTableStatisticsUsageTest.class,
     RowCountTableStatisticsSurvivesNodeRestartTest.class,
+    ColumnStatisticsAnalyzeTest.class,
+    MapColumnarAggregationTest.class,
+    SortedReducerPrefetchBudgetTest.class,
+    ReduceHashJoinTest.class,
+    CoveringIndexScanTest.class,
+    InlineSizeAdvisorTest.class,
+    NotInlinedColumnCompareTest.class,
 
     SqlViewExporterSpiTest.class
 